@@ -0,0 +1,134 @@
+package com.wms.catalog;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 reader: one record at a time from a fixed character buffer, so a
+ * file of any size is read in constant memory. Quoted fields may contain separators,
+ * doubled quotes and line breaks; both LF and CRLF end a record.
+ */
+public class CsvReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char separator;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+    private boolean bomChecked;
+
+    public CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * Returns the fields of the next record, or {@code null} at the end of input. Blank
+     * lines are skipped.
+     */
+    public List<String> next() throws IOException {
+        // UTF-8 BOM ile kaydedilmiş dosyalar
+        if (!bomChecked) {
+            bomChecked = true;
+            if (peek() == '\uFEFF') {
+                read();
+            }
+        }
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean inQuotes = false;
+        boolean started = false;
+        recordLine = line;
+        int c;
+        while ((c = read()) != -1) {
+            char ch = (char) c;
+            if (inQuotes) {
+                if (ch == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        line++;
+                    }
+                    field.append(ch);
+                }
+                continue;
+            }
+            if (ch == '"' && field.isEmpty() && !quoted) {
+                inQuotes = true;
+                quoted = true;
+                started = true;
+            } else if (ch == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+                started = true;
+            } else if (ch == '\r' && peek() == '\n') {
+                // CRLF: satır sonu \n ile işlenir
+            } else if (ch == '\n') {
+                line++;
+                if (!started && field.isEmpty()) {
+                    recordLine = line;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append(ch);
+                started = true;
+            }
+        }
+        if (inQuotes) {
+            throw new IOException("Unterminated quoted field starting on line " + recordLine);
+        }
+        if (!started && field.isEmpty()) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Son okunan kaydın başladığı satır (1'den başlar)
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,4 @@
+package com.wms.catalog;
+
+public record ImportError(long line, String sku, String message) {
+}
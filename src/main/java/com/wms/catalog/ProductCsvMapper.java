@@ -0,0 +1,139 @@
+package com.wms.catalog;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps the records of a product import file to rows by header name and checks them
+ * against the limits of the {@code products} table, so that a bad line is reported on its
+ * own instead of failing the statement it would be written with. Stateless after
+ * construction; one instance is shared by the validating threads.
+ */
+public class ProductCsvMapper {
+
+    private static final Set<String> REQUIRED = Set.of("sku", "name", "unit", "unit_price");
+    private static final Set<String> OPTIONAL = Set.of("barcode", "description", "min_stock_level", "category");
+
+    private final int sku;
+    private final int barcode;
+    private final int name;
+    private final int description;
+    private final int unit;
+    private final int unitPrice;
+    private final int minStockLevel;
+    private final int category;
+
+    private ProductCsvMapper(Map<String, Integer> columns) {
+        this.sku = columns.get("sku");
+        this.barcode = columns.getOrDefault("barcode", -1);
+        this.name = columns.get("name");
+        this.description = columns.getOrDefault("description", -1);
+        this.unit = columns.get("unit");
+        this.unitPrice = columns.get("unit_price");
+        this.minStockLevel = columns.getOrDefault("min_stock_level", -1);
+        this.category = columns.getOrDefault("category", -1);
+    }
+
+    /**
+     * Column names are matched case-insensitively; {@code sku}, {@code name}, {@code unit}
+     * and {@code unit_price} are required.
+     *
+     * @throws IllegalArgumentException for unknown, duplicate or missing columns
+     */
+    public static ProductCsvMapper forHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).strip().toLowerCase(Locale.ROOT);
+            if (!REQUIRED.contains(column) && !OPTIONAL.contains(column)) {
+                throw new IllegalArgumentException("Unknown column: " + column);
+            }
+            if (columns.put(column, i) != null) {
+                throw new IllegalArgumentException("Duplicate column: " + column);
+            }
+        }
+        for (String column : REQUIRED) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("Missing column: " + column);
+            }
+        }
+        return new ProductCsvMapper(columns);
+    }
+
+    /**
+     * Returns the row, or {@code null} after adding the reason to {@code errors}.
+     */
+    public ProductImportRow map(long line, List<String> fields, List<ImportError> errors) {
+        String skuValue = value(fields, sku);
+        String problem = check(skuValue, "sku", 100, true);
+        String barcodeValue = value(fields, barcode);
+        String nameValue = value(fields, name);
+        String descriptionValue = value(fields, description);
+        String unitValue = value(fields, unit);
+        String categoryValue = value(fields, category);
+        if (problem == null) {
+            problem = firstProblem(
+                    check(barcodeValue, "barcode", 100, false),
+                    check(nameValue, "name", 200, true),
+                    check(descriptionValue, "description", 1000, false),
+                    check(unitValue, "unit", 20, true),
+                    check(categoryValue, "category", 100, false));
+        }
+        BigDecimal price = null;
+        int minStock = 0;
+        if (problem == null) {
+            try {
+                price = new BigDecimal(value(fields, unitPrice) == null ? "" : value(fields, unitPrice));
+                // DECIMAL(10, 2)
+                if (price.signum() <= 0 || price.scale() > 2 || price.precision() - price.scale() > 8) {
+                    problem = "unit_price must be positive with at most 8 digits and 2 decimals";
+                }
+            } catch (NumberFormatException ex) {
+                problem = "unit_price is not a number";
+            }
+        }
+        if (problem == null && value(fields, minStockLevel) != null) {
+            try {
+                minStock = Integer.parseInt(value(fields, minStockLevel));
+                if (minStock < 0) {
+                    problem = "min_stock_level must not be negative";
+                }
+            } catch (NumberFormatException ex) {
+                problem = "min_stock_level is not a whole number";
+            }
+        }
+        if (problem != null) {
+            errors.add(new ImportError(line, skuValue, problem));
+            return null;
+        }
+        return new ProductImportRow(line, skuValue, barcodeValue, nameValue, descriptionValue, unitValue, price,
+                minStock, categoryValue);
+    }
+
+    private static String value(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String check(String value, String column, int maxLength, boolean required) {
+        if (value == null) {
+            return required ? column + " is required" : null;
+        }
+        return value.length() > maxLength ? column + " is longer than " + maxLength + " characters" : null;
+    }
+
+    private static String firstProblem(String... problems) {
+        for (String problem : problems) {
+            if (problem != null) {
+                return problem;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.wms.catalog;
+
+import java.math.BigDecimal;
+
+/**
+ * A validated product line of an import file; {@code line} is where the record starts in
+ * the file.
+ */
+public record ProductImportRow(long line, String sku, String barcode, String name, String description,
+                               String unit, BigDecimal unitPrice, int minStockLevel, String category) {
+}
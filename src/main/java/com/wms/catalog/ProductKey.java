@@ -0,0 +1,5 @@
+package com.wms.catalog;
+
+// Veritabanındaki bir ürünün benzersiz alanları
+public record ProductKey(String sku, String barcode) {
+}
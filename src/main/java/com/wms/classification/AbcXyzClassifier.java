@@ -0,0 +1,68 @@
+package com.wms.classification;
+
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ABC by consumption value and XYZ by demand variability, for the products of one
+ * warehouse. A product is A while the products ranked above it hold less than the A
+ * share of total value, B while they hold less than the B share, C otherwise. Products
+ * stocked but never picked in the window are C and Z.
+ */
+@Component
+public class AbcXyzClassifier {
+
+    public List<ProductClass> classify(Map<Long, DemandAccumulator> demand,
+                                       Collection<Long> stockedProductIds,
+                                       ClassificationPolicy policy) {
+        List<ProductClass> unranked = new ArrayList<>(demand.size() + stockedProductIds.size());
+        demand.forEach((productId, accumulator) -> unranked.add(new ProductClass(productId, null,
+                xyz(accumulator.coefficientOfVariation(), policy), accumulator.units(),
+                accumulator.consumptionValue().setScale(2, RoundingMode.HALF_UP),
+                accumulator.coefficientOfVariation())));
+        for (Long productId : stockedProductIds) {
+            if (!demand.containsKey(productId)) {
+                unranked.add(new ProductClass(productId, null, XyzClass.Z, 0, BigDecimal.ZERO.setScale(2), null));
+            }
+        }
+        unranked.sort(Comparator.comparing(ProductClass::consumptionValue).reversed()
+                .thenComparing(ProductClass::productId));
+
+        double total = unranked.stream().mapToDouble(product -> product.consumptionValue().doubleValue()).sum();
+        List<ProductClass> classified = new ArrayList<>(unranked.size());
+        double before = 0;
+        for (ProductClass product : unranked) {
+            double value = product.consumptionValue().doubleValue();
+            AbcClass abc;
+            if (value <= 0) {
+                abc = AbcClass.C;
+            } else if (before < policy.aShare() * total) {
+                abc = AbcClass.A;
+            } else if (before < policy.bShare() * total) {
+                abc = AbcClass.B;
+            } else {
+                abc = AbcClass.C;
+            }
+            before += value;
+            classified.add(new ProductClass(product.productId(), abc, product.xyzClass(), product.units(),
+                    product.consumptionValue(), product.demandCv()));
+        }
+        return classified;
+    }
+
+    private static XyzClass xyz(Double cv, ClassificationPolicy policy) {
+        if (cv == null || cv > policy.yMaxCv()) {
+            return XyzClass.Z;
+        }
+        return cv <= policy.xMaxCv() ? XyzClass.X : XyzClass.Y;
+    }
+}
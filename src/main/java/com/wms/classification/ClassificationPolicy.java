@@ -0,0 +1,32 @@
+package com.wms.classification;
+
+import java.time.LocalDate;
+
+/**
+ * Window and cut-offs for one classification run. ABC shares are cumulative shares of
+ * consumption value; XYZ limits are coefficients of variation of weekly demand.
+ */
+public record ClassificationPolicy(LocalDate windowStart,
+                                   int weeks,
+                                   double aShare,
+                                   double bShare,
+                                   double xMaxCv,
+                                   double yMaxCv) {
+
+    public ClassificationPolicy {
+        if (weeks < 2) {
+            throw new IllegalArgumentException("Classification needs at least two weeks of demand");
+        }
+        if (aShare <= 0 || aShare > bShare || bShare > 1) {
+            throw new IllegalArgumentException("ABC shares must satisfy 0 < A <= B <= 1");
+        }
+        if (xMaxCv < 0 || xMaxCv > yMaxCv) {
+            throw new IllegalArgumentException("XYZ limits must satisfy 0 <= X <= Y");
+        }
+    }
+
+    public static ClassificationPolicy endingOn(LocalDate lastDay, int weeks, double aShare, double bShare,
+                                                double xMaxCv, double yMaxCv) {
+        return new ClassificationPolicy(lastDay.minusDays(weeks * 7L - 1), weeks, aShare, bShare, xMaxCv, yMaxCv);
+    }
+}
@@ -0,0 +1,14 @@
+package com.wms.classification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Outbound units of one product on one day at one location, with the product's current
+ * unit price. Streamed from the daily pick velocity rows.
+ */
+public record DailyDemand(Long productId,
+                          BigDecimal unitPrice,
+                          LocalDate pickDate,
+                          Long units) {
+}
@@ -0,0 +1,85 @@
+package com.wms.classification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Collector;
+
+/**
+ * Weekly outbound units of one product over the classification window. Filled row by row
+ * from a single stream and mergeable, so partial results from parallel streams combine
+ * without a second pass.
+ */
+public final class DemandAccumulator {
+
+    private final LocalDate windowStart;
+    private final long[] weekly;
+    private BigDecimal unitPrice = BigDecimal.ZERO;
+
+    public DemandAccumulator(LocalDate windowStart, int weeks) {
+        this.windowStart = windowStart;
+        this.weekly = new long[weeks];
+    }
+
+    public static Collector<DailyDemand, DemandAccumulator, DemandAccumulator> collector(ClassificationPolicy policy) {
+        return Collector.of(
+                () -> new DemandAccumulator(policy.windowStart(), policy.weeks()),
+                DemandAccumulator::add,
+                DemandAccumulator::merge);
+    }
+
+    public void add(DailyDemand demand) {
+        long day = ChronoUnit.DAYS.between(windowStart, demand.pickDate());
+        if (day < 0 || day >= weekly.length * 7L) {
+            return;
+        }
+        weekly[(int) (day / 7)] += demand.units();
+        if (demand.unitPrice() != null) {
+            unitPrice = demand.unitPrice();
+        }
+    }
+
+    public DemandAccumulator merge(DemandAccumulator other) {
+        if (!windowStart.equals(other.windowStart) || weekly.length != other.weekly.length) {
+            throw new IllegalArgumentException("Accumulators cover different windows");
+        }
+        for (int i = 0; i < weekly.length; i++) {
+            weekly[i] += other.weekly[i];
+        }
+        if (unitPrice.signum() == 0) {
+            unitPrice = other.unitPrice;
+        }
+        return this;
+    }
+
+    public long units() {
+        long total = 0;
+        for (long week : weekly) {
+            total += week;
+        }
+        return total;
+    }
+
+    public BigDecimal consumptionValue() {
+        return unitPrice.multiply(BigDecimal.valueOf(units()));
+    }
+
+    /**
+     * Coefficient of variation of weekly demand, counting weeks without demand as zero;
+     * null if there was no demand at all.
+     */
+    public Double coefficientOfVariation() {
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (long week : weekly) {
+            sum += week;
+            sumOfSquares += (double) week * week;
+        }
+        if (sum == 0) {
+            return null;
+        }
+        double mean = sum / weekly.length;
+        double variance = Math.max(0, sumOfSquares / weekly.length - mean * mean);
+        return Math.sqrt(variance) / mean;
+    }
+}
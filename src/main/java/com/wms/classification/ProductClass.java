@@ -0,0 +1,18 @@
+package com.wms.classification;
+
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+
+import java.math.BigDecimal;
+
+/**
+ * Classification of one product in one warehouse. {@code demandCv} is null when the
+ * product had no demand in the window.
+ */
+public record ProductClass(Long productId,
+                           AbcClass abcClass,
+                           XyzClass xyzClass,
+                           long units,
+                           BigDecimal consumptionValue,
+                           Double demandCv) {
+}
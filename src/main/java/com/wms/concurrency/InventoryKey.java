@@ -0,0 +1,7 @@
+package com.wms.concurrency;
+
+/**
+ * Identifies one inventory row by its natural key, (product, location).
+ */
+public record InventoryKey(Long productId, Long locationId) {
+}
@@ -0,0 +1,93 @@
+package com.wms.concurrency;
+
+import com.wms.dto.request.StockAdjustmentRequest;
+import com.wms.dto.request.StockTransferRequest;
+import com.wms.repository.CycleCountLineRepository;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.OrderItemRepository;
+import com.wms.repository.PurchaseOrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs between {@link OptimisticRetryAspect} and the transaction interceptor: stripes are
+ * held for the whole transaction including commit, but no connection is taken while
+ * waiting for them. Locks only reduce contention; {@code @Version} still guards
+ * correctness across nodes.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class InventoryLockAspect {
+
+    private final StripedLockManager lockManager;
+    private final InventoryRepository inventoryRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final PurchaseOrderItemRepository purchaseOrderItemRepository;
+    private final CycleCountLineRepository cycleCountLineRepository;
+
+    @Around("@annotation(inventoryLocked)")
+    public Object lock(ProceedingJoinPoint joinPoint, InventoryLocked inventoryLocked) throws Throwable {
+        List<InventoryKey> keys = resolveKeys(inventoryLocked.value(), joinPoint.getArgs()[0]);
+        if (keys.isEmpty()) {
+            return joinPoint.proceed();
+        }
+        try {
+            return lockManager.withLocks(keys, () -> {
+                try {
+                    return joinPoint.proceed();
+                } catch (RuntimeException | Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    throw new CheckedInvocationException(ex);
+                }
+            });
+        } catch (CheckedInvocationException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private List<InventoryKey> resolveKeys(InventoryLocked.KeySource source, Object argument) {
+        if (argument == null) {
+            return List.of();
+        }
+        return switch (source) {
+            case STOCK_TRANSFER_REQUEST -> {
+                StockTransferRequest request = (StockTransferRequest) argument;
+                yield List.of(new InventoryKey(request.getProductId(), request.getFromLocationId()),
+                        new InventoryKey(request.getProductId(), request.getToLocationId()));
+            }
+            case STOCK_TRANSFER_REQUESTS -> {
+                @SuppressWarnings("unchecked")
+                List<StockTransferRequest> requests = (List<StockTransferRequest>) argument;
+                yield requests.stream()
+                        .flatMap(request -> Stream.of(new InventoryKey(request.getProductId(), request.getFromLocationId()),
+                                new InventoryKey(request.getProductId(), request.getToLocationId())))
+                        .toList();
+            }
+            case STOCK_ADJUSTMENT_REQUEST -> {
+                StockAdjustmentRequest request = (StockAdjustmentRequest) argument;
+                yield List.of(new InventoryKey(request.getProductId(), request.getLocationId()));
+            }
+            case INVENTORY_ID -> inventoryRepository.findInventoryKeyById((Long) argument).stream().toList();
+            case ORDER_ID -> orderItemRepository.findInventoryKeysByOrderId((Long) argument);
+            case PURCHASE_ORDER_ID -> purchaseOrderItemRepository.findInventoryKeysByPurchaseOrderId((Long) argument);
+            case CYCLE_COUNT_ID -> cycleCountLineRepository.findCountedInventoryKeys((Long) argument);
+        };
+    }
+
+    private static class CheckedInvocationException extends RuntimeException {
+        CheckedInvocationException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
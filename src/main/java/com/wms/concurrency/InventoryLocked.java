@@ -0,0 +1,28 @@
+package com.wms.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Takes the {@link StripedLockManager} stripes of every inventory row the annotated method
+ * will touch before its transaction starts. The rows are derived from the first argument
+ * as described by {@link #value()}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InventoryLocked {
+
+    KeySource value();
+
+    enum KeySource {
+        STOCK_TRANSFER_REQUEST,
+        STOCK_TRANSFER_REQUESTS,
+        STOCK_ADJUSTMENT_REQUEST,
+        INVENTORY_ID,
+        ORDER_ID,
+        PURCHASE_ORDER_ID,
+        CYCLE_COUNT_ID
+    }
+}
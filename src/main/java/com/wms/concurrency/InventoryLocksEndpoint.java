@@ -0,0 +1,26 @@
+package com.wms.concurrency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/inventorylocks}: totals plus the most contended stripes.
+ */
+@Component
+@Endpoint(id = "inventorylocks")
+@RequiredArgsConstructor
+public class InventoryLocksEndpoint {
+
+    private static final int TOP_STRIPES = 20;
+
+    private final StripedLockManager lockManager;
+
+    @ReadOperation
+    public Map<String, Object> stripes() {
+        return lockManager.snapshot(TOP_STRIPES);
+    }
+}
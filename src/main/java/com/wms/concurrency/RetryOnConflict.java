@@ -0,0 +1,21 @@
+package com.wms.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the annotated transactional method when it loses an optimistic-lock race
+ * (or hits another transient concurrency failure). The retry wraps the whole
+ * transaction, so every attempt re-reads fresh rows.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /**
+     * Overrides {@code app.retry.max-attempts} when positive.
+     */
+    int maxAttempts() default 0;
+}
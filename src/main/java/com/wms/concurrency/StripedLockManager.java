@@ -0,0 +1,148 @@
+package com.wms.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Serializes conflicting inventory mutations inside the JVM before they reach the
+ * database. Keys are hashed onto a fixed number of stripes; a caller that needs several
+ * keys takes their stripes in ascending order, so two callers can never deadlock.
+ */
+@Component
+public class StripedLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutMs;
+
+    // Stripe bazlı istatistikler
+    private final AtomicLongArray acquisitions;
+    private final AtomicLongArray contended;
+    private final AtomicLongArray waitNanos;
+
+    public StripedLockManager(@Value("${app.locks.stripes:1024}") int stripeCount,
+                              @Value("${app.locks.timeout-ms:5000}") long timeoutMs,
+                              MeterRegistry meterRegistry) {
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.timeoutMs = timeoutMs;
+        this.acquisitions = new AtomicLongArray(size);
+        this.contended = new AtomicLongArray(size);
+        this.waitNanos = new AtomicLongArray(size);
+
+        if (meterRegistry != null) {
+            FunctionCounter.builder("wms.locks.acquisitions", acquisitions, StripedLockManager::sum)
+                    .register(meterRegistry);
+            FunctionCounter.builder("wms.locks.contended", contended, StripedLockManager::sum)
+                    .register(meterRegistry);
+            FunctionCounter.builder("wms.locks.wait", waitNanos, array -> sum(array) / 1_000_000.0)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T withLocks(Collection<InventoryKey> keys, Supplier<T> action) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        keys.forEach(key -> indexes.add(stripeOf(key)));
+
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                acquire(index);
+                held.add(stripes[index]);
+            }
+            return action.get();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    public int stripeOf(InventoryKey key) {
+        int hash = 31 * Long.hashCode(key.productId()) + Long.hashCode(key.locationId());
+        // Ardışık id'lerin aynı stripe'a yığılmaması için bitleri karıştır
+        hash ^= (hash >>> 16);
+        hash *= 0x85ebca6b;
+        hash ^= (hash >>> 13);
+        return hash & mask;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    public Map<String, Object> snapshot(int top) {
+        List<Map<String, Object>> hottest = IntStream.range(0, stripes.length)
+                .filter(i -> contended.get(i) > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong(contended::get).reversed())
+                .limit(top)
+                .map(i -> {
+                    Map<String, Object> stripe = new LinkedHashMap<>();
+                    stripe.put("stripe", i);
+                    stripe.put("acquisitions", acquisitions.get(i));
+                    stripe.put("contended", contended.get(i));
+                    stripe.put("waitMs", waitNanos.get(i) / 1_000_000);
+                    stripe.put("queueLength", stripes[i].getQueueLength());
+                    return stripe;
+                })
+                .toList();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stripes", stripes.length);
+        result.put("acquisitions", sum(acquisitions));
+        result.put("contended", sum(contended));
+        result.put("waitMs", sum(waitNanos) / 1_000_000);
+        result.put("hottest", hottest);
+        return result;
+    }
+
+    private void acquire(int index) {
+        ReentrantLock lock = stripes[index];
+        acquisitions.incrementAndGet(index);
+        if (lock.tryLock()) {
+            return;
+        }
+        contended.incrementAndGet(index);
+        long started = System.nanoTime();
+        try {
+            if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException("Timed out waiting for inventory lock stripe " + index);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for inventory lock stripe " + index, ex);
+        } finally {
+            waitNanos.addAndGet(index, System.nanoTime() - started);
+        }
+    }
+
+    private static long sum(AtomicLongArray array) {
+        long total = 0;
+        for (int i = 0; i < array.length(); i++) {
+            total += array.get(i);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,238 @@
+package com.wms.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.dto.response.ApiResponse;
+import com.wms.entity.IdempotencyRecord;
+import com.wms.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Makes the stock-mutating commands safe to retry. A request carrying an
+ * {@code Idempotency-Key} header is executed once; later requests with the same key get
+ * the stored response back without touching the service layer.
+ *
+ * <p>Keys are scoped to the authenticated user. A key reused for a different method, path
+ * or body is rejected with 422. Conflicts (409) and server errors are not stored, so the
+ * client can retry them under the same key.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final String ANONYMOUS = "anonymous";
+
+    private static final List<String> IDEMPOTENT_PATHS = List.of(
+            "/api/stock/transfer",
+            "/api/stock/transfer/batch",
+            "/api/stock/adjust",
+            "/api/orders/*/reserve",
+            "/api/orders/*/cancel",
+            "/api/orders/cancel",
+            "/api/waves/release",
+            "/api/purchase-orders/*/receive"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cached = new CachedBodyRequest(request);
+        String principal = principal();
+        String fingerprint = fingerprint(request.getMethod(), path, request.getQueryString(), cached.body);
+
+        Optional<IdempotencyRecord> existing = idempotencyService.find(principal, key);
+        if (existing.isPresent()) {
+            replay(existing.get(), fingerprint, response);
+            return;
+        }
+
+        if (!idempotencyService.claim(principal, key, request.getMethod(), path, fingerprint)) {
+            // Aynı anahtarla eşzamanlı bir istek kazandı
+            idempotencyService.find(principal, key).ifPresentOrElse(
+                    record -> replay(record, fingerprint, response),
+                    () -> writeError(response, HttpStatus.CONFLICT, "Request with this idempotency key is in progress"));
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(cached, wrapper);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            idempotencyService.release(principal, key);
+            throw ex;
+        }
+
+        // Çakışma (409) ve sunucu hataları saklanmaz; aynı anahtarla yeniden denenebilir
+        if (wrapper.getStatus() >= 500 || wrapper.getStatus() == HttpStatus.CONFLICT.value()) {
+            idempotencyService.release(principal, key);
+        } else {
+            idempotencyService.complete(principal, key, wrapper.getStatus(), wrapper.getContentType(),
+                    new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void replay(IdempotencyRecord record, String fingerprint, HttpServletResponse response) {
+        if (!record.getRequestFingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency key was already used for a different request");
+            return;
+        }
+        if (!record.isCompleted()) {
+            writeError(response, HttpStatus.CONFLICT, "Request with this idempotency key is in progress");
+            return;
+        }
+        response.setStatus(record.getResponseStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getResponseContentType() != null) {
+            response.setContentType(record.getResponseContentType());
+        }
+        if (record.getResponseBody() != null) {
+            write(response, record.getResponseBody().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Anahtarlar kimliği doğrulanmış kullanıcıya göre ayrılır
+    private String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : ANONYMOUS;
+    }
+
+    static String fingerprint(String method, String path, String query, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + ' ' + path + (query != null ? "?" + query : "") + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            write(response, objectMapper.writeValueAsBytes(ApiResponse.<Void>builder()
+                    .success(false)
+                    .error(message)
+                    .traceId(MDC.get("requestId"))
+                    .build()));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not serialize error response", ex);
+        }
+    }
+
+    private void write(HttpServletResponse response, byte[] body) {
+        try {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not write idempotent response", ex);
+        }
+    }
+
+    // Parmak izi için gövde komuttan önce okunur; komut aynı baytları tekrar okur
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
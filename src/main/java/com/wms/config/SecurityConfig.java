@@ -2,6 +2,7 @@ package com.wms.config;
 
 import com.wms.security.CustomAuthenticationSuccessHandler;
 import com.wms.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,10 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Long-poll cevapları (async dispatch): asıl istek zaten yetkilendirildi,
+                        // JWT filtresi async dispatch'te tekrar çalışmaz
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // === AUTH & DOCS ===
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
@@ -116,6 +121,26 @@ public class SecurityConfig {
                         .requestMatchers("/api/orders/**")
                         .hasAnyRole("ADMIN", "MANAGER", "WORKER")
 
+                        // === WAVES ===
+                        .requestMatchers("/api/waves/**")
+                        .hasAnyRole("ADMIN", "MANAGER")
+
+                        // === SLOTTING ===
+                        .requestMatchers("/api/slotting/**")
+                        .hasAnyRole("ADMIN", "MANAGER")
+
+                        // === PICK FACES ===
+                        .requestMatchers("/api/pick-faces/**")
+                        .hasAnyRole("ADMIN", "MANAGER")
+
+                        // === CYCLE COUNTS === WORKER sayım föyünü görür ve sayım girer
+                        .requestMatchers(HttpMethod.GET, "/api/cycle-counts/**")
+                        .hasAnyRole("ADMIN", "MANAGER", "WORKER")
+                        .requestMatchers(HttpMethod.POST, "/api/cycle-counts/*/counts")
+                        .hasAnyRole("ADMIN", "MANAGER", "WORKER")
+                        .requestMatchers("/api/cycle-counts/**")
+                        .hasAnyRole("ADMIN", "MANAGER")
+
                         // SUPPLIERS - WORKER görebilir, ADMIN & MANAGER yönetir
                         .requestMatchers(HttpMethod.GET, "/api/suppliers/**")
                         .hasAnyRole("ADMIN", "MANAGER", "WORKER")
@@ -126,10 +151,18 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/api/suppliers/**")
                         .hasAnyRole("ADMIN", "MANAGER")
 
+                        // LIVE UPDATES (SSE) - Herkes izleyebilir
+                        .requestMatchers(HttpMethod.GET, "/api/live/**")
+                        .hasAnyRole("ADMIN", "MANAGER", "WORKER")
+
                         // REPORTS - Sadece ADMIN & MANAGER
                         .requestMatchers("/api/reports/**")
                         .hasAnyRole("ADMIN", "MANAGER")
 
+                        // EXPORTS - Sadece ADMIN & MANAGER
+                        .requestMatchers("/api/exports/**")
+                        .hasAnyRole("ADMIN", "MANAGER")
+
                         // ADMIN PANEL API - Sadece ADMIN
                         .requestMatchers("/api/admin/**")
                         .hasRole("ADMIN")
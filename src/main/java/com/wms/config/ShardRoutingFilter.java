@@ -0,0 +1,118 @@
+package com.wms.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.dto.response.ApiResponse;
+import com.wms.exception.BusinessRuleException;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRouter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * In sharded mode, routes each API request to the shard of its warehouse, taken from the
+ * {@code X-Warehouse-Id} header or the {@code warehouseId} query parameter. Catalog APIs
+ * (products, suppliers, warehouses, users) always run on the catalog database; any other
+ * API request without a warehouse is rejected, since there is no database holding the data
+ * of all warehouses. The product search filtered by ABC or XYZ class is the exception: the
+ * classifications are shard data, so it goes to the shard of its warehouse like any other
+ * warehouse request.
+ *
+ * <p>The Thymeleaf pages are not supported in this mode: their {@code fetch} calls send no
+ * warehouse and list every warehouse at once, so their warehouse requests are rejected here.
+ * Sharded deployments are driven through the REST API only.
+ *
+ * <p>Runs after Spring Security, so authentication reads users from the catalog, and before
+ * {@link IdempotencyFilter}, whose keys live in the shard of the request.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    static final String WAREHOUSE_HEADER = "X-Warehouse-Id";
+    static final String WAREHOUSE_PARAMETER = "warehouseId";
+
+    private static final String PRODUCTS_PATH = "/api/products";
+    private static final List<String> CLASSIFICATION_PARAMETERS = List.of("abcClass", "xyzClass");
+
+    private static final List<String> CATALOG_PATHS = List.of(
+            "/api/products/**",
+            "/api/suppliers/**",
+            "/api/warehouses/**",
+            "/api/auth/**",
+            "/api/admin/**"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!shardRouter.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (isClassificationSearch(path, request)) {
+            return false;
+        }
+        return !path.startsWith("/api/") || CATALOG_PATHS.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    // Ürünler her shard'a çoğaltılır, sınıflar ise yalnızca deponun shard'ında bulunur
+    private boolean isClassificationSearch(String path, HttpServletRequest request) {
+        return PRODUCTS_PATH.equals(path)
+                && CLASSIFICATION_PARAMETERS.stream().anyMatch(name -> request.getParameter(name) != null);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String warehouse = request.getHeader(WAREHOUSE_HEADER);
+        if (warehouse == null) {
+            warehouse = request.getParameter(WAREHOUSE_PARAMETER);
+        }
+        if (warehouse == null || warehouse.isBlank()) {
+            writeError(response, WAREHOUSE_HEADER + " header or " + WAREHOUSE_PARAMETER
+                    + " parameter is required when sharding is enabled");
+            return;
+        }
+        String shard;
+        try {
+            shard = shardRouter.shardForWarehouse(Long.valueOf(warehouse.trim()));
+        } catch (NumberFormatException ex) {
+            writeError(response, "Invalid warehouse id: " + warehouse);
+            return;
+        } catch (BusinessRuleException ex) {
+            writeError(response, ex.getMessage());
+            return;
+        }
+        try (ShardContext.Scope ignored = ShardContext.enter(shard)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(ApiResponse.<Void>builder()
+                .success(false)
+                .error(message)
+                .traceId(MDC.get("requestId"))
+                .build()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.wms.config;
+
+import com.wms.sharding.ShardRouter;
+import com.wms.sharding.ShardRoutingDataSource;
+import com.wms.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Warehouse-sharded deployment. Off by default: the router then maps everything to the single
+ * {@code spring.datasource}. With {@code app.sharding.enabled=true}:
+ * <ul>
+ *   <li>each shard and the catalog get their own Hikari pool behind one routing
+ *       {@link DataSource} (see {@link ShardRoutingDataSource})</li>
+ *   <li>Flyway migrates every pool, so all databases share one schema</li>
+ *   <li>the catalog tables ({@link #CATALOG_TABLES}) are written on the catalog only and
+ *       reach the shards through PostgreSQL logical replication, so shard rows keep their
+ *       foreign keys to products and warehouses</li>
+ * </ul>
+ *
+ * <p>Those foreign keys make deletes the weak spot. A catalog row deleted while a shard
+ * still references it fails on the shard's foreign key inside the subscription's apply
+ * worker, which then retries the same change forever and stops all catalog replication to
+ * that shard until the row is removed by hand. Deletes of catalog rows therefore have to be
+ * checked against every shard first, as {@code ProductService.deleteProduct} does.
+ *
+ * <p>That check is not atomic with the delete, so a shard row written in between can still
+ * stall a subscription; the shard log then repeats a foreign key error from the apply worker.
+ * To recover, delete or re-point the referencing shard rows and let the apply worker retry,
+ * or skip the change with {@code ALTER SUBSCRIPTION ... SKIP (lsn = ...)}, which keeps the
+ * product on that shard only.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    static final String CATALOG_TABLES = "warehouses, products, suppliers, product_suppliers, users";
+
+    private static final String PUBLICATION = "wms_catalog";
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        return new ShardRouter(properties);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+    static class ShardedDataSourceConfig {
+
+        private static final Logger logger = LoggerFactory.getLogger(ShardedDataSourceConfig.class);
+
+        @Bean
+        @Primary
+        public ShardRoutingDataSource dataSource(ShardingProperties properties) {
+            Map<String, DataSource> shards = new LinkedHashMap<>();
+            properties.getShards().forEach((name, shard) -> shards.put(name, pool("wms-shard-" + name, shard)));
+            return new ShardRoutingDataSource(pool("wms-catalog", properties.getCatalog()), shards);
+        }
+
+        /**
+         * Migrates the catalog and then every shard with the auto-configured Flyway settings,
+         * then subscribes the shards to the catalog tables.
+         */
+        @Bean
+        public FlywayMigrationStrategy shardedMigrationStrategy(ShardRoutingDataSource dataSource,
+                                                                ShardingProperties properties) {
+            return flyway -> {
+                dataSource.pools().forEach((name, pool) -> {
+                    logger.info("Migrating database {}", name);
+                    Flyway.configure().configuration(flyway.getConfiguration()).dataSource(pool).load().migrate();
+                });
+                String connection = properties.getCatalog().getReplicationConnection();
+                if (connection == null || connection.isBlank()) {
+                    logger.warn("app.sharding.catalog.replication-connection is not set; catalog tables are not "
+                            + "replicated to the shards");
+                    return;
+                }
+                replicateCatalog(dataSource.pools(), connection);
+            };
+        }
+
+        // Yalnızca ilk kurulumda oluşturulur; var olan yayın ve abonelikler olduğu gibi kalır
+        private void replicateCatalog(Map<String, DataSource> pools, String connection) {
+            JdbcTemplate catalog = new JdbcTemplate(pools.get(ShardRouter.CATALOG));
+            if (!exists(catalog, "SELECT COUNT(*) FROM pg_publication WHERE pubname = ?", PUBLICATION)) {
+                catalog.execute("CREATE PUBLICATION " + PUBLICATION + " FOR TABLE " + CATALOG_TABLES);
+            }
+            pools.forEach((name, pool) -> {
+                if (ShardRouter.CATALOG.equals(name)) {
+                    return;
+                }
+                JdbcTemplate shard = new JdbcTemplate(pool);
+                String subscription = PUBLICATION + "_" + name.replaceAll("[^A-Za-z0-9_]", "_").toLowerCase();
+                if (!exists(shard, "SELECT COUNT(*) FROM pg_subscription WHERE subname = ?", subscription)) {
+                    // Aynı migration'lar her iki tarafa aynı başlangıç verisini yazdı; ilk kopya yapılmaz
+                    shard.execute("CREATE SUBSCRIPTION " + subscription + " CONNECTION '"
+                            + connection.replace("'", "''") + "' PUBLICATION " + PUBLICATION
+                            + " WITH (copy_data = false)");
+                    logger.info("Subscribed shard {} to the catalog tables", name);
+                }
+            });
+        }
+
+        private boolean exists(JdbcTemplate jdbcTemplate, String sql, String name) {
+            Integer count = jdbcTemplate.queryForObject(sql, Integer.class, name);
+            return count != null && count > 0;
+        }
+
+        private HikariDataSource pool(String name, ShardingProperties.Pool settings) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(settings.getUrl());
+            pool.setUsername(settings.getUsername());
+            pool.setPassword(settings.getPassword());
+            pool.setMaximumPoolSize(settings.getMaximumPoolSize());
+            return pool;
+        }
+    }
+}
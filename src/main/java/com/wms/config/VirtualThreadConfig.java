@@ -0,0 +1,75 @@
+package com.wms.config;
+
+import com.wms.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Active only when {@code spring.threads.virtual.enabled=true}. Wraps the pool so that
+ * virtual threads wait on a bounded limiter rather than stampeding Hikari. A sharded
+ * deployment keeps its routing {@link DataSource} as is and gets one limiter per pool
+ * instead, so a busy shard does not take the permits of the others.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor dbConcurrencyLimiter(Environment environment,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        int maxConcurrency = environment.getProperty("app.db.max-concurrency", Integer.class, 10);
+        long acquireTimeoutMs = environment.getProperty("app.db.acquire-timeout-ms", Long.class, 30000L);
+
+        return new BeanPostProcessor() {
+            // Hedefler afterPropertiesSet'te çözülür; sarma ondan önce yapılmalı
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof ShardRoutingDataSource routing) {
+                    routing.wrapPools((name, pool) -> limit(name, pool, permitsFor(pool)));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource
+                        || bean instanceof AbstractRoutingDataSource) {
+                    return bean;
+                }
+                return limit(beanName, dataSource, maxConcurrency);
+            }
+
+            // Shard havuzları kendi boyutlarından fazla izin almaz
+            private int permitsFor(DataSource pool) {
+                return pool instanceof HikariDataSource hikari
+                        ? Math.min(maxConcurrency, hikari.getMaximumPoolSize())
+                        : maxConcurrency;
+            }
+
+            private ConcurrencyLimitingDataSource limit(String name, DataSource dataSource, int permits) {
+                ConcurrencyLimitingDataSource limited =
+                        new ConcurrencyLimitingDataSource(dataSource, permits, acquireTimeoutMs);
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("wms.db.limiter.available", limited, ConcurrencyLimitingDataSource::getAvailablePermits)
+                            .tag("pool", name)
+                            .register(registry);
+                    Gauge.builder("wms.db.limiter.waiting", limited, ConcurrencyLimitingDataSource::getQueueLength)
+                            .tag("pool", name)
+                            .register(registry);
+                });
+                return limited;
+            }
+        };
+    }
+}
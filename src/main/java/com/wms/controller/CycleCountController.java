@@ -0,0 +1,116 @@
+package com.wms.controller;
+
+import com.wms.dto.request.CycleCountEntriesRequest;
+import com.wms.dto.request.CycleCountRequest;
+import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.CycleCountLineResponse;
+import com.wms.dto.response.CycleCountPostResponse;
+import com.wms.dto.response.CycleCountResponse;
+import com.wms.enums.CycleCountStatus;
+import com.wms.service.CycleCountService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cycle-counts")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Cycle Counts", description = "Cycle counts over location ranges with snapshot-netted variances")
+public class CycleCountController {
+
+    private final CycleCountService cycleCountService;
+
+    @PostMapping
+    @Operation(summary = "Open a cycle count for a location range and snapshot expected quantities")
+    public ResponseEntity<ApiResponse<CycleCountResponse>> createCount(@Valid @RequestBody CycleCountRequest request) {
+        CycleCountResponse response = cycleCountService.createCount(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.<CycleCountResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @GetMapping
+    @Operation(summary = "List cycle counts")
+    public ResponseEntity<ApiResponse<Page<CycleCountResponse>>> getCounts(
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) CycleCountStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<CycleCountResponse> response = cycleCountService.search(warehouseId, status,
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+        return ResponseEntity.ok(ApiResponse.<Page<CycleCountResponse>>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a cycle count")
+    public ResponseEntity<ApiResponse<CycleCountResponse>> getCount(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.<CycleCountResponse>builder()
+                .success(true)
+                .data(cycleCountService.getCount(id))
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @GetMapping("/{id}/lines")
+    @Operation(summary = "Count sheet in location order")
+    public ResponseEntity<ApiResponse<Page<CycleCountLineResponse>>> getSheet(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean uncountedOnly,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        Page<CycleCountLineResponse> response = cycleCountService.getSheet(id, uncountedOnly,
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+        return ResponseEntity.ok(ApiResponse.<Page<CycleCountLineResponse>>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/{id}/counts")
+    @Operation(summary = "Record counted quantities in bulk")
+    public ResponseEntity<ApiResponse<CycleCountResponse>> recordCounts(
+            @PathVariable Long id,
+            @Valid @RequestBody CycleCountEntriesRequest request) {
+        return ResponseEntity.ok(ApiResponse.<CycleCountResponse>builder()
+                .success(true)
+                .data(cycleCountService.recordCounts(id, request))
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/{id}/post")
+    @Operation(summary = "Post the variances of all counted lines")
+    public ResponseEntity<ApiResponse<CycleCountPostResponse>> postCount(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.<CycleCountPostResponse>builder()
+                .success(true)
+                .data(cycleCountService.postCount(id))
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/{id}/cancel")
+    @Operation(summary = "Cancel an open cycle count")
+    public ResponseEntity<ApiResponse<CycleCountResponse>> cancelCount(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.<CycleCountResponse>builder()
+                .success(true)
+                .data(cycleCountService.cancelCount(id))
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+}
@@ -0,0 +1,40 @@
+package com.wms.controller;
+
+import com.wms.enums.ExportFormat;
+import com.wms.service.InventoryExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Exports", description = "Bulk data exports")
+public class ExportController {
+
+    private final InventoryExportService inventoryExportService;
+
+    // Doğrudan yanıt akışına yazılır: StreamingResponseBody async zaman aşımına (40 sn) takılırdı
+    @GetMapping("/inventory")
+    @Operation(summary = "Stream the full inventory as gzip-compressed CSV or NDJSON, resumable after an inventory id")
+    public void exportInventory(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "0") long after,
+            HttpServletResponse response) throws IOException {
+        String extension = format == ExportFormat.NDJSON ? "ndjson" : "csv";
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"inventory." + extension + ".gz\"");
+        inventoryExportService.exportInventory(format, after, response.getOutputStream());
+    }
+}
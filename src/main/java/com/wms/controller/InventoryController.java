@@ -2,27 +2,55 @@ package com.wms.controller;
 
 import com.wms.dto.request.InventoryRequest;
 import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.InventoryAsOfResponse;
+import com.wms.dto.response.InventoryChangeFeedResponse;
+import com.wms.dto.response.InventoryLoadResponse;
 import com.wms.dto.response.InventoryResponse;
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import com.wms.service.InventoryChangeFeedService;
+import com.wms.service.InventoryHistoryService;
+import com.wms.service.InventoryLoadService;
 import com.wms.service.InventoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.MDC;
 
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/inventory")
 @RequiredArgsConstructor
 public class InventoryController {
 
+    private static final int MAX_CHANGES_PER_PAGE = 1000;
+    private static final int MAX_WAIT_SECONDS = 30;
+
     private final InventoryService inventoryService;
+    private final InventoryChangeFeedService inventoryChangeFeedService;
+    private final InventoryHistoryService inventoryHistoryService;
+    private final InventoryLoadService inventoryLoadService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<InventoryResponse>>> getAllInventory() {
-        List<InventoryResponse> response = inventoryService.getAllInventory();
+    public ResponseEntity<ApiResponse<List<InventoryResponse>>> getAllInventory(
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) AbcClass abcClass,
+            @RequestParam(required = false) XyzClass xyzClass) {
+        List<InventoryResponse> response = inventoryService.getAllInventory(warehouseId, abcClass, xyzClass);
         return ResponseEntity.ok(ApiResponse.<List<InventoryResponse>>builder()
                 .success(true)
                 .data(response)
@@ -30,6 +58,85 @@ public class InventoryController {
                 .build());
     }
 
+    /**
+     * Change feed for downstream consumers. Pass the previous response's
+     * {@code nextCursor} as {@code since}; with {@code waitSeconds > 0} the request is held
+     * open until changes arrive or the wait expires.
+     */
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<ApiResponse<InventoryChangeFeedResponse>>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "0") int waitSeconds) {
+        String traceId = MDC.get("requestId");
+        int pageSize = Math.clamp(limit, 1, MAX_CHANGES_PER_PAGE);
+        Duration wait = Duration.ofSeconds(Math.clamp(waitSeconds, 0, MAX_WAIT_SECONDS));
+        return inventoryChangeFeedService.poll(since, pageSize, wait)
+                .thenApply(feed -> ResponseEntity.ok(ApiResponse.<InventoryChangeFeedResponse>builder()
+                        .success(true)
+                        .data(feed)
+                        .traceId(traceId)
+                        .build()));
+    }
+
+    /**
+     * Quantities of a warehouse as they were at {@code timestamp}, optionally for one
+     * product or one location.
+     */
+    @GetMapping("/as-of")
+    public ResponseEntity<ApiResponse<InventoryAsOfResponse>> getInventoryAsOf(
+            @RequestParam Long warehouseId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long locationId) {
+        InventoryAsOfResponse response = inventoryHistoryService.getInventoryAsOf(warehouseId, timestamp, productId,
+                locationId);
+        return ResponseEntity.ok(ApiResponse.<InventoryAsOfResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    /**
+     * Bulk load of stock positions from a CSV body with the columns {@code sku},
+     * {@code warehouse} (code), {@code location} (code) and {@code quantity}.
+     */
+    @PostMapping(value = "/loads", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ApiResponse<InventoryLoadResponse>> loadInventory(InputStream body) {
+        InventoryLoadResponse response = inventoryLoadService.load(body);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.<InventoryLoadResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @GetMapping("/loads/{id}")
+    public ResponseEntity<ApiResponse<InventoryLoadResponse>> getInventoryLoad(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.<InventoryLoadResponse>builder()
+                .success(true)
+                .data(inventoryLoadService.getLoad(id))
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    // Reddedilen satırlar ve nedenleri, düzeltilip yeniden yüklenebilecek CSV olarak
+    @GetMapping(value = "/loads/{id}/rejections", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> getInventoryLoadRejections(@PathVariable Long id) {
+        inventoryLoadService.getLoad(id);
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            inventoryLoadService.writeRejections(id, writer);
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory-load-" + id
+                        + "-rejections.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
     @GetMapping("/product/{productId}")
     public ResponseEntity<List<InventoryResponse>> getInventoryByProduct(@PathVariable Long productId) {
         return ResponseEntity.ok(inventoryService.getInventoryByProduct(productId));
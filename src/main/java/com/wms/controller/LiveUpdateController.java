@@ -0,0 +1,29 @@
+package com.wms.controller;
+
+import com.wms.service.LiveUpdateHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Live Updates", description = "Server-Sent Events stream of inventory and order status changes")
+public class LiveUpdateController {
+
+    private final LiveUpdateHub liveUpdateHub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream inventory and order status deltas, optionally for one warehouse")
+    public SseEmitter stream(@RequestParam(required = false) Long warehouseId) {
+        return liveUpdateHub.subscribe(warehouseId);
+    }
+}
@@ -1,20 +1,35 @@
 package com.wms.controller;
 
+import com.wms.dto.request.OrderCancellationRequest;
 import com.wms.dto.request.OrderItemRequest;
 import com.wms.dto.request.OrderRequest;
 import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.OrderCancellationResponse;
 import com.wms.dto.response.OrderResponse;
+import com.wms.dto.response.OrderSummaryResponse;
+import com.wms.dto.response.PickListResponse;
+import com.wms.enums.OrderStatus;
+import com.wms.picking.RoutingStrategy;
 import com.wms.service.OrderService;
+import com.wms.service.PickListService;
+import com.wms.service.ReservationCombiner;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -23,7 +38,11 @@ import java.util.List;
 @Tag(name = "Orders", description = "Order management endpoints")
 public class OrderController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final OrderService orderService;
+    private final ReservationCombiner reservationCombiner;
+    private final PickListService pickListService;
 
     @PostMapping
     @Operation(summary = "Create order")
@@ -51,7 +70,7 @@ public class OrderController {
     @PostMapping("/{id}/reserve")
     @Operation(summary = "Reserve stock for order")
     public ResponseEntity<ApiResponse<Void>> reserve(@PathVariable Long id) {
-        orderService.reserveStock(id);
+        reservationCombiner.reserve(id);
         return ResponseEntity.ok(ApiResponse.<Void>builder()
                 .success(true)
                 .traceId(MDC.get("requestId"))
@@ -68,6 +87,43 @@ public class OrderController {
                 .build());
     }
 
+    @PostMapping("/{id}/cancel")
+    @Operation(summary = "Cancel order and release its reservations")
+    public ResponseEntity<ApiResponse<Void>> cancel(@PathVariable Long id) {
+        orderService.cancelOrder(id);
+        return ResponseEntity.ok(ApiResponse.<Void>builder()
+                .success(true)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/cancel")
+    @Operation(summary = "Cancel orders in bulk")
+    public ResponseEntity<ApiResponse<OrderCancellationResponse>> cancelBulk(
+            @Valid @RequestBody OrderCancellationRequest request) {
+        List<Long> orderIds = request.getOrderIds();
+        List<RuntimeException> outcomes = orderService.cancelOrders(orderIds);
+
+        List<Long> cancelled = new ArrayList<>();
+        Map<Long, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < orderIds.size(); i++) {
+            if (outcomes.get(i) == null) {
+                cancelled.add(orderIds.get(i));
+            } else {
+                failures.put(orderIds.get(i), outcomes.get(i).getMessage());
+            }
+        }
+
+        return ResponseEntity.ok(ApiResponse.<OrderCancellationResponse>builder()
+                .success(true)
+                .data(OrderCancellationResponse.builder()
+                        .cancelledOrderIds(cancelled)
+                        .failures(failures)
+                        .build())
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
     @GetMapping
     @Operation(summary = "Get all orders")
     public ResponseEntity<ApiResponse<List<OrderResponse>>> getAllOrders() {
@@ -79,6 +135,38 @@ public class OrderController {
                 .build());
     }
 
+    @GetMapping("/summaries")
+    @Operation(summary = "List order summaries (paginated, filterable by status, warehouse and order date)")
+    public ResponseEntity<ApiResponse<Page<OrderSummaryResponse>>> getOrderSummaries(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        // Sıralama sabit (order_date, id azalan); indeks sırasıyla aynı olsun diye dışarı açılmıyor
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_PAGE_SIZE));
+        Page<OrderSummaryResponse> response = orderService.searchOrderSummaries(status, warehouseId, from, to, pageRequest);
+        return ResponseEntity.ok(ApiResponse.<Page<OrderSummaryResponse>>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @GetMapping("/pick-list")
+    @Operation(summary = "Generate a routed pick list for reserved orders of one warehouse")
+    public ResponseEntity<ApiResponse<PickListResponse>> getPickList(
+            @RequestParam List<Long> orderIds,
+            @RequestParam(defaultValue = "AUTO") RoutingStrategy strategy) {
+        PickListResponse response = pickListService.generatePickList(orderIds, strategy);
+        return ResponseEntity.ok(ApiResponse.<PickListResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID")
     public ResponseEntity<ApiResponse<OrderResponse>> getOrder(@PathVariable Long id) {
@@ -0,0 +1,79 @@
+package com.wms.controller;
+
+import com.wms.dto.request.PickFaceRequest;
+import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.PickFaceReplenishmentResponse;
+import com.wms.dto.response.PickFaceResponse;
+import com.wms.service.PickFaceReplenisher;
+import com.wms.service.PickFaceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/pick-faces")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Pick Faces", description = "Pick face min/max levels and replenishment from reserve")
+public class PickFaceController {
+
+    private final PickFaceService pickFaceService;
+    private final PickFaceReplenisher pickFaceReplenisher;
+
+    @GetMapping
+    @Operation(summary = "List pick faces with their last known levels")
+    public ResponseEntity<ApiResponse<Page<PickFaceResponse>>> getPickFaces(
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(defaultValue = "false") boolean pendingOnly,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<PickFaceResponse> response = pickFaceService.search(warehouseId, pendingOnly,
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+        return ResponseEntity.ok(ApiResponse.<Page<PickFaceResponse>>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PutMapping("/locations/{locationId}")
+    @Operation(summary = "Make a location the pick face of a product, or change its min/max")
+    public ResponseEntity<ApiResponse<PickFaceResponse>> savePickFace(
+            @PathVariable Long locationId,
+            @Valid @RequestBody PickFaceRequest request) {
+        PickFaceResponse response = pickFaceService.saveFace(locationId, request);
+        return ResponseEntity.ok(ApiResponse.<PickFaceResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Remove a pick face")
+    public ResponseEntity<ApiResponse<Void>> deletePickFace(@PathVariable Long id) {
+        pickFaceService.deleteFace(id);
+        return ResponseEntity.ok(ApiResponse.<Void>builder()
+                .success(true)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/replenish")
+    @Operation(summary = "Top up pick faces below their minimum from reserve now")
+    public ResponseEntity<ApiResponse<PickFaceReplenishmentResponse>> replenish() {
+        PickFaceReplenishmentResponse response = pickFaceReplenisher.replenish();
+        return ResponseEntity.ok(ApiResponse.<PickFaceReplenishmentResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+}
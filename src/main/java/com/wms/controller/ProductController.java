@@ -2,7 +2,11 @@ package com.wms.controller;
 
 import com.wms.dto.request.ProductRequest;
 import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.ProductImportResponse;
 import com.wms.dto.response.ProductResponse;
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import com.wms.service.ProductImportService;
 import com.wms.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,9 +16,12 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
@@ -23,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     @PostMapping
     @Operation(summary = "Create new product")
@@ -35,6 +43,19 @@ public class ProductController {
                 .build());
     }
 
+    // Gövde akış olarak okunur; dosya belleğe ya da diske alınmaz
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Import products from a CSV body, upserting by SKU and reporting per-line errors")
+    public ResponseEntity<ApiResponse<ProductImportResponse>> importProducts(InputStream body) {
+        ProductImportResponse response = productImportService.importCsv(body);
+        return ResponseEntity.ok(ApiResponse.<ProductImportResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID")
     public ResponseEntity<ApiResponse<ProductResponse>> getProduct(@PathVariable Long id) {
@@ -47,11 +68,14 @@ public class ProductController {
     }
 
     @GetMapping
-    @Operation(summary = "Search products")
+    @Operation(summary = "Search products, optionally by ABC/XYZ class (in one warehouse or any)")
     public ResponseEntity<ApiResponse<Page<ProductResponse>>> searchProducts(
             @RequestParam(defaultValue = "") String search,
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) AbcClass abcClass,
+            @RequestParam(required = false) XyzClass xyzClass,
             Pageable pageable) {
-        Page<ProductResponse> response = productService.searchProducts(search, pageable);
+        Page<ProductResponse> response = productService.searchProducts(search, warehouseId, abcClass, xyzClass, pageable);
         return ResponseEntity.ok(ApiResponse.<Page<ProductResponse>>builder()
                 .success(true)
                 .data(response)
@@ -1,14 +1,34 @@
 package com.wms.controller;
 
 import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.ClassificationRunResponse;
+import com.wms.dto.response.InventorySnapshotRunResponse;
+import com.wms.dto.response.LedgerDiscrepancyResponse;
+import com.wms.dto.response.LedgerVerificationRunResponse;
 import com.wms.dto.response.LowStockReportResponse;
+import com.wms.dto.response.ProductClassificationResponse;
+import com.wms.dto.response.ReplenishmentPlanResponse;
+import com.wms.dto.response.ReplenishmentRunResponse;
 import com.wms.dto.response.StockMovementResponse;
+import com.wms.dto.response.StockValuationResponse;
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import com.wms.service.ClassificationJob;
+import com.wms.service.InventorySnapshotJob;
+import com.wms.service.LedgerVerificationJob;
+import com.wms.service.LedgerVerificationService;
+import com.wms.service.ProductClassificationService;
+import com.wms.service.ReplenishmentJob;
+import com.wms.service.ReplenishmentService;
 import com.wms.service.ReportService;
+import com.wms.service.StockValuationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +44,14 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ProductClassificationService productClassificationService;
+    private final ClassificationJob classificationJob;
+    private final ReplenishmentService replenishmentService;
+    private final ReplenishmentJob replenishmentJob;
+    private final InventorySnapshotJob inventorySnapshotJob;
+    private final LedgerVerificationService ledgerVerificationService;
+    private final LedgerVerificationJob ledgerVerificationJob;
+    private final StockValuationService stockValuationService;
 
     @GetMapping("/low-stock")
     @Operation(summary = "Get low stock report")
@@ -48,4 +76,113 @@ public class ReportController {
                 .traceId(MDC.get("requestId"))
                 .build());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/classifications")
+    @Operation(summary = "ABC/XYZ classification from the last run, filterable by warehouse and class")
+    public ResponseEntity<ApiResponse<Page<ProductClassificationResponse>>> getClassifications(
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) AbcClass abcClass,
+            @RequestParam(required = false) XyzClass xyzClass,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<ProductClassificationResponse> response = productClassificationService.search(warehouseId, abcClass,
+                xyzClass, PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+        return ResponseEntity.ok(ApiResponse.<Page<ProductClassificationResponse>>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/classifications/run")
+    @Operation(summary = "Recompute ABC/XYZ classification for all warehouses now")
+    public ResponseEntity<ApiResponse<ClassificationRunResponse>> runClassification() {
+        ClassificationRunResponse response = classificationJob.run();
+        return ResponseEntity.ok(ApiResponse.<ClassificationRunResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @GetMapping("/replenishment")
+    @Operation(summary = "Demand forecast, reorder point and proposed order quantity from the last run")
+    public ResponseEntity<ApiResponse<Page<ReplenishmentPlanResponse>>> getReplenishmentPlans(
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(defaultValue = "false") boolean reorderOnly,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<ReplenishmentPlanResponse> response = replenishmentService.search(warehouseId, reorderOnly,
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+        return ResponseEntity.ok(ApiResponse.<Page<ReplenishmentPlanResponse>>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/replenishment/run")
+    @Operation(summary = "Forecast demand and create draft purchase orders for all warehouses now")
+    public ResponseEntity<ApiResponse<ReplenishmentRunResponse>> runReplenishment() {
+        ReplenishmentRunResponse response = replenishmentJob.run();
+        return ResponseEntity.ok(ApiResponse.<ReplenishmentRunResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/inventory-snapshots/run")
+    @Operation(summary = "Snapshot the inventory of all warehouses for point-in-time queries now")
+    public ResponseEntity<ApiResponse<InventorySnapshotRunResponse>> runInventorySnapshots() {
+        InventorySnapshotRunResponse response = inventorySnapshotJob.run();
+        return ResponseEntity.ok(ApiResponse.<InventorySnapshotRunResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @GetMapping("/ledger-discrepancies")
+    @Operation(summary = "Inventory rows that disagree with the stock movement ledger, from the last verification")
+    public ResponseEntity<ApiResponse<Page<LedgerDiscrepancyResponse>>> getLedgerDiscrepancies(
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        Page<LedgerDiscrepancyResponse> response = ledgerVerificationService.search(warehouseId,
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+        return ResponseEntity.ok(ApiResponse.<Page<LedgerDiscrepancyResponse>>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/ledger-discrepancies/run")
+    @Operation(summary = "Verify inventory against the stock movement ledger for all warehouses now")
+    public ResponseEntity<ApiResponse<LedgerVerificationRunResponse>> runLedgerVerification() {
+        LedgerVerificationRunResponse response = ledgerVerificationJob.run();
+        return ResponseEntity.ok(ApiResponse.<LedgerVerificationRunResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    // Her satır artımlı tutulur; sorgu geçmişi yeniden oynatmaz
+    @GetMapping("/valuation")
+    @Operation(summary = "Stock valuation at cost per product and warehouse, from the cost layers")
+    public ResponseEntity<ApiResponse<Page<StockValuationResponse>>> getStockValuation(
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        Page<StockValuationResponse> response = stockValuationService.search(warehouseId, productId,
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+        return ResponseEntity.ok(ApiResponse.<Page<StockValuationResponse>>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+}
@@ -0,0 +1,36 @@
+package com.wms.controller;
+
+import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.SlottingResponse;
+import com.wms.service.SlottingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/slotting")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Slotting", description = "Velocity-based slotting recommendations")
+public class SlottingController {
+
+    private final SlottingService slottingService;
+
+    @GetMapping("/recommendations")
+    @Operation(summary = "Rank relocations of fast movers towards the dock; apply them via /api/stock/transfer/batch")
+    public ResponseEntity<ApiResponse<SlottingResponse>> recommendations(
+            @RequestParam Long warehouseId,
+            @RequestParam(defaultValue = "90") int days,
+            @RequestParam(defaultValue = "50") int limit) {
+        SlottingResponse response = slottingService.recommend(warehouseId, days, Math.min(Math.max(limit, 1), 500));
+        return ResponseEntity.ok(ApiResponse.<SlottingResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+}
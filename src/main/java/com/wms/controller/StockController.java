@@ -1,9 +1,11 @@
 package com.wms.controller;
 
 import com.wms.dto.request.StockAdjustmentRequest;
+import com.wms.dto.request.StockTransferBatchRequest;
 import com.wms.dto.request.StockTransferRequest;
 import com.wms.dto.response.ApiResponse;
 import com.wms.dto.response.InventoryResponse;
+import com.wms.dto.response.StockTransferBatchResponse;
 import com.wms.service.StockService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,7 +16,9 @@ import org.slf4j.MDC;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/stock")
@@ -35,6 +39,29 @@ public class StockController {
                 .build());
     }
 
+    @PostMapping("/transfer/batch")
+    @Operation(summary = "Apply several stock transfers in one transaction, reporting failures per transfer")
+    public ResponseEntity<ApiResponse<StockTransferBatchResponse>> transferStockBatch(
+            @Valid @RequestBody StockTransferBatchRequest request) {
+        List<RuntimeException> outcomes = stockService.transferStockBatch(request.getTransfers());
+
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i) != null) {
+                failures.put(i, outcomes.get(i).getMessage());
+            }
+        }
+
+        return ResponseEntity.ok(ApiResponse.<StockTransferBatchResponse>builder()
+                .success(true)
+                .data(StockTransferBatchResponse.builder()
+                        .transferred(outcomes.size() - failures.size())
+                        .failures(failures)
+                        .build())
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
     @PostMapping("/adjust")
     @Operation(summary = "Adjust stock quantity")
     public ResponseEntity<ApiResponse<Void>> adjustStock(@Valid @RequestBody StockAdjustmentRequest request) {
@@ -1,7 +1,9 @@
 package com.wms.controller;
 
+import com.wms.dto.request.ProductSupplierRequest;
 import com.wms.dto.request.SupplierRequest;
 import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.ProductSupplierResponse;
 import com.wms.dto.response.SupplierResponse;
 import com.wms.service.SupplierService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -115,4 +117,28 @@ public class SupplierController {
                 .traceId(MDC.get("requestId"))
                 .build());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/products")
+    @Operation(summary = "Get the products a supplier delivers, with lead times and order multiples")
+    public ResponseEntity<ApiResponse<List<ProductSupplierResponse>>> getProductTerms(@PathVariable Long id) {
+        List<ProductSupplierResponse> response = supplierService.getProductTerms(id);
+        return ResponseEntity.ok(ApiResponse.<List<ProductSupplierResponse>>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PutMapping("/{id}/products")
+    @Operation(summary = "Create or update the terms under which a supplier delivers a product")
+    public ResponseEntity<ApiResponse<ProductSupplierResponse>> saveProductTerms(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductSupplierRequest request) {
+        ProductSupplierResponse response = supplierService.saveProductTerms(id, request);
+        return ResponseEntity.ok(ApiResponse.<ProductSupplierResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+}
@@ -0,0 +1,46 @@
+package com.wms.controller;
+
+import com.wms.dto.request.WavePlanRequest;
+import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.WavePlanResponse;
+import com.wms.service.WaveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/waves")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Waves", description = "Wave planning and release endpoints")
+public class WaveController {
+
+    private final WaveService waveService;
+
+    @PostMapping("/plan")
+    @Operation(summary = "Preview waves for pending orders of a warehouse without reserving")
+    public ResponseEntity<ApiResponse<WavePlanResponse>> plan(@Valid @RequestBody WavePlanRequest request) {
+        WavePlanResponse response = waveService.plan(request);
+        return ResponseEntity.ok(ApiResponse.<WavePlanResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+
+    @PostMapping("/release")
+    @Operation(summary = "Plan, reserve and release waves with a pick list per wave")
+    public ResponseEntity<ApiResponse<WavePlanResponse>> release(@Valid @RequestBody WavePlanRequest request) {
+        WavePlanResponse response = waveService.release(request);
+        return ResponseEntity.ok(ApiResponse.<WavePlanResponse>builder()
+                .success(true)
+                .data(response)
+                .traceId(MDC.get("requestId"))
+                .build());
+    }
+}
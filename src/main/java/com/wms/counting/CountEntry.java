@@ -0,0 +1,4 @@
+package com.wms.counting;
+
+public record CountEntry(Long locationId, Long productId, int countedQuantity) {
+}
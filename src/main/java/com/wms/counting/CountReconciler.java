@@ -0,0 +1,22 @@
+package com.wms.counting;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Turns counted lines into variances without freezing the counted locations: movements
+ * committed between the snapshot and the count are netted out of the expected quantity,
+ * and movements after the count stay in the current quantity the variance is added to.
+ */
+@Component
+public class CountReconciler {
+
+    public List<CountVariance> reconcile(Collection<CountedLine> lines) {
+        return lines.stream()
+                .map(line -> new CountVariance(line.lineId(), line.inventoryId(), line.productId(), line.locationId(),
+                        Math.toIntExact(line.countedQuantity() - line.expectedAtCount())))
+                .toList();
+    }
+}
@@ -0,0 +1,8 @@
+package com.wms.counting;
+
+/**
+ * Difference between the counted quantity and the system quantity at the time of the
+ * count; adding it to the current quantity of the inventory row posts the count.
+ */
+public record CountVariance(Long lineId, Long inventoryId, Long productId, Long locationId, int variance) {
+}
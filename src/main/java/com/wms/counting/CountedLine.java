@@ -0,0 +1,15 @@
+package com.wms.counting;
+
+/**
+ * A counted line of a cycle count. {@code snapshotBalance} is the net of the movements
+ * after the count's watermark that were already in {@code expectedQuantity};
+ * {@code countedBalance} the net of those created up to the moment the line was counted.
+ */
+public record CountedLine(Long lineId, Long inventoryId, Long productId, Long locationId, int expectedQuantity,
+                          long snapshotBalance, int countedQuantity, long countedBalance) {
+
+    // Sayıldığı andaki sistem miktarı
+    public long expectedAtCount() {
+        return expectedQuantity + countedBalance - snapshotBalance;
+    }
+}
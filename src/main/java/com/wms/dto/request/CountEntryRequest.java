@@ -0,0 +1,24 @@
+package com.wms.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountEntryRequest {
+    @NotNull
+    private Long locationId;
+
+    @NotNull
+    private Long productId;
+
+    @NotNull
+    @PositiveOrZero
+    private Integer countedQuantity;
+}
@@ -0,0 +1,26 @@
+package com.wms.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CycleCountEntriesRequest {
+    // Sayımın yapıldığı an; boşsa gönderim anı
+    private LocalDateTime countedAt;
+
+    @NotEmpty
+    @Size(max = 5000)
+    private List<@Valid @NotNull CountEntryRequest> entries;
+}
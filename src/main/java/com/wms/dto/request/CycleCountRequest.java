@@ -0,0 +1,21 @@
+package com.wms.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class CycleCountRequest {
+    @NotNull
+    private Long warehouseId;
+
+    // Lokasyon kodu aralığı, iki uç dahil
+    @NotBlank
+    @Size(max = 50)
+    private String fromLocationCode;
+
+    @NotBlank
+    @Size(max = 50)
+    private String toLocationCode;
+}
@@ -2,12 +2,14 @@ package com.wms.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -24,4 +26,9 @@ public class OrderRequest {
     private Long warehouseId;
 
     private LocalDate orderDate; // Frontend'den gelen alan
+
+    @Size(max = 50)
+    private String carrier;
+
+    private LocalDateTime cutoffAt;
 }
@@ -0,0 +1,20 @@
+package com.wms.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+@Data
+public class PickFaceRequest {
+    @NotNull
+    private Long productId;
+
+    @NotNull
+    @PositiveOrZero
+    private Integer minQuantity;
+
+    @NotNull
+    @Positive
+    private Integer maxQuantity;
+}
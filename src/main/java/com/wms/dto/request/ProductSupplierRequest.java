@@ -0,0 +1,29 @@
+package com.wms.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class ProductSupplierRequest {
+    @NotNull
+    private Long productId;
+
+    @NotNull
+    @Positive
+    private Integer leadTimeDays;
+
+    @Positive
+    private Integer minOrderQuantity;
+
+    @Positive
+    private Integer packSize;
+
+    // Boşsa ürünün birim fiyatı kullanılır
+    @Positive
+    private BigDecimal unitCost;
+
+    private boolean preferred;
+}
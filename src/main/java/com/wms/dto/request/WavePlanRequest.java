@@ -0,0 +1,51 @@
+package com.wms.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WavePlanRequest {
+
+    @NotNull
+    private Long warehouseId;
+
+    // Yalnızca bu taşıyıcının siparişleri; boşsa hepsi
+    @Size(max = 50)
+    private String carrier;
+
+    @Min(1)
+    @Max(1000)
+    @Builder.Default
+    private Integer maxOrders = 100;
+
+    @Min(1)
+    @Builder.Default
+    private Integer maxLines = 500;
+
+    @Min(1)
+    @Builder.Default
+    private Long maxUnits = 5000L;
+
+    @Min(1)
+    @Builder.Default
+    private Integer maxZones = 4;
+
+    @Min(1)
+    @Builder.Default
+    private Integer cutoffWindowMinutes = 60;
+
+    // Tek çağrıda serbest bırakılacak en fazla dalga
+    @Min(1)
+    @Max(100)
+    @Builder.Default
+    private Integer maxWaves = 10;
+}
@@ -0,0 +1,22 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassificationRunResponse {
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private int warehouses;
+    private long classifiedProducts;
+    private Map<Long, String> failures;
+    private long elapsedMillis;
+}
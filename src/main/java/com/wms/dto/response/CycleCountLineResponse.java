@@ -0,0 +1,27 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CycleCountLineResponse {
+    private Long id;
+    private Long locationId;
+    private String locationCode;
+    private Long productId;
+    private String productSku;
+    private String productName;
+    private Integer expectedQuantity;
+    private Integer countedQuantity;
+    private LocalDateTime countedAt;
+    private Integer variance;
+    private boolean adjusted;
+    private String note;
+}
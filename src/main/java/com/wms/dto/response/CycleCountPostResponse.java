@@ -0,0 +1,23 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CycleCountPostResponse {
+    private String countNumber;
+    private int countedLines;
+    private int uncountedLines;
+    private int adjustedLines;
+    private long unitsAdded;
+    private long unitsRemoved;
+    // Satır id'si -> neden uygulanmadığı
+    private Map<Long, String> skipped;
+}
@@ -0,0 +1,27 @@
+package com.wms.dto.response;
+
+import com.wms.enums.CycleCountStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CycleCountResponse {
+    private Long id;
+    private String countNumber;
+    private Long warehouseId;
+    private String fromLocationCode;
+    private String toLocationCode;
+    private CycleCountStatus status;
+    private int lineCount;
+    private long countedLines;
+    private Integer adjustedLines;
+    private LocalDateTime snapshotAt;
+    private LocalDateTime postedAt;
+}
@@ -0,0 +1,18 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryAsOfLineResponse {
+    private Long productId;
+    private String productSku;
+    private Long locationId;
+    private String locationCode;
+    private long quantity;
+}
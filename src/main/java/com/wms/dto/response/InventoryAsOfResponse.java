@@ -0,0 +1,21 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryAsOfResponse {
+    private Long warehouseId;
+    private LocalDateTime timestamp;
+    // Yeniden kurulumun başladığı anlık görüntü; yoksa tüm hareket geçmişi okunur
+    private LocalDateTime snapshotTakenAt;
+    private List<InventoryAsOfLineResponse> lines;
+}
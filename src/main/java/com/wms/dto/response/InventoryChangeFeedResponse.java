@@ -0,0 +1,19 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryChangeFeedResponse {
+    private List<InventoryChangeResponse> changes;
+    // Bir sonraki istekte since olarak gönderilir
+    private Long nextCursor;
+    private boolean hasMore;
+}
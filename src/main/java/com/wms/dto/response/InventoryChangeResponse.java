@@ -0,0 +1,26 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryChangeResponse {
+    private Long position;
+    private Long inventoryId;
+    private Long productId;
+    private Long locationId;
+    private Long warehouseId;
+    private Integer quantity;
+    private Integer reservedQuantity;
+    private Integer availableQuantity;
+    private String changeType;
+    private String reference;
+    private LocalDateTime occurredAt;
+}
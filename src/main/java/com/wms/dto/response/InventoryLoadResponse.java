@@ -0,0 +1,24 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryLoadResponse {
+    private Long id;
+    // Hareketlerin reference_number alanı
+    private String reference;
+    private int totalLines;
+    private int changedLines;
+    private int unchangedLines;
+    private int rejectedLines;
+    private LocalDateTime completedAt;
+    private long elapsedMillis;
+}
@@ -0,0 +1,20 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySnapshotRunResponse {
+    private int warehouses;
+    private long snapshotLines;
+    private int prunedSnapshots;
+    private Map<Long, String> failures;
+    private long elapsedMillis;
+}
@@ -0,0 +1,24 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerDiscrepancyResponse {
+    private Long warehouseId;
+    private Long productId;
+    private Long locationId;
+    private Long inventoryQuantity;
+    private Long ledgerQuantity;
+    // Envanter eksi defter; pozitifse hareketsiz eklenmiş stok
+    private Long difference;
+    private Long movementWatermark;
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,22 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerVerificationRunResponse {
+    private int warehouses;
+    private long movementWatermark;
+    private long scannedMovements;
+    private long checkedRows;
+    private long discrepancies;
+    private Map<Long, String> failures;
+    private long elapsedMillis;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 @Builder
@@ -21,4 +22,6 @@ public class OrderResponse {
     private String status;
     private LocalDate orderDate;
     private LocalDate shippedDate;
+    private String carrier;
+    private LocalDateTime cutoffAt;
 }
\ No newline at end of file
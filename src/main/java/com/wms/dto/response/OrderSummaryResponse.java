@@ -0,0 +1,30 @@
+package com.wms.dto.response;
+
+import com.wms.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryResponse {
+    private Long id;
+    private String orderNumber;
+    private String customerName;
+    private Long warehouseId;
+    private String warehouseName;
+    private OrderStatus status;
+    private Integer lineCount;
+    private Long totalUnits;
+    private BigDecimal totalValue;
+    private LocalDate orderDate;
+    private LocalDate shippedDate;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickFaceReplenishmentResponse {
+    private int consumedChanges;
+    private int pendingFaces;
+    private int plannedTransfers;
+    private int completedTransfers;
+    private long transferredUnits;
+    private Map<Long, String> failures;
+}
@@ -0,0 +1,25 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickFaceResponse {
+    private Long id;
+    private Long productId;
+    private Long locationId;
+    private Long warehouseId;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+    private Integer quantity;
+    private Integer reservedQuantity;
+    private Boolean needsReplenishment;
+    private LocalDateTime flaggedAt;
+}
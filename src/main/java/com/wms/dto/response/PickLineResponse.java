@@ -0,0 +1,19 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickLineResponse {
+    private Long orderId;
+    private String orderNumber;
+    private Long productId;
+    private String sku;
+    private String productName;
+    private Integer quantity;
+}
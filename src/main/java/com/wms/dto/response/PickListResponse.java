@@ -0,0 +1,26 @@
+package com.wms.dto.response;
+
+import com.wms.picking.RoutingStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickListResponse {
+    private RoutingStrategy strategy;
+    private Long warehouseId;
+    private Integer orderCount;
+    private Integer lineCount;
+    private Integer stopCount;
+    private Long totalUnits;
+    // Raf gözü cinsinden tahmini yürüme; baseline aynı duraklar sipariş sırasıyla
+    private Double estimatedDistance;
+    private Double baselineDistance;
+    private List<PickStopResponse> stops;
+}
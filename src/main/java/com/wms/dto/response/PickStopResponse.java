@@ -0,0 +1,23 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickStopResponse {
+    private Integer sequence;
+    private Long locationId;
+    private String locationCode;
+    private String aisle;
+    private String rack;
+    private String bin;
+    private Integer totalQuantity;
+    private List<PickLineResponse> picks;
+}
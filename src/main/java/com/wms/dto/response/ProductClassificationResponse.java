@@ -0,0 +1,26 @@
+package com.wms.dto.response;
+
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductClassificationResponse {
+    private Long productId;
+    private Long warehouseId;
+    private AbcClass abcClass;
+    private XyzClass xyzClass;
+    private Long units;
+    private BigDecimal consumptionValue;
+    private Double demandCv;
+    private LocalDateTime computedAt;
+}
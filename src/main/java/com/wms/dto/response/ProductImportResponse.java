@@ -0,0 +1,23 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+    private long rows;
+    private long inserted;
+    private long updated;
+    private long failed;
+    // İlk app.product-import.max-reported-errors hata; failed hepsini sayar
+    private List<ProductImportErrorResponse> errors;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
@@ -0,0 +1,23 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSupplierResponse {
+    private Long id;
+    private Long productId;
+    private Long supplierId;
+    private Integer leadTimeDays;
+    private Integer minOrderQuantity;
+    private Integer packSize;
+    private BigDecimal unitCost;
+    private Boolean preferred;
+}
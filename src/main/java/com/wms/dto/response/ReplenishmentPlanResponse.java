@@ -0,0 +1,27 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplenishmentPlanResponse {
+    private Long productId;
+    private Long warehouseId;
+    private Long locationId;
+    private Long supplierId;
+    private Double dailyDemand;
+    private Double demandSd;
+    private Integer leadTimeDays;
+    private Long safetyStock;
+    private Long reorderPoint;
+    private Long inventoryPosition;
+    private Long orderQuantity;
+    private LocalDateTime computedAt;
+}
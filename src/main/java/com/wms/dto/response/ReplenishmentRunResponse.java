@@ -0,0 +1,27 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplenishmentRunResponse {
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private int warehouses;
+    private int partitions;
+    private long forecastedSeries;
+    private long reorderLines;
+    private long unsourcedLines;
+    private List<String> draftPurchaseOrders;
+    private Map<Long, String> failures;
+    private long elapsedMillis;
+}
@@ -0,0 +1,25 @@
+package com.wms.dto.response;
+
+import com.wms.dto.request.StockTransferRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlottingMoveResponse {
+    private int rank;
+    private Long productId;
+    private String sku;
+    private String fromLocationCode;
+    private String toLocationCode;
+    private long picks;
+    private long units;
+    private double fromDistance;
+    private double toDistance;
+    private double travelSaved;
+    private StockTransferRequest transfer;
+}
@@ -0,0 +1,23 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlottingResponse {
+    private Long warehouseId;
+    private int windowDays;
+    private LocalDate since;
+    private int pickedPlacements;
+    private long analysisMillis;
+    private double estimatedTravelSaved;
+    private List<SlottingMoveResponse> moves;
+}
@@ -0,0 +1,18 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockTransferBatchResponse {
+    private int transferred;
+    // Başarısız transferler, istekteki sıra numarasına (0'dan) göre
+    private Map<Integer, String> failures;
+}
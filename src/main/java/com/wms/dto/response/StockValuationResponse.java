@@ -0,0 +1,23 @@
+package com.wms.dto.response;
+
+import com.wms.enums.CostingMethod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockValuationResponse {
+    private Long warehouseId;
+    private Long productId;
+    // Maliyet katmanı olan miktar; katmansız stok değerlenmez
+    private Long quantity;
+    private BigDecimal totalCost;
+    private BigDecimal averageUnitCost;
+    private CostingMethod costingMethod;
+}
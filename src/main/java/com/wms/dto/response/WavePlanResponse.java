@@ -0,0 +1,20 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WavePlanResponse {
+    private Long warehouseId;
+    private Integer candidateOrders;
+    private Integer plannedWaves;
+    private Long planningMillis;
+    private List<WaveResponse> waves;
+}
@@ -0,0 +1,29 @@
+package com.wms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaveResponse {
+    // Önizlemede null
+    private String waveNumber;
+    private String carrier;
+    private LocalDateTime cutoffAt;
+    private List<Long> orderIds;
+    private Integer orderCount;
+    private Integer lineCount;
+    private Long totalUnits;
+    private List<String> zones;
+    // Rezerve edilemeyip beklemede kalan siparişler
+    private Map<Long, String> failures;
+    private PickListResponse pickList;
+}
@@ -0,0 +1,27 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Entity
+@Table(name = "change_feed_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedState extends BaseEntity {
+
+    @NotBlank
+    @Size(max = 50)
+    @Column(nullable = false, unique = true, length = 50)
+    private String feed;
+
+    // Son yayımlanan position
+    @NotNull
+    @Column(nullable = false)
+    private Long lastPosition;
+}
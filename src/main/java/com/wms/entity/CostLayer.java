@@ -0,0 +1,54 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Units received into a warehouse at one unit cost. Issues draw {@code remainingQuantity}
+ * down oldest layer first; a layer at zero stays for the cost history.
+ */
+@Entity
+@Table(name = "cost_layers")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CostLayer extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer receivedQuantity;
+
+    @NotNull
+    @PositiveOrZero
+    @Column(nullable = false)
+    private Integer remainingQuantity;
+
+    @NotNull
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal unitCost;
+
+    @Column(length = 100)
+    private String referenceNumber;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,69 @@
+package com.wms.entity;
+
+import com.wms.enums.CycleCountStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A count of every inventory row in a location code range of a warehouse. Expected
+ * quantities are taken when the count is opened; {@code movementWatermark} is the last
+ * stock movement known to be reflected in them, so movements after it can be netted out
+ * when the counts are posted.
+ */
+@Entity
+@Table(name = "cycle_counts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CycleCount extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false, unique = true, length = 50)
+    private String countNumber;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(nullable = false, length = 50)
+    private String fromLocationCode;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(nullable = false, length = 50)
+    private String toLocationCode;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private CycleCountStatus status = CycleCountStatus.OPEN;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long movementWatermark;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime snapshotAt;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer lineCount = 0;
+
+    private Integer adjustedLines;
+
+    private LocalDateTime postedAt;
+
+    @Version
+    private Long version;
+}
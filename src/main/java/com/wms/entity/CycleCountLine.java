@@ -0,0 +1,66 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One product in one location of a cycle count. {@code snapshotBalance} is the net of the
+ * movements after the count's watermark that were already in {@code expectedQuantity};
+ * lines for stock found where none was expected have no inventory id and expect zero.
+ */
+@Entity
+@Table(name = "cycle_count_lines", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"cycle_count_id", "location_id", "product_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CycleCountLine extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long cycleCountId;
+
+    private Long inventoryId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long locationId;
+
+    @NotNull
+    @Column(nullable = false, length = 50)
+    private String locationCode;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer expectedQuantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long snapshotBalance;
+
+    @PositiveOrZero
+    private Integer countedQuantity;
+
+    private LocalDateTime countedAt;
+
+    private Integer variance;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean adjusted = false;
+
+    @Column(length = 255)
+    private String note;
+}
@@ -0,0 +1,63 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = @UniqueConstraint(
+        name = "uk_idempotency_keys_principal_key", columnNames = {"principal", "idempotency_key"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord extends BaseEntity {
+
+    @NotBlank
+    @Size(max = 255)
+    @Column(nullable = false)
+    private String principal;
+
+    @NotBlank
+    @Size(max = 100)
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // Yöntem, yol ve gövdenin SHA-256 özeti
+    @NotBlank
+    @Size(max = 64)
+    @Column(nullable = false, length = 64)
+    private String requestFingerprint;
+
+    @NotBlank
+    @Size(max = 10)
+    @Column(nullable = false, length = 10)
+    private String requestMethod;
+
+    @NotBlank
+    @Size(max = 255)
+    @Column(nullable = false)
+    private String requestPath;
+
+    // null iken komut hala işleniyor demektir
+    private Integer responseStatus;
+
+    @Size(max = 100)
+    private String responseContentType;
+
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+}
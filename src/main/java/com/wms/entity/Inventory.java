@@ -36,6 +36,9 @@ public class Inventory extends BaseEntity {
     @Column(nullable = false)
     private Integer reservedQuantity = 0;
 
+    @Version
+    private Long version;
+
     public Integer getAvailableQuantity() {
         return quantity - reservedQuantity;
     }
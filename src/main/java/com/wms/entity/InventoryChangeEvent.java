@@ -0,0 +1,63 @@
+package com.wms.entity;
+
+import com.wms.enums.InventoryChangeType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row describing the state of one inventory row right after a change. Written in
+ * the same transaction as the change; {@code position} stays null until the relay
+ * publishes it to the change feed.
+ */
+@Entity
+@Table(name = "inventory_change_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryChangeEvent extends BaseEntity {
+
+    // Silinen envanter satırları da akışta görünsün diye FK yok
+    @NotNull
+    @Column(nullable = false)
+    private Long inventoryId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long locationId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer reservedQuantity;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private InventoryChangeType changeType;
+
+    @Size(max = 100)
+    @Column(length = 100)
+    private String reference;
+
+    @Column(unique = true)
+    private Long position;
+
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,49 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An inventory row whose quantity differs from the sum of its stock movements, both as of
+ * {@code movementWatermark}, found by {@link com.wms.service.LedgerVerificationJob}.
+ */
+@Entity
+@Table(name = "inventory_discrepancies")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryDiscrepancy extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long locationId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long inventoryQuantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long ledgerQuantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long movementWatermark;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime detectedAt;
+}
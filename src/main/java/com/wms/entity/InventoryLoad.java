@@ -0,0 +1,43 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One bulk load of stock positions. A load is applied in a single transaction, so a
+ * stored load is always complete; its rejected lines stay in {@link InventoryLoadLine}.
+ */
+@Entity
+@Table(name = "inventory_loads")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryLoad extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer totalLines = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer changedLines = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer unchangedLines = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer rejectedLines = 0;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,47 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * A staged line of an inventory load. Written by {@code COPY}, resolved and applied with
+ * set-based statements; only rejected lines are kept afterwards.
+ */
+@Entity
+@Table(name = "inventory_load_lines")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryLoadLine extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long loadId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long lineNumber;
+
+    @Column(length = 100)
+    private String sku;
+
+    @Column(length = 100)
+    private String warehouseCode;
+
+    @Column(length = 50)
+    private String locationCode;
+
+    private Integer quantity;
+
+    private Long productId;
+
+    private Long locationId;
+
+    private Integer previousQuantity;
+
+    @Column(length = 200)
+    private String rejectReason;
+}
@@ -0,0 +1,45 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inventory quantities of a warehouse as of {@code takenAt}. Every movement up to
+ * {@code movementWatermark} is reflected in the lines; each line also carries the net of
+ * the later movements that already were, so point-in-time queries can replay the ledger
+ * from here in either direction.
+ */
+@Entity
+@Table(name = "inventory_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySnapshot extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+
+    // Bu andan önce oluşturulan her hareket filigranın altında kalır
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime settledBefore;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long movementWatermark;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer lineCount = 0;
+}
@@ -0,0 +1,40 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Quantity of a product in a location in an {@link InventorySnapshot}, with
+ * {@code movementBalance} the net of the movements after the snapshot's watermark that
+ * were already part of it. Written in bulk by SQL only.
+ */
+@Entity
+@Table(name = "inventory_snapshot_lines")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySnapshotLine extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long snapshotId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long locationId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long movementBalance;
+}
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -47,6 +48,20 @@ public class Order extends BaseEntity {
 
     private LocalDate shippedDate;
 
+    @Size(max = 50)
+    @Column(length = 50)
+    private String carrier;
+
+    // Taşıyıcının teslim alma kesim saati; dalga planlaması buna göre sıralar
+    private LocalDateTime cutoffAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wave_id")
+    private Wave wave;
+
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
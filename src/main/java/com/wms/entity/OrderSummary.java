@@ -0,0 +1,70 @@
+package com.wms.entity;
+
+import com.wms.enums.OrderStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Denormalized read model behind the order list. One row per order, kept up to date by
+ * {@link com.wms.service.OrderService} in the same transaction as the order change, so
+ * listing never joins warehouses or aggregates order items.
+ */
+@Entity
+@Table(name = "order_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummary extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false, unique = true)
+    private Long orderId;
+
+    @NotNull
+    @Column(nullable = false, length = 50)
+    private String orderNumber;
+
+    @NotNull
+    @Column(nullable = false, length = 200)
+    private String customerName;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Column(nullable = false, length = 200)
+    private String warehouseName;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer lineCount = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Long totalUnits = 0L;
+
+    @NotNull
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal totalValue = BigDecimal.ZERO;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate orderDate;
+
+    private LocalDate shippedDate;
+}
@@ -0,0 +1,86 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A location from which a product is picked, kept between {@code minQuantity} and
+ * {@code maxQuantity} available units by topping it up from reserve locations.
+ * {@code quantity} and {@code reservedQuantity} mirror the inventory row as last seen on
+ * the change feed; they trigger replenishment but are re-checked before stock moves.
+ */
+@Entity
+@Table(name = "pick_faces", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"location_id", "product_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PickFace extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long locationId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @PositiveOrZero
+    @Column(nullable = false)
+    private Integer minQuantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer maxQuantity;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer quantity = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer reservedQuantity = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean needsReplenishment = false;
+
+    private LocalDateTime flaggedAt;
+
+    // Son planlama turu; yeniden işaretlenince sıfırlanır
+    private LocalDateTime lastAttemptAt;
+
+    /**
+     * Takes over the level of the inventory row and flags the face when its available
+     * quantity drops below the minimum; the flag keeps its original time while it stays low.
+     * A newly flagged face goes to the front of the planning queue again.
+     */
+    public void observe(int quantity, int reservedQuantity, LocalDateTime at) {
+        this.quantity = quantity;
+        this.reservedQuantity = reservedQuantity;
+        boolean low = quantity - reservedQuantity < minQuantity;
+        if (low && !needsReplenishment) {
+            flaggedAt = at;
+            lastAttemptAt = null;
+        } else if (!low) {
+            flaggedAt = null;
+            lastAttemptAt = null;
+        }
+        needsReplenishment = low;
+    }
+}
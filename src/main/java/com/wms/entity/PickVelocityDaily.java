@@ -0,0 +1,50 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Picks of one product from one location on one day, rolled up from {@code OUT} stock
+ * movements by {@link com.wms.service.PickVelocityService}. Slotting sums these over its
+ * window instead of rescanning the movement history.
+ */
+@Entity
+@Table(name = "pick_velocity_daily", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"location_id", "product_id", "pick_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PickVelocityDaily extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long locationId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate pickDate;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer pickCount = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Long units = 0L;
+}
@@ -0,0 +1,59 @@
+package com.wms.entity;
+
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * ABC/XYZ class of a product in a warehouse, written by
+ * {@link com.wms.service.ClassificationJob}. Rows of a warehouse are replaced as a whole
+ * on every run.
+ */
+@Entity
+@Table(name = "product_classifications", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"warehouse_id", "product_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductClassification extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 1)
+    private AbcClass abcClass;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 1)
+    private XyzClass xyzClass;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long units;
+
+    @NotNull
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal consumptionValue;
+
+    private Double demandCv;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,57 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Terms under which a supplier delivers a product. At most one supplier per product is
+ * preferred; {@link com.wms.service.ReplenishmentJob} orders from that one.
+ */
+@Entity
+@Table(name = "product_suppliers", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"product_id", "supplier_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSupplier extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long supplierId;
+
+    @NotNull
+    @Positive
+    @Column(nullable = false)
+    private Integer leadTimeDays;
+
+    @NotNull
+    @Positive
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer minOrderQuantity = 1;
+
+    @NotNull
+    @Positive
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer packSize = 1;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal unitCost;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean preferred = false;
+}
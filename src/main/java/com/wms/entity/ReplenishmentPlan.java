@@ -0,0 +1,69 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Demand forecast, reorder point and proposed order quantity of a product in a
+ * warehouse, written by {@link com.wms.service.ReplenishmentJob}.
+ */
+@Entity
+@Table(name = "replenishment_plans", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"warehouse_id", "product_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplenishmentPlan extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long locationId;
+
+    private Long supplierId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Double dailyDemand;
+
+    @NotNull
+    @Column(nullable = false)
+    private Double demandSd;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer leadTimeDays;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long safetyStock;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long reorderPoint;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long inventoryPosition;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long orderQuantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -34,6 +34,9 @@ public class StockReservation extends BaseEntity {
     @Column(nullable = false)
     private LocalDateTime reservedAt = LocalDateTime.now();
 
+    // null: süresiz rezervasyon
+    private LocalDateTime expiresAt;
+
     @Column(nullable = false)
     private Boolean released = false;
 }
\ No newline at end of file
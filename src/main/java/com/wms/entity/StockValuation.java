@@ -0,0 +1,45 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Valued quantity and total cost of one product in one warehouse, kept up to date on every
+ * receipt and shipment so reading it never replays history. {@code quantity} always equals
+ * the remaining quantity of the product's open cost layers in the warehouse.
+ */
+@Entity
+@Table(name = "stock_valuations", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"product_id", "warehouse_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockValuation extends BaseEntity {
+
+    @NotNull
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @NotNull
+    @Builder.Default
+    @Column(nullable = false)
+    private Long quantity = 0L;
+
+    @NotNull
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalCost = BigDecimal.ZERO;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,58 @@
+package com.wms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A released group of orders that are reserved together and picked as one batch.
+ * Totals cover only the orders that were actually reserved into the wave.
+ */
+@Entity
+@Table(name = "waves")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Wave extends BaseEntity {
+
+    @NotNull
+    @Column(nullable = false, unique = true, length = 50)
+    private String waveNumber;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id", nullable = false)
+    private Warehouse warehouse;
+
+    @Size(max = 50)
+    @Column(length = 50)
+    private String carrier;
+
+    // Dalgadaki en erken kesim saati
+    private LocalDateTime cutoffAt;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer orderCount;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer lineCount;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long totalUnits;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer zoneCount;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime releasedAt;
+}
@@ -0,0 +1,7 @@
+package com.wms.enums;
+
+public enum CycleCountStatus {
+    OPEN,
+    POSTED,
+    CANCELLED
+}
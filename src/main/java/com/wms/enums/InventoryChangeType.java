@@ -0,0 +1,12 @@
+package com.wms.enums;
+
+public enum InventoryChangeType {
+    UPDATED,
+    ADJUSTED,
+    TRANSFERRED,
+    RESERVED,
+    RELEASED,
+    SHIPPED,
+    RECEIVED,
+    DELETED
+}
@@ -0,0 +1,7 @@
+package com.wms.enums;
+
+public enum XyzClass {
+    X,
+    Y,
+    Z
+}
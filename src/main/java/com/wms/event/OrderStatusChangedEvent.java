@@ -0,0 +1,16 @@
+package com.wms.event;
+
+import com.wms.entity.Order;
+import com.wms.enums.OrderStatus;
+
+/**
+ * Published by {@code OrderService} inside the transaction that changes an order's
+ * status; listeners that care about durability use {@code @TransactionalEventListener}.
+ */
+public record OrderStatusChangedEvent(Long orderId, String orderNumber, Long warehouseId, String status) {
+
+    public static OrderStatusChangedEvent of(Order order, OrderStatus status) {
+        return new OrderStatusChangedEvent(order.getId(), order.getOrderNumber(),
+                order.getWarehouse().getId(), status.name());
+    }
+}
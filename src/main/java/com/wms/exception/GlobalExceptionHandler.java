@@ -4,6 +4,7 @@ import com.wms.dto.response.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -54,6 +55,17 @@ public class GlobalExceptionHandler {
                     .build());
   }
 
+  @ExceptionHandler(ConcurrencyFailureException.class)
+  public ResponseEntity<ApiResponse<Void>> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+    logger.error("Concurrent update conflict: {}", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(ApiResponse.<Void>builder()
+                    .success(false)
+                    .error("The record was modified concurrently, please retry")
+                    .traceId(MDC.get("requestId"))
+                    .build());
+  }
+
   @ExceptionHandler(UnauthorizedException.class)
   public ResponseEntity<ApiResponse<Void>> handleUnauthorized(UnauthorizedException ex) {
     logger.error("Unauthorized: {}", ex.getMessage());
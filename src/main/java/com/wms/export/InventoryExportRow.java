@@ -0,0 +1,12 @@
+package com.wms.export;
+
+import java.math.BigDecimal;
+
+/**
+ * One inventory line with its product, location and warehouse, as read by the export
+ * cursor. {@code inventoryId} is the resume key.
+ */
+public record InventoryExportRow(Long inventoryId, String warehouseCode, String locationCode, String sku,
+                                 String productName, String unit, Integer quantity, Integer reservedQuantity,
+                                 BigDecimal unitPrice) {
+}
@@ -0,0 +1,93 @@
+package com.wms.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Writes export rows one by one as CSV (with a header line) or as newline-delimited JSON.
+ * Nothing is held beyond the current row; buffering and compression are up to the
+ * underlying writer.
+ */
+public class InventoryExportWriter {
+
+    static final String CSV_HEADER = "inventory_id,warehouse,location,sku,product_name,unit,quantity," +
+            "reserved_quantity,unit_price,stock_value";
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    public InventoryExportWriter(ExportFormat format, Writer writer, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = writer;
+        if (format == ExportFormat.NDJSON) {
+            json = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Kökteki nesneler arasına boşluk değil satır sonu yazılır (write içinde)
+            json.setRootValueSeparator(null);
+        } else {
+            json = null;
+        }
+    }
+
+    public void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    public void write(InventoryExportRow row) throws IOException {
+        BigDecimal stockValue = row.unitPrice().multiply(BigDecimal.valueOf(row.quantity()));
+        if (format == ExportFormat.NDJSON) {
+            json.writeStartObject();
+            json.writeNumberField("inventoryId", row.inventoryId());
+            json.writeStringField("warehouse", row.warehouseCode());
+            json.writeStringField("location", row.locationCode());
+            json.writeStringField("sku", row.sku());
+            json.writeStringField("productName", row.productName());
+            json.writeStringField("unit", row.unit());
+            json.writeNumberField("quantity", row.quantity());
+            json.writeNumberField("reservedQuantity", row.reservedQuantity());
+            json.writeNumberField("unitPrice", row.unitPrice());
+            json.writeNumberField("stockValue", stockValue);
+            json.writeEndObject();
+            json.writeRaw('\n');
+            return;
+        }
+        writer.write(Long.toString(row.inventoryId()));
+        writer.write(',');
+        csv(row.warehouseCode());
+        csv(row.locationCode());
+        csv(row.sku());
+        csv(row.productName());
+        csv(row.unit());
+        writer.write(row.quantity() + "," + row.reservedQuantity() + "," + row.unitPrice().toPlainString() + ","
+                + stockValue.toPlainString() + "\n");
+    }
+
+    public void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    // Yalnızca gerektiğinde tırnak içine alınır; sayısal sütunlar hiç tırnaklanmaz
+    private void csv(String value) throws IOException {
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+        writer.write(',');
+    }
+}
@@ -0,0 +1,34 @@
+package com.wms.forecasting;
+
+/**
+ * State of a fitted Holt-Winters model at the end of the history. {@code seasonal} holds
+ * one index per day of the season, {@code nextSeason} is the index of the first forecast
+ * day and {@code sigma} the standard deviation of the one-step-ahead errors.
+ */
+public record DemandForecast(double level,
+                             double trend,
+                             double phi,
+                             double[] seasonal,
+                             int nextSeason,
+                             double sigma) {
+
+    /**
+     * Expected units over the next {@code days} days. Negative daily values, which the
+     * additive model produces for slow movers, count as zero.
+     */
+    public double demandOver(int days) {
+        double total = 0;
+        double damping = 0;
+        double power = 1;
+        for (int k = 0; k < days; k++) {
+            power *= phi;
+            damping += power;
+            total += Math.max(0, level + damping * trend + seasonal[(nextSeason + k) % seasonal.length]);
+        }
+        return total;
+    }
+
+    public double dailyDemand() {
+        return demandOver(seasonal.length) / seasonal.length;
+    }
+}
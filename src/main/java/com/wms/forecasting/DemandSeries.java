@@ -0,0 +1,67 @@
+package com.wms.forecasting;
+
+import com.wms.classification.DailyDemand;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Collector;
+
+/**
+ * Daily outbound units of one product over the forecasting window; days without picks
+ * stay zero. Filled from the same daily roll-up rows as the classification.
+ */
+public final class DemandSeries {
+
+    private final LocalDate windowStart;
+    private final long[] daily;
+
+    public DemandSeries(LocalDate windowStart, int days) {
+        this.windowStart = windowStart;
+        this.daily = new long[days];
+    }
+
+    public static Collector<DailyDemand, DemandSeries, DemandSeries> collector(ForecastPolicy policy) {
+        return Collector.of(
+                () -> new DemandSeries(policy.windowStart(), policy.days()),
+                DemandSeries::add,
+                DemandSeries::merge);
+    }
+
+    public void add(DailyDemand demand) {
+        long day = ChronoUnit.DAYS.between(windowStart, demand.pickDate());
+        if (day < 0 || day >= daily.length) {
+            return;
+        }
+        daily[(int) day] += demand.units();
+    }
+
+    public void add(int day, long units) {
+        daily[day] += units;
+    }
+
+    public DemandSeries merge(DemandSeries other) {
+        if (!windowStart.equals(other.windowStart) || daily.length != other.daily.length) {
+            throw new IllegalArgumentException("Series cover different windows");
+        }
+        for (int i = 0; i < daily.length; i++) {
+            daily[i] += other.daily[i];
+        }
+        return this;
+    }
+
+    public int days() {
+        return daily.length;
+    }
+
+    public long units(int day) {
+        return daily[day];
+    }
+
+    public long total() {
+        long total = 0;
+        for (long units : daily) {
+            total += units;
+        }
+        return total;
+    }
+}
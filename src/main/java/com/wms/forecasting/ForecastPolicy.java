@@ -0,0 +1,42 @@
+package com.wms.forecasting;
+
+import java.time.LocalDate;
+
+/**
+ * History window, smoothing constants and stock policy of one forecasting run. The model
+ * is additive Holt-Winters with a damped trend over daily demand; {@code seasonLength} is
+ * in days (7 for the weekly cycle). {@code safetyFactor} is the z value of the target
+ * service level and {@code reviewDays} the time until the next run can order again.
+ */
+public record ForecastPolicy(LocalDate windowStart,
+                             int days,
+                             int seasonLength,
+                             double alpha,
+                             double beta,
+                             double gamma,
+                             double phi,
+                             double safetyFactor,
+                             int reviewDays) {
+
+    public ForecastPolicy {
+        if (seasonLength < 1 || days < 2 * seasonLength) {
+            throw new IllegalArgumentException("Forecasting needs at least two seasons of history");
+        }
+        if (!inUnitInterval(alpha) || !inUnitInterval(beta) || !inUnitInterval(gamma) || !inUnitInterval(phi)) {
+            throw new IllegalArgumentException("Smoothing constants and damping must be in (0, 1]");
+        }
+        if (safetyFactor < 0 || reviewDays < 1) {
+            throw new IllegalArgumentException("Safety factor must be >= 0 and review period >= 1 day");
+        }
+    }
+
+    public static ForecastPolicy endingOn(LocalDate lastDay, int days, int seasonLength, double alpha, double beta,
+                                          double gamma, double phi, double safetyFactor, int reviewDays) {
+        return new ForecastPolicy(lastDay.minusDays(days - 1L), days, seasonLength, alpha, beta, gamma, phi,
+                safetyFactor, reviewDays);
+    }
+
+    private static boolean inUnitInterval(double value) {
+        return value > 0 && value <= 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.wms.forecasting;
+
+/**
+ * Additive Holt-Winters with a damped trend. The first two seasons initialise level,
+ * trend and seasonal indices; the rest of the history is smoothed in one pass, which also
+ * collects the one-step-ahead errors used for safety stock.
+ */
+public final class HoltWinters {
+
+    private HoltWinters() {
+    }
+
+    public static DemandForecast fit(DemandSeries series, ForecastPolicy policy) {
+        int m = policy.seasonLength();
+        int n = series.days();
+        double firstMean = 0;
+        double secondMean = 0;
+        for (int i = 0; i < m; i++) {
+            firstMean += series.units(i);
+            secondMean += series.units(m + i);
+        }
+        firstMean /= m;
+        secondMean /= m;
+
+        double level = firstMean;
+        double trend = (secondMean - firstMean) / m;
+        double[] seasonal = new double[m];
+        for (int i = 0; i < m; i++) {
+            seasonal[i] = series.units(i) - firstMean;
+        }
+
+        double alpha = policy.alpha();
+        double beta = policy.beta();
+        double gamma = policy.gamma();
+        double phi = policy.phi();
+        double squaredErrors = 0;
+        for (int t = m; t < n; t++) {
+            double actual = series.units(t);
+            int s = t % m;
+            double error = actual - (level + phi * trend + seasonal[s]);
+            squaredErrors += error * error;
+            double previousLevel = level;
+            level = alpha * (actual - seasonal[s]) + (1 - alpha) * (previousLevel + phi * trend);
+            trend = beta * (level - previousLevel) + (1 - beta) * phi * trend;
+            seasonal[s] = gamma * (actual - level) + (1 - gamma) * seasonal[s];
+        }
+        return new DemandForecast(level, trend, phi, seasonal, n % m, Math.sqrt(squaredErrors / (n - m)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.wms.forecasting;
+
+import java.math.BigDecimal;
+
+/**
+ * Forecast and reorder decision for one product in one warehouse. {@code orderQuantity}
+ * is zero when the inventory position is above the reorder point; {@code supplierId} is
+ * null when the product has no preferred supplier and cannot be ordered automatically.
+ */
+public record ReorderPlan(Long productId,
+                          Long locationId,
+                          Long supplierId,
+                          double dailyDemand,
+                          double demandSd,
+                          int leadTimeDays,
+                          long safetyStock,
+                          long reorderPoint,
+                          long inventoryPosition,
+                          long orderQuantity,
+                          BigDecimal unitCost) {
+
+    public boolean orderable() {
+        return orderQuantity > 0 && supplierId != null;
+    }
+}
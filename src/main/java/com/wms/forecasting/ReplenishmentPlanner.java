@@ -0,0 +1,69 @@
+package com.wms.forecasting;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns demand history and stock positions into reorder points and order quantities with
+ * a periodic-review (R, s, S) policy: reorder point s is lead-time demand plus safety
+ * stock, and an order tops the position up to demand over lead time plus review period.
+ * Stateless; partitions of one warehouse are planned concurrently.
+ */
+@Component
+public class ReplenishmentPlanner {
+
+    /**
+     * Plans every stocked product that had demand in the window; products without any
+     * demand get no plan.
+     */
+    public List<ReorderPlan> plan(Map<Long, DemandSeries> demand,
+                                  Map<Long, StockPosition> positions,
+                                  Map<Long, SupplyTerms> terms,
+                                  ForecastPolicy policy,
+                                  int defaultLeadTimeDays) {
+        List<ReorderPlan> plans = new ArrayList<>(demand.size());
+        for (StockPosition position : positions.values()) {
+            DemandSeries series = demand.get(position.productId());
+            if (series == null || series.total() == 0) {
+                continue;
+            }
+            plans.add(plan(HoltWinters.fit(series, policy), position, terms.get(position.productId()), policy,
+                    defaultLeadTimeDays));
+        }
+        return plans;
+    }
+
+    ReorderPlan plan(DemandForecast forecast, StockPosition position, SupplyTerms terms, ForecastPolicy policy,
+                     int defaultLeadTimeDays) {
+        int leadTime = terms != null && terms.leadTimeDays() != null ? terms.leadTimeDays() : defaultLeadTimeDays;
+        long safetyStock = (long) Math.ceil(policy.safetyFactor() * forecast.sigma() * Math.sqrt(leadTime));
+        long reorderPoint = (long) Math.ceil(forecast.demandOver(leadTime)) + safetyStock;
+        long orderUpTo = (long) Math.ceil(forecast.demandOver(leadTime + policy.reviewDays())) + safetyStock;
+        long inventoryPosition = position.inventoryPosition();
+
+        long orderQuantity = 0;
+        if (inventoryPosition <= reorderPoint && orderUpTo > inventoryPosition) {
+            orderQuantity = orderUpTo - inventoryPosition;
+            if (terms != null) {
+                orderQuantity = roundUp(orderQuantity, terms.minOrderQuantity(), terms.packSize());
+            }
+        }
+        return new ReorderPlan(position.productId(), position.locationId(),
+                terms != null ? terms.supplierId() : null,
+                forecast.dailyDemand(), forecast.sigma(), leadTime, safetyStock, reorderPoint, inventoryPosition,
+                orderQuantity, terms != null ? terms.unitCost() : null);
+    }
+
+    private static long roundUp(long quantity, Integer minOrderQuantity, Integer packSize) {
+        if (minOrderQuantity != null) {
+            quantity = Math.max(quantity, minOrderQuantity);
+        }
+        if (packSize != null && packSize > 1) {
+            quantity = (quantity + packSize - 1) / packSize * packSize;
+        }
+        return quantity;
+    }
+}
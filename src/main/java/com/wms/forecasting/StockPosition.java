@@ -0,0 +1,21 @@
+package com.wms.forecasting;
+
+/**
+ * Stock of one product in a warehouse. {@code locationId} is where replenishment is
+ * received: the lowest-id location already holding the product there.
+ */
+public record StockPosition(Long productId, Long locationId, long onHand, long reserved, long onOrder) {
+
+    public StockPosition(Long productId, Long locationId, Long onHand, Long reserved) {
+        this(productId, locationId, onHand != null ? onHand : 0, reserved != null ? reserved : 0, 0);
+    }
+
+    public StockPosition withOnOrder(long quantity) {
+        return new StockPosition(productId, locationId, onHand, reserved, quantity);
+    }
+
+    // Sipariş verilebilir stok: eldeki - ayrılmış + yoldaki
+    public long inventoryPosition() {
+        return onHand - reserved + onOrder;
+    }
+}
@@ -0,0 +1,7 @@
+package com.wms.forecasting;
+
+/**
+ * Units of a product still to arrive on draft or approved purchase orders.
+ */
+public record SupplyOnOrder(Long productId, Long quantity) {
+}
@@ -0,0 +1,15 @@
+package com.wms.forecasting;
+
+import java.math.BigDecimal;
+
+/**
+ * Preferred supplier of a product with its lead time and order multiples; the unit cost
+ * falls back to the product's price when the supplier has none.
+ */
+public record SupplyTerms(Long productId,
+                          Long supplierId,
+                          Integer leadTimeDays,
+                          Integer minOrderQuantity,
+                          Integer packSize,
+                          BigDecimal unitCost) {
+}
@@ -0,0 +1,4 @@
+package com.wms.history;
+
+public record StockAsOf(Long productId, String sku, Long locationId, String locationCode, long quantity) {
+}
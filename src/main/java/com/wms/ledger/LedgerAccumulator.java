@@ -0,0 +1,105 @@
+package com.wms.ledger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Running on-hand per {@code (product, location)} in fixed-size primitive arrays: open
+ * addressing with linear probing, no boxing and no allocation after construction, so the
+ * memory of a verification pass is known up front (about 25 bytes per slot). Ids must be
+ * positive; zero marks a free slot.
+ */
+public class LedgerAccumulator {
+
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final long[] products;
+    private final long[] locations;
+    private final long[] quantities;
+    private final boolean[] matched;
+    private final int mask;
+    private final int maxPairs;
+    private int size;
+
+    public LedgerAccumulator(int maxPairs) {
+        if (maxPairs < 1) {
+            throw new IllegalArgumentException("maxPairs must be positive");
+        }
+        int capacity = Integer.highestOneBit((int) Math.ceil(maxPairs / LOAD_FACTOR) - 1) << 1;
+        this.products = new long[capacity];
+        this.locations = new long[capacity];
+        this.quantities = new long[capacity];
+        this.matched = new boolean[capacity];
+        this.mask = capacity - 1;
+        this.maxPairs = maxPairs;
+    }
+
+    /**
+     * Adds a signed quantity. Returns {@code false}, leaving the accumulator unchanged, when
+     * the pair is new and {@code maxPairs} pairs are already held.
+     */
+    public boolean add(long productId, long locationId, long quantity) {
+        int slot = slotOf(productId, locationId);
+        while (products[slot] != 0) {
+            if (products[slot] == productId && locations[slot] == locationId) {
+                quantities[slot] += quantity;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == maxPairs) {
+            return false;
+        }
+        products[slot] = productId;
+        locations[slot] = locationId;
+        quantities[slot] = quantity;
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns the accumulated quantity of the pair (zero if never seen) and marks it as
+     * matched, so {@link #unmatched()} leaves it out.
+     */
+    public long take(long productId, long locationId) {
+        int slot = slotOf(productId, locationId);
+        while (products[slot] != 0) {
+            if (products[slot] == productId && locations[slot] == locationId) {
+                matched[slot] = true;
+                return quantities[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    // Envanter satırı olmayan ama defterde sıfırdan farklı kalan çiftler
+    public List<LedgerDiscrepancy> unmatched() {
+        List<LedgerDiscrepancy> result = new ArrayList<>();
+        for (int slot = 0; slot < products.length; slot++) {
+            if (products[slot] != 0 && !matched[slot] && quantities[slot] != 0) {
+                result.add(new LedgerDiscrepancy(products[slot], locations[slot], 0, quantities[slot]));
+            }
+        }
+        return result;
+    }
+
+    // Sonraki geçiş aynı dizileri kullanır
+    public void clear() {
+        Arrays.fill(products, 0);
+        Arrays.fill(locations, 0);
+        Arrays.fill(quantities, 0);
+        Arrays.fill(matched, false);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slotOf(long productId, long locationId) {
+        long hash = productId * 0x9E3779B97F4A7C15L ^ locationId * 0xC2B2AE3D27D4EB4FL;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
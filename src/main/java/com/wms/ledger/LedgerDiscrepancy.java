@@ -0,0 +1,8 @@
+package com.wms.ledger;
+
+public record LedgerDiscrepancy(long productId, long locationId, long inventoryQuantity, long ledgerQuantity) {
+
+    public long difference() {
+        return inventoryQuantity - ledgerQuantity;
+    }
+}
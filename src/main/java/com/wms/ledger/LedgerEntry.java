@@ -0,0 +1,12 @@
+package com.wms.ledger;
+
+/**
+ * A signed quantity of a product in a location: one stock movement side, or an inventory
+ * row as of the verification watermark.
+ */
+public record LedgerEntry(Long productId, Long locationId, Long quantity) {
+
+    public LedgerEntry(Long productId, Long locationId, Integer quantity) {
+        this(productId, locationId, quantity.longValue());
+    }
+}
@@ -0,0 +1,18 @@
+package com.wms.picking;
+
+/**
+ * Current level of a pick face, read from its inventory row, with its min/max targets.
+ */
+public record PickFaceLevel(Long faceId,
+                            Long productId,
+                            Long locationId,
+                            Long warehouseId,
+                            int quantity,
+                            int reservedQuantity,
+                            int minQuantity,
+                            int maxQuantity) {
+
+    public int available() {
+        return quantity - reservedQuantity;
+    }
+}
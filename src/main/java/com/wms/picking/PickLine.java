@@ -0,0 +1,17 @@
+package com.wms.picking;
+
+/**
+ * One order line to pick, flattened with its location so the planner needs no entities.
+ */
+public record PickLine(Long orderId,
+                       String orderNumber,
+                       Long productId,
+                       String sku,
+                       String productName,
+                       Integer quantity,
+                       Long locationId,
+                       String locationCode,
+                       String aisle,
+                       String rack,
+                       String bin) {
+}
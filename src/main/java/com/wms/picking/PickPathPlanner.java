@@ -0,0 +1,237 @@
+package com.wms.picking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Orders pick lines into a walk over a parallel-aisle grid. Aisle labels give the aisle
+ * position, rack labels the position along the aisle and bins the level, which costs no
+ * walking. Labels are ranked in natural order ("A2" before "A10") across the lines being
+ * planned; the front cross aisle sits before the first rack, the back one after the last,
+ * and the depot is at the front of the first aisle.
+ *
+ * <p>Planning is a sort plus a linear pass, so batches of 10k lines take milliseconds.
+ */
+@Component
+public class PickPathPlanner {
+
+    public static final Comparator<String> NATURAL_ORDER = PickPathPlanner::compareNatural;
+
+    private static final Comparator<PickStop> ALONG_AISLE = Comparator
+            .comparingInt(PickStop::rackIndex)
+            .thenComparing(PickStop::bin, Comparator.nullsLast(NATURAL_ORDER))
+            .thenComparing(PickStop::locationCode, Comparator.nullsLast(NATURAL_ORDER));
+
+    // Komşu iki koridor arası yürüme mesafesi, raf gözü cinsinden
+    private final double aisleSpacing;
+
+    public PickPathPlanner(@Value("${app.picking.aisle-spacing:3}") double aisleSpacing) {
+        this.aisleSpacing = aisleSpacing;
+    }
+
+    public PickRoute plan(Collection<PickLine> lines, RoutingStrategy strategy) {
+        Map<Long, List<PickLine>> byLocation = new LinkedHashMap<>();
+        TreeSet<String> aisles = new TreeSet<>(NATURAL_ORDER);
+        TreeSet<String> racks = new TreeSet<>(NATURAL_ORDER);
+        for (PickLine line : lines) {
+            byLocation.computeIfAbsent(line.locationId(), id -> new ArrayList<>()).add(line);
+            if (line.aisle() != null && line.rack() != null) {
+                aisles.add(line.aisle());
+                racks.add(line.rack());
+            }
+        }
+
+        Map<String, Integer> aisleIndex = rank(aisles, 0);
+        Map<String, Integer> rackIndex = rank(racks, 1);
+        int depth = racks.size() + 1;
+
+        List<PickStop> inputOrder = new ArrayList<>(byLocation.size());
+        TreeMap<Integer, List<PickStop>> byAisle = new TreeMap<>();
+        List<PickStop> unlocated = new ArrayList<>();
+        byLocation.forEach((locationId, picks) -> {
+            PickLine first = picks.get(0);
+            boolean located = first.aisle() != null && first.rack() != null;
+            PickStop stop = new PickStop(locationId, first.locationCode(), first.aisle(), first.rack(), first.bin(),
+                    located ? aisleIndex.get(first.aisle()) : -1,
+                    located ? rackIndex.get(first.rack()) : -1,
+                    List.copyOf(picks));
+            inputOrder.add(stop);
+            if (located) {
+                byAisle.computeIfAbsent(stop.aisleIndex(), index -> new ArrayList<>()).add(stop);
+            } else {
+                unlocated.add(stop);
+            }
+        });
+        byAisle.values().forEach(stops -> stops.sort(ALONG_AISLE));
+
+        RoutingStrategy chosen = strategy;
+        List<PickStop> route;
+        if (strategy == RoutingStrategy.AUTO) {
+            List<PickStop> serpentine = serpentine(byAisle);
+            List<PickStop> largestGap = largestGap(byAisle, depth);
+            boolean serpentineShorter = distance(serpentine, depth) <= distance(largestGap, depth);
+            chosen = serpentineShorter ? RoutingStrategy.SERPENTINE : RoutingStrategy.LARGEST_GAP;
+            route = serpentineShorter ? serpentine : largestGap;
+        } else {
+            route = strategy == RoutingStrategy.SERPENTINE ? serpentine(byAisle) : largestGap(byAisle, depth);
+        }
+        // Koridor/raf bilgisi olmayan lokasyonlar en sona, koda göre
+        unlocated.sort(Comparator.comparing(PickStop::locationCode, Comparator.nullsLast(NATURAL_ORDER)));
+        route.addAll(unlocated);
+
+        return new PickRoute(chosen, route, distance(route, depth), distance(inputOrder, depth));
+    }
+
+    /**
+     * Walking distance of the stops in the given order, depot to depot. Moving inside an
+     * aisle costs the rack difference; changing aisles goes around through whichever cross
+     * aisle is shorter. Stops without a grid position are ignored.
+     */
+    public double distance(List<PickStop> stops, int depth) {
+        double total = 0;
+        int aisle = 0;
+        int rack = 0;
+        for (PickStop stop : stops) {
+            if (!stop.located()) {
+                continue;
+            }
+            total += travel(aisle, rack, stop.aisleIndex(), stop.rackIndex(), depth);
+            aisle = stop.aisleIndex();
+            rack = stop.rackIndex();
+        }
+        return total + travel(aisle, rack, 0, 0, depth);
+    }
+
+    private double travel(int fromAisle, int fromRack, int toAisle, int toRack, int depth) {
+        if (fromAisle == toAisle) {
+            return Math.abs(fromRack - toRack);
+        }
+        int viaCrossAisle = Math.min(fromRack + toRack, 2 * depth - fromRack - toRack);
+        return Math.abs(fromAisle - toAisle) * aisleSpacing + viaCrossAisle;
+    }
+
+    // Koridorlar sırayla, yön her koridorda değişir; tek sayıdaysa son koridordan geri dönülür
+    private List<PickStop> serpentine(TreeMap<Integer, List<PickStop>> byAisle) {
+        List<PickStop> route = new ArrayList<>();
+        boolean upward = true;
+        for (List<PickStop> stops : byAisle.values()) {
+            route.addAll(upward ? stops : stops.reversed());
+            upward = !upward;
+        }
+        return route;
+    }
+
+    /*
+     * İlk koridor önden arkaya, son koridor arkadan öne tam yürünür. Aradaki koridorlara
+     * gidişte arka çapraz koridordan, dönüşte ön çapraz koridordan girilir; en büyük boşluk
+     * hiç yürünmez.
+     */
+    private List<PickStop> largestGap(TreeMap<Integer, List<PickStop>> byAisle, int depth) {
+        List<List<PickStop>> aisles = new ArrayList<>(byAisle.values());
+        List<PickStop> route = new ArrayList<>();
+        if (aisles.size() == 1) {
+            route.addAll(aisles.get(0));
+            return route;
+        }
+
+        List<List<PickStop>> middle = aisles.subList(1, aisles.size() - 1);
+        int[] splits = new int[middle.size()];
+        for (int i = 0; i < middle.size(); i++) {
+            splits[i] = largestGapSplit(middle.get(i), depth);
+        }
+
+        route.addAll(aisles.get(0));
+        for (int i = 0; i < middle.size(); i++) {
+            List<PickStop> stops = middle.get(i);
+            route.addAll(stops.subList(splits[i], stops.size()).reversed());
+        }
+        route.addAll(aisles.get(aisles.size() - 1).reversed());
+        for (int i = middle.size() - 1; i >= 0; i--) {
+            route.addAll(middle.get(i).subList(0, splits[i]));
+        }
+        return route;
+    }
+
+    // Önden toplanacak durak sayısı: en büyük boşluğun başladığı indeks
+    private int largestGapSplit(List<PickStop> stops, int depth) {
+        int split = 0;
+        int largest = stops.get(0).rackIndex();
+        for (int i = 1; i < stops.size(); i++) {
+            int gap = stops.get(i).rackIndex() - stops.get(i - 1).rackIndex();
+            if (gap > largest) {
+                largest = gap;
+                split = i;
+            }
+        }
+        if (depth - stops.get(stops.size() - 1).rackIndex() > largest) {
+            split = stops.size();
+        }
+        return split;
+    }
+
+    /**
+     * Numbers the labels from {@code first} in natural order. The returned map is looked up
+     * in natural order as well, since "01" and "1" name the same rack.
+     */
+    public static Map<String, Integer> rank(TreeSet<String> labels, int first) {
+        Map<String, Integer> ranks = new TreeMap<>(NATURAL_ORDER);
+        int next = first;
+        for (String label : labels) {
+            ranks.put(label, next++);
+        }
+        return ranks;
+    }
+
+    // Rakam grupları sayı olarak karşılaştırılır: "A2" < "A10", "01" == "1"
+    static int compareNatural(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int startA = i;
+                int startB = j;
+                while (i < a.length() && Character.isDigit(a.charAt(i))) {
+                    i++;
+                }
+                while (j < b.length() && Character.isDigit(b.charAt(j))) {
+                    j++;
+                }
+                String digitsA = stripLeadingZeros(a.substring(startA, i));
+                String digitsB = stripLeadingZeros(b.substring(startB, j));
+                int cmp = digitsA.length() != digitsB.length()
+                        ? Integer.compare(digitsA.length(), digitsB.length())
+                        : digitsA.compareTo(digitsB);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            } else {
+                int cmp = Character.compare(Character.toUpperCase(ca), Character.toUpperCase(cb));
+                if (cmp != 0) {
+                    return cmp;
+                }
+                i++;
+                j++;
+            }
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static String stripLeadingZeros(String digits) {
+        int k = 0;
+        while (k < digits.length() - 1 && digits.charAt(k) == '0') {
+            k++;
+        }
+        return digits.substring(k);
+    }
+}
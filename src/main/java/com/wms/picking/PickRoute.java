@@ -0,0 +1,14 @@
+package com.wms.picking;
+
+import java.util.List;
+
+/**
+ * Planned walk. Distances are in rack slots, from the depot (front of the first aisle)
+ * back to the depot; {@code baselineDistance} walks the same stops in input order.
+ * {@code strategy} is the heuristic actually used, never {@code AUTO}.
+ */
+public record PickRoute(RoutingStrategy strategy,
+                        List<PickStop> stops,
+                        double distance,
+                        double baselineDistance) {
+}
@@ -0,0 +1,21 @@
+package com.wms.picking;
+
+import java.util.List;
+
+/**
+ * A location on the walk together with every line picked there. {@code aisleIndex} and
+ * {@code rackIndex} are grid coordinates; both are -1 for locations without aisle/rack.
+ */
+public record PickStop(Long locationId,
+                       String locationCode,
+                       String aisle,
+                       String rack,
+                       String bin,
+                       int aisleIndex,
+                       int rackIndex,
+                       List<PickLine> lines) {
+
+    boolean located() {
+        return aisleIndex >= 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.wms.picking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Output of the wave planner; {@code cutoffAt} is the earliest cutoff among its orders.
+ */
+public record PlannedWave(String carrier,
+                          LocalDateTime cutoffAt,
+                          List<WaveCandidate> orders,
+                          int lineCount,
+                          long units,
+                          List<String> zones) {
+
+    public List<Long> orderIds() {
+        return orders.stream().map(WaveCandidate::orderId).toList();
+    }
+}
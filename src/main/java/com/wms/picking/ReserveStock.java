@@ -0,0 +1,7 @@
+package com.wms.picking;
+
+/**
+ * Unreserved units of a product in a location that is not one of its pick faces.
+ */
+public record ReserveStock(Long productId, Long locationId, Long warehouseId, Integer available) {
+}
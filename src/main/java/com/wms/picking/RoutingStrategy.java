@@ -0,0 +1,19 @@
+package com.wms.picking;
+
+/**
+ * Routing heuristics for a parallel-aisle layout with a front and a back cross aisle.
+ */
+public enum RoutingStrategy {
+    /** S-shape: every aisle holding a pick is walked end to end, alternating direction. */
+    SERPENTINE,
+    /**
+     * Largest gap: the first and last aisles are walked end to end; every other aisle is
+     * entered from the front and from the back, skipping its largest gap between picks.
+     */
+    LARGEST_GAP,
+    /**
+     * Plans both and keeps the shorter walk. S-shape tends to win on dense batches,
+     * largest gap when only a few picks fall in each aisle.
+     */
+    AUTO
+}
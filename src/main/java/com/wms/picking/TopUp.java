@@ -0,0 +1,7 @@
+package com.wms.picking;
+
+/**
+ * One transfer from a reserve location into a pick face.
+ */
+public record TopUp(Long faceId, Long productId, Long fromLocationId, Long toLocationId, int quantity) {
+}
@@ -0,0 +1,81 @@
+package com.wms.picking;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plans min/max top-ups of pick faces from reserve stock in the same warehouse. A face
+ * below its minimum is filled back to its maximum, from the fullest reserve locations
+ * first so that few transfers cover the need; when reserve runs short, faces holding
+ * reservations are served first, then the emptiest relative to their minimum.
+ */
+@Component
+public class TopUpPlanner {
+
+    static final Comparator<PickFaceLevel> PRIORITY = Comparator
+            .comparingInt(PickFaceLevel::reservedQuantity).reversed()
+            .thenComparingDouble(TopUpPlanner::fillRatio)
+            .thenComparing(PickFaceLevel::faceId);
+
+    public List<TopUp> plan(List<PickFaceLevel> faces, List<ReserveStock> reserves) {
+        Map<ReserveKey, List<Remaining>> pools = new HashMap<>();
+        for (ReserveStock reserve : reserves) {
+            if (reserve.available() != null && reserve.available() > 0) {
+                pools.computeIfAbsent(new ReserveKey(reserve.productId(), reserve.warehouseId()), key -> new ArrayList<>())
+                        .add(new Remaining(reserve.locationId(), reserve.available()));
+            }
+        }
+        for (List<Remaining> pool : pools.values()) {
+            pool.sort(Comparator.comparingInt((Remaining remaining) -> remaining.available).reversed()
+                    .thenComparing(remaining -> remaining.locationId));
+        }
+
+        List<TopUp> topUps = new ArrayList<>();
+        for (PickFaceLevel face : faces.stream().sorted(PRIORITY).toList()) {
+            if (face.available() >= face.minQuantity()) {
+                continue;
+            }
+            List<Remaining> pool = pools.get(new ReserveKey(face.productId(), face.warehouseId()));
+            if (pool == null) {
+                continue;
+            }
+            int need = face.maxQuantity() - Math.max(face.available(), 0);
+            for (Remaining reserve : pool) {
+                if (need == 0) {
+                    break;
+                }
+                if (reserve.locationId.equals(face.locationId()) || reserve.available == 0) {
+                    continue;
+                }
+                int take = Math.min(need, reserve.available);
+                topUps.add(new TopUp(face.faceId(), face.productId(), reserve.locationId, face.locationId(), take));
+                reserve.available -= take;
+                need -= take;
+            }
+        }
+        return topUps;
+    }
+
+    // Rezervasyon eşitse minimuma göre en boş olan önce
+    private static double fillRatio(PickFaceLevel face) {
+        return face.minQuantity() == 0 ? 1.0 : (double) face.available() / face.minQuantity();
+    }
+
+    private record ReserveKey(Long productId, Long warehouseId) {
+    }
+
+    private static final class Remaining {
+        private final Long locationId;
+        private int available;
+
+        private Remaining(Long locationId, int available) {
+            this.locationId = locationId;
+            this.available = available;
+        }
+    }
+}
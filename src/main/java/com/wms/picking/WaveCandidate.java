@@ -0,0 +1,16 @@
+package com.wms.picking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A pending order reduced to what wave grouping needs: its totals and the zones it touches
+ * (distinct, in natural order).
+ */
+public record WaveCandidate(Long orderId,
+                            String carrier,
+                            LocalDateTime cutoffAt,
+                            int lineCount,
+                            long units,
+                            List<String> zones) {
+}
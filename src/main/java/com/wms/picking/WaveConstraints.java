@@ -0,0 +1,25 @@
+package com.wms.picking;
+
+import java.time.Duration;
+
+/**
+ * Limits for one wave. Orders are only combined when their carriers match and their
+ * cutoffs fall into the same {@code cutoffWindow}; {@code openWaves} is how many partly
+ * filled waves per carrier/cutoff group the planner keeps to choose from.
+ */
+public record WaveConstraints(int maxOrders,
+                              int maxLines,
+                              long maxUnits,
+                              int maxZones,
+                              Duration cutoffWindow,
+                              int openWaves) {
+
+    public WaveConstraints {
+        if (maxOrders < 1 || maxLines < 1 || maxUnits < 1 || maxZones < 1 || openWaves < 1) {
+            throw new IllegalArgumentException("Wave limits must be positive");
+        }
+        if (cutoffWindow == null || cutoffWindow.isNegative() || cutoffWindow.isZero()) {
+            throw new IllegalArgumentException("Cutoff window must be positive");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.wms.picking;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of a pending order as the wave planner sees it. {@code aisle} is the zone.
+ */
+public record WaveLine(Long orderId,
+                       String carrier,
+                       LocalDateTime cutoffAt,
+                       Long productId,
+                       Long locationId,
+                       String aisle,
+                       Integer quantity) {
+}
@@ -0,0 +1,180 @@
+package com.wms.picking;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Groups pending orders into waves. Orders are split by carrier and cutoff window, then
+ * sorted by the zones they touch so that orders sharing aisles sit next to each other.
+ * Each order goes into the open wave it overlaps most with among the few kept open for
+ * its group, provided the wave stays within its line, unit, order and zone limits.
+ *
+ * <p>Cost is one sort plus a scan with a constant number of open waves, so tens of
+ * thousands of orders plan in well under a second. An order that breaks a limit on its
+ * own is released as a wave of one.
+ */
+@Component
+public class WavePlanner {
+
+    public static final String UNZONED = "UNZONED";
+
+    private static final Comparator<Entry> GROUPING = Comparator
+            .comparingLong(Entry::bucket)
+            .thenComparing(Entry::carrierKey)
+            .thenComparing(Entry::zoneIndexes, Arrays::compare)
+            .thenComparing(entry -> entry.candidate().orderId());
+
+    private static final Comparator<PlannedWave> RELEASE_ORDER = Comparator
+            .comparing(PlannedWave::cutoffAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(wave -> wave.orders().get(0).orderId());
+
+    /**
+     * Folds order lines into one candidate per order, keeping the input order.
+     */
+    public List<WaveCandidate> toCandidates(Collection<WaveLine> lines) {
+        Map<Long, CandidateBuilder> builders = new LinkedHashMap<>();
+        for (WaveLine line : lines) {
+            CandidateBuilder builder = builders.computeIfAbsent(line.orderId(),
+                    id -> new CandidateBuilder(line.carrier(), line.cutoffAt()));
+            builder.lines++;
+            builder.units += line.quantity();
+            builder.zones.add(line.aisle() != null ? line.aisle() : UNZONED);
+        }
+        List<WaveCandidate> candidates = new ArrayList<>(builders.size());
+        builders.forEach((orderId, builder) -> candidates.add(new WaveCandidate(orderId, builder.carrier,
+                builder.cutoffAt, builder.lines, builder.units, List.copyOf(builder.zones))));
+        return candidates;
+    }
+
+    public List<PlannedWave> plan(List<WaveCandidate> candidates, WaveConstraints constraints) {
+        TreeSet<String> zoneNames = new TreeSet<>(PickPathPlanner.NATURAL_ORDER);
+        candidates.forEach(candidate -> zoneNames.addAll(candidate.zones()));
+        Map<String, Integer> zoneIndex = new TreeMap<>(PickPathPlanner.NATURAL_ORDER);
+        String[] zonesByIndex = zoneNames.toArray(String[]::new);
+        for (int i = 0; i < zonesByIndex.length; i++) {
+            zoneIndex.put(zonesByIndex[i], i);
+        }
+
+        long windowSeconds = Math.max(1, constraints.cutoffWindow().toSeconds());
+        Entry[] entries = new Entry[candidates.size()];
+        for (int i = 0; i < entries.length; i++) {
+            WaveCandidate candidate = candidates.get(i);
+            int[] zones = candidate.zones().stream().mapToInt(zoneIndex::get).sorted().toArray();
+            long bucket = candidate.cutoffAt() == null
+                    ? Long.MAX_VALUE
+                    : Math.floorDiv(candidate.cutoffAt().toEpochSecond(ZoneOffset.UTC), windowSeconds);
+            entries[i] = new Entry(candidate, bucket, Objects.requireNonNullElse(candidate.carrier(), ""), zones);
+        }
+        Arrays.sort(entries, GROUPING);
+
+        List<PlannedWave> planned = new ArrayList<>();
+        List<OpenWave> open = new ArrayList<>(constraints.openWaves());
+        Entry previous = null;
+        for (Entry entry : entries) {
+            if (previous != null && (previous.bucket() != entry.bucket()
+                    || !previous.carrierKey().equals(entry.carrierKey()))) {
+                open.forEach(wave -> planned.add(wave.toPlanned(zonesByIndex)));
+                open.clear();
+            }
+            previous = entry;
+
+            OpenWave target = null;
+            int bestOverlap = -1;
+            for (OpenWave wave : open) {
+                int overlap = wave.overlap(entry);
+                if (overlap > bestOverlap && wave.fits(entry, overlap, constraints)) {
+                    target = wave;
+                    bestOverlap = overlap;
+                }
+            }
+            if (target == null) {
+                // En eski açık dalga kapanır; zon sırasıyla ilerlendiği için ona uyan sipariş kalmamıştır
+                if (open.size() >= constraints.openWaves()) {
+                    planned.add(open.remove(0).toPlanned(zonesByIndex));
+                }
+                target = new OpenWave();
+                open.add(target);
+            }
+            target.add(entry);
+        }
+        open.forEach(wave -> planned.add(wave.toPlanned(zonesByIndex)));
+
+        planned.sort(RELEASE_ORDER);
+        return planned;
+    }
+
+    private record Entry(WaveCandidate candidate, long bucket, String carrierKey, int[] zoneIndexes) {
+    }
+
+    private static final class CandidateBuilder {
+        private final String carrier;
+        private final LocalDateTime cutoffAt;
+        private final TreeSet<String> zones = new TreeSet<>(PickPathPlanner.NATURAL_ORDER);
+        private int lines;
+        private long units;
+
+        private CandidateBuilder(String carrier, LocalDateTime cutoffAt) {
+            this.carrier = carrier;
+            this.cutoffAt = cutoffAt;
+        }
+    }
+
+    private static final class OpenWave {
+        private final List<WaveCandidate> orders = new ArrayList<>();
+        private final BitSet zones = new BitSet();
+        private int zoneCount;
+        private int lines;
+        private long units;
+        private LocalDateTime cutoffAt;
+
+        int overlap(Entry entry) {
+            int shared = 0;
+            for (int zone : entry.zoneIndexes()) {
+                if (zones.get(zone)) {
+                    shared++;
+                }
+            }
+            return shared;
+        }
+
+        boolean fits(Entry entry, int overlap, WaveConstraints constraints) {
+            WaveCandidate candidate = entry.candidate();
+            return orders.size() < constraints.maxOrders()
+                    && lines + candidate.lineCount() <= constraints.maxLines()
+                    && units + candidate.units() <= constraints.maxUnits()
+                    && zoneCount + entry.zoneIndexes().length - overlap <= constraints.maxZones();
+        }
+
+        void add(Entry entry) {
+            WaveCandidate candidate = entry.candidate();
+            orders.add(candidate);
+            lines += candidate.lineCount();
+            units += candidate.units();
+            for (int zone : entry.zoneIndexes()) {
+                zones.set(zone);
+            }
+            zoneCount = zones.cardinality();
+            if (candidate.cutoffAt() != null && (cutoffAt == null || candidate.cutoffAt().isBefore(cutoffAt))) {
+                cutoffAt = candidate.cutoffAt();
+            }
+        }
+
+        PlannedWave toPlanned(String[] zonesByIndex) {
+            List<String> names = zones.stream().mapToObj(index -> zonesByIndex[index]).toList();
+            return new PlannedWave(orders.get(0).carrier(), cutoffAt, List.copyOf(orders), lines, units, names);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.wms.repository;
+
+import com.wms.entity.ChangeFeedState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeFeedStateRepository extends JpaRepository<ChangeFeedState, Long> {
+    Optional<ChangeFeedState> findByFeed(String feed);
+
+    // Etkisiz UPDATE: satır kilidini commit'e kadar tutar, böylece relay'ler sırayla çalışır
+    @Modifying
+    @Query("UPDATE ChangeFeedState s SET s.lastPosition = s.lastPosition WHERE s.feed = :feed")
+    int lock(@Param("feed") String feed);
+
+    // Koşullu UPDATE: damga eşikten eskiyse yenisi yazılır; aynı anda deneyenlerden yalnızca biri 1 alır
+    @Modifying
+    @Query("UPDATE ChangeFeedState s SET s.lastPosition = :stamp " +
+            "WHERE s.feed = :feed AND s.lastPosition <= :claimableUpTo")
+    int claim(@Param("feed") String feed, @Param("stamp") long stamp, @Param("claimableUpTo") long claimableUpTo);
+}
@@ -0,0 +1,22 @@
+package com.wms.repository;
+
+import com.wms.entity.CostLayer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CostLayerRepository extends JpaRepository<CostLayer, Long> {
+
+    // Açık katmanlar, en eski önce (FIFO sırası)
+    @Query("SELECT c FROM CostLayer c WHERE c.productId = :productId AND c.warehouseId = :warehouseId " +
+            "AND c.remainingQuantity > 0 ORDER BY c.id")
+    List<CostLayer> findOpenLayers(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId);
+
+    // Son açılan katman: maliyeti bilinmeyen girişler bu birim maliyetle değerlenir
+    Optional<CostLayer> findFirstByProductIdAndWarehouseIdOrderByIdDesc(Long productId, Long warehouseId);
+}
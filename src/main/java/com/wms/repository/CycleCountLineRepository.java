@@ -0,0 +1,30 @@
+package com.wms.repository;
+
+import com.wms.concurrency.InventoryKey;
+import com.wms.entity.CycleCountLine;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CycleCountLineRepository extends JpaRepository<CycleCountLine, Long>, CycleCountLineRepositoryCustom {
+
+    long countByCycleCountIdAndCountedQuantityIsNotNull(Long cycleCountId);
+
+    @Query("SELECT new com.wms.concurrency.InventoryKey(l.productId, l.locationId) FROM CycleCountLine l " +
+            "WHERE l.cycleCountId = :cycleCountId AND l.countedQuantity IS NOT NULL")
+    List<InventoryKey> findCountedInventoryKeys(@Param("cycleCountId") Long cycleCountId);
+
+    // Sayım föyü: lokasyon sırasıyla
+    @Query("SELECT l FROM CycleCountLine l WHERE l.cycleCountId = :cycleCountId AND " +
+            "(:uncountedOnly = false OR l.countedQuantity IS NULL) " +
+            "ORDER BY l.locationCode, l.productId")
+    Page<CycleCountLine> findSheet(@Param("cycleCountId") Long cycleCountId,
+                                   @Param("uncountedOnly") boolean uncountedOnly,
+                                   Pageable pageable);
+}
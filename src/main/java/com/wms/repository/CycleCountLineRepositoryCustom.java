@@ -0,0 +1,20 @@
+package com.wms.repository;
+
+import com.wms.counting.CountEntry;
+import com.wms.counting.CountVariance;
+import com.wms.counting.CountedLine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface CycleCountLineRepositoryCustom {
+
+    int insertSnapshot(Long cycleCountId, List<Long> locationIds, long movementWatermark, LocalDateTime snapshotAt);
+
+    List<Boolean> recordCounts(Long cycleCountId, List<CountEntry> entries, LocalDateTime countedAt);
+
+    List<CountedLine> findCountedLines(Long cycleCountId, long movementWatermark);
+
+    void saveResults(List<CountVariance> variances, Map<Long, String> skipped, LocalDateTime postedAt);
+}
@@ -0,0 +1,127 @@
+package com.wms.repository;
+
+import com.wms.counting.CountEntry;
+import com.wms.counting.CountVariance;
+import com.wms.counting.CountedLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class CycleCountLineRepositoryImpl implements CycleCountLineRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Lokasyona giren eksi çıkan, filigrandan sonraki hareketler
+    private static final String BALANCE_SQL =
+            "COALESCE((SELECT SUM(m.quantity) FROM stock_movements m WHERE m.product_id = %1$s.product_id " +
+                    "AND m.to_location_id = %1$s.location_id AND m.id > ?%2$s), 0) - " +
+                    "COALESCE((SELECT SUM(m.quantity) FROM stock_movements m WHERE m.product_id = %1$s.product_id " +
+                    "AND m.from_location_id = %1$s.location_id AND m.id > ?%2$s), 0)";
+
+    // Satır başına tek ifade: miktar ve hareket bakiyesi aynı anlık görüntüden okunur
+    private static final String SNAPSHOT_SQL =
+            "INSERT INTO cycle_count_lines (cycle_count_id, inventory_id, location_id, location_code, product_id, " +
+                    "expected_quantity, snapshot_balance, adjusted, created_at, deleted) " +
+                    "SELECT ?, i.id, i.location_id, l.code, i.product_id, i.quantity, " +
+                    String.format(BALANCE_SQL, "i", "") + ", FALSE, ?, FALSE " +
+                    "FROM inventory i JOIN locations l ON l.id = i.location_id " +
+                    "WHERE i.location_id IN (%s)";
+
+    private static final String RECORD_COUNT_SQL =
+            "UPDATE cycle_count_lines SET counted_quantity = ?, counted_at = ?, updated_at = ? " +
+                    "WHERE cycle_count_id = ? AND location_id = ? AND product_id = ?";
+
+    // Sayım anına kadar oluşturulmuş hareketler; sonrakiler güncel miktarda kalır
+    private static final String COUNTED_LINES_SQL =
+            "SELECT c.id, c.inventory_id, c.product_id, c.location_id, c.expected_quantity, c.snapshot_balance, " +
+                    "c.counted_quantity, " + String.format(BALANCE_SQL, "c", " AND m.created_at <= c.counted_at") + " " +
+                    "FROM cycle_count_lines c WHERE c.cycle_count_id = ? AND c.counted_quantity IS NOT NULL " +
+                    "ORDER BY c.id";
+
+    private static final String SAVE_RESULT_SQL =
+            "UPDATE cycle_count_lines SET variance = ?, adjusted = ?, note = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertSnapshot(Long cycleCountId, List<Long> locationIds, long movementWatermark,
+                              LocalDateTime snapshotAt) {
+        int inserted = 0;
+        for (int from = 0; from < locationIds.size(); from += BATCH_SIZE) {
+            List<Long> chunk = locationIds.subList(from, Math.min(from + BATCH_SIZE, locationIds.size()));
+            List<Object> args = new ArrayList<>(chunk.size() + 4);
+            args.add(cycleCountId);
+            args.add(movementWatermark);
+            args.add(movementWatermark);
+            args.add(Timestamp.valueOf(snapshotAt));
+            args.addAll(chunk);
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            inserted += jdbcTemplate.update(SNAPSHOT_SQL.formatted(placeholders), args.toArray());
+        }
+        return inserted;
+    }
+
+    // Girdi sırasıyla: satır bulunup güncellendiyse true
+    @Override
+    public List<Boolean> recordCounts(Long cycleCountId, List<CountEntry> entries, LocalDateTime countedAt) {
+        Timestamp at = Timestamp.valueOf(countedAt);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(RECORD_COUNT_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setInt(1, entry.countedQuantity());
+            ps.setTimestamp(2, at);
+            ps.setTimestamp(3, now);
+            ps.setLong(4, cycleCountId);
+            ps.setLong(5, entry.locationId());
+            ps.setLong(6, entry.productId());
+        });
+        List<Boolean> matched = new ArrayList<>(entries.size());
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                matched.add(count != 0);
+            }
+        }
+        return matched;
+    }
+
+    @Override
+    public List<CountedLine> findCountedLines(Long cycleCountId, long movementWatermark) {
+        return jdbcTemplate.query(COUNTED_LINES_SQL, (rs, rowNum) -> new CountedLine(
+                        rs.getLong(1),
+                        rs.getObject(2) != null ? rs.getLong(2) : null,
+                        rs.getLong(3),
+                        rs.getLong(4),
+                        rs.getInt(5),
+                        rs.getLong(6),
+                        rs.getInt(7),
+                        rs.getLong(8)),
+                movementWatermark, movementWatermark, cycleCountId);
+    }
+
+    @Override
+    public void saveResults(List<CountVariance> variances, Map<Long, String> skipped, LocalDateTime postedAt) {
+        if (variances.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(postedAt);
+        jdbcTemplate.batchUpdate(SAVE_RESULT_SQL, variances, BATCH_SIZE, (ps, variance) -> {
+            String note = skipped.get(variance.lineId());
+            ps.setInt(1, variance.variance());
+            ps.setBoolean(2, note == null && variance.variance() != 0);
+            if (note != null) {
+                ps.setString(3, note);
+            } else {
+                ps.setNull(3, Types.VARCHAR);
+            }
+            ps.setTimestamp(4, now);
+            ps.setLong(5, variance.lineId());
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.wms.repository;
+
+import com.wms.entity.CycleCount;
+import com.wms.enums.CycleCountStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CycleCountRepository extends JpaRepository<CycleCount, Long> {
+
+    // Etkisiz UPDATE: sayım girişi, kayıt ve iptal aynı sayım üzerinde sırayla çalışır
+    @Modifying
+    @Query("UPDATE CycleCount c SET c.lineCount = c.lineCount WHERE c.id = :id")
+    int lock(@Param("id") Long id);
+
+    // Aralıklar doğal sırayla karşılaştırılır ("A-2" < "A-10"), bu yüzden çakışma serviste aranır
+    List<CycleCount> findByWarehouseIdAndStatus(Long warehouseId, CycleCountStatus status);
+
+    @Query("SELECT c FROM CycleCount c WHERE " +
+            "(:warehouseId IS NULL OR c.warehouseId = :warehouseId) AND " +
+            "(:status IS NULL OR c.status = :status) " +
+            "ORDER BY c.id DESC")
+    Page<CycleCount> search(@Param("warehouseId") Long warehouseId,
+                            @Param("status") CycleCountStatus status,
+                            Pageable pageable);
+}
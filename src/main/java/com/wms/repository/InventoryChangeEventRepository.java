@@ -0,0 +1,49 @@
+package com.wms.repository;
+
+import com.wms.entity.InventoryChangeEvent;
+import com.wms.enums.InventoryChangeType;
+import com.wms.slotting.VelocityDelta;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InventoryChangeEventRepository extends JpaRepository<InventoryChangeEvent, Long>,
+        InventoryChangeEventRepositoryCustom {
+
+    @Query("SELECT e FROM InventoryChangeEvent e WHERE e.position IS NULL ORDER BY e.id")
+    List<InventoryChangeEvent> findUnpublished(Pageable pageable);
+
+    @Query("SELECT e FROM InventoryChangeEvent e WHERE e.position > :since ORDER BY e.position")
+    List<InventoryChangeEvent> findPublishedAfter(@Param("since") long since, Pageable pageable);
+
+    @Query("SELECT e.position FROM InventoryChangeEvent e " +
+            "WHERE e.changeType = :type AND e.position > :after AND e.position <= :upTo ORDER BY e.position")
+    List<Long> findPositionsAfter(@Param("type") InventoryChangeType type,
+                                  @Param("after") long after,
+                                  @Param("upTo") long upTo,
+                                  Pageable pageable);
+
+    // Sevkiyat olayı sipariş numarasını taşır; aynı göze ait OUT hareketleri olayın konumundan toplanır
+    @Query("SELECT new com.wms.slotting.VelocityDelta(e.productId, e.locationId, e.warehouseId, " +
+            "CAST(sm.movementDate AS LocalDate), COUNT(sm), SUM(sm.quantity)) " +
+            "FROM InventoryChangeEvent e, StockMovement sm " +
+            "WHERE e.changeType = com.wms.enums.InventoryChangeType.SHIPPED " +
+            "AND e.position > :after AND e.position <= :upTo " +
+            "AND sm.type = com.wms.enums.StockMovementType.OUT AND sm.referenceNumber = e.reference " +
+            "AND sm.product.id = e.productId AND sm.fromLocation.id = e.locationId " +
+            "GROUP BY e.productId, e.locationId, e.warehouseId, CAST(sm.movementDate AS LocalDate)")
+    List<VelocityDelta> sumShippedByDay(@Param("after") long after, @Param("upTo") long upTo);
+
+    // Tüketicilerin henüz okumadığı olaylar (position > upTo) saklama süresi dolsa da silinmez
+    @Modifying
+    @Query("DELETE FROM InventoryChangeEvent e WHERE e.position IS NOT NULL AND e.position <= :upTo " +
+            "AND e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before, @Param("upTo") long upTo);
+}
@@ -0,0 +1,14 @@
+package com.wms.repository;
+
+import com.wms.entity.Inventory;
+import com.wms.enums.InventoryChangeType;
+
+import java.util.Collection;
+
+public interface InventoryChangeEventRepositoryCustom {
+    void insertAll(Collection<Inventory> inventories, InventoryChangeType type, String reference);
+
+    void insertFromCurrentState(Collection<Long> inventoryIds, InventoryChangeType type, String reference);
+
+    void insertFromLoad(Long loadId, InventoryChangeType type, String reference);
+}
@@ -0,0 +1,86 @@
+package com.wms.repository;
+
+import com.wms.entity.Inventory;
+import com.wms.enums.InventoryChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InventoryChangeEventRepositoryImpl implements InventoryChangeEventRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_change_events (inventory_id, product_id, location_id, warehouse_id, quantity, " +
+                    "reserved_quantity, change_type, reference, created_at, deleted) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)";
+
+    private static final String INSERT_FROM_INVENTORY_SQL =
+            "INSERT INTO inventory_change_events (inventory_id, product_id, location_id, warehouse_id, quantity, " +
+                    "reserved_quantity, change_type, reference, created_at, deleted) " +
+                    "SELECT i.id, i.product_id, i.location_id, l.warehouse_id, i.quantity, i.reserved_quantity, " +
+                    ":type, :reference, :now, FALSE " +
+                    "FROM inventory i JOIN locations l ON l.id = i.location_id WHERE i.id IN (:ids)";
+
+    // Toplu yüklemede miktarı değişen satırlar, yükleme satırlarıyla eşleştirilerek
+    private static final String INSERT_FROM_LOAD_SQL =
+            "INSERT INTO inventory_change_events (inventory_id, product_id, location_id, warehouse_id, quantity, " +
+                    "reserved_quantity, change_type, reference, created_at, deleted) " +
+                    "SELECT i.id, i.product_id, i.location_id, loc.warehouse_id, i.quantity, i.reserved_quantity, " +
+                    ":type, :reference, :now, FALSE " +
+                    "FROM inventory_load_lines ll " +
+                    "JOIN inventory i ON i.product_id = ll.product_id AND i.location_id = ll.location_id " +
+                    "JOIN locations loc ON loc.id = i.location_id " +
+                    "WHERE ll.load_id = :loadId AND ll.reject_reason IS NULL AND ll.quantity <> ll.previous_quantity";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // Bellekteki (henüz flush edilmemiş olabilecek) son durumdan tek JDBC batch ile yazar
+    @Override
+    public void insertAll(Collection<Inventory> inventories, InventoryChangeType type, String reference) {
+        if (inventories.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Inventory> rows = List.copyOf(inventories);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, inventory) -> {
+            ps.setLong(1, inventory.getId());
+            ps.setLong(2, inventory.getProduct().getId());
+            ps.setLong(3, inventory.getLocation().getId());
+            ps.setLong(4, inventory.getLocation().getWarehouse().getId());
+            ps.setInt(5, inventory.getQuantity());
+            ps.setInt(6, inventory.getReservedQuantity());
+            ps.setString(7, type.name());
+            ps.setString(8, reference);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    // Toplu UPDATE'lerden sonra: satırların veritabanındaki güncel halini tek INSERT ... SELECT ile kopyalar
+    @Override
+    public void insertFromCurrentState(Collection<Long> inventoryIds, InventoryChangeType type, String reference) {
+        if (inventoryIds.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(INSERT_FROM_INVENTORY_SQL, new MapSqlParameterSource()
+                .addValue("type", type.name())
+                .addValue("reference", reference)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("ids", inventoryIds));
+    }
+
+    @Override
+    public void insertFromLoad(Long loadId, InventoryChangeType type, String reference) {
+        namedParameterJdbcTemplate.update(INSERT_FROM_LOAD_SQL, new MapSqlParameterSource()
+                .addValue("type", type.name())
+                .addValue("reference", reference)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("loadId", loadId));
+    }
+}
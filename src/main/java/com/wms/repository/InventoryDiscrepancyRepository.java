@@ -0,0 +1,27 @@
+package com.wms.repository;
+
+import com.wms.entity.InventoryDiscrepancy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface InventoryDiscrepancyRepository extends JpaRepository<InventoryDiscrepancy, Long>,
+        InventoryDiscrepancyRepositoryCustom {
+
+    // Bu doğrulamada bulunmayan eski satırlar
+    @Modifying
+    @Query("DELETE FROM InventoryDiscrepancy d WHERE d.warehouseId = :warehouseId AND d.detectedAt < :detectedAt")
+    int deleteOlderThan(@Param("warehouseId") Long warehouseId, @Param("detectedAt") LocalDateTime detectedAt);
+
+    @Query("SELECT d FROM InventoryDiscrepancy d WHERE " +
+            "(:warehouseId IS NULL OR d.warehouseId = :warehouseId) " +
+            "ORDER BY d.warehouseId, d.locationId, d.productId")
+    Page<InventoryDiscrepancy> search(@Param("warehouseId") Long warehouseId, Pageable pageable);
+}
@@ -0,0 +1,11 @@
+package com.wms.repository;
+
+import com.wms.ledger.LedgerDiscrepancy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InventoryDiscrepancyRepositoryCustom {
+    void insertAll(Long warehouseId, List<LedgerDiscrepancy> discrepancies, long movementWatermark,
+                   LocalDateTime detectedAt);
+}
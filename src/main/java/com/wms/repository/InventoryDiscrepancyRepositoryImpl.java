@@ -0,0 +1,41 @@
+package com.wms.repository;
+
+import com.wms.ledger.LedgerDiscrepancy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InventoryDiscrepancyRepositoryImpl implements InventoryDiscrepancyRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_discrepancies (warehouse_id, product_id, location_id, inventory_quantity, " +
+                    "ledger_quantity, movement_watermark, detected_at, created_at, deleted) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, FALSE)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Long warehouseId, List<LedgerDiscrepancy> discrepancies, long movementWatermark,
+                          LocalDateTime detectedAt) {
+        if (discrepancies.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(detectedAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, discrepancies, BATCH_SIZE, (ps, discrepancy) -> {
+            ps.setLong(1, warehouseId);
+            ps.setLong(2, discrepancy.productId());
+            ps.setLong(3, discrepancy.locationId());
+            ps.setLong(4, discrepancy.inventoryQuantity());
+            ps.setLong(5, discrepancy.ledgerQuantity());
+            ps.setLong(6, movementWatermark);
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+    }
+}
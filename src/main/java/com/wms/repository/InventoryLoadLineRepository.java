@@ -0,0 +1,31 @@
+package com.wms.repository;
+
+import com.wms.entity.InventoryLoadLine;
+import com.wms.stockload.StockLoadLine;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface InventoryLoadLineRepository extends JpaRepository<InventoryLoadLine, Long>,
+        InventoryLoadLineRepositoryCustom {
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "2000"))
+    @Query("SELECT new com.wms.stockload.StockLoadLine(l.lineNumber, l.sku, l.warehouseCode, l.locationCode, " +
+            "l.quantity, l.rejectReason) FROM InventoryLoadLine l " +
+            "WHERE l.loadId = :loadId AND l.rejectReason IS NOT NULL ORDER BY l.lineNumber")
+    Stream<StockLoadLine> streamRejected(@Param("loadId") Long loadId);
+
+    // Uygulanan satırlar ara tabloda tutulmaz
+    @Modifying
+    @Query("DELETE FROM InventoryLoadLine l WHERE l.loadId = :loadId AND l.rejectReason IS NULL")
+    int deleteAccepted(@Param("loadId") Long loadId);
+}
@@ -0,0 +1,38 @@
+package com.wms.repository;
+
+import com.wms.stockload.StockLoadLine;
+import com.wms.valuation.StockDelta;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+public interface InventoryLoadLineRepositoryCustom {
+    /**
+     * Copies the lines into the staging table, with {@code COPY} on PostgreSQL and JDBC
+     * batches elsewhere. Returns the number of lines.
+     */
+    long stage(Long loadId, Iterator<StockLoadLine> lines);
+
+    /**
+     * Resolves SKUs and warehouse/location codes with set-based statements, rejects lines
+     * that do not resolve, repeat an earlier product and location, or would drop below the
+     * reserved quantity, and records the current quantity of the rest. The inventory rows
+     * touched are locked until the transaction ends.
+     */
+    void resolve(Long loadId);
+
+    // Miktarı değişen satırları envantere tek MERGE ile yazar
+    int applyToInventory(Long loadId, LocalDateTime now);
+
+    // Her değişiklik için fark kadar ADJUSTMENT hareketi
+    int insertMovements(Long loadId, String reference, LocalDateTime now);
+
+    // Değerleme için ürün + depo başına net fark; depo içinde gözler arası artış ve azalış birbirini götürür
+    List<StockDelta> sumChanges(Long loadId);
+
+    LoadCounts countLines(Long loadId);
+
+    record LoadCounts(int total, int changed, int rejected) {
+    }
+}
@@ -0,0 +1,228 @@
+package com.wms.repository;
+
+import com.wms.stockload.StockLoadLine;
+import com.wms.valuation.StockDelta;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InventoryLoadLineRepositoryImpl implements InventoryLoadLineRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COPY_BUFFER_CHARS = 256 * 1024;
+
+    private static final String COPY_SQL =
+            "COPY inventory_load_lines (load_id, line_number, sku, warehouse_code, location_code, quantity, " +
+                    "reject_reason) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_load_lines (load_id, line_number, sku, warehouse_code, location_code, quantity, " +
+                    "reject_reason, created_at, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, FALSE)";
+
+    // Tekil anahtarlara karşı kümeler halinde; UPDATE ... FROM yerine ilişkili alt sorgu (H2 de çalışsın)
+    private static final String RESOLVE_PRODUCTS_SQL =
+            "UPDATE inventory_load_lines l SET product_id = (SELECT p.id FROM products p WHERE p.sku = l.sku) " +
+                    "WHERE l.load_id = ? AND l.reject_reason IS NULL";
+
+    private static final String RESOLVE_LOCATIONS_SQL =
+            "UPDATE inventory_load_lines l SET location_id = (SELECT loc.id FROM locations loc " +
+                    "JOIN warehouses w ON w.id = loc.warehouse_id " +
+                    "WHERE w.code = l.warehouse_code AND loc.code = l.location_code) " +
+                    "WHERE l.load_id = ? AND l.reject_reason IS NULL";
+
+    private static final String REJECT_UNRESOLVED_SQL =
+            "UPDATE inventory_load_lines SET reject_reason = CASE WHEN product_id IS NULL THEN 'Unknown SKU' " +
+                    "ELSE 'Unknown warehouse or location' END " +
+                    "WHERE load_id = ? AND reject_reason IS NULL AND (product_id IS NULL OR location_id IS NULL)";
+
+    private static final String REJECT_DUPLICATES_SQL =
+            "UPDATE inventory_load_lines l SET reject_reason = 'Repeats an earlier line for the same product and location' " +
+                    "WHERE l.load_id = ? AND l.reject_reason IS NULL AND EXISTS (" +
+                    "SELECT 1 FROM inventory_load_lines o WHERE o.load_id = l.load_id " +
+                    "AND o.product_id = l.product_id AND o.location_id = l.location_id " +
+                    "AND o.line_number < l.line_number AND o.reject_reason IS NULL)";
+
+    // Boş UPDATE ile satır kilidi; önceki miktar okunduktan sonra başka işlem değiştiremesin
+    private static final String LOCK_INVENTORY_SQL =
+            "UPDATE inventory i SET version = i.version WHERE EXISTS (" +
+                    "SELECT 1 FROM inventory_load_lines l WHERE l.load_id = ? AND l.reject_reason IS NULL " +
+                    "AND l.product_id = i.product_id AND l.location_id = i.location_id)";
+
+    private static final String REJECT_BELOW_RESERVED_SQL =
+            "UPDATE inventory_load_lines l SET reject_reason = 'Quantity is below the reserved quantity' " +
+                    "WHERE l.load_id = ? AND l.reject_reason IS NULL AND l.quantity < (" +
+                    "SELECT i.reserved_quantity FROM inventory i " +
+                    "WHERE i.product_id = l.product_id AND i.location_id = l.location_id)";
+
+    private static final String PREVIOUS_QUANTITY_SQL =
+            "UPDATE inventory_load_lines l SET previous_quantity = COALESCE((SELECT i.quantity FROM inventory i " +
+                    "WHERE i.product_id = l.product_id AND i.location_id = l.location_id), 0) " +
+                    "WHERE l.load_id = ? AND l.reject_reason IS NULL";
+
+    private static final String MERGE_SQL =
+            "MERGE INTO inventory i USING (SELECT product_id, location_id, quantity FROM inventory_load_lines " +
+                    "WHERE load_id = ? AND reject_reason IS NULL AND quantity <> previous_quantity) s " +
+                    "ON i.product_id = s.product_id AND i.location_id = s.location_id " +
+                    "WHEN MATCHED THEN UPDATE SET quantity = s.quantity, version = i.version + 1, updated_at = ? " +
+                    "WHEN NOT MATCHED THEN INSERT (product_id, location_id, quantity, reserved_quantity, version, " +
+                    "created_at, deleted) VALUES (s.product_id, s.location_id, s.quantity, 0, 0, ?, FALSE)";
+
+    // Azalış çıkış, artış giriş tarafına yazılır (StockService.adjustStock ile aynı)
+    private static final String INSERT_MOVEMENTS_SQL =
+            "INSERT INTO stock_movements (type, product_id, from_location_id, to_location_id, quantity, reason, " +
+                    "movement_date, reference_number, created_at, deleted) " +
+                    "SELECT 'ADJUSTMENT', l.product_id, " +
+                    "CASE WHEN l.quantity < l.previous_quantity THEN l.location_id END, " +
+                    "CASE WHEN l.quantity > l.previous_quantity THEN l.location_id END, " +
+                    "ABS(l.quantity - l.previous_quantity), 'Inventory load', ?, ?, ?, FALSE " +
+                    "FROM inventory_load_lines l WHERE l.load_id = ? AND l.reject_reason IS NULL " +
+                    "AND l.quantity <> l.previous_quantity ORDER BY l.line_number";
+
+    private static final String SUM_CHANGES_SQL =
+            "SELECT l.product_id, loc.warehouse_id, SUM(l.quantity - l.previous_quantity) " +
+                    "FROM inventory_load_lines l JOIN locations loc ON loc.id = l.location_id " +
+                    "WHERE l.load_id = ? AND l.reject_reason IS NULL AND l.quantity <> l.previous_quantity " +
+                    "GROUP BY l.product_id, loc.warehouse_id HAVING SUM(l.quantity - l.previous_quantity) <> 0";
+
+    private static final String COUNT_SQL =
+            "SELECT COUNT(*), " +
+                    "COALESCE(SUM(CASE WHEN reject_reason IS NULL AND quantity <> previous_quantity THEN 1 ELSE 0 END), 0), " +
+                    "COALESCE(SUM(CASE WHEN reject_reason IS NOT NULL THEN 1 ELSE 0 END), 0) " +
+                    "FROM inventory_load_lines WHERE load_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long stage(Long loadId, Iterator<StockLoadLine> lines) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                connection.isWrapperFor(PGConnection.class)
+                        ? copy(connection.unwrap(PGConnection.class), loadId, lines)
+                        : insertBatches(loadId, lines));
+    }
+
+    @Override
+    public void resolve(Long loadId) {
+        jdbcTemplate.update(RESOLVE_PRODUCTS_SQL, loadId);
+        jdbcTemplate.update(RESOLVE_LOCATIONS_SQL, loadId);
+        jdbcTemplate.update(REJECT_UNRESOLVED_SQL, loadId);
+        jdbcTemplate.update(REJECT_DUPLICATES_SQL, loadId);
+        jdbcTemplate.update(LOCK_INVENTORY_SQL, loadId);
+        jdbcTemplate.update(REJECT_BELOW_RESERVED_SQL, loadId);
+        jdbcTemplate.update(PREVIOUS_QUANTITY_SQL, loadId);
+    }
+
+    @Override
+    public int applyToInventory(Long loadId, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.update(MERGE_SQL, loadId, timestamp, timestamp);
+    }
+
+    @Override
+    public int insertMovements(Long loadId, String reference, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.update(INSERT_MOVEMENTS_SQL, timestamp, reference, timestamp, loadId);
+    }
+
+    @Override
+    public List<StockDelta> sumChanges(Long loadId) {
+        return jdbcTemplate.query(SUM_CHANGES_SQL, (rs, rowNum) ->
+                new StockDelta(rs.getLong(1), rs.getLong(2), rs.getInt(3)), loadId);
+    }
+
+    @Override
+    public LoadCounts countLines(Long loadId) {
+        return jdbcTemplate.queryForObject(COUNT_SQL,
+                (rs, rowNum) -> new LoadCounts(rs.getInt(1), rs.getInt(2), rs.getInt(3)), loadId);
+    }
+
+    // Dosya satırları CSV olarak COPY akışına yazılır; bellekte yalnızca tampon kadar veri durur
+    private long copy(PGConnection connection, Long loadId, Iterator<StockLoadLine> lines) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+            while (lines.hasNext()) {
+                StockLoadLine line = lines.next();
+                buffer.append(loadId).append(',').append(line.line()).append(',');
+                appendText(buffer, line.sku()).append(',');
+                appendText(buffer, line.warehouseCode()).append(',');
+                appendText(buffer, line.locationCode()).append(',');
+                if (line.quantity() != null) {
+                    buffer.append(line.quantity().intValue());
+                }
+                buffer.append(',');
+                appendText(buffer, line.rejectReason()).append('\n');
+                if (buffer.length() >= COPY_BUFFER_CHARS) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    // CSV biçiminde tırnaksız boş alan NULL, tırnaklı alan metindir
+    private static StringBuilder appendText(StringBuilder buffer, String value) {
+        if (value == null) {
+            return buffer;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private long insertBatches(Long loadId, Iterator<StockLoadLine> lines) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long staged = 0;
+        List<StockLoadLine> batch = new ArrayList<>(BATCH_SIZE);
+        while (lines.hasNext()) {
+            batch.add(lines.next());
+            if (batch.size() == BATCH_SIZE || !lines.hasNext()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, BATCH_SIZE, (ps, line) -> {
+                    ps.setLong(1, loadId);
+                    ps.setLong(2, line.line());
+                    ps.setString(3, line.sku());
+                    ps.setString(4, line.warehouseCode());
+                    ps.setString(5, line.locationCode());
+                    if (line.quantity() != null) {
+                        ps.setInt(6, line.quantity());
+                    } else {
+                        ps.setNull(6, Types.INTEGER);
+                    }
+                    ps.setString(7, line.rejectReason());
+                    ps.setTimestamp(8, now);
+                });
+                staged += batch.size();
+                batch.clear();
+            }
+        }
+        return staged;
+    }
+}
@@ -0,0 +1,9 @@
+package com.wms.repository;
+
+import com.wms.entity.InventoryLoad;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InventoryLoadRepository extends JpaRepository<InventoryLoad, Long> {
+}
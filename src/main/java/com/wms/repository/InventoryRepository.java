@@ -1,19 +1,39 @@
 package com.wms.repository;
 
+import com.wms.concurrency.InventoryKey;
 import com.wms.entity.Inventory;
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import com.wms.export.InventoryExportRow;
+import com.wms.forecasting.StockPosition;
+import com.wms.ledger.LedgerEntry;
+import com.wms.picking.ReserveStock;
+import com.wms.slotting.SkuPlacement;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     Optional<Inventory> findByProductIdAndLocationId(Long productId, Long locationId);
     List<Inventory> findByProductId(Long productId);
     List<Inventory> findByLocationId(Long locationId);
+    List<Inventory> findByProductIdInAndLocationIdIn(Collection<Long> productIds, Collection<Long> locationIds);
+
+    // Değişiklik olayı deposunu okurken lokasyon başına ayrı sorgu olmasın
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.location WHERE i.id IN :ids")
+    List<Inventory> findWithLocationByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT i FROM Inventory i WHERE i.location.warehouse.id = :warehouseId")
     List<Inventory> findByWarehouseId(@Param("warehouseId") Long warehouseId);
@@ -22,4 +42,69 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
             "i.quantity <= p.minStockLevel AND i.deleted = false")
     List<Inventory> findLowStockItems();
 
-}
\ No newline at end of file
+    // Tek UPDATE ile birden fazla rezervasyonun toplamını geri verir
+    @Modifying
+    @Query("UPDATE Inventory i SET i.reservedQuantity = " +
+            "CASE WHEN i.reservedQuantity > :quantity THEN i.reservedQuantity - :quantity ELSE 0 END, " +
+            "i.version = i.version + 1 WHERE i.id = :id")
+    int releaseReserved(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT new com.wms.concurrency.InventoryKey(i.product.id, i.location.id) " +
+            "FROM Inventory i WHERE i.id = :id")
+    Optional<InventoryKey> findInventoryKeyById(@Param("id") Long id);
+
+    @Query("SELECT new com.wms.slotting.SkuPlacement(p.id, p.sku, i.location.id, i.quantity, i.reservedQuantity) " +
+            "FROM Inventory i JOIN i.product p WHERE i.location.warehouse.id = :warehouseId AND i.quantity > 0")
+    List<SkuPlacement> findSlotPlacements(@Param("warehouseId") Long warehouseId);
+
+    @Query("SELECT DISTINCT i.product.id FROM Inventory i WHERE i.location.warehouse.id = :warehouseId")
+    List<Long> findProductIdsByWarehouseId(@Param("warehouseId") Long warehouseId);
+
+    @Query("SELECT new com.wms.forecasting.StockPosition(i.product.id, MIN(i.location.id), SUM(i.quantity), " +
+            "SUM(i.reservedQuantity)) FROM Inventory i " +
+            "WHERE i.location.warehouse.id = :warehouseId AND i.product.id IN :productIds GROUP BY i.product.id")
+    List<StockPosition> findStockPositions(@Param("warehouseId") Long warehouseId,
+                                           @Param("productIds") Collection<Long> productIds);
+
+    // Ürünün toplama gözü olmayan lokasyonlardaki serbest stoğu
+    @Query("SELECT new com.wms.picking.ReserveStock(i.product.id, i.location.id, i.location.warehouse.id, " +
+            "i.quantity - i.reservedQuantity) FROM Inventory i " +
+            "WHERE i.product.id IN :productIds AND i.quantity > i.reservedQuantity AND NOT EXISTS (" +
+            "SELECT 1 FROM PickFace f WHERE f.productId = i.product.id AND f.locationId = i.location.id)")
+    List<ReserveStock> findReserveStock(@Param("productIds") Collection<Long> productIds);
+
+    // Sınıf, stoğun bulunduğu deponun sınıflandırmasından okunur
+    @Query("SELECT i FROM Inventory i WHERE " +
+            "(:warehouseId IS NULL OR i.location.warehouse.id = :warehouseId) AND EXISTS (" +
+            "SELECT 1 FROM ProductClassification c WHERE c.productId = i.product.id " +
+            "AND c.warehouseId = i.location.warehouse.id " +
+            "AND (:abcClass IS NULL OR c.abcClass = :abcClass) " +
+            "AND (:xyzClass IS NULL OR c.xyzClass = :xyzClass))")
+    List<Inventory> findByClassification(@Param("warehouseId") Long warehouseId,
+                                         @Param("abcClass") AbcClass abcClass,
+                                         @Param("xyzClass") XyzClass xyzClass);
+
+    @Query("SELECT COUNT(i) FROM Inventory i WHERE i.location.warehouse.id = :warehouseId")
+    long countByWarehouseId(@Param("warehouseId") Long warehouseId);
+
+    // Filigrandan sonraki hareketler düşülür; tek ifade olduğundan miktar ve düzeltme aynı andan okunur
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT new com.wms.ledger.LedgerEntry(i.product.id, i.location.id, CAST(i.quantity " +
+            "- COALESCE((SELECT SUM(sm.quantity) FROM StockMovement sm WHERE sm.product = i.product " +
+            "AND sm.toLocation = i.location AND sm.id > :watermark), 0) " +
+            "+ COALESCE((SELECT SUM(sm.quantity) FROM StockMovement sm WHERE sm.product = i.product " +
+            "AND sm.fromLocation = i.location AND sm.id > :watermark), 0) AS Long)) " +
+            "FROM Inventory i WHERE i.location.warehouse.id = :warehouseId AND MOD(i.location.id, :passes) = :pass")
+    Stream<LedgerEntry> streamAsOfWatermark(@Param("warehouseId") Long warehouseId,
+                                            @Param("watermark") Long watermark,
+                                            @Param("passes") int passes,
+                                            @Param("pass") int pass);
+
+    // Anahtar sıralı tek imleç; kopan aktarım son okunan id'den devam eder
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "2000"))
+    @Query("SELECT new com.wms.export.InventoryExportRow(i.id, w.code, l.code, p.sku, p.name, p.unit, " +
+            "i.quantity, i.reservedQuantity, p.unitPrice) " +
+            "FROM Inventory i JOIN i.location l JOIN l.warehouse w JOIN i.product p " +
+            "WHERE i.id > :afterId ORDER BY i.id")
+    Stream<InventoryExportRow> streamForExport(@Param("afterId") long afterId);
+}
@@ -0,0 +1,19 @@
+package com.wms.repository;
+
+import com.wms.entity.InventorySnapshotLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface InventorySnapshotLineRepository extends JpaRepository<InventorySnapshotLine, Long>,
+        InventorySnapshotLineRepositoryCustom {
+
+    @Modifying
+    @Query("DELETE FROM InventorySnapshotLine l WHERE l.snapshotId IN :snapshotIds")
+    int deleteBySnapshotIds(@Param("snapshotIds") Collection<Long> snapshotIds);
+}
@@ -0,0 +1,15 @@
+package com.wms.repository;
+
+import com.wms.entity.InventorySnapshot;
+import com.wms.history.StockAsOf;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InventorySnapshotLineRepositoryCustom {
+
+    int insertSnapshot(InventorySnapshot snapshot);
+
+    List<StockAsOf> findAsOf(Long warehouseId, InventorySnapshot snapshot, LocalDateTime asOf,
+                             Long productId, Long locationId);
+}
@@ -0,0 +1,107 @@
+package com.wms.repository;
+
+import com.wms.entity.InventorySnapshot;
+import com.wms.history.StockAsOf;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InventorySnapshotLineRepositoryImpl implements InventorySnapshotLineRepositoryCustom {
+
+    // Tek ifade: miktarlar ve filigrandan sonraki hareket bakiyesi aynı anlık görüntüden okunur
+    private static final String SNAPSHOT_SQL =
+            "INSERT INTO inventory_snapshot_lines (snapshot_id, product_id, location_id, quantity, movement_balance, " +
+                    "created_at, deleted) " +
+                    "SELECT :snapshotId, b.product_id, b.location_id, b.quantity, b.balance, :now, FALSE FROM (" +
+                    "SELECT i.product_id, i.location_id, i.quantity, " +
+                    "COALESCE((SELECT SUM(m.quantity) FROM stock_movements m WHERE m.product_id = i.product_id " +
+                    "AND m.to_location_id = i.location_id AND m.id > :watermark), 0) - " +
+                    "COALESCE((SELECT SUM(m.quantity) FROM stock_movements m WHERE m.product_id = i.product_id " +
+                    "AND m.from_location_id = i.location_id AND m.id > :watermark), 0) AS balance " +
+                    "FROM inventory i JOIN locations l ON l.id = i.location_id WHERE l.warehouse_id = :warehouseId" +
+                    ") b WHERE b.quantity <> 0 OR b.balance <> 0";
+
+    // Filigrana kadarki hareketler anlık görüntüde: istenen andan sonrakiler geri alınır,
+    // filigrandan sonra olup istenen ana kadar oluşanlar eklenir
+    private static final String DELTA =
+            "CASE WHEN m.id > :watermark AND m.created_at <= :asOf THEN m.quantity " +
+                    "WHEN m.id <= :watermark AND m.created_at > :asOf THEN -m.quantity ELSE 0 END";
+
+    private static final String AS_OF_SQL =
+            "SELECT x.product_id, p.sku, x.location_id, l.code, SUM(x.quantity) FROM (" +
+                    "SELECT s.product_id, s.location_id, s.quantity - s.movement_balance AS quantity " +
+                    "FROM inventory_snapshot_lines s WHERE s.snapshot_id = :snapshotId%1$s " +
+                    "UNION ALL " +
+                    "SELECT m.product_id, m.to_location_id, " + DELTA + " " +
+                    "FROM stock_movements m JOIN locations ml ON ml.id = m.to_location_id " +
+                    "WHERE ml.warehouse_id = :warehouseId AND m.created_at > :from AND m.created_at <= :to%2$s " +
+                    "UNION ALL " +
+                    "SELECT m.product_id, m.from_location_id, -(" + DELTA + ") " +
+                    "FROM stock_movements m JOIN locations ml ON ml.id = m.from_location_id " +
+                    "WHERE ml.warehouse_id = :warehouseId AND m.created_at > :from AND m.created_at <= :to%3$s" +
+                    ") x JOIN products p ON p.id = x.product_id JOIN locations l ON l.id = x.location_id " +
+                    "GROUP BY x.product_id, p.sku, x.location_id, l.code " +
+                    "HAVING SUM(x.quantity) <> 0 " +
+                    "ORDER BY l.code, p.sku";
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public int insertSnapshot(InventorySnapshot snapshot) {
+        return namedParameterJdbcTemplate.update(SNAPSHOT_SQL, new MapSqlParameterSource()
+                .addValue("snapshotId", snapshot.getId())
+                .addValue("watermark", snapshot.getMovementWatermark())
+                .addValue("warehouseId", snapshot.getWarehouseId())
+                .addValue("now", Timestamp.valueOf(snapshot.getTakenAt())));
+    }
+
+    /**
+     * Without a snapshot the whole ledger up to {@code asOf} is replayed. Only movements
+     * created between the earlier and the later of the snapshot and {@code asOf} are read:
+     * anything after the watermark was created after {@code settledBefore}, and anything
+     * up to it before the snapshot was taken.
+     */
+    @Override
+    public List<StockAsOf> findAsOf(Long warehouseId, InventorySnapshot snapshot, LocalDateTime asOf,
+                                    Long productId, Long locationId) {
+        LocalDateTime from = snapshot == null ? BEGINNING
+                : min(asOf, snapshot.getSettledBefore()).minusNanos(1000);
+        LocalDateTime to = snapshot == null ? asOf : max(asOf, snapshot.getTakenAt());
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("snapshotId", snapshot == null ? -1L : snapshot.getId())
+                .addValue("watermark", snapshot == null ? 0L : snapshot.getMovementWatermark())
+                .addValue("warehouseId", warehouseId)
+                .addValue("asOf", Timestamp.valueOf(asOf))
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to))
+                .addValue("productId", productId)
+                .addValue("locationId", locationId);
+        // PostgreSQL tipsiz "? IS NULL" kabul etmez; filtreler yalnızca verildiğinde eklenir
+        String sql = String.format(AS_OF_SQL,
+                filter("s.product_id", "s.location_id", productId, locationId),
+                filter("m.product_id", "m.to_location_id", productId, locationId),
+                filter("m.product_id", "m.from_location_id", productId, locationId));
+        return namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> new StockAsOf(
+                rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4), rs.getLong(5)));
+    }
+
+    private static String filter(String productColumn, String locationColumn, Long productId, Long locationId) {
+        return (productId != null ? " AND " + productColumn + " = :productId" : "")
+                + (locationId != null ? " AND " + locationColumn + " = :locationId" : "");
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
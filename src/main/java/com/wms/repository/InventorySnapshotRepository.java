@@ -0,0 +1,21 @@
+package com.wms.repository;
+
+import com.wms.entity.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    Optional<InventorySnapshot> findFirstByWarehouseIdAndTakenAtLessThanEqualOrderByTakenAtDesc(
+            Long warehouseId, LocalDateTime takenAt);
+
+    Optional<InventorySnapshot> findFirstByWarehouseIdAndTakenAtGreaterThanOrderByTakenAtAsc(
+            Long warehouseId, LocalDateTime takenAt);
+
+    List<InventorySnapshot> findByTakenAtBeforeOrderByWarehouseIdAscTakenAtAsc(LocalDateTime takenAt);
+}
@@ -1,7 +1,10 @@
 package com.wms.repository;
 
 import com.wms.entity.Location;
+import com.wms.slotting.SlotLocation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +15,8 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
     Optional<Location> findByWarehouseIdAndCode(Long warehouseId, String code);
     Boolean existsByWarehouseIdAndCode(Long warehouseId, String code);
     List<Location> findByWarehouseId(Long warehouseId);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.wms.slotting.SlotLocation(l.id, l.code, l.aisle, l.rack, l.bin) " +
+            "FROM Location l WHERE l.warehouse.id = :warehouseId AND l.deleted = false")
+    List<SlotLocation> findSlotLocations(@Param("warehouseId") Long warehouseId);
+}
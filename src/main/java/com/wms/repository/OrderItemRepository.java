@@ -1,12 +1,34 @@
 package com.wms.repository;
 
+import com.wms.concurrency.InventoryKey;
 import com.wms.entity.OrderItem;
+import com.wms.picking.PickLine;
+import com.wms.picking.WaveLine;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
+
+    @Query("SELECT DISTINCT new com.wms.concurrency.InventoryKey(i.product.id, i.location.id) " +
+            "FROM OrderItem i WHERE i.order.id = :orderId")
+    List<InventoryKey> findInventoryKeysByOrderId(@Param("orderId") Long orderId);
+
+    // Toplama listesi için tek sorgu; entity yüklenmez
+    @Query("SELECT new com.wms.picking.PickLine(o.id, o.orderNumber, p.id, p.sku, p.name, i.quantity, " +
+            "l.id, l.code, l.aisle, l.rack, l.bin) " +
+            "FROM OrderItem i JOIN i.order o JOIN i.product p JOIN i.location l " +
+            "WHERE o.id IN :orderIds ORDER BY o.id, i.id")
+    List<PickLine> findPickLinesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT new com.wms.picking.WaveLine(o.id, o.carrier, o.cutoffAt, p.id, l.id, l.aisle, i.quantity) " +
+            "FROM OrderItem i JOIN i.order o JOIN i.product p JOIN i.location l " +
+            "WHERE o.id IN :orderIds")
+    List<WaveLine> findWaveLinesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
\ No newline at end of file
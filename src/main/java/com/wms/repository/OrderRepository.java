@@ -1,10 +1,18 @@
 package com.wms.repository;
 
 import com.wms.entity.Order;
+import com.wms.entity.Wave;
 import com.wms.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +21,48 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByOrderNumber(String orderNumber);
     List<Order> findByStatus(OrderStatus status);
     List<Order> findByWarehouseId(Long warehouseId);
+
+    // Sabit sırayla kilitlenir; eşzamanlı toplu iptaller birbirini kilitlemez
+    @Query(value = "SELECT * FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Order> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Süpürücü siparişin tamamını alır; başka node'un kilitlediği siparişler atlanır.
+    // Alt sorgu partial index (idx_stock_reservations_expiry) üzerinden okunur
+    @Query(value = "SELECT id FROM orders WHERE id IN (SELECT order_id FROM stock_reservations " +
+            "WHERE released = FALSE AND expires_at <= :now) LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockIdsWithExpiredReservations(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 WHERE o.id IN :ids AND o.status = :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 WHERE o.id IN :ids AND o.status IN :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") Collection<OrderStatus> from,
+                         @Param("to") OrderStatus to);
+
+    @EntityGraph(attributePaths = "items")
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+    // Dalga adayları: kalemi olan bekleyen siparişler, en erken kesim saati önce
+    @Query("SELECT o.id FROM Order o WHERE o.warehouse.id = :warehouseId AND o.status = :status " +
+            "AND (:carrier IS NULL OR o.carrier = :carrier) " +
+            "AND EXISTS (SELECT 1 FROM OrderItem i WHERE i.order = o) " +
+            "ORDER BY o.cutoffAt ASC NULLS LAST, o.id")
+    List<Long> findWaveCandidateIds(@Param("warehouseId") Long warehouseId,
+                                    @Param("status") OrderStatus status,
+                                    @Param("carrier") String carrier,
+                                    Pageable limit);
+
+    // Versiyon artırılmaz: aynı transaction'da rezerve edilen entity'ler bayat kalmasın
+    @Modifying
+    @Query("UPDATE Order o SET o.wave = :wave WHERE o.id IN :ids")
+    int assignWave(@Param("ids") Collection<Long> ids, @Param("wave") Wave wave);
+
+    // Depo adı için satır başına ayrı sorgu atılmasın
+    @EntityGraph(attributePaths = "warehouse")
+    List<Order> findAllWithWarehouseBy();
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.wms.repository;
+
+import com.wms.entity.OrderSummary;
+import com.wms.enums.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long>, OrderSummaryRepositoryCustom {
+    Optional<OrderSummary> findByOrderId(Long orderId);
+
+    @Modifying
+    @Query("UPDATE OrderSummary s SET s.lineCount = s.lineCount + 1, s.totalUnits = s.totalUnits + :units, " +
+            "s.totalValue = s.totalValue + :value, s.updatedAt = CURRENT_TIMESTAMP WHERE s.orderId = :orderId")
+    int addLine(@Param("orderId") Long orderId, @Param("units") long units, @Param("value") BigDecimal value);
+
+    @Modifying
+    @Query("UPDATE OrderSummary s SET s.status = :status, s.updatedAt = CURRENT_TIMESTAMP WHERE s.orderId IN :orderIds")
+    int updateStatus(@Param("orderIds") Collection<Long> orderIds, @Param("status") OrderStatus status);
+
+    @Modifying
+    @Query("UPDATE OrderSummary s SET s.status = :status, s.shippedDate = :shippedDate, " +
+            "s.updatedAt = CURRENT_TIMESTAMP WHERE s.orderId = :orderId")
+    int markShipped(@Param("orderId") Long orderId,
+                    @Param("status") OrderStatus status,
+                    @Param("shippedDate") LocalDate shippedDate);
+}
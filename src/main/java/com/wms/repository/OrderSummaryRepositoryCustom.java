@@ -0,0 +1,13 @@
+package com.wms.repository;
+
+import com.wms.dto.response.OrderSummaryResponse;
+import com.wms.enums.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+
+public interface OrderSummaryRepositoryCustom {
+    Page<OrderSummaryResponse> search(OrderStatus status, Long warehouseId, LocalDate fromDate, LocalDate toDate,
+                                      Pageable pageable);
+}
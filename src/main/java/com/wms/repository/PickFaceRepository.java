@@ -0,0 +1,42 @@
+package com.wms.repository;
+
+import com.wms.entity.PickFace;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PickFaceRepository extends JpaRepository<PickFace, Long> {
+
+    Optional<PickFace> findByLocationIdAndProductId(Long locationId, Long productId);
+
+    List<PickFace> findByLocationIdIn(Collection<Long> locationIds);
+
+    // Kısmi indeks: yalnızca dolum bekleyen gözler taranır; hiç denenmemiş ya da en uzun süredir
+    // denenmemiş olanlar önce, böylece doldurulamayan gözler sıranın başını tutmaz
+    @Query("SELECT f FROM PickFace f WHERE f.needsReplenishment = true " +
+            "ORDER BY f.lastAttemptAt ASC NULLS FIRST, f.reservedQuantity DESC, f.flaggedAt, f.id")
+    List<PickFace> findPending(Pageable pageable);
+
+    // Yalnızca bu kolon yazılır; akıştan gelen seviyelerin üzerine yazılmaz
+    @Modifying
+    @Query("UPDATE PickFace f SET f.lastAttemptAt = :at WHERE f.id IN :ids")
+    int markAttempted(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+    @Query("SELECT f FROM PickFace f WHERE " +
+            "(:warehouseId IS NULL OR f.warehouseId = :warehouseId) AND " +
+            "(:pendingOnly = false OR f.needsReplenishment = true) " +
+            "ORDER BY f.warehouseId, f.locationId, f.productId")
+    Page<PickFace> search(@Param("warehouseId") Long warehouseId,
+                          @Param("pendingOnly") boolean pendingOnly,
+                          Pageable pageable);
+}
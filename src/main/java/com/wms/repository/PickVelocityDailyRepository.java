@@ -0,0 +1,44 @@
+package com.wms.repository;
+
+import com.wms.classification.DailyDemand;
+import com.wms.entity.PickVelocityDaily;
+import jakarta.persistence.QueryHint;
+import com.wms.slotting.SkuVelocity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface PickVelocityDailyRepository extends JpaRepository<PickVelocityDaily, Long> {
+
+    List<PickVelocityDaily> findByLocationIdInAndPickDateIn(Collection<Long> locationIds, Collection<LocalDate> pickDates);
+
+    @Query("SELECT new com.wms.slotting.SkuVelocity(d.productId, d.locationId, SUM(d.pickCount), SUM(d.units)) " +
+            "FROM PickVelocityDaily d WHERE d.warehouseId = :warehouseId AND d.pickDate >= :since " +
+            "GROUP BY d.productId, d.locationId")
+    List<SkuVelocity> sumByWarehouseSince(@Param("warehouseId") Long warehouseId, @Param("since") LocalDate since);
+
+    // Tek geçişlik okuma: satırlar sürücüden parça parça gelir, tüm pencere belleğe alınmaz
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "2000"))
+    @Query("SELECT new com.wms.classification.DailyDemand(d.productId, p.unitPrice, d.pickDate, d.units) " +
+            "FROM PickVelocityDaily d JOIN Product p ON p.id = d.productId " +
+            "WHERE d.warehouseId = :warehouseId AND d.pickDate >= :since")
+    Stream<DailyDemand> streamDemand(@Param("warehouseId") Long warehouseId, @Param("since") LocalDate since);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "2000"))
+    @Query("SELECT new com.wms.classification.DailyDemand(d.productId, p.unitPrice, d.pickDate, d.units) " +
+            "FROM PickVelocityDaily d JOIN Product p ON p.id = d.productId " +
+            "WHERE d.warehouseId = :warehouseId AND d.pickDate >= :since AND d.productId IN :productIds")
+    Stream<DailyDemand> streamDemandForProducts(@Param("warehouseId") Long warehouseId,
+                                                @Param("since") LocalDate since,
+                                                @Param("productIds") Collection<Long> productIds);
+}
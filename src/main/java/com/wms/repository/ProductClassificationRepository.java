@@ -0,0 +1,31 @@
+package com.wms.repository;
+
+import com.wms.entity.ProductClassification;
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductClassificationRepository extends JpaRepository<ProductClassification, Long>,
+        ProductClassificationRepositoryCustom {
+
+    @Modifying
+    @Query("DELETE FROM ProductClassification c WHERE c.warehouseId = :warehouseId")
+    int deleteByWarehouse(@Param("warehouseId") Long warehouseId);
+
+    @Query("SELECT c FROM ProductClassification c WHERE " +
+            "(:warehouseId IS NULL OR c.warehouseId = :warehouseId) AND " +
+            "(:abcClass IS NULL OR c.abcClass = :abcClass) AND " +
+            "(:xyzClass IS NULL OR c.xyzClass = :xyzClass) " +
+            "ORDER BY c.warehouseId, c.consumptionValue DESC, c.productId")
+    Page<ProductClassification> search(@Param("warehouseId") Long warehouseId,
+                                       @Param("abcClass") AbcClass abcClass,
+                                       @Param("xyzClass") XyzClass xyzClass,
+                                       Pageable pageable);
+}
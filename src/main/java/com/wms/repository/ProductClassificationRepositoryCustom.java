@@ -0,0 +1,10 @@
+package com.wms.repository;
+
+import com.wms.classification.ProductClass;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProductClassificationRepositoryCustom {
+    void insertAll(Long warehouseId, List<ProductClass> classes, LocalDateTime computedAt);
+}
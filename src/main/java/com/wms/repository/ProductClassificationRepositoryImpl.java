@@ -0,0 +1,48 @@
+package com.wms.repository;
+
+import com.wms.classification.ProductClass;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductClassificationRepositoryImpl implements ProductClassificationRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_classifications (product_id, warehouse_id, abc_class, xyz_class, units, " +
+                    "consumption_value, demand_cv, computed_at, created_at, deleted) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depo başına on binlerce satır olabilir; IDENTITY yüzünden Hibernate yerine JDBC batch
+    @Override
+    public void insertAll(Long warehouseId, List<ProductClass> classes, LocalDateTime computedAt) {
+        if (classes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(computedAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, classes, BATCH_SIZE, (ps, product) -> {
+            ps.setLong(1, product.productId());
+            ps.setLong(2, warehouseId);
+            ps.setString(3, product.abcClass().name());
+            ps.setString(4, product.xyzClass().name());
+            ps.setLong(5, product.units());
+            ps.setBigDecimal(6, product.consumptionValue());
+            if (product.demandCv() != null) {
+                ps.setDouble(7, product.demandCv());
+            } else {
+                ps.setNull(7, Types.DOUBLE);
+            }
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+            ps.setBoolean(10, false);
+        });
+    }
+}
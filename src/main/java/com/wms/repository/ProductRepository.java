@@ -1,6 +1,8 @@
 package com.wms.repository;
 
 import com.wms.entity.Product;
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,7 +13,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     Optional<Product> findBySku(String sku);
     Optional<Product> findByBarcode(String barcode);
     Boolean existsBySku(String sku);
@@ -22,4 +24,18 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             "(LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Product> searchProducts(@Param("search") String search, Pageable pageable);
-}
\ No newline at end of file
+
+    // Depo verilmezse herhangi bir depoda bu sınıfta olan ürünler
+    @Query("SELECT p FROM Product p WHERE " +
+            "(LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%'))) AND EXISTS (" +
+            "SELECT 1 FROM ProductClassification c WHERE c.productId = p.id " +
+            "AND (:warehouseId IS NULL OR c.warehouseId = :warehouseId) " +
+            "AND (:abcClass IS NULL OR c.abcClass = :abcClass) " +
+            "AND (:xyzClass IS NULL OR c.xyzClass = :xyzClass))")
+    Page<Product> searchProductsByClassification(@Param("search") String search,
+                                                 @Param("warehouseId") Long warehouseId,
+                                                 @Param("abcClass") AbcClass abcClass,
+                                                 @Param("xyzClass") XyzClass xyzClass,
+                                                 Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.wms.repository;
+
+import com.wms.catalog.ProductImportRow;
+import com.wms.catalog.ProductKey;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+    /**
+     * Products holding any of the SKUs or barcodes, looked up in chunks of
+     * {@code IN} lists.
+     */
+    List<ProductKey> findKeys(List<String> skus, List<String> barcodes);
+
+    /**
+     * Inserts new SKUs and overwrites the fields of existing ones; SKUs must be unique
+     * within {@code rows}. On PostgreSQL the rows are copied into a temporary staging table
+     * and upserted from there with {@code INSERT ... ON CONFLICT (sku)}; elsewhere (the H2
+     * test database) with multi-row {@code MERGE}. Must run in a transaction.
+     */
+    void upsertAll(List<ProductImportRow> rows);
+}
@@ -0,0 +1,183 @@
+package com.wms.repository;
+
+import com.wms.catalog.ProductImportRow;
+import com.wms.catalog.ProductKey;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    // Satır başına 8 parametre; PostgreSQL ifade başına 32767 parametre kabul eder
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private static final String FIND_KEYS_SQL =
+            "SELECT sku, barcode FROM products WHERE sku = ANY(?) " +
+                    "UNION SELECT sku, barcode FROM products WHERE barcode = ANY(?)";
+
+    private static final String MERGE_HEAD =
+            "MERGE INTO products p USING (VALUES ";
+    private static final String MERGE_ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String MERGE_TAIL =
+            ") AS v(sku, barcode, name, description, unit, unit_price, min_stock_level, category) " +
+                    "ON p.sku = v.sku " +
+                    "WHEN MATCHED THEN UPDATE SET barcode = v.barcode, name = v.name, description = v.description, " +
+                    "unit = v.unit, unit_price = v.unit_price, min_stock_level = v.min_stock_level, " +
+                    "category = v.category, updated_at = ? " +
+                    "WHEN NOT MATCHED THEN INSERT (sku, barcode, name, description, unit, unit_price, " +
+                    "min_stock_level, category, created_at, deleted) VALUES (v.sku, v.barcode, v.name, " +
+                    "v.description, v.unit, v.unit_price, v.min_stock_level, v.category, ?, FALSE)";
+
+    private static final int COPY_BUFFER_CHARS = 256 * 1024;
+
+    // İşlem sonunda boşalır; bağlantı havuza döndüğünde tablo sonraki içe aktarma için hazır kalır
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS product_import_staging (sku VARCHAR(100), barcode VARCHAR(100), " +
+                    "name VARCHAR(200), description VARCHAR(1000), unit VARCHAR(20), unit_price NUMERIC(10, 2), " +
+                    "min_stock_level INTEGER, category VARCHAR(100)) ON COMMIT DELETE ROWS";
+    private static final String CLEAR_STAGING_SQL = "TRUNCATE product_import_staging";
+    private static final String COPY_SQL =
+            "COPY product_import_staging (sku, barcode, name, description, unit, unit_price, min_stock_level, " +
+                    "category) FROM STDIN WITH (FORMAT csv)";
+    private static final String UPSERT_FROM_STAGING_SQL =
+            "INSERT INTO products (sku, barcode, name, description, unit, unit_price, min_stock_level, category, " +
+                    "created_at, deleted) " +
+                    "SELECT sku, barcode, name, description, unit, unit_price, min_stock_level, category, ?, FALSE " +
+                    "FROM product_import_staging " +
+                    "ON CONFLICT (sku) DO UPDATE SET barcode = EXCLUDED.barcode, name = EXCLUDED.name, " +
+                    "description = EXCLUDED.description, unit = EXCLUDED.unit, unit_price = EXCLUDED.unit_price, " +
+                    "min_stock_level = EXCLUDED.min_stock_level, category = EXCLUDED.category, updated_at = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Anahtarlar dizi parametresiyle gider: ifade metni sabit kalır, iki arama da kendi indeksini kullanır
+    @Override
+    public List<ProductKey> findKeys(List<String> skus, List<String> barcodes) {
+        List<ProductKey> keys = new ArrayList<>();
+        for (int from = 0; from < Math.max(skus.size(), barcodes.size()); from += LOOKUP_CHUNK) {
+            String[] skuChunk = skus.subList(Math.min(from, skus.size()),
+                    Math.min(from + LOOKUP_CHUNK, skus.size())).toArray(String[]::new);
+            String[] barcodeChunk = barcodes.subList(Math.min(from, barcodes.size()),
+                    Math.min(from + LOOKUP_CHUNK, barcodes.size())).toArray(String[]::new);
+            keys.addAll(jdbcTemplate.query(FIND_KEYS_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("varchar", skuChunk));
+                ps.setArray(2, ps.getConnection().createArrayOf("varchar", barcodeChunk));
+            }, (rs, rowNum) -> new ProductKey(rs.getString(1), rs.getString(2))));
+        }
+        return keys;
+    }
+
+    @Override
+    public void upsertAll(List<ProductImportRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copyAndUpsert(connection.unwrap(PGConnection.class), rows, now);
+            } else {
+                merge(rows, now);
+            }
+            return null;
+        });
+    }
+
+    // PostgreSQL: satırlar COPY ile oturuma özel geçici tabloya, oradan tek INSERT ... ON CONFLICT ile ürünlere
+    private void copyAndUpsert(PGConnection connection, List<ProductImportRow> rows, Timestamp now)
+            throws SQLException {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        jdbcTemplate.execute(CLEAR_STAGING_SQL);
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+            for (ProductImportRow row : rows) {
+                appendText(buffer, row.sku()).append(',');
+                appendText(buffer, row.barcode()).append(',');
+                appendText(buffer, row.name()).append(',');
+                appendText(buffer, row.description()).append(',');
+                appendText(buffer, row.unit()).append(',');
+                buffer.append(row.unitPrice().toPlainString()).append(',');
+                buffer.append(row.minStockLevel()).append(',');
+                appendText(buffer, row.category()).append('\n');
+                if (buffer.length() >= COPY_BUFFER_CHARS) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+        jdbcTemplate.update(UPSERT_FROM_STAGING_SQL, now, now);
+    }
+
+    // H2: çok satırlı MERGE; ON CONFLICT ... DO UPDATE'i desteklemez
+    private void merge(List<ProductImportRow> rows, Timestamp now) {
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<ProductImportRow> slice = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            String sql = MERGE_HEAD + String.join(", ", Collections.nCopies(slice.size(), MERGE_ROW)) + MERGE_TAIL;
+            jdbcTemplate.update(sql, ps -> bind(ps, slice, now));
+        }
+    }
+
+    // CSV biçiminde tırnaksız boş alan NULL, tırnaklı alan metindir
+    private static StringBuilder appendText(StringBuilder buffer, String value) {
+        if (value == null) {
+            return buffer;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private void bind(PreparedStatement ps, List<ProductImportRow> slice, Timestamp now) throws SQLException {
+        int index = 1;
+        for (ProductImportRow row : slice) {
+            ps.setString(index++, row.sku());
+            setNullable(ps, index++, row.barcode());
+            ps.setString(index++, row.name());
+            setNullable(ps, index++, row.description());
+            ps.setString(index++, row.unit());
+            ps.setBigDecimal(index++, row.unitPrice());
+            ps.setInt(index++, row.minStockLevel());
+            setNullable(ps, index++, row.category());
+        }
+        ps.setTimestamp(index++, now);
+        ps.setTimestamp(index, now);
+    }
+
+    private void setNullable(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+}
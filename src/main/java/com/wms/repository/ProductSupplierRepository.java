@@ -0,0 +1,33 @@
+package com.wms.repository;
+
+import com.wms.entity.ProductSupplier;
+import com.wms.forecasting.SupplyTerms;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductSupplierRepository extends JpaRepository<ProductSupplier, Long> {
+
+    Optional<ProductSupplier> findByProductIdAndSupplierId(Long productId, Long supplierId);
+
+    List<ProductSupplier> findBySupplierIdOrderByProductId(Long supplierId);
+
+    @Modifying
+    @Query("UPDATE ProductSupplier ps SET ps.preferred = false " +
+            "WHERE ps.productId = :productId AND ps.supplierId <> :supplierId AND ps.preferred = true")
+    int clearPreferred(@Param("productId") Long productId, @Param("supplierId") Long supplierId);
+
+    // Pasif ya da silinmiş tedarikçiye otomatik sipariş açılmaz
+    @Query("SELECT new com.wms.forecasting.SupplyTerms(ps.productId, ps.supplierId, ps.leadTimeDays, " +
+            "ps.minOrderQuantity, ps.packSize, COALESCE(ps.unitCost, p.unitPrice)) " +
+            "FROM ProductSupplier ps JOIN Supplier s ON s.id = ps.supplierId JOIN Product p ON p.id = ps.productId " +
+            "WHERE ps.preferred = true AND s.active = true AND s.deleted = false AND ps.productId IN :productIds")
+    List<SupplyTerms> findPreferredTerms(@Param("productIds") Collection<Long> productIds);
+}
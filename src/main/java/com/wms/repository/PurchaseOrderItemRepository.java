@@ -1,12 +1,29 @@
 package com.wms.repository;
 
+import com.wms.concurrency.InventoryKey;
 import com.wms.entity.PurchaseOrderItem;
+import com.wms.enums.PurchaseOrderStatus;
+import com.wms.forecasting.SupplyOnOrder;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PurchaseOrderItemRepository extends JpaRepository<PurchaseOrderItem, Long> {
     List<PurchaseOrderItem> findByPurchaseOrderId(Long purchaseOrderId);
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT new com.wms.concurrency.InventoryKey(i.product.id, i.location.id) " +
+            "FROM PurchaseOrderItem i WHERE i.purchaseOrder.id = :purchaseOrderId")
+    List<InventoryKey> findInventoryKeysByPurchaseOrderId(@Param("purchaseOrderId") Long purchaseOrderId);
+
+    @Query("SELECT new com.wms.forecasting.SupplyOnOrder(i.product.id, SUM(i.orderedQuantity - i.receivedQuantity)) " +
+            "FROM PurchaseOrderItem i WHERE i.purchaseOrder.warehouse.id = :warehouseId " +
+            "AND i.purchaseOrder.status IN :statuses AND i.product.id IN :productIds GROUP BY i.product.id")
+    List<SupplyOnOrder> sumOnOrder(@Param("warehouseId") Long warehouseId,
+                                   @Param("statuses") Collection<PurchaseOrderStatus> statuses,
+                                   @Param("productIds") Collection<Long> productIds);
+}
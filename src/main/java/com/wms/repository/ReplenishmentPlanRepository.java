@@ -0,0 +1,36 @@
+package com.wms.repository;
+
+import com.wms.entity.ReplenishmentPlan;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ReplenishmentPlanRepository extends JpaRepository<ReplenishmentPlan, Long>,
+        ReplenishmentPlanRepositoryCustom {
+
+    @Modifying
+    @Query("DELETE FROM ReplenishmentPlan r WHERE r.warehouseId = :warehouseId AND r.productId IN :productIds")
+    int deleteByWarehouseAndProducts(@Param("warehouseId") Long warehouseId,
+                                     @Param("productIds") Collection<Long> productIds);
+
+    // Bu çalıştırmada plan çıkmayan ürünlerin eski satırları
+    @Modifying
+    @Query("DELETE FROM ReplenishmentPlan r WHERE r.warehouseId = :warehouseId AND r.computedAt < :computedAt")
+    int deleteOlderThan(@Param("warehouseId") Long warehouseId, @Param("computedAt") LocalDateTime computedAt);
+
+    @Query("SELECT r FROM ReplenishmentPlan r WHERE " +
+            "(:warehouseId IS NULL OR r.warehouseId = :warehouseId) AND " +
+            "(:reorderOnly = false OR r.orderQuantity > 0) " +
+            "ORDER BY r.warehouseId, r.orderQuantity DESC, r.productId")
+    Page<ReplenishmentPlan> search(@Param("warehouseId") Long warehouseId,
+                                   @Param("reorderOnly") boolean reorderOnly,
+                                   Pageable pageable);
+}
@@ -0,0 +1,10 @@
+package com.wms.repository;
+
+import com.wms.forecasting.ReorderPlan;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReplenishmentPlanRepositoryCustom {
+    void insertAll(Long warehouseId, List<ReorderPlan> plans, LocalDateTime computedAt);
+}
@@ -0,0 +1,52 @@
+package com.wms.repository;
+
+import com.wms.forecasting.ReorderPlan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReplenishmentPlanRepositoryImpl implements ReplenishmentPlanRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO replenishment_plans (product_id, warehouse_id, location_id, supplier_id, daily_demand, " +
+                    "demand_sd, lead_time_days, safety_stock, reorder_point, inventory_position, order_quantity, " +
+                    "computed_at, created_at, deleted) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Long warehouseId, List<ReorderPlan> plans, LocalDateTime computedAt) {
+        if (plans.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(computedAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, plans, BATCH_SIZE, (ps, plan) -> {
+            ps.setLong(1, plan.productId());
+            ps.setLong(2, warehouseId);
+            ps.setLong(3, plan.locationId());
+            if (plan.supplierId() != null) {
+                ps.setLong(4, plan.supplierId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setDouble(5, plan.dailyDemand());
+            ps.setDouble(6, plan.demandSd());
+            ps.setInt(7, plan.leadTimeDays());
+            ps.setLong(8, plan.safetyStock());
+            ps.setLong(9, plan.reorderPoint());
+            ps.setLong(10, plan.inventoryPosition());
+            ps.setLong(11, plan.orderQuantity());
+            ps.setTimestamp(12, now);
+            ps.setTimestamp(13, now);
+            ps.setBoolean(14, false);
+        });
+    }
+}
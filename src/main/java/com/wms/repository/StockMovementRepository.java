@@ -2,16 +2,23 @@ package com.wms.repository;
 
 import com.wms.entity.StockMovement;
 import com.wms.enums.StockMovementType;
+import com.wms.ledger.LedgerEntry;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long>, StockMovementRepositoryCustom {
     List<StockMovement> findByProductId(Long productId);
     List<StockMovement> findByType(StockMovementType type);
 
@@ -20,4 +27,28 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, Lo
             @Param("from") LocalDateTime from,
             @Param("to") LocalDateTime to
     );
-}
\ No newline at end of file
+
+    // Bu zamandan önce oluşturulan hareketlerin commit edilmiş olduğu varsayılır
+    @Query("SELECT MAX(sm.id) FROM StockMovement sm WHERE sm.createdAt < :settledBefore")
+    Optional<Long> findLastIdCreatedBefore(@Param("settledBefore") LocalDateTime settledBefore);
+
+    // Defter doğrulaması: gözlerin MOD(id, passes) = pass dilimine giren hareketler, giriş tarafı
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT new com.wms.ledger.LedgerEntry(sm.product.id, l.id, sm.quantity) " +
+            "FROM StockMovement sm JOIN sm.toLocation l " +
+            "WHERE l.warehouse.id = :warehouseId AND sm.id <= :watermark AND MOD(l.id, :passes) = :pass")
+    Stream<LedgerEntry> streamInbound(@Param("warehouseId") Long warehouseId,
+                                      @Param("watermark") Long watermark,
+                                      @Param("passes") int passes,
+                                      @Param("pass") int pass);
+
+    // Çıkış tarafı; miktarlar pozitif gelir, çağıran eksiye çevirir
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT new com.wms.ledger.LedgerEntry(sm.product.id, l.id, sm.quantity) " +
+            "FROM StockMovement sm JOIN sm.fromLocation l " +
+            "WHERE l.warehouse.id = :warehouseId AND sm.id <= :watermark AND MOD(l.id, :passes) = :pass")
+    Stream<LedgerEntry> streamOutbound(@Param("warehouseId") Long warehouseId,
+                                       @Param("watermark") Long watermark,
+                                       @Param("passes") int passes,
+                                       @Param("pass") int pass);
+}
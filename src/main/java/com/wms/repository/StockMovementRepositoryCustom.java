@@ -0,0 +1,9 @@
+package com.wms.repository;
+
+import com.wms.entity.StockMovement;
+
+import java.util.Collection;
+
+public interface StockMovementRepositoryCustom {
+    void insertAll(Collection<StockMovement> movements);
+}
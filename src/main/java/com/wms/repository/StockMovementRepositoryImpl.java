@@ -0,0 +1,53 @@
+package com.wms.repository;
+
+import com.wms.entity.StockMovement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StockMovementRepositoryImpl implements StockMovementRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_movements (type, product_id, from_location_id, to_location_id, quantity, reason, " +
+                    "movement_date, reference_number, created_at, deleted) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // IDENTITY id'ler Hibernate batch'ini kapatır; çok sayıda hareket tek JDBC batch ile yazılır
+    @Override
+    public void insertAll(Collection<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, List.copyOf(movements), BATCH_SIZE, (ps, movement) -> {
+            ps.setString(1, movement.getType().name());
+            ps.setLong(2, movement.getProduct().getId());
+            if (movement.getFromLocation() != null) {
+                ps.setLong(3, movement.getFromLocation().getId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            if (movement.getToLocation() != null) {
+                ps.setLong(4, movement.getToLocation().getId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setInt(5, movement.getQuantity());
+            ps.setString(6, movement.getReason());
+            ps.setTimestamp(7, Timestamp.valueOf(movement.getMovementDate() != null ? movement.getMovementDate()
+                    : LocalDateTime.now()));
+            ps.setString(8, movement.getReferenceNumber());
+            ps.setTimestamp(9, now);
+        });
+    }
+}
@@ -2,12 +2,32 @@ package com.wms.repository;
 
 import com.wms.entity.StockReservation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long>, StockReservationRepositoryCustom {
     List<StockReservation> findByOrderIdAndReleasedFalse(Long orderId);
     List<StockReservation> findByInventoryIdAndReleasedFalse(Long inventoryId);
-}
\ No newline at end of file
+
+    List<StockReservation> findByOrderIdInAndReleasedFalse(Collection<Long> orderIds);
+
+    // İptal yolu: sipariş satırları önce kilitlenir; atlanan satır hiç geri verilmeyeceğinden kilit beklenir
+    @Query(value = "SELECT * FROM stock_reservations WHERE order_id IN (:orderIds) AND released = FALSE " +
+            "FOR UPDATE", nativeQuery = true)
+    List<StockReservation> findUnreleasedByOrderIdsForUpdate(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT MIN(r.expiresAt) FROM StockReservation r WHERE r.released = false AND r.expiresAt <= :now")
+    Optional<LocalDateTime> findOldestExpiry(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.released = true WHERE r.id IN :ids")
+    int markReleased(@Param("ids") Collection<Long> ids);
+}
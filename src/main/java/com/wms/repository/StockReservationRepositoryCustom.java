@@ -0,0 +1,9 @@
+package com.wms.repository;
+
+import com.wms.entity.StockReservation;
+
+import java.util.List;
+
+public interface StockReservationRepositoryCustom {
+    void insertAll(List<StockReservation> reservations);
+}
@@ -0,0 +1,38 @@
+package com.wms.repository;
+
+import com.wms.entity.StockReservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StockReservationRepositoryImpl implements StockReservationRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_reservations (order_id, inventory_id, quantity, reserved_at, expires_at, released, created_at, deleted) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // IDENTITY id'ler Hibernate batch insert'ü kapattığı için tek JDBC batch ile yazılır
+    @Override
+    public void insertAll(List<StockReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, reservations, reservations.size(), (ps, reservation) -> {
+            ps.setLong(1, reservation.getOrder().getId());
+            ps.setLong(2, reservation.getInventory().getId());
+            ps.setInt(3, reservation.getQuantity());
+            ps.setTimestamp(4, Timestamp.valueOf(reservation.getReservedAt()));
+            ps.setTimestamp(5, reservation.getExpiresAt() != null ? Timestamp.valueOf(reservation.getExpiresAt()) : null);
+            ps.setBoolean(6, Boolean.TRUE.equals(reservation.getReleased()));
+            ps.setTimestamp(7, now);
+            ps.setBoolean(8, false);
+        });
+    }
+}
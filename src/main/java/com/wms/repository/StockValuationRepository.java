@@ -0,0 +1,33 @@
+package com.wms.repository;
+
+import com.wms.entity.StockValuation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockValuationRepository extends JpaRepository<StockValuation, Long> {
+
+    Optional<StockValuation> findByProductIdAndWarehouseId(Long productId, Long warehouseId);
+
+    // İlk giriş yarışı: iki işlem aynı anda satır açarsa ikincisi benzersizlik hatası yerine beklenir
+    // ve hiçbir şey eklemez; ardından ikisi de aynı satırı sürümüyle günceller
+    @Modifying
+    @Query(value = "INSERT INTO stock_valuations (product_id, warehouse_id, quantity, total_cost, version, " +
+            "created_at, deleted) VALUES (:productId, :warehouseId, 0, 0, 0, CURRENT_TIMESTAMP, FALSE) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId);
+
+    @Query("SELECT v FROM StockValuation v WHERE " +
+            "(:warehouseId IS NULL OR v.warehouseId = :warehouseId) " +
+            "AND (:productId IS NULL OR v.productId = :productId) " +
+            "ORDER BY v.warehouseId, v.productId")
+    Page<StockValuation> search(@Param("warehouseId") Long warehouseId, @Param("productId") Long productId,
+                                Pageable pageable);
+}
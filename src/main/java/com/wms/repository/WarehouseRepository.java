@@ -2,6 +2,8 @@ package com.wms.repository;
 
 import com.wms.entity.Warehouse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,9 @@ public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
     Optional<Warehouse> findByCode(String code);
     List<Warehouse> findByDeletedFalse();
     Boolean existsByCode(String code);
+
+    // Depo başına sırayla çalışması gereken işlemler için satır kilidi. Etkisiz UPDATE yerine
+    // FOR UPDATE: satır yazılmaz, böylece shard'lara çoğaltılan depo satırı yerelde değişmez
+    @Query(value = "SELECT id FROM warehouses WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lock(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.wms.repository;
+
+import com.wms.entity.Wave;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WaveRepository extends JpaRepository<Wave, Long> {
+    Optional<Wave> findByWaveNumber(String waveNumber);
+}
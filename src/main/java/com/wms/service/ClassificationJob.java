@@ -0,0 +1,146 @@
+package com.wms.service;
+
+import com.wms.classification.AbcXyzClassifier;
+import com.wms.classification.ClassificationPolicy;
+import com.wms.classification.ProductClass;
+import com.wms.dto.response.ClassificationRunResponse;
+import com.wms.entity.Warehouse;
+import com.wms.exception.BusinessRuleException;
+import com.wms.repository.WarehouseRepository;
+import com.wms.sharding.PerShard;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Weekly ABC/XYZ classification. Demand comes from the daily pick velocity roll-up, which
+ * is brought up to date first; each warehouse is then read in one streaming pass,
+ * classified and written back in its own task, a few warehouses at a time.
+ *
+ * <p>Runs are not coordinated across nodes; schedule the cron on one node only (or set it
+ * to "-" elsewhere) and trigger manual runs through the reports API.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClassificationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassificationJob.class);
+
+    private final WarehouseRepository warehouseRepository;
+    private final ShardRouter shardRouter;
+    private final PickVelocityService pickVelocityService;
+    private final ProductClassificationService productClassificationService;
+    private final AbcXyzClassifier classifier;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.classification.window-weeks:52}")
+    private int windowWeeks = 52;
+
+    @Value("${app.classification.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${app.classification.abc.a-share:0.8}")
+    private double aShare = 0.8;
+
+    @Value("${app.classification.abc.b-share:0.95}")
+    private double bShare = 0.95;
+
+    @Value("${app.classification.xyz.x-max-cv:0.5}")
+    private double xMaxCv = 0.5;
+
+    @Value("${app.classification.xyz.y-max-cv:1.0}")
+    private double yMaxCv = 1.0;
+
+    @PerShard
+    @Scheduled(cron = "${app.classification.cron:0 0 3 * * MON}")
+    public void scheduledRun() {
+        if (running.get()) {
+            logger.info("Skipping scheduled classification: a run is already in progress");
+            return;
+        }
+        ClassificationRunResponse result = run();
+        logger.info("Classified {} products in {} warehouses in {} ms ({} failed)", result.getClassifiedProducts(),
+                result.getWarehouses(), result.getElapsedMillis(), result.getFailures().size());
+    }
+
+    /**
+     * Classifies every warehouse over the window ending yesterday. A warehouse that fails
+     * keeps its previous classification and is reported by id.
+     */
+    public ClassificationRunResponse run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessRuleException("A classification run is already in progress");
+        }
+        try {
+            long started = System.nanoTime();
+            pickVelocityService.catchUp();
+
+            LocalDate lastDay = LocalDate.now().minusDays(1);
+            ClassificationPolicy policy = ClassificationPolicy.endingOn(lastDay, windowWeeks, aShare, bShare,
+                    xMaxCv, yMaxCv);
+            LocalDateTime computedAt = LocalDateTime.now();
+            List<Long> warehouseIds = warehouseRepository.findAll().stream().map(Warehouse::getId)
+                    .filter(shardRouter::isOnCurrentShard).toList();
+
+            Map<Long, CompletableFuture<Integer>> tasks = new LinkedHashMap<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                    Thread.ofPlatform().name("classification-", 0).factory())) {
+                for (Long warehouseId : warehouseIds) {
+                    tasks.put(warehouseId, CompletableFuture.supplyAsync(ShardContext.propagate(
+                            () -> classifyWarehouse(warehouseId, policy, computedAt)), executor));
+                }
+            }
+
+            long classified = 0;
+            Map<Long, String> failures = new LinkedHashMap<>();
+            for (Map.Entry<Long, CompletableFuture<Integer>> task : tasks.entrySet()) {
+                try {
+                    classified += task.getValue().join();
+                } catch (RuntimeException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    logger.warn("Classification of warehouse {} failed", task.getKey(), cause);
+                    failures.put(task.getKey(), cause.getMessage());
+                }
+            }
+
+            long elapsed = System.nanoTime() - started;
+            meterRegistry.timer("wms.classification.run").record(elapsed, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("wms.classification.products").increment(classified);
+            return ClassificationRunResponse.builder()
+                    .windowStart(policy.windowStart())
+                    .windowEnd(lastDay)
+                    .warehouses(warehouseIds.size())
+                    .classifiedProducts(classified)
+                    .failures(failures)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .build();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int classifyWarehouse(Long warehouseId, ClassificationPolicy policy, LocalDateTime computedAt) {
+        ProductClassificationService.WarehouseDemand demand = productClassificationService.readDemand(warehouseId, policy);
+        List<ProductClass> classes = classifier.classify(demand.demand(), demand.stockedProductIds(), policy);
+        productClassificationService.replace(warehouseId, classes, computedAt);
+        return classes.size();
+    }
+}
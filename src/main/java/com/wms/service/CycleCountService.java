@@ -0,0 +1,390 @@
+package com.wms.service;
+
+import com.wms.concurrency.InventoryKey;
+import com.wms.concurrency.InventoryLocked;
+import com.wms.concurrency.RetryOnConflict;
+import com.wms.counting.CountEntry;
+import com.wms.counting.CountReconciler;
+import com.wms.counting.CountVariance;
+import com.wms.counting.CountedLine;
+import com.wms.dto.request.CountEntryRequest;
+import com.wms.dto.request.CycleCountEntriesRequest;
+import com.wms.dto.request.CycleCountRequest;
+import com.wms.dto.response.CycleCountLineResponse;
+import com.wms.dto.response.CycleCountPostResponse;
+import com.wms.dto.response.CycleCountResponse;
+import com.wms.entity.CycleCount;
+import com.wms.entity.CycleCountLine;
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.StockMovement;
+import com.wms.entity.Warehouse;
+import com.wms.enums.CycleCountStatus;
+import com.wms.enums.InventoryChangeType;
+import com.wms.enums.StockMovementType;
+import com.wms.exception.BusinessRuleException;
+import com.wms.exception.ResourceNotFoundException;
+import com.wms.picking.PickPathPlanner;
+import com.wms.repository.CycleCountLineRepository;
+import com.wms.repository.CycleCountRepository;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockMovementRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.slotting.SlotLocation;
+import com.wms.valuation.StockDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cycle counts that never block the counted locations. Opening a count copies the
+ * quantities of every inventory row in the location range in one statement, together with
+ * the net of the stock movements after a settled watermark, so the copy and its balance
+ * come from the same database snapshot. When the count is posted each counted line is
+ * compared with its quantity at the moment it was counted, i.e. the snapshot plus the
+ * movements created between the snapshot and the count, and only the difference is added
+ * to the current quantity. Quantities changed without a stock movement (direct edits
+ * through the inventory API) cannot be netted out and show up as variance.
+ */
+@Service
+@RequiredArgsConstructor
+public class CycleCountService {
+
+    private static final int LOAD_CHUNK = 1000;
+    private static final String ADJUSTMENT_REASON = "Cycle count";
+
+    private final CycleCountRepository cycleCountRepository;
+    private final CycleCountLineRepository cycleCountLineRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final LocationRepository locationRepository;
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final InventoryChangeRecorder inventoryChangeRecorder;
+    private final StockValuationService stockValuationService;
+    private final DocumentNumberGenerator documentNumberGenerator;
+    private final CountReconciler countReconciler;
+
+    // Bu süreden eski hareketlerin commit edilmiş olduğu varsayılır
+    @Value("${app.cycle-counts.settle-lag:PT1M}")
+    private Duration settleLag = Duration.ofMinutes(1);
+
+    /**
+     * Opens a count over the location codes {@code from..to} of a warehouse and takes its
+     * snapshot. Codes are compared in natural order, so {@code A-2..A-10} covers A-2 to
+     * A-10. Ranges of open counts in the same warehouse may not overlap; creation holds
+     * the warehouse row lock, so two overlapping requests cannot both pass the check.
+     */
+    @Transactional
+    public CycleCountResponse createCount(CycleCountRequest request) {
+        String from = request.getFromLocationCode();
+        String to = request.getToLocationCode();
+        if (PickPathPlanner.NATURAL_ORDER.compare(from, to) > 0) {
+            throw new BusinessRuleException("Location range start must not be after its end");
+        }
+        if (warehouseRepository.lock(request.getWarehouseId()).isEmpty()) {
+            throw new ResourceNotFoundException("Warehouse not found");
+        }
+        Warehouse warehouse = warehouseRepository.findById(request.getWarehouseId())
+                .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found"));
+        boolean overlapping = cycleCountRepository.findByWarehouseIdAndStatus(warehouse.getId(), CycleCountStatus.OPEN)
+                .stream()
+                .anyMatch(open -> PickPathPlanner.NATURAL_ORDER.compare(open.getFromLocationCode(), to) <= 0
+                        && PickPathPlanner.NATURAL_ORDER.compare(open.getToLocationCode(), from) >= 0);
+        if (overlapping) {
+            throw new BusinessRuleException("An open cycle count already covers part of this location range");
+        }
+        List<Long> locationIds = locationRepository.findSlotLocations(warehouse.getId()).stream()
+                .filter(location -> inRange(location.code(), from, to))
+                .map(SlotLocation::locationId)
+                .toList();
+
+        LocalDateTime snapshotAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        long watermark = stockMovementRepository.findLastIdCreatedBefore(snapshotAt.minus(settleLag)).orElse(0L);
+        CycleCount count = cycleCountRepository.save(CycleCount.builder()
+                .countNumber(documentNumberGenerator.next(DocumentNumberGenerator.DocumentType.CYCLE_COUNT,
+                        warehouse.getCode()))
+                .warehouseId(warehouse.getId())
+                .fromLocationCode(from)
+                .toLocationCode(to)
+                .movementWatermark(watermark)
+                .snapshotAt(snapshotAt)
+                .build());
+        count.setLineCount(cycleCountLineRepository.insertSnapshot(count.getId(), locationIds, watermark, snapshotAt));
+        return toResponse(count, 0);
+    }
+
+    /**
+     * Records counted quantities; a line counted again keeps the latest count. Stock found
+     * in a location of the range where the snapshot had none becomes a new line expecting
+     * zero.
+     */
+    @Transactional
+    public CycleCountResponse recordCounts(Long id, CycleCountEntriesRequest request) {
+        CycleCount count = lockOpen(id);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime countedAt = request.getCountedAt() != null
+                ? request.getCountedAt().truncatedTo(ChronoUnit.MICROS) : now;
+        if (countedAt.isBefore(count.getSnapshotAt()) || countedAt.isAfter(now)) {
+            throw new BusinessRuleException("Counted time must be between the snapshot and now");
+        }
+
+        // Aynı göz iki kez gelirse sonuncusu geçerli
+        Map<InventoryKey, CountEntry> entries = new LinkedHashMap<>();
+        for (CountEntryRequest entry : request.getEntries()) {
+            entries.put(new InventoryKey(entry.getProductId(), entry.getLocationId()),
+                    new CountEntry(entry.getLocationId(), entry.getProductId(), entry.getCountedQuantity()));
+        }
+        List<CountEntry> distinct = List.copyOf(entries.values());
+        List<Boolean> matched = cycleCountLineRepository.recordCounts(id, distinct, countedAt);
+
+        List<CountEntry> unexpected = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            if (!matched.get(i)) {
+                unexpected.add(distinct.get(i));
+            }
+        }
+        if (!unexpected.isEmpty()) {
+            cycleCountLineRepository.saveAll(unexpectedLines(count, unexpected, countedAt));
+            count.setLineCount(count.getLineCount() + unexpected.size());
+        }
+        return toResponse(count, cycleCountLineRepository.countByCycleCountIdAndCountedQuantityIsNotNull(id));
+    }
+
+    /**
+     * Posts the variances of all counted lines in one transaction. A line whose adjustment
+     * would take the row below its reserved quantity is left unapplied and reported.
+     * Uncounted lines are ignored.
+     */
+    @RetryOnConflict
+    @InventoryLocked(InventoryLocked.KeySource.CYCLE_COUNT_ID)
+    @Transactional
+    public CycleCountPostResponse postCount(Long id) {
+        CycleCount count = lockOpen(id);
+        List<CountedLine> counted = cycleCountLineRepository.findCountedLines(id, count.getMovementWatermark());
+        List<CountVariance> variances = countReconciler.reconcile(counted);
+        List<CountVariance> differing = variances.stream().filter(v -> v.variance() != 0).toList();
+
+        Map<Long, Inventory> inventories = loadInventories(differing);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, String> skipped = new LinkedHashMap<>();
+        List<Inventory> changed = new ArrayList<>();
+        List<StockMovement> movements = new ArrayList<>();
+        Map<Long, Integer> netByProduct = new LinkedHashMap<>();
+        long added = 0;
+        long removed = 0;
+        for (CountVariance variance : differing) {
+            Inventory inventory = variance.inventoryId() != null ? inventories.get(variance.inventoryId()) : null;
+            if (inventory == null) {
+                // Anlık görüntüde olmayan satır; sayımdan sonra oluşmuş olabilir
+                inventory = inventoryRepository.findByProductIdAndLocationId(variance.productId(), variance.locationId())
+                        .orElseGet(() -> Inventory.builder()
+                                .product(productRepository.getReferenceById(variance.productId()))
+                                .location(locationRepository.getReferenceById(variance.locationId()))
+                                .quantity(0)
+                                .reservedQuantity(0)
+                                .build());
+            }
+            int adjusted = inventory.getQuantity() + variance.variance();
+            if (adjusted < inventory.getReservedQuantity()) {
+                skipped.put(variance.lineId(), "Adjusted quantity " + adjusted + " would fall below reserved quantity "
+                        + inventory.getReservedQuantity());
+                continue;
+            }
+            inventory.setQuantity(adjusted);
+            changed.add(inventory);
+            movements.add(adjustment(count, inventory, variance.variance(), now));
+            netByProduct.merge(variance.productId(), variance.variance(), Integer::sum);
+            if (variance.variance() > 0) {
+                added += variance.variance();
+            } else {
+                removed -= variance.variance();
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            inventoryRepository.saveAll(changed);
+            inventoryChangeRecorder.record(InventoryChangeType.ADJUSTED, count.getCountNumber(), changed);
+            stockMovementRepository.insertAll(movements);
+            stockValuationService.recordChanges(netByProduct.entrySet().stream()
+                    .map(net -> new StockDelta(net.getKey(), count.getWarehouseId(), net.getValue()))
+                    .toList(), count.getCountNumber());
+        }
+        cycleCountLineRepository.saveResults(variances, skipped, now);
+
+        count.setStatus(CycleCountStatus.POSTED);
+        count.setPostedAt(now);
+        count.setAdjustedLines(changed.size());
+        return CycleCountPostResponse.builder()
+                .countNumber(count.getCountNumber())
+                .countedLines(counted.size())
+                .uncountedLines(count.getLineCount() - counted.size())
+                .adjustedLines(changed.size())
+                .unitsAdded(added)
+                .unitsRemoved(removed)
+                .skipped(skipped)
+                .build();
+    }
+
+    @Transactional
+    public CycleCountResponse cancelCount(Long id) {
+        CycleCount count = lockOpen(id);
+        count.setStatus(CycleCountStatus.CANCELLED);
+        return toResponse(count, cycleCountLineRepository.countByCycleCountIdAndCountedQuantityIsNotNull(id));
+    }
+
+    @Transactional(readOnly = true)
+    public CycleCountResponse getCount(Long id) {
+        CycleCount count = cycleCountRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cycle count not found"));
+        return toResponse(count, cycleCountLineRepository.countByCycleCountIdAndCountedQuantityIsNotNull(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CycleCountResponse> search(Long warehouseId, CycleCountStatus status, Pageable pageable) {
+        return cycleCountRepository.search(warehouseId, status, pageable)
+                .map(count -> toResponse(count,
+                        cycleCountLineRepository.countByCycleCountIdAndCountedQuantityIsNotNull(count.getId())));
+    }
+
+    /**
+     * The count sheet in location order. Expected quantities are included; leave them out
+     * of what is shown to counters for blind counts.
+     */
+    @Transactional(readOnly = true)
+    public Page<CycleCountLineResponse> getSheet(Long id, boolean uncountedOnly, Pageable pageable) {
+        if (!cycleCountRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Cycle count not found");
+        }
+        Page<CycleCountLine> lines = cycleCountLineRepository.findSheet(id, uncountedOnly, pageable);
+        Map<Long, Product> products = productRepository
+                .findAllById(lines.stream().map(CycleCountLine::getProductId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return lines.map(line -> {
+            Product product = products.get(line.getProductId());
+            return CycleCountLineResponse.builder()
+                    .id(line.getId())
+                    .locationId(line.getLocationId())
+                    .locationCode(line.getLocationCode())
+                    .productId(line.getProductId())
+                    .productSku(product != null ? product.getSku() : null)
+                    .productName(product != null ? product.getName() : null)
+                    .expectedQuantity(line.getExpectedQuantity())
+                    .countedQuantity(line.getCountedQuantity())
+                    .countedAt(line.getCountedAt())
+                    .variance(line.getVariance())
+                    .adjusted(Boolean.TRUE.equals(line.getAdjusted()))
+                    .note(line.getNote())
+                    .build();
+        });
+    }
+
+    private CycleCount lockOpen(Long id) {
+        if (cycleCountRepository.lock(id) == 0) {
+            throw new ResourceNotFoundException("Cycle count not found");
+        }
+        CycleCount count = cycleCountRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cycle count not found"));
+        if (count.getStatus() != CycleCountStatus.OPEN) {
+            throw new BusinessRuleException("Cycle count is " + count.getStatus());
+        }
+        return count;
+    }
+
+    private static boolean inRange(String code, String from, String to) {
+        return PickPathPlanner.NATURAL_ORDER.compare(code, from) >= 0
+                && PickPathPlanner.NATURAL_ORDER.compare(code, to) <= 0;
+    }
+
+    private List<CycleCountLine> unexpectedLines(CycleCount count, List<CountEntry> entries, LocalDateTime countedAt) {
+        Map<Long, Location> locations = locationRepository
+                .findAllById(entries.stream().map(CountEntry::locationId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Location::getId, Function.identity()));
+        List<Long> productIds = entries.stream().map(CountEntry::productId).distinct().toList();
+        if (productRepository.findAllById(productIds).size() != productIds.size()) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+
+        List<CycleCountLine> lines = new ArrayList<>(entries.size());
+        for (CountEntry entry : entries) {
+            Location location = locations.get(entry.locationId());
+            if (location == null) {
+                throw new ResourceNotFoundException("Location not found: " + entry.locationId());
+            }
+            if (!location.getWarehouse().getId().equals(count.getWarehouseId())
+                    || !inRange(location.getCode(), count.getFromLocationCode(), count.getToLocationCode())) {
+                throw new BusinessRuleException("Location " + location.getCode() + " is not part of cycle count "
+                        + count.getCountNumber());
+            }
+            lines.add(CycleCountLine.builder()
+                    .cycleCountId(count.getId())
+                    .locationId(location.getId())
+                    .locationCode(location.getCode())
+                    .productId(entry.productId())
+                    .expectedQuantity(0)
+                    .snapshotBalance(0L)
+                    .countedQuantity(entry.countedQuantity())
+                    .countedAt(countedAt)
+                    .build());
+        }
+        return lines;
+    }
+
+    private Map<Long, Inventory> loadInventories(List<CountVariance> variances) {
+        List<Long> ids = variances.stream().map(CountVariance::inventoryId).filter(Objects::nonNull).toList();
+        Map<Long, Inventory> inventories = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+            inventoryRepository.findWithLocationByIdIn(ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size())))
+                    .forEach(inventory -> inventories.put(inventory.getId(), inventory));
+        }
+        return inventories;
+    }
+
+    private StockMovement adjustment(CycleCount count, Inventory inventory, int variance, LocalDateTime at) {
+        StockMovement.StockMovementBuilder movement = StockMovement.builder()
+                .type(StockMovementType.ADJUSTMENT)
+                .product(inventory.getProduct())
+                .quantity(Math.abs(variance))
+                .reason(ADJUSTMENT_REASON)
+                .referenceNumber(count.getCountNumber())
+                .movementDate(at);
+        return variance > 0
+                ? movement.toLocation(inventory.getLocation()).build()
+                : movement.fromLocation(inventory.getLocation()).build();
+    }
+
+    private CycleCountResponse toResponse(CycleCount count, long countedLines) {
+        return CycleCountResponse.builder()
+                .id(count.getId())
+                .countNumber(count.getCountNumber())
+                .warehouseId(count.getWarehouseId())
+                .fromLocationCode(count.getFromLocationCode())
+                .toLocationCode(count.getToLocationCode())
+                .status(count.getStatus())
+                .lineCount(count.getLineCount())
+                .countedLines(countedLines)
+                .adjustedLines(count.getAdjustedLines())
+                .snapshotAt(count.getSnapshotAt())
+                .postedAt(count.getPostedAt())
+                .build();
+    }
+}
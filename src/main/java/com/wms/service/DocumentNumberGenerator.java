@@ -0,0 +1,106 @@
+package com.wms.service;
+
+import com.wms.sharding.ShardRouter;
+import com.wms.sharding.ShardRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hands out order and purchase order numbers such as {@code ORD-WH01-0000012345}. The
+ * numeric part comes from a database sequence that advances in blocks of
+ * {@link #BLOCK_SIZE}: one {@code nextval} reserves a whole block for this node, and the
+ * numbers inside it are served from memory. The numeric part alone is unique per
+ * document type, so the warehouse prefix is only there for people reading it.
+ *
+ * <p>In sharded mode the blocks come from the catalog's sequences only, over the catalog
+ * pool and outside the caller's shard transaction ({@code nextval} is not transactional
+ * anyway). Every shard starts its own sequences at 1, so drawing from them would hand out
+ * the same numbers on every shard; the shard copies of the sequences stay unused.
+ */
+@Component
+public class DocumentNumberGenerator {
+
+    // V15 migration'daki INCREMENT BY ile aynı olmalı
+    static final int BLOCK_SIZE = 1000;
+
+    private static final int MAX_PREFIX_LENGTH = 20;
+
+    public enum DocumentType {
+        ORDER("ORD", "order_number_seq"),
+        PURCHASE_ORDER("PO", "purchase_order_number_seq"),
+        WAVE("WV", "wave_number_seq"),
+        CYCLE_COUNT("CC", "cycle_count_number_seq");
+
+        private final String prefix;
+        private final String sequence;
+
+        DocumentType(String prefix, String sequence) {
+            this.prefix = prefix;
+            this.sequence = sequence;
+        }
+    }
+
+    private final ToLongFunction<DocumentType> blockSource;
+    private final Map<DocumentType, Block> blocks = new EnumMap<>(DocumentType.class);
+
+    @Autowired
+    public DocumentNumberGenerator(DataSource dataSource) {
+        this(sequenceSource(new JdbcTemplate(dataSource instanceof ShardRoutingDataSource routing
+                ? routing.pools().get(ShardRouter.CATALOG)
+                : dataSource)));
+    }
+
+    DocumentNumberGenerator(ToLongFunction<DocumentType> blockSource) {
+        this.blockSource = blockSource;
+        for (DocumentType type : DocumentType.values()) {
+            blocks.put(type, new Block());
+        }
+    }
+
+    // Sequence adları sabit; kullanıcı girdisi değil
+    private static ToLongFunction<DocumentType> sequenceSource(JdbcTemplate jdbcTemplate) {
+        return type -> jdbcTemplate.queryForObject("SELECT nextval('" + type.sequence + "')", Long.class);
+    }
+
+    public String next(DocumentType type, String warehouseCode) {
+        return format(type, warehouseCode, nextValue(type));
+    }
+
+    long nextValue(DocumentType type) {
+        Block block = blocks.get(type);
+        // synchronized değil: blok yenilemesi JDBC çağrısı yapar, virtual thread taşıyıcıya sabitlenmesin
+        block.lock.lock();
+        try {
+            if (block.next >= block.limit) {
+                long start = blockSource.applyAsLong(type);
+                block.next = start;
+                block.limit = start + BLOCK_SIZE;
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    static String format(DocumentType type, String warehouseCode, long value) {
+        String code = warehouseCode.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "");
+        if (code.length() > MAX_PREFIX_LENGTH) {
+            code = code.substring(0, MAX_PREFIX_LENGTH);
+        }
+        return String.format("%s-%s-%010d", type.prefix, code, value);
+    }
+
+    private static final class Block {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long limit;
+    }
+}
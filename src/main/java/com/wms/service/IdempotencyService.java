@@ -0,0 +1,88 @@
+package com.wms.service;
+
+import com.wms.entity.IdempotencyRecord;
+import com.wms.repository.IdempotencyRecordRepository;
+import com.wms.sharding.PerShard;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${app.idempotency.ttl:PT24H}")
+    private Duration ttl = Duration.ofHours(24);
+
+    // Unique index üzerinden tek okuma; süresi geçmiş kayıtlar yok sayılır
+    @Transactional(readOnly = true)
+    public Optional<IdempotencyRecord> find(String principal, String key) {
+        return idempotencyRecordRepository.findByPrincipalAndIdempotencyKey(principal, key)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    /**
+     * Inserts an in-progress record for the key of this principal. Returns false if another
+     * request already holds the key, in which case the unique constraint rejects the insert. Deliberately
+     * not transactional: each repository call commits on its own so a rejected insert
+     * does not poison a surrounding transaction.
+     */
+    public boolean claim(String principal, String key, String method, String path, String fingerprint) {
+        // Süresi dolmuş eski kayıt varsa yer aç
+        idempotencyRecordRepository.findByPrincipalAndIdempotencyKey(principal, key)
+                .filter(record -> !record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .ifPresent(idempotencyRecordRepository::delete);
+        try {
+            idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .principal(principal)
+                    .idempotencyKey(key)
+                    .requestMethod(method)
+                    .requestPath(path)
+                    .requestFingerprint(fingerprint)
+                    .expiresAt(LocalDateTime.now().plus(ttl))
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            return false;
+        }
+    }
+
+    @Transactional
+    public void complete(String principal, String key, int status, String contentType, String body) {
+        idempotencyRecordRepository.findByPrincipalAndIdempotencyKey(principal, key).ifPresent(record -> {
+            record.setResponseStatus(status);
+            record.setResponseContentType(contentType);
+            record.setResponseBody(body);
+            idempotencyRecordRepository.save(record);
+        });
+    }
+
+    // Komut başarısız olduysa (5xx, 409) anahtar serbest bırakılır, tekrar denenebilir
+    @Transactional
+    public void release(String principal, String key) {
+        idempotencyRecordRepository.deleteByKey(principal, key);
+    }
+
+    @PerShard
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
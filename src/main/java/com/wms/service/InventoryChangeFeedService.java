@@ -0,0 +1,190 @@
+package com.wms.service;
+
+import com.wms.dto.response.InventoryChangeFeedResponse;
+import com.wms.dto.response.InventoryChangeResponse;
+import com.wms.entity.ChangeFeedState;
+import com.wms.entity.InventoryChangeEvent;
+import com.wms.repository.ChangeFeedStateRepository;
+import com.wms.repository.InventoryChangeEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes outbox rows as an ordered change feed and serves it to consumers.
+ *
+ * <p>Outbox ids are assigned at insert time but transactions commit in any order, so ids
+ * are not a safe cursor. The relay instead stamps committed rows with consecutive
+ * positions while holding the feed's state row lock; a consumer that has seen position
+ * N can never later find an unseen row below N.
+ */
+@Service
+public class InventoryChangeFeedService {
+
+    static final String FEED = "inventory";
+
+    private final InventoryChangeEventRepository inventoryChangeEventRepository;
+    private final ChangeFeedStateRepository changeFeedStateRepository;
+    private final int maxWaiters;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    public InventoryChangeFeedService(InventoryChangeEventRepository inventoryChangeEventRepository,
+                                      ChangeFeedStateRepository changeFeedStateRepository,
+                                      @Value("${app.outbox.feed.max-waiters:1000}") int maxWaiters) {
+        this.inventoryChangeEventRepository = inventoryChangeEventRepository;
+        this.changeFeedStateRepository = changeFeedStateRepository;
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * Assigns feed positions to one batch of committed outbox rows. Concurrent relays
+     * (one per node) queue up on the state row, so positions are committed in order.
+     * Returns the number of rows published.
+     */
+    @Transactional
+    public int publishPending(int batchSize) {
+        if (changeFeedStateRepository.lock(FEED) == 0) {
+            throw new IllegalStateException("Change feed state row missing for feed " + FEED);
+        }
+        ChangeFeedState state = changeFeedStateRepository.findByFeed(FEED).orElseThrow();
+        List<InventoryChangeEvent> pending = inventoryChangeEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        long position = state.getLastPosition();
+        LocalDateTime now = LocalDateTime.now();
+        for (InventoryChangeEvent event : pending) {
+            event.setPosition(++position);
+            event.setPublishedAt(now);
+        }
+        state.setLastPosition(position);
+        return pending.size();
+    }
+
+    @Transactional(readOnly = true)
+    public InventoryChangeFeedResponse read(long since, int limit) {
+        List<InventoryChangeEvent> events = inventoryChangeEventRepository
+                .findPublishedAfter(since, PageRequest.of(0, limit + 1));
+        boolean hasMore = events.size() > limit;
+        List<InventoryChangeResponse> changes = events.stream()
+                .limit(limit)
+                .map(this::toResponse)
+                .toList();
+        return InventoryChangeFeedResponse.builder()
+                .changes(changes)
+                .nextCursor(changes.isEmpty() ? since : changes.get(changes.size() - 1).getPosition())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Long-poll read: completes immediately if there are changes after {@code since},
+     * otherwise once the relay publishes some or when {@code wait} runs out (with an
+     * empty page and the same cursor). No thread is held while waiting.
+     */
+    public CompletableFuture<InventoryChangeFeedResponse> poll(long since, int limit, Duration wait) {
+        InventoryChangeFeedResponse page = read(since, limit);
+        if (!page.getChanges().isEmpty() || wait.isZero() || waiterCount.get() >= maxWaiters) {
+            return CompletableFuture.completedFuture(page);
+        }
+
+        Waiter waiter = new Waiter(since, limit, new CompletableFuture<>());
+        waiters.add(waiter);
+        waiterCount.incrementAndGet();
+        waiter.result().whenComplete((result, ex) -> {
+            if (waiters.remove(waiter)) {
+                waiterCount.decrementAndGet();
+            }
+        });
+        return waiter.result().completeOnTimeout(page, wait.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Son yayımlanan position; yeni bir tüketici buradan başlarsa yalnızca bundan sonrasını görür
+    public long currentPosition() {
+        return changeFeedStateRepository.findByFeed(FEED)
+                .map(ChangeFeedState::getLastPosition)
+                .orElse(0L);
+    }
+
+    // Relay her turdan sonra çağırır; diğer node'ların yayımladıkları da burada yakalanır
+    public void dispatchWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long latest = currentPosition();
+        for (Waiter waiter : waiters) {
+            if (waiter.since() < latest && !waiter.result().isDone()) {
+                try {
+                    waiter.result().complete(read(waiter.since(), waiter.limit()));
+                } catch (RuntimeException ex) {
+                    waiter.result().completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes published rows older than {@code before}, except those the pick velocity
+     * roll-up has not consumed yet; it reads shipments from this table, so a lagging
+     * roll-up holds back the purge rather than losing picks.
+     */
+    @Transactional
+    public int purgePublishedBefore(LocalDateTime before) {
+        long consumed = changeFeedStateRepository.findByFeed(PickVelocityService.FEED)
+                .map(ChangeFeedState::getLastPosition)
+                .orElse(0L);
+        return inventoryChangeEventRepository.deletePublishedBefore(before, consumed);
+    }
+
+    /**
+     * Creates the feed's state row if the migration has not (Flyway-less test databases).
+     * Deliberately not transactional, like {@link IdempotencyService#claim}: a lost insert
+     * race must not poison a surrounding transaction.
+     */
+    public void ensureState() {
+        if (changeFeedStateRepository.findByFeed(FEED).isPresent()) {
+            return;
+        }
+        try {
+            changeFeedStateRepository.saveAndFlush(ChangeFeedState.builder()
+                    .feed(FEED)
+                    .lastPosition(0L)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            // Başka bir node aynı anda oluşturdu
+        }
+    }
+
+    private InventoryChangeResponse toResponse(InventoryChangeEvent event) {
+        return InventoryChangeResponse.builder()
+                .position(event.getPosition())
+                .inventoryId(event.getInventoryId())
+                .productId(event.getProductId())
+                .locationId(event.getLocationId())
+                .warehouseId(event.getWarehouseId())
+                .quantity(event.getQuantity())
+                .reservedQuantity(event.getReservedQuantity())
+                .availableQuantity(event.getQuantity() - event.getReservedQuantity())
+                .changeType(event.getChangeType().name())
+                .reference(event.getReference())
+                .occurredAt(event.getCreatedAt())
+                .build();
+    }
+
+    private record Waiter(long since, int limit, CompletableFuture<InventoryChangeFeedResponse> result) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.wms.service;
+
+import com.wms.entity.Inventory;
+import com.wms.enums.InventoryChangeType;
+import com.wms.repository.InventoryChangeEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Writes inventory changes to the outbox. Must run inside the transaction that makes the
+ * change, so the event commits (or rolls back) together with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryChangeRecorder {
+
+    private final InventoryChangeEventRepository inventoryChangeEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(InventoryChangeType type, String reference, Inventory... inventories) {
+        record(type, reference, List.of(inventories));
+    }
+
+    // Aynı satır birden çok kez geçerse tek olay yazılır (son durum)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(InventoryChangeType type, String reference, Collection<Inventory> inventories) {
+        inventoryChangeEventRepository.insertAll(new LinkedHashSet<>(inventories), type, reference);
+    }
+
+    /**
+     * For rows changed by bulk UPDATE statements, where no managed entity holds the new
+     * state: copies the current database state of the given rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCurrentState(InventoryChangeType type, String reference, Collection<Long> inventoryIds) {
+        inventoryChangeEventRepository.insertFromCurrentState(inventoryIds, type, reference);
+    }
+
+    // Toplu stok yüklemesinde değişen satırların son hali
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordLoad(InventoryChangeType type, String reference, Long loadId) {
+        inventoryChangeEventRepository.insertFromLoad(loadId, type, reference);
+    }
+}
@@ -0,0 +1,70 @@
+package com.wms.service;
+
+import com.wms.sharding.PerShard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves committed outbox rows onto the change feed in batches and wakes long-polling
+ * consumers. Safe to run on every node.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class InventoryChangeRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryChangeRelay.class);
+
+    private final InventoryChangeFeedService feedService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+    private final Counter published;
+    private volatile boolean initialized;
+
+    public InventoryChangeRelay(InventoryChangeFeedService feedService,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+                                @Value("${app.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+                                @Value("${app.outbox.retention:PT72H}") Duration retention) {
+        this.feedService = feedService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+        this.published = meterRegistry.counter("wms.outbox.inventory.published");
+    }
+
+    @PerShard
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:200}")
+    public void relay() {
+        if (!initialized) {
+            feedService.ensureState();
+            initialized = true;
+        }
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int count = feedService.publishPending(batchSize);
+            published.increment(count);
+            if (count < batchSize) {
+                break;
+            }
+        }
+        feedService.dispatchWaiters();
+    }
+
+    @PerShard
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        int purged = feedService.purgePublishedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            logger.info("Purged {} published inventory change events", purged);
+        }
+    }
+}
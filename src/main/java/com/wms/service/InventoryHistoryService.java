@@ -0,0 +1,132 @@
+package com.wms.service;
+
+import com.wms.dto.response.InventoryAsOfLineResponse;
+import com.wms.dto.response.InventoryAsOfResponse;
+import com.wms.entity.InventorySnapshot;
+import com.wms.exception.BusinessRuleException;
+import com.wms.exception.ResourceNotFoundException;
+import com.wms.repository.InventorySnapshotLineRepository;
+import com.wms.repository.InventorySnapshotRepository;
+import com.wms.repository.StockMovementRepository;
+import com.wms.repository.WarehouseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Inventory as it was at a point in time. The quantities of the snapshot nearest to the
+ * requested time are combined with the stock movements between the two, replayed forward
+ * or backward, so a query reads one snapshot and at most the movements of the snapshot
+ * interval. Quantities changed without a stock movement (direct edits through the
+ * inventory API) are only picked up by the next snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryHistoryService {
+
+    private final InventorySnapshotRepository inventorySnapshotRepository;
+    private final InventorySnapshotLineRepository inventorySnapshotLineRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final WarehouseRepository warehouseRepository;
+
+    // Bu süreden eski hareketlerin commit edilmiş olduğu varsayılır
+    @Value("${app.inventory-snapshots.settle-lag:PT1M}")
+    private Duration settleLag = Duration.ofMinutes(1);
+
+    @Transactional(readOnly = true)
+    public InventoryAsOfResponse getInventoryAsOf(Long warehouseId, LocalDateTime timestamp, Long productId,
+                                                  Long locationId) {
+        if (!warehouseRepository.existsById(warehouseId)) {
+            throw new ResourceNotFoundException("Warehouse not found");
+        }
+        if (timestamp.isAfter(LocalDateTime.now())) {
+            throw new BusinessRuleException("Timestamp must not be in the future");
+        }
+        LocalDateTime asOf = timestamp.truncatedTo(ChronoUnit.MICROS);
+        InventorySnapshot snapshot = nearestSnapshot(warehouseId, asOf).orElse(null);
+        List<InventoryAsOfLineResponse> lines = inventorySnapshotLineRepository
+                .findAsOf(warehouseId, snapshot, asOf, productId, locationId).stream()
+                .map(line -> InventoryAsOfLineResponse.builder()
+                        .productId(line.productId())
+                        .productSku(line.sku())
+                        .locationId(line.locationId())
+                        .locationCode(line.locationCode())
+                        .quantity(line.quantity())
+                        .build())
+                .toList();
+        return InventoryAsOfResponse.builder()
+                .warehouseId(warehouseId)
+                .timestamp(asOf)
+                .snapshotTakenAt(snapshot != null ? snapshot.getTakenAt() : null)
+                .lines(lines)
+                .build();
+    }
+
+    /**
+     * Copies the non-zero inventory rows of a warehouse, together with the net of the
+     * movements after a settled watermark, in one statement. Returns the number of lines.
+     */
+    @Transactional
+    public int takeSnapshot(Long warehouseId) {
+        LocalDateTime takenAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime settledBefore = takenAt.minus(settleLag);
+        InventorySnapshot snapshot = inventorySnapshotRepository.save(InventorySnapshot.builder()
+                .warehouseId(warehouseId)
+                .takenAt(takenAt)
+                .settledBefore(settledBefore)
+                .movementWatermark(stockMovementRepository.findLastIdCreatedBefore(settledBefore).orElse(0L))
+                .build());
+        int lines = inventorySnapshotLineRepository.insertSnapshot(snapshot);
+        snapshot.setLineCount(lines);
+        return lines;
+    }
+
+    /**
+     * Drops snapshots older than {@code retentionDays} and, among those older than
+     * {@code dailyDays}, keeps only the first of each warehouse and ISO week.
+     */
+    @Transactional
+    public int prune(LocalDateTime now, int dailyDays, int retentionDays) {
+        LocalDateTime expired = now.minusDays(retentionDays);
+        Set<String> keptWeeks = new HashSet<>();
+        List<Long> pruned = new ArrayList<>();
+        for (InventorySnapshot snapshot : inventorySnapshotRepository
+                .findByTakenAtBeforeOrderByWarehouseIdAscTakenAtAsc(now.minusDays(dailyDays))) {
+            String week = snapshot.getWarehouseId() + "/" + snapshot.getTakenAt().get(IsoFields.WEEK_BASED_YEAR)
+                    + "/" + snapshot.getTakenAt().get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            if (snapshot.getTakenAt().isBefore(expired) || !keptWeeks.add(week)) {
+                pruned.add(snapshot.getId());
+            }
+        }
+        if (!pruned.isEmpty()) {
+            inventorySnapshotLineRepository.deleteBySnapshotIds(pruned);
+            inventorySnapshotRepository.deleteAllByIdInBatch(pruned);
+        }
+        return pruned.size();
+    }
+
+    // Önceki ve sonraki anlık görüntüden zamana daha yakın olanı; geri sarmak da aynı maliyette
+    private Optional<InventorySnapshot> nearestSnapshot(Long warehouseId, LocalDateTime asOf) {
+        Optional<InventorySnapshot> before = inventorySnapshotRepository
+                .findFirstByWarehouseIdAndTakenAtLessThanEqualOrderByTakenAtDesc(warehouseId, asOf);
+        Optional<InventorySnapshot> after = inventorySnapshotRepository
+                .findFirstByWarehouseIdAndTakenAtGreaterThanOrderByTakenAtAsc(warehouseId, asOf);
+        if (before.isEmpty() || after.isEmpty()) {
+            return before.isPresent() ? before : after;
+        }
+        Duration sinceBefore = Duration.between(before.get().getTakenAt(), asOf);
+        Duration untilAfter = Duration.between(asOf, after.get().getTakenAt());
+        return sinceBefore.compareTo(untilAfter) <= 0 ? before : after;
+    }
+}
@@ -0,0 +1,199 @@
+package com.wms.service;
+
+import com.wms.catalog.CsvReader;
+import com.wms.dto.response.InventoryLoadResponse;
+import com.wms.entity.InventoryLoad;
+import com.wms.enums.InventoryChangeType;
+import com.wms.exception.BusinessRuleException;
+import com.wms.exception.ResourceNotFoundException;
+import com.wms.repository.InventoryLoadLineRepository;
+import com.wms.repository.InventoryLoadLineRepositoryCustom.LoadCounts;
+import com.wms.repository.InventoryLoadRepository;
+import com.wms.stockload.StockLoadCsvMapper;
+import com.wms.stockload.StockLoadLine;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bulk load of stock positions ({@code sku, warehouse, location, quantity}) for go-lives
+ * and migrations. The file is streamed into a staging table, resolved against the unique
+ * keys of products and locations with set-based statements and merged into inventory with
+ * one statement; every changed quantity gets an {@code ADJUSTMENT} movement for the
+ * difference and a change feed event, and the net change per product and warehouse is
+ * booked to the valuation. The whole load is one transaction: it applies
+ * completely or not at all. Lines that cannot be applied are kept for the rejection file.
+ *
+ * <p>Quantities are absolute: a line sets the on-hand quantity of its bin, it does not add
+ * to it. Bins not in the file are left as they are.
+ *
+ * <p>Unlike the other writers of the valuation, a load is not retried on conflict: the
+ * input is consumed by the first attempt, and rerunning a multi-million-line file is the
+ * caller's call to make. A receipt, shipment or edit of a product the load changes, in the
+ * same warehouse and committed while the load runs, fails the valuation update with a
+ * {@code ConcurrencyFailureException}; the whole load then rolls back, the API answers
+ * 409 and the file can be sent again.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryLoadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryLoadService.class);
+
+    private static final String REFERENCE_PREFIX = "INVLOAD-";
+
+    private final InventoryLoadRepository inventoryLoadRepository;
+    private final InventoryLoadLineRepository inventoryLoadLineRepository;
+    private final InventoryChangeRecorder inventoryChangeRecorder;
+    private final StockValuationService stockValuationService;
+
+    @Transactional
+    public InventoryLoadResponse load(InputStream input) {
+        long started = System.nanoTime();
+        CsvReader csv = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8), ',');
+        StockLoadCsvMapper mapper = mapperFor(csv);
+        InventoryLoad load = inventoryLoadRepository.save(new InventoryLoad());
+        String reference = REFERENCE_PREFIX + load.getId();
+
+        try {
+            inventoryLoadLineRepository.stage(load.getId(), new LineIterator(csv, mapper));
+        } catch (UncheckedIOException ex) {
+            throw new BusinessRuleException("Could not read load file: " + ex.getCause().getMessage());
+        }
+        inventoryLoadLineRepository.resolve(load.getId());
+        inventoryLoadLineRepository.applyToInventory(load.getId(), LocalDateTime.now());
+        inventoryChangeRecorder.recordLoad(InventoryChangeType.ADJUSTED, reference, load.getId());
+        LoadCounts counts = inventoryLoadLineRepository.countLines(load.getId());
+        // Hareketler en son: oluşturulma zamanı commit'e olabildiğince yakın kalsın (oturma süresi varsayımı)
+        inventoryLoadLineRepository.insertMovements(load.getId(), reference, LocalDateTime.now());
+        stockValuationService.recordChanges(inventoryLoadLineRepository.sumChanges(load.getId()), reference);
+        inventoryLoadLineRepository.deleteAccepted(load.getId());
+
+        load.setTotalLines(counts.total());
+        load.setChangedLines(counts.changed());
+        load.setRejectedLines(counts.rejected());
+        load.setUnchangedLines(counts.total() - counts.changed() - counts.rejected());
+        load.setCompletedAt(LocalDateTime.now());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        logger.info("Inventory load {}: {} lines, {} changed, {} rejected in {} ms", reference, counts.total(),
+                counts.changed(), counts.rejected(), elapsedMillis);
+        InventoryLoadResponse response = toResponse(load);
+        response.setElapsedMillis(elapsedMillis);
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public InventoryLoadResponse getLoad(Long id) {
+        return toResponse(inventoryLoadRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory load not found")));
+    }
+
+    /**
+     * Writes the rejected lines of a load as CSV, in file order, with the reason in the
+     * last column; fixed lines can be loaded again as a new file.
+     */
+    @Transactional(readOnly = true)
+    public void writeRejections(Long id, Writer writer) throws IOException {
+        if (!inventoryLoadRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Inventory load not found");
+        }
+        writer.write("line,sku,warehouse,location,quantity,reason\n");
+        try (Stream<StockLoadLine> lines = inventoryLoadLineRepository.streamRejected(id)) {
+            for (Iterator<StockLoadLine> it = lines.iterator(); it.hasNext(); ) {
+                StockLoadLine line = it.next();
+                writer.write(line.line() + "," + csv(line.sku()) + "," + csv(line.warehouseCode()) + ","
+                        + csv(line.locationCode()) + "," + (line.quantity() != null ? line.quantity() : "") + ","
+                        + csv(line.rejectReason()) + "\n");
+            }
+        }
+        writer.flush();
+    }
+
+    private StockLoadCsvMapper mapperFor(CsvReader csv) {
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (IOException ex) {
+            throw new BusinessRuleException("Could not read load file: " + ex.getMessage());
+        }
+        if (header == null) {
+            throw new BusinessRuleException("Load file is empty");
+        }
+        try {
+            return StockLoadCsvMapper.forHeader(header);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessRuleException("Invalid load header: " + ex.getMessage());
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private InventoryLoadResponse toResponse(InventoryLoad load) {
+        return InventoryLoadResponse.builder()
+                .id(load.getId())
+                .reference(REFERENCE_PREFIX + load.getId())
+                .totalLines(load.getTotalLines())
+                .changedLines(load.getChangedLines())
+                .unchangedLines(load.getUnchangedLines())
+                .rejectedLines(load.getRejectedLines())
+                .completedAt(load.getCompletedAt())
+                .build();
+    }
+
+    // Dosya, ara tabloya yazılırken kayıt kayıt okunur
+    private static final class LineIterator implements Iterator<StockLoadLine> {
+
+        private final CsvReader csv;
+        private final StockLoadCsvMapper mapper;
+        private List<String> next;
+
+        private LineIterator(CsvReader csv, StockLoadCsvMapper mapper) {
+            this.csv = csv;
+            this.mapper = mapper;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public StockLoadLine next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            StockLoadLine line = mapper.map(csv.recordLine(), next);
+            advance();
+            return line;
+        }
+
+        private void advance() {
+            try {
+                next = csv.next();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.wms.service;
 
+import com.wms.concurrency.InventoryLocked;
+import com.wms.concurrency.RetryOnConflict;
 import com.wms.dto.request.InventoryRequest;
 import com.wms.dto.response.InventoryResponse;
 import com.wms.entity.Inventory;
 import com.wms.entity.Location;
 import com.wms.entity.Product;
+import com.wms.enums.AbcClass;
+import com.wms.enums.InventoryChangeType;
+import com.wms.enums.XyzClass;
 import com.wms.exception.ResourceNotFoundException;
 import com.wms.repository.InventoryRepository;
 import com.wms.repository.LocationRepository;
@@ -20,9 +25,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class InventoryService {
 
+    // Doğrudan envanter düzenlemeleri maliyet katmanlarına bu referansla yazılır
+    static final String EDIT_REFERENCE = "INVENTORY-EDIT";
+
     private final InventoryRepository inventoryRepository;
     private final ProductRepository productRepository;
     private final LocationRepository locationRepository;
+    private final InventoryChangeRecorder inventoryChangeRecorder;
+    private final StockValuationService stockValuationService;
 
     // Tüm stok kayıtları
     @Transactional(readOnly = true)
@@ -33,6 +43,22 @@ public class InventoryService {
                 .collect(Collectors.toList());
     }
 
+    // Sınıf filtresi verilmezse depo filtresi tek başına uygulanır
+    @Transactional(readOnly = true)
+    public List<InventoryResponse> getAllInventory(Long warehouseId, AbcClass abcClass, XyzClass xyzClass) {
+        List<Inventory> inventories;
+        if (abcClass != null || xyzClass != null) {
+            inventories = inventoryRepository.findByClassification(warehouseId, abcClass, xyzClass);
+        } else if (warehouseId != null) {
+            inventories = inventoryRepository.findByWarehouseId(warehouseId);
+        } else {
+            inventories = inventoryRepository.findAll();
+        }
+        return inventories.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
     // Belirli ürünün tüm lokasyonlardaki stoğu
     @Transactional(readOnly = true)
     public List<InventoryResponse> getInventoryByProduct(Long productId) {
@@ -59,6 +85,7 @@ public class InventoryService {
     }
 
     // Ürün + lokasyon için stok yarat / güncelle
+    @RetryOnConflict
     @Transactional
     public InventoryResponse createOrUpdateInventory(InventoryRequest request) {
         Product product = productRepository.findById(request.getProductId())
@@ -79,16 +106,20 @@ public class InventoryService {
                     return inv;
                 });
 
+        int delta = request.getQuantity() - inventory.getQuantity();
         inventory.setQuantity(request.getQuantity());
         inventory.setReservedQuantity(
                 request.getReservedQuantity() != null ? request.getReservedQuantity() : 0
         );
 
         Inventory saved = inventoryRepository.save(inventory);
+        inventoryChangeRecorder.record(InventoryChangeType.UPDATED, null, saved);
+        stockValuationService.recordChange(product.getId(), location.getWarehouse().getId(), delta, EDIT_REFERENCE);
         return toResponse(saved);
     }
 
     // Sadece yeni envanter ekleyen ve duplicate varsa hata fırlatan createInventory metodu
+    @RetryOnConflict
     @Transactional
     public InventoryResponse createInventory(InventoryRequest request) {
         Product product = productRepository.findById(request.getProductId())
@@ -106,10 +137,15 @@ public class InventoryService {
                 .reservedQuantity(request.getReservedQuantity() != null ? request.getReservedQuantity() : 0)
                 .build();
         Inventory saved = inventoryRepository.save(inventory);
+        inventoryChangeRecorder.record(InventoryChangeType.UPDATED, null, saved);
+        stockValuationService.recordChange(product.getId(), location.getWarehouse().getId(), saved.getQuantity(),
+                EDIT_REFERENCE);
         return toResponse(saved);
     }
 
     // Adet ayarlama (+ / -)
+    @RetryOnConflict
+    @InventoryLocked(InventoryLocked.KeySource.INVENTORY_ID)
     @Transactional
     public InventoryResponse adjustInventory(Long inventoryId, Integer delta) {
         Inventory inventory = inventoryRepository.findById(inventoryId)
@@ -122,22 +158,34 @@ public class InventoryService {
         inventory.setQuantity(newQty);
 
         Inventory saved = inventoryRepository.save(inventory);
+        inventoryChangeRecorder.record(InventoryChangeType.ADJUSTED, null, saved);
+        stockValuationService.recordChange(saved.getProduct().getId(), saved.getLocation().getWarehouse().getId(),
+                delta, EDIT_REFERENCE);
         return toResponse(saved);
     }
 
     // Soft delete düşünmüyorsan burada gerçekten silebilirsin
+    @RetryOnConflict
     @Transactional
     public void deleteInventory(Long id) {
-        if (!inventoryRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Inventory not found");
-        }
-        inventoryRepository.deleteById(id);
+        Inventory inventory = inventoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found"));
+        // Satır silinmeden önceki son hali akışa yazılır
+        inventoryChangeRecorder.recordCurrentState(InventoryChangeType.DELETED, null, List.of(id));
+        stockValuationService.recordChange(inventory.getProduct().getId(),
+                inventory.getLocation().getWarehouse().getId(), -inventory.getQuantity(), EDIT_REFERENCE);
+        inventoryRepository.delete(inventory);
     }
 
+    @RetryOnConflict
     @Transactional
     public InventoryResponse updateInventory(Long id, InventoryRequest request) {
         Inventory inventory = inventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + id));
+        // Ürün ya da lokasyon değişebilir: eski yerden tümü çıkar, yeni yere tümü girer
+        Long oldProductId = inventory.getProduct().getId();
+        Long oldWarehouseId = inventory.getLocation().getWarehouse().getId();
+        int oldQuantity = inventory.getQuantity();
 
         // Ürün ve lokasyon değiştirilmek isteniyorsa
         if (request.getProductId() != null) {
@@ -158,6 +206,16 @@ public class InventoryService {
         );
 
         Inventory saved = inventoryRepository.save(inventory);
+        inventoryChangeRecorder.record(InventoryChangeType.UPDATED, null, saved);
+        Long productId = saved.getProduct().getId();
+        Long warehouseId = saved.getLocation().getWarehouse().getId();
+        if (productId.equals(oldProductId) && warehouseId.equals(oldWarehouseId)) {
+            stockValuationService.recordChange(productId, warehouseId, saved.getQuantity() - oldQuantity,
+                    EDIT_REFERENCE);
+        } else {
+            stockValuationService.recordChange(oldProductId, oldWarehouseId, -oldQuantity, EDIT_REFERENCE);
+            stockValuationService.recordChange(productId, warehouseId, saved.getQuantity(), EDIT_REFERENCE);
+        }
         return toResponse(saved);
     }
 
@@ -0,0 +1,99 @@
+package com.wms.service;
+
+import com.wms.dto.response.InventorySnapshotRunResponse;
+import com.wms.entity.Warehouse;
+import com.wms.exception.BusinessRuleException;
+import com.wms.repository.WarehouseRepository;
+import com.wms.sharding.PerShard;
+import com.wms.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Daily inventory snapshots for point-in-time queries, one statement per warehouse,
+ * followed by thinning old snapshots down to one per week.
+ *
+ * <p>Like {@link ClassificationJob}, runs are not coordinated across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventorySnapshotJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventorySnapshotJob.class);
+
+    private final WarehouseRepository warehouseRepository;
+    private final ShardRouter shardRouter;
+    private final InventoryHistoryService inventoryHistoryService;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.inventory-snapshots.daily-retention-days:35}")
+    private int dailyRetentionDays = 35;
+
+    @Value("${app.inventory-snapshots.retention-days:400}")
+    private int retentionDays = 400;
+
+    @PerShard
+    @Scheduled(cron = "${app.inventory-snapshots.cron:0 10 0 * * *}")
+    public void scheduledRun() {
+        if (running.get()) {
+            logger.info("Skipping scheduled inventory snapshot: a run is already in progress");
+            return;
+        }
+        InventorySnapshotRunResponse result = run();
+        logger.info("Snapshot {} inventory lines in {} warehouses in {} ms, pruned {} snapshots ({} failed)",
+                result.getSnapshotLines(), result.getWarehouses(), result.getElapsedMillis(),
+                result.getPrunedSnapshots(), result.getFailures().size());
+    }
+
+    /**
+     * Snapshots every warehouse. A warehouse that fails is reported by id; queries for it
+     * fall back to the previous snapshot.
+     */
+    public InventorySnapshotRunResponse run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessRuleException("An inventory snapshot run is already in progress");
+        }
+        try {
+            long started = System.nanoTime();
+            List<Long> warehouseIds = warehouseRepository.findAll().stream().map(Warehouse::getId)
+                    .filter(shardRouter::isOnCurrentShard).toList();
+            long lines = 0;
+            Map<Long, String> failures = new LinkedHashMap<>();
+            for (Long warehouseId : warehouseIds) {
+                try {
+                    lines += inventoryHistoryService.takeSnapshot(warehouseId);
+                } catch (RuntimeException ex) {
+                    logger.warn("Inventory snapshot of warehouse {} failed", warehouseId, ex);
+                    failures.put(warehouseId, ex.getMessage());
+                }
+            }
+            int pruned = inventoryHistoryService.prune(LocalDateTime.now(), dailyRetentionDays, retentionDays);
+
+            long elapsed = System.nanoTime() - started;
+            meterRegistry.timer("wms.inventory-snapshots.run").record(elapsed, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("wms.inventory-snapshots.lines").increment(lines);
+            return InventorySnapshotRunResponse.builder()
+                    .warehouses(warehouseIds.size())
+                    .snapshotLines(lines)
+                    .prunedSnapshots(pruned)
+                    .failures(failures)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .build();
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.wms.service;
+
+import com.wms.dto.response.LedgerVerificationRunResponse;
+import com.wms.entity.Warehouse;
+import com.wms.exception.BusinessRuleException;
+import com.wms.ledger.LedgerAccumulator;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.StockMovementRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.sharding.PerShard;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Weekly check of inventory against the stock movement ledger, a few warehouses at a time.
+ * Each worker owns one accumulator of {@code max-pairs-per-pass} pairs (about 25 bytes a
+ * slot), so memory stays fixed however long the ledger is; large warehouses take more
+ * passes instead. Passes slice by location, so they stop doubling at the pair count; a
+ * single location that still holds more pairs is logged and verified on its own with a
+ * larger accumulator.
+ *
+ * <p>Like {@link ClassificationJob}, runs are not coordinated across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerVerificationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerVerificationJob.class);
+
+    // Envanter satırı olmayan defter çiftleri için pay
+    private static final double PAIR_HEADROOM = 1.25;
+
+    // Tek bir dilim için geçici biriktiricinin üst sınırı (2^27 yuva, yaklaşık 3 GB)
+    private static final int MAX_OVERSIZED_PAIRS = 1 << 26;
+
+    private final WarehouseRepository warehouseRepository;
+    private final ShardRouter shardRouter;
+    private final InventoryRepository inventoryRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final LedgerVerificationService ledgerVerificationService;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.ledger-verification.parallelism:2}")
+    private int parallelism = 2;
+
+    @Value("${app.ledger-verification.max-pairs-per-pass:1000000}")
+    private int maxPairsPerPass = 1_000_000;
+
+    @Value("${app.ledger-verification.settle-lag:PT1M}")
+    private Duration settleLag = Duration.ofMinutes(1);
+
+    @PerShard
+    @Scheduled(cron = "${app.ledger-verification.cron:0 0 4 * * SUN}")
+    public void scheduledRun() {
+        if (running.get()) {
+            logger.info("Skipping scheduled ledger verification: a run is already in progress");
+            return;
+        }
+        LedgerVerificationRunResponse result = run();
+        logger.info("Verified {} inventory rows against {} movements in {} warehouses in {} ms: {} discrepancies ({} failed)",
+                result.getCheckedRows(), result.getScannedMovements(), result.getWarehouses(),
+                result.getElapsedMillis(), result.getDiscrepancies(), result.getFailures().size());
+    }
+
+    /**
+     * Verifies every warehouse as of the last settled movement and replaces its
+     * discrepancies. A warehouse that fails keeps the discrepancies of the previous run.
+     */
+    public LedgerVerificationRunResponse run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessRuleException("A ledger verification run is already in progress");
+        }
+        try {
+            long started = System.nanoTime();
+            LocalDateTime settledBefore = LocalDateTime.now().minus(settleLag);
+            long watermark = stockMovementRepository.findLastIdCreatedBefore(settledBefore).orElse(0L);
+            List<Long> warehouseIds = warehouseRepository.findAll().stream().map(Warehouse::getId)
+                    .filter(shardRouter::isOnCurrentShard).toList();
+
+            Map<Long, CompletableFuture<WarehouseResult>> tasks = new LinkedHashMap<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                    Thread.ofPlatform().name("ledger-verification-", 0).factory())) {
+                // İşçi başına bir biriktirici; aynı depo geçişleri arasında yeniden kullanılır
+                ThreadLocal<LedgerAccumulator> accumulators =
+                        ThreadLocal.withInitial(() -> new LedgerAccumulator(maxPairsPerPass));
+                for (Long warehouseId : warehouseIds) {
+                    tasks.put(warehouseId, CompletableFuture.supplyAsync(ShardContext.propagate(
+                            () -> verifyWarehouse(warehouseId, watermark, accumulators.get())), executor));
+                }
+            }
+
+            long movements = 0;
+            long rows = 0;
+            long discrepancies = 0;
+            Map<Long, String> failures = new LinkedHashMap<>();
+            for (Map.Entry<Long, CompletableFuture<WarehouseResult>> task : tasks.entrySet()) {
+                try {
+                    WarehouseResult result = task.getValue().join();
+                    movements += result.movements();
+                    rows += result.inventoryRows();
+                    discrepancies += result.discrepancies();
+                } catch (RuntimeException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    logger.warn("Ledger verification of warehouse {} failed", task.getKey(), cause);
+                    failures.put(task.getKey(), cause.getMessage());
+                }
+            }
+
+            long elapsed = System.nanoTime() - started;
+            meterRegistry.timer("wms.ledger-verification.run").record(elapsed, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("wms.ledger-verification.movements").increment(movements);
+            meterRegistry.counter("wms.ledger-verification.discrepancies").increment(discrepancies);
+            return LedgerVerificationRunResponse.builder()
+                    .warehouses(warehouseIds.size())
+                    .movementWatermark(watermark)
+                    .scannedMovements(movements)
+                    .checkedRows(rows)
+                    .discrepancies(discrepancies)
+                    .failures(failures)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .build();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private WarehouseResult verifyWarehouse(Long warehouseId, long watermark, LedgerAccumulator accumulator) {
+        long rows = inventoryRepository.countByWarehouseId(warehouseId);
+        // Dilimler gözlere göre ayrılır; çift sayısından fazla dilim hiçbir dilimi küçültmez
+        int maxPasses = (int) Math.min(Integer.MAX_VALUE, Math.max(1, rows));
+        int passes = (int) Math.min(maxPasses, Math.max(1, Math.ceil(rows * PAIR_HEADROOM / maxPairsPerPass)));
+        while (true) {
+            WarehouseResult result = verifyInPasses(warehouseId, watermark, passes, passes == maxPasses, accumulator);
+            if (result != null) {
+                return result;
+            }
+            // Bir dilim sığmadı: yazılanlar eski sayılır, daha ince dilimlerle baştan
+            int next = (int) Math.min(maxPasses, 2L * passes);
+            logger.info("Ledger of warehouse {} does not fit {} passes, retrying with {}", warehouseId, passes, next);
+            passes = next;
+        }
+    }
+
+    /**
+     * Returns {@code null} when a slice does not fit the accumulator, unless
+     * {@code oversizedInOnePass}: then such a slice is verified on its own with a larger,
+     * temporary accumulator.
+     */
+    private WarehouseResult verifyInPasses(Long warehouseId, long watermark, int passes, boolean oversizedInOnePass,
+                                           LedgerAccumulator accumulator) {
+        LocalDateTime detectedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        long movements = 0;
+        long rows = 0;
+        long discrepancies = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            LedgerVerificationService.PassResult result = ledgerVerificationService.scanPass(warehouseId, watermark,
+                    passes, pass, accumulator);
+            if (result == null) {
+                if (!oversizedInOnePass) {
+                    return null;
+                }
+                result = scanOversized(warehouseId, watermark, passes, pass);
+            }
+            ledgerVerificationService.record(warehouseId, result.discrepancies(), watermark, detectedAt);
+            movements += result.movements();
+            rows += result.inventoryRows();
+            discrepancies += result.discrepancies().size();
+        }
+        ledgerVerificationService.deleteOlderThan(warehouseId, detectedAt);
+        return new WarehouseResult(movements, rows, discrepancies);
+    }
+
+    // Tek gözde max-pairs-per-pass'tan fazla çift: bellek sınırı bu dilim için bilerek aşılır
+    private LedgerVerificationService.PassResult scanOversized(Long warehouseId, long watermark, int passes,
+                                                               int pass) {
+        int pairs = maxPairsPerPass;
+        while (pairs < MAX_OVERSIZED_PAIRS) {
+            pairs = (int) Math.min(MAX_OVERSIZED_PAIRS, 2L * pairs);
+            logger.warn("Slice {} of {} in warehouse {} holds more than {} pairs, verifying it in one pass "
+                    + "with room for {}", pass, passes, warehouseId, maxPairsPerPass, pairs);
+            LedgerVerificationService.PassResult result = ledgerVerificationService.scanPass(warehouseId, watermark,
+                    passes, pass, new LedgerAccumulator(pairs));
+            if (result != null) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("Slice " + pass + " of " + passes + " in warehouse " + warehouseId
+                + " holds more than " + MAX_OVERSIZED_PAIRS + " pairs");
+    }
+
+    private record WarehouseResult(long movements, long inventoryRows, long discrepancies) {
+    }
+}
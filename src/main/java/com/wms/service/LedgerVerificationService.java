@@ -0,0 +1,112 @@
+package com.wms.service;
+
+import com.wms.dto.response.LedgerDiscrepancyResponse;
+import com.wms.entity.InventoryDiscrepancy;
+import com.wms.ledger.LedgerAccumulator;
+import com.wms.ledger.LedgerDiscrepancy;
+import com.wms.ledger.LedgerEntry;
+import com.wms.repository.InventoryDiscrepancyRepository;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.StockMovementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compares inventory with the stock movement ledger. Both sides are read as of one
+ * movement id watermark: the ledger sums movements up to it, inventory rows have the
+ * movements after it taken back out in the same statement. A warehouse is split into
+ * passes by location id so that each pass fits one {@link LedgerAccumulator}.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerVerificationService {
+
+    private final StockMovementRepository stockMovementRepository;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryDiscrepancyRepository inventoryDiscrepancyRepository;
+
+    /**
+     * Streams one location slice of the ledger into the accumulator, then the inventory
+     * of the same slice against it. Returns {@code null} when the slice holds more pairs
+     * than the accumulator; nothing has been written in that case.
+     */
+    @Transactional(readOnly = true)
+    public PassResult scanPass(Long warehouseId, long watermark, int passes, int pass,
+                               LedgerAccumulator accumulator) {
+        accumulator.clear();
+        long movements = 0;
+        try (Stream<LedgerEntry> inbound = stockMovementRepository.streamInbound(warehouseId, watermark, passes, pass)) {
+            for (Iterator<LedgerEntry> it = inbound.iterator(); it.hasNext(); movements++) {
+                LedgerEntry entry = it.next();
+                if (!accumulator.add(entry.productId(), entry.locationId(), entry.quantity())) {
+                    return null;
+                }
+            }
+        }
+        try (Stream<LedgerEntry> outbound = stockMovementRepository.streamOutbound(warehouseId, watermark, passes, pass)) {
+            for (Iterator<LedgerEntry> it = outbound.iterator(); it.hasNext(); movements++) {
+                LedgerEntry entry = it.next();
+                if (!accumulator.add(entry.productId(), entry.locationId(), -entry.quantity())) {
+                    return null;
+                }
+            }
+        }
+
+        long rows = 0;
+        List<LedgerDiscrepancy> discrepancies = new ArrayList<>();
+        try (Stream<LedgerEntry> inventory = inventoryRepository.streamAsOfWatermark(warehouseId, watermark,
+                passes, pass)) {
+            for (Iterator<LedgerEntry> it = inventory.iterator(); it.hasNext(); rows++) {
+                LedgerEntry row = it.next();
+                long ledger = accumulator.take(row.productId(), row.locationId());
+                if (ledger != row.quantity()) {
+                    discrepancies.add(new LedgerDiscrepancy(row.productId(), row.locationId(), row.quantity(), ledger));
+                }
+            }
+        }
+        discrepancies.addAll(accumulator.unmatched());
+        return new PassResult(movements, rows, discrepancies);
+    }
+
+    @Transactional
+    public void record(Long warehouseId, List<LedgerDiscrepancy> discrepancies, long watermark,
+                       LocalDateTime detectedAt) {
+        inventoryDiscrepancyRepository.insertAll(warehouseId, discrepancies, watermark, detectedAt);
+    }
+
+    // Bu doğrulamadan önceki satırlar, tamamlanmamış denemeler dahil, silinir
+    @Transactional
+    public int deleteOlderThan(Long warehouseId, LocalDateTime detectedAt) {
+        return inventoryDiscrepancyRepository.deleteOlderThan(warehouseId, detectedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<LedgerDiscrepancyResponse> search(Long warehouseId, Pageable pageable) {
+        return inventoryDiscrepancyRepository.search(warehouseId, pageable).map(this::toResponse);
+    }
+
+    private LedgerDiscrepancyResponse toResponse(InventoryDiscrepancy discrepancy) {
+        return LedgerDiscrepancyResponse.builder()
+                .warehouseId(discrepancy.getWarehouseId())
+                .productId(discrepancy.getProductId())
+                .locationId(discrepancy.getLocationId())
+                .inventoryQuantity(discrepancy.getInventoryQuantity())
+                .ledgerQuantity(discrepancy.getLedgerQuantity())
+                .difference(discrepancy.getInventoryQuantity() - discrepancy.getLedgerQuantity())
+                .movementWatermark(discrepancy.getMovementWatermark())
+                .detectedAt(discrepancy.getDetectedAt())
+                .build();
+    }
+
+    public record PassResult(long movements, long inventoryRows, List<LedgerDiscrepancy> discrepancies) {
+    }
+}
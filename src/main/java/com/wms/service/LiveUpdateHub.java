@@ -0,0 +1,223 @@
+package com.wms.service;
+
+import com.wms.dto.response.InventoryChangeFeedResponse;
+import com.wms.dto.response.InventoryChangeResponse;
+import com.wms.event.OrderStatusChangedEvent;
+import com.wms.exception.BusinessRuleException;
+import com.wms.sharding.PerShard;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans inventory and order-status deltas out to Server-Sent Events subscribers.
+ *
+ * <p>Inventory deltas are read once per tick from the outbox change feed (so changes made
+ * on any node show up) and order-status deltas arrive as local after-commit events. Each
+ * subscriber has a small bounded buffer drained by its own virtual thread; a client that
+ * cannot keep up has its buffer dropped and gets a single {@code resync} event telling it
+ * to reload, instead of slowing down everyone else.
+ */
+@Service
+public class LiveUpdateHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateHub.class);
+
+    static final String INVENTORY_EVENT = "inventory";
+    static final String ORDER_EVENT = "order";
+    static final String RESYNC_EVENT = "resync";
+    static final String READY_EVENT = "ready";
+
+    private static final int FEED_PAGE_SIZE = 1000;
+    private static final int MAX_FEED_PAGES_PER_TICK = 10;
+
+    private final InventoryChangeFeedService feedService;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter delivered;
+    private final Counter resyncs;
+    // Shard başına konum; abone yokken boş: boşta biriken geçmiş tekrar oynatılmaz
+    private final Map<String, Long> cursors = new ConcurrentHashMap<>();
+
+    public LiveUpdateHub(InventoryChangeFeedService feedService,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.live.buffer-size:256}") int bufferSize,
+                         @Value("${app.live.max-subscribers:500}") int maxSubscribers,
+                         @Value("${app.live.emitter-timeout:PT30M}") Duration emitterTimeout) {
+        this.feedService = feedService;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMs = emitterTimeout.toMillis();
+        this.delivered = meterRegistry.counter("wms.live.events.delivered");
+        this.resyncs = meterRegistry.counter("wms.live.resyncs");
+        Gauge.builder("wms.live.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens a stream for one warehouse, or for all of them when {@code warehouseId} is null.
+     * The first event is {@code ready}; clients load their snapshot after it and then apply
+     * deltas.
+     */
+    public SseEmitter subscribe(Long warehouseId) {
+        return subscribe(warehouseId, new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(Long warehouseId, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BusinessRuleException("Too many live update subscribers");
+        }
+        long cursor = cursors.computeIfAbsent(shardKey(), shard -> feedService.currentPosition());
+
+        Subscriber subscriber = new Subscriber(warehouseId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.offer(new LiveEvent(READY_EVENT, Map.of("cursor", cursor)));
+        return emitter;
+    }
+
+    @PerShard
+    @Scheduled(fixedDelayString = "${app.live.poll-interval-ms:250}")
+    public void pumpInventoryChanges() {
+        if (subscribers.isEmpty()) {
+            cursors.clear();
+            return;
+        }
+        String shard = shardKey();
+        Long cursor = cursors.get(shard);
+        long since = cursor != null ? cursor : feedService.currentPosition();
+        for (int i = 0; i < MAX_FEED_PAGES_PER_TICK; i++) {
+            InventoryChangeFeedResponse page = feedService.read(since, FEED_PAGE_SIZE);
+            for (InventoryChangeResponse change : page.getChanges()) {
+                publish(change.getWarehouseId(), new LiveEvent(INVENTORY_EVENT, change));
+            }
+            since = page.getNextCursor();
+            if (!page.isHasMore()) {
+                break;
+            }
+        }
+        cursors.put(shard, since);
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        publish(event.warehouseId(), new LiveEvent(ORDER_EVENT, event));
+    }
+
+    // Proxy'ler boşta bağlantıyı kesmesin, kopan istemciler de erkenden fark edilsin
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(LiveEvent.HEARTBEAT));
+    }
+
+    private static String shardKey() {
+        String shard = ShardContext.current();
+        return shard != null ? shard : ShardRouter.CATALOG;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void publish(Long warehouseId, LiveEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.warehouseId == null || subscriber.warehouseId.equals(warehouseId)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private record LiveEvent(String name, Object data) {
+        static final LiveEvent HEARTBEAT = new LiveEvent(null, null);
+    }
+
+    private final class Subscriber {
+        private final Long warehouseId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<LiveEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean resyncPending;
+
+        private Subscriber(Long warehouseId, SseEmitter emitter, BlockingQueue<LiveEvent> buffer) {
+            this.warehouseId = warehouseId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        void offer(LiveEvent event) {
+            if (!buffer.offer(event)) {
+                // Geride kaldı: tampon boşaltılır, istemci tam yeniden yükleme yapar
+                buffer.clear();
+                resyncPending = true;
+                resyncs.increment();
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    if (resyncPending) {
+                        resyncPending = false;
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON));
+                    }
+                    LiveEvent event;
+                    while ((event = buffer.poll()) != null && !resyncPending) {
+                        send(event);
+                    }
+                } catch (IOException | IllegalStateException ex) {
+                    logger.debug("Dropping live update subscriber: {}", ex.getMessage());
+                    subscribers.remove(this);
+                    emitter.completeWithError(ex);
+                    return;
+                } finally {
+                    draining.set(false);
+                }
+            } while ((!buffer.isEmpty() || resyncPending) && draining.compareAndSet(false, true));
+        }
+
+        private void send(LiveEvent event) throws IOException {
+            if (event == LiveEvent.HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            emitter.send(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+            delivered.increment();
+        }
+    }
+}
@@ -1,37 +1,70 @@
 package com.wms.service;
 
+import com.wms.concurrency.InventoryKey;
+import com.wms.concurrency.InventoryLocked;
+import com.wms.concurrency.RetryOnConflict;
 import com.wms.dto.request.OrderItemRequest;
 import com.wms.dto.request.OrderRequest;
 import com.wms.dto.response.OrderResponse;
+import com.wms.dto.response.OrderSummaryResponse;
 import com.wms.entity.*;
+import com.wms.enums.InventoryChangeType;
 import com.wms.enums.OrderStatus;
 import com.wms.enums.StockMovementType;
+import com.wms.event.OrderStatusChangedEvent;
 import com.wms.exception.BusinessRuleException;
 import com.wms.exception.InsufficientStockException;
 import com.wms.exception.ResourceNotFoundException;
+import com.wms.picking.WaveCandidate;
 import com.wms.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int CANCEL_CHUNK_SIZE = 1000;
+    private static final Set<OrderStatus> CANCELLABLE_STATUSES = EnumSet.of(OrderStatus.PENDING, OrderStatus.RESERVED);
+
     private final OrderRepository orderRepository;
     private final WarehouseRepository warehouseRepository;
     private final ProductRepository productRepository;
     private final LocationRepository locationRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final WaveRepository waveRepository;
     private final InventoryRepository inventoryRepository;
     private final StockReservationRepository stockReservationRepository;
     private final StockMovementRepository stockMovementRepository;
+    private final DocumentNumberGenerator documentNumberGenerator;
+    private final InventoryChangeRecorder inventoryChangeRecorder;
+    private final StockValuationService stockValuationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.reservations.ttl:PT24H}")
+    private Duration reservationTtl = Duration.ofHours(24);
 
     @Transactional
     public OrderResponse createOrder(OrderRequest request) {
@@ -39,15 +72,27 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found"));
 
         Order order = Order.builder()
-                .orderNumber("ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                .orderNumber(documentNumberGenerator.next(DocumentNumberGenerator.DocumentType.ORDER, warehouse.getCode()))
                 .customerName(request.getCustomerName())
                 .shippingAddress(request.getShippingAddress())
                 .warehouse(warehouse)
                 .status(OrderStatus.PENDING)
                 .orderDate(LocalDate.now())
+                .carrier(request.getCarrier())
+                .cutoffAt(request.getCutoffAt())
                 .build();
 
         order = orderRepository.save(order);
+        orderSummaryRepository.save(OrderSummary.builder()
+                .orderId(order.getId())
+                .orderNumber(order.getOrderNumber())
+                .customerName(order.getCustomerName())
+                .warehouseId(warehouse.getId())
+                .warehouseName(warehouse.getName())
+                .status(order.getStatus())
+                .orderDate(order.getOrderDate())
+                .build());
+        eventPublisher.publishEvent(OrderStatusChangedEvent.of(order, OrderStatus.PENDING));
         return mapToResponse(order);
     }
 
@@ -74,21 +119,144 @@ public class OrderService {
                 .build();
 
         orderItemRepository.save(item);
+        orderSummaryRepository.addLine(orderId, request.getQuantity(),
+                product.getUnitPrice().multiply(BigDecimal.valueOf(request.getQuantity())));
     }
 
     @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll()
+        return orderRepository.findAllWithWarehouseBy()
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    // Liste ekranı: tek tablodan, filtreler ve sıralama indeks üzerinden
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryResponse> searchOrderSummaries(OrderStatus status, Long warehouseId,
+                                                           LocalDate fromDate, LocalDate toDate,
+                                                           Pageable pageable) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new BusinessRuleException("'from' date must not be after 'to' date");
+        }
+        return orderSummaryRepository.search(status, warehouseId, fromDate, toDate, pageable);
+    }
+
+    @RetryOnConflict
+    @InventoryLocked(InventoryLocked.KeySource.ORDER_ID)
     @Transactional
     public void reserveStock(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
+        List<StockReservation> reservations = reserveItems(order, item -> inventoryRepository
+                .findByProductIdAndLocationId(item.getProduct().getId(), item.getLocation().getId())
+                .orElseThrow(() -> new BusinessRuleException("No inventory found for product in location")));
+
+        stockReservationRepository.saveAll(reservations);
+        orderRepository.save(order);
+        orderSummaryRepository.updateStatus(List.of(orderId), OrderStatus.RESERVED);
+        inventoryChangeRecorder.record(InventoryChangeType.RESERVED, order.getOrderNumber(),
+                reservations.stream().map(StockReservation::getInventory).toList());
+    }
+
+    /**
+     * Reserves a batch of orders in one transaction, in the given order. Inventory rows are
+     * loaded once and checked against running totals, so each hot row gets a single UPDATE
+     * and all reservation rows go out in one JDBC batch. One order failing does not affect
+     * the others: the returned list holds, per position, the failure or {@code null}.
+     */
+    @RetryOnConflict
+    @Transactional
+    public List<RuntimeException> reserveStockBatch(List<Long> orderIds) {
+        Map<Long, Order> orders = orderRepository.findWithItemsByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        List<OrderItem> items = orders.values().stream()
+                .flatMap(order -> order.getItems().stream())
+                .toList();
+        Map<InventoryKey, Inventory> inventories = inventoryRepository.findByProductIdInAndLocationIdIn(
+                        items.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet()),
+                        items.stream().map(item -> item.getLocation().getId()).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(
+                        inv -> new InventoryKey(inv.getProduct().getId(), inv.getLocation().getId()),
+                        Function.identity()));
+
+        List<RuntimeException> outcomes = new ArrayList<>(orderIds.size());
+        List<StockReservation> reservations = new ArrayList<>();
+        List<Long> reserved = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            try {
+                Order order = orders.get(orderId);
+                if (order == null) {
+                    throw new ResourceNotFoundException("Order not found");
+                }
+                reservations.addAll(reserveItems(order, item -> {
+                    Inventory inventory = inventories.get(
+                            new InventoryKey(item.getProduct().getId(), item.getLocation().getId()));
+                    if (inventory == null) {
+                        throw new BusinessRuleException("No inventory found for product in location");
+                    }
+                    return inventory;
+                }));
+                reserved.add(orderId);
+                outcomes.add(null);
+            } catch (ResourceNotFoundException | BusinessRuleException | InsufficientStockException ex) {
+                outcomes.add(ex);
+            }
+        }
+
+        stockReservationRepository.insertAll(reservations);
+        if (!reserved.isEmpty()) {
+            orderSummaryRepository.updateStatus(reserved, OrderStatus.RESERVED);
+        }
+        inventoryChangeRecorder.record(InventoryChangeType.RESERVED, null,
+                reservations.stream().map(StockReservation::getInventory).toList());
+        return outcomes;
+    }
+
+    /**
+     * Reserves a planned wave through {@link #reserveStockBatch} and, if any order made it,
+     * records the wave and links the reserved orders to it, all in one transaction. Orders
+     * that failed stay pending for a later wave; the list holds their failures by position.
+     */
+    @RetryOnConflict
+    @Transactional
+    public List<RuntimeException> releaseWave(String waveNumber, Long warehouseId, List<WaveCandidate> orders) {
+        List<RuntimeException> outcomes = reserveStockBatch(orders.stream().map(WaveCandidate::orderId).toList());
+
+        List<WaveCandidate> reserved = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            if (outcomes.get(i) == null) {
+                reserved.add(orders.get(i));
+            }
+        }
+        if (reserved.isEmpty()) {
+            return outcomes;
+        }
+
+        Wave wave = waveRepository.save(Wave.builder()
+                .waveNumber(waveNumber)
+                .warehouse(warehouseRepository.getReferenceById(warehouseId))
+                .carrier(reserved.get(0).carrier())
+                .cutoffAt(reserved.stream()
+                        .map(WaveCandidate::cutoffAt)
+                        .filter(Objects::nonNull)
+                        .min(LocalDateTime::compareTo)
+                        .orElse(null))
+                .orderCount(reserved.size())
+                .lineCount(reserved.stream().mapToInt(WaveCandidate::lineCount).sum())
+                .totalUnits(reserved.stream().mapToLong(WaveCandidate::units).sum())
+                .zoneCount((int) reserved.stream().flatMap(candidate -> candidate.zones().stream()).distinct().count())
+                .releasedAt(LocalDateTime.now())
+                .build());
+        orderRepository.assignWave(reserved.stream().map(WaveCandidate::orderId).toList(), wave);
+        return outcomes;
+    }
+
+    // Siparişin tüm kalemleri ya birlikte rezerve edilir ya hiçbiri (aynı satır iki kez geçebilir)
+    private List<StockReservation> reserveItems(Order order, Function<OrderItem, Inventory> inventoryResolver) {
         if (order.getStatus() != OrderStatus.PENDING) {
             throw new BusinessRuleException("Only pending orders can reserve stock");
         }
@@ -97,39 +265,147 @@ public class OrderService {
             throw new BusinessRuleException("Cannot reserve stock for order without items");
         }
 
-        // Check and reserve stock for each item
+        Map<OrderItem, Inventory> resolved = new LinkedHashMap<>();
+        Map<Inventory, Integer> required = new LinkedHashMap<>();
         for (OrderItem item : order.getItems()) {
-            Inventory inventory = inventoryRepository
-                    .findByProductIdAndLocationId(item.getProduct().getId(), item.getLocation().getId())
-                    .orElseThrow(() -> new BusinessRuleException("No inventory found for product in location"));
+            Inventory inventory = inventoryResolver.apply(item);
+            resolved.put(item, inventory);
+            required.merge(inventory, item.getQuantity(), Integer::sum);
+        }
 
-            if (inventory.getAvailableQuantity() < item.getQuantity()) {
-                throw new InsufficientStockException("Insufficient stock for product: " + item.getProduct().getName()
-                        + ". Available: " + inventory.getAvailableQuantity() + ", Required: " + item.getQuantity());
+        // Check all rows before touching any of them
+        required.forEach((inventory, quantity) -> {
+            if (inventory.getAvailableQuantity() < quantity) {
+                throw new InsufficientStockException("Insufficient stock for product: "
+                        + inventory.getProduct().getName()
+                        + ". Available: " + inventory.getAvailableQuantity() + ", Required: " + quantity);
             }
+        });
 
-            // Reserve stock
-            inventory.setReservedQuantity(inventory.getReservedQuantity() + item.getQuantity());
-            inventoryRepository.save(inventory);
+        // Reserve stock
+        required.forEach((inventory, quantity) ->
+                inventory.setReservedQuantity(inventory.getReservedQuantity() + quantity));
 
-            // Create reservation record
-            StockReservation reservation = StockReservation.builder()
-                    .order(order)
-                    .inventory(inventory)
-                    .quantity(item.getQuantity())
-                    .reservedAt(LocalDateTime.now())
-                    .released(false)
-                    .build();
-            stockReservationRepository.save(reservation);
-        }
+        LocalDateTime now = LocalDateTime.now();
+        List<StockReservation> reservations = new ArrayList<>();
+        resolved.forEach((item, inventory) -> reservations.add(StockReservation.builder()
+                .order(order)
+                .inventory(inventory)
+                .quantity(item.getQuantity())
+                .reservedAt(now)
+                .expiresAt(now.plus(reservationTtl))
+                .released(false)
+                .build()));
 
         order.setStatus(OrderStatus.RESERVED);
-        orderRepository.save(order);
+        eventPublisher.publishEvent(OrderStatusChangedEvent.of(order, OrderStatus.RESERVED));
+        return reservations;
+    }
+
+    /**
+     * Claims a batch of up to {@code batchSize} orders with expired reservations (skipping
+     * orders another node holds), gives back every open reservation of those orders with
+     * one UPDATE per inventory row and returns them to PENDING so they can be reserved
+     * again. Whole orders are claimed so that no order is left half released. Returns the
+     * number of reservations released.
+     */
+    @Transactional
+    public int releaseExpiredReservations(LocalDateTime now, int batchSize) {
+        List<Long> orderIds = orderRepository.lockIdsWithExpiredReservations(now, batchSize);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        // Siparişin tüm açık rezervasyonları birlikte bırakılır; yarım kalan sipariş olmaz
+        List<StockReservation> expired = stockReservationRepository.findByOrderIdInAndReleasedFalse(orderIds);
+        releaseReservations(expired, "RESERVATION_EXPIRED");
+
+        orderRepository.transitionStatus(orderIds, OrderStatus.RESERVED, OrderStatus.PENDING);
+        List<Order> pending = orderRepository.findAllById(orderIds).stream()
+                .filter(order -> order.getStatus() == OrderStatus.PENDING)
+                .toList();
+        if (!pending.isEmpty()) {
+            orderSummaryRepository.updateStatus(pending.stream().map(Order::getId).toList(), OrderStatus.PENDING);
+        }
+        pending.forEach(order -> eventPublisher.publishEvent(OrderStatusChangedEvent.of(order, OrderStatus.PENDING)));
+        return expired.size();
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public void cancelOrder(Long orderId) {
+        RuntimeException failure = cancelOrders(List.of(orderId)).get(0);
+        if (failure != null) {
+            throw failure;
+        }
     }
 
+    /**
+     * Cancels pending and reserved orders in chunks. Order rows are locked, their open
+     * reservations are released with one UPDATE per inventory row and the status change
+     * is a single UPDATE per chunk. As with {@link #reserveStockBatch}, the returned list
+     * holds, per position, the failure or {@code null}.
+     */
+    @RetryOnConflict
+    @Transactional
+    public List<RuntimeException> cancelOrders(List<Long> orderIds) {
+        Map<Long, RuntimeException> failures = new HashMap<>();
+        List<Long> distinctIds = orderIds.stream().distinct().toList();
+
+        for (int from = 0; from < distinctIds.size(); from += CANCEL_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + CANCEL_CHUNK_SIZE, distinctIds.size()));
+            Map<Long, Order> orders = orderRepository.findAllByIdForUpdate(chunk).stream()
+                    .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+            List<Long> cancellable = new ArrayList<>(chunk.size());
+            for (Long orderId : chunk) {
+                Order order = orders.get(orderId);
+                if (order == null) {
+                    failures.put(orderId, new ResourceNotFoundException("Order not found"));
+                } else if (!CANCELLABLE_STATUSES.contains(order.getStatus())) {
+                    failures.put(orderId, new BusinessRuleException(
+                            "Cannot cancel order in status " + order.getStatus()));
+                } else {
+                    cancellable.add(orderId);
+                }
+            }
+            if (cancellable.isEmpty()) {
+                continue;
+            }
+
+            List<StockReservation> reservations = stockReservationRepository.findUnreleasedByOrderIdsForUpdate(cancellable);
+            if (!reservations.isEmpty()) {
+                releaseReservations(reservations, "ORDER_CANCELLED");
+            }
+            orderRepository.transitionStatus(cancellable, CANCELLABLE_STATUSES, OrderStatus.CANCELLED);
+            orderSummaryRepository.updateStatus(cancellable, OrderStatus.CANCELLED);
+            cancellable.forEach(orderId -> eventPublisher.publishEvent(
+                    OrderStatusChangedEvent.of(orders.get(orderId), OrderStatus.CANCELLED)));
+        }
+
+        return orderIds.stream().map(failures::get).toList();
+    }
+
+    // Rezervasyonları envanter satırı bazında toplayıp tek seferde geri verir
+    private void releaseReservations(Collection<StockReservation> reservations, String reason) {
+        Map<Long, Integer> perInventory = reservations.stream()
+                .collect(Collectors.groupingBy(reservation -> reservation.getInventory().getId(),
+                        Collectors.summingInt(StockReservation::getQuantity)));
+        perInventory.forEach(inventoryRepository::releaseReserved);
+
+        stockReservationRepository.markReleased(reservations.stream()
+                .map(StockReservation::getId)
+                .toList());
+        inventoryChangeRecorder.recordCurrentState(InventoryChangeType.RELEASED, reason, perInventory.keySet());
+    }
+
+    @RetryOnConflict
+    @InventoryLocked(InventoryLocked.KeySource.ORDER_ID)
     @Transactional
     public void shipOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        // İptal gibi önce sipariş satırı kilitlenir; eşzamanlı iptal ve sevk sırayla çalışır
+        Order order = orderRepository.findAllByIdForUpdate(List.of(orderId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
         if (order.getStatus() != OrderStatus.RESERVED) {
@@ -137,6 +413,7 @@ public class OrderService {
         }
 
         // Process each item
+        List<Inventory> shipped = new ArrayList<>();
         for (OrderItem item : order.getItems()) {
             Inventory inventory = inventoryRepository
                     .findByProductIdAndLocationId(item.getProduct().getId(), item.getLocation().getId())
@@ -146,6 +423,7 @@ public class OrderService {
             inventory.setQuantity(inventory.getQuantity() - item.getQuantity());
             inventory.setReservedQuantity(inventory.getReservedQuantity() - item.getQuantity());
             inventoryRepository.save(inventory);
+            shipped.add(inventory);
 
             // Record stock movement
             StockMovement movement = StockMovement.builder()
@@ -158,8 +436,12 @@ public class OrderService {
                     .movementDate(LocalDateTime.now())
                     .build();
             stockMovementRepository.save(movement);
+            stockValuationService.recordIssue(item.getProduct().getId(), item.getLocation().getWarehouse().getId(),
+                    item.getQuantity(), order.getOrderNumber());
         }
 
+        inventoryChangeRecorder.record(InventoryChangeType.SHIPPED, order.getOrderNumber(), shipped);
+
         // Release reservations
         List<StockReservation> reservations = stockReservationRepository.findByOrderIdAndReleasedFalse(orderId);
         reservations.forEach(reservation -> {
@@ -168,8 +450,10 @@ public class OrderService {
         });
 
         order.setStatus(OrderStatus.SHIPPED);
+        eventPublisher.publishEvent(OrderStatusChangedEvent.of(order, OrderStatus.SHIPPED));
         order.setShippedDate(LocalDate.now());
         orderRepository.save(order);
+        orderSummaryRepository.markShipped(orderId, OrderStatus.SHIPPED, order.getShippedDate());
     }
 
     @Transactional(readOnly = true)
@@ -190,6 +474,8 @@ public class OrderService {
                 .status(order.getStatus().name())
                 .orderDate(order.getOrderDate())
                 .shippedDate(order.getShippedDate())
+                .carrier(order.getCarrier())
+                .cutoffAt(order.getCutoffAt())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.wms.service;
+
+import com.wms.dto.request.StockTransferRequest;
+import com.wms.dto.response.PickFaceReplenishmentResponse;
+import com.wms.exception.BusinessRuleException;
+import com.wms.picking.TopUp;
+import com.wms.sharding.PerShard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps pick faces stocked from reserve: catches the face levels up with the inventory
+ * change feed, plans min/max top-ups for the faces that fell below their minimum and
+ * moves the stock through {@link StockService#transferStockBatch} in batches.
+ *
+ * <p>Consuming the feed is safe on every node; planning is not coordinated, so the
+ * schedule is off by default and should be enabled on one node only.
+ */
+@Component
+public class PickFaceReplenisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickFaceReplenisher.class);
+
+    static final String REASON = "Pick face replenishment";
+
+    private final PickFaceService pickFaceService;
+    private final StockService stockService;
+    private final boolean enabled;
+    private final int feedBatchSize;
+    private final int maxFeedBatchesPerRun;
+    private final int maxFaces;
+    private final int transferBatchSize;
+    private final Counter transferred;
+    private final Counter failed;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean initialized;
+
+    public PickFaceReplenisher(PickFaceService pickFaceService,
+                               StockService stockService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.pick-faces.replenishment.enabled:false}") boolean enabled,
+                               @Value("${app.pick-faces.replenishment.feed-batch-size:1000}") int feedBatchSize,
+                               @Value("${app.pick-faces.replenishment.max-feed-batches-per-run:50}") int maxFeedBatchesPerRun,
+                               @Value("${app.pick-faces.replenishment.max-faces:2000}") int maxFaces,
+                               @Value("${app.pick-faces.replenishment.transfer-batch-size:200}") int transferBatchSize) {
+        this.pickFaceService = pickFaceService;
+        this.stockService = stockService;
+        this.enabled = enabled;
+        this.feedBatchSize = feedBatchSize;
+        this.maxFeedBatchesPerRun = maxFeedBatchesPerRun;
+        this.maxFaces = maxFaces;
+        this.transferBatchSize = transferBatchSize;
+        this.transferred = meterRegistry.counter("wms.pick-faces.replenishment.transfers");
+        this.failed = meterRegistry.counter("wms.pick-faces.replenishment.failures");
+    }
+
+    @PerShard
+    @Scheduled(fixedDelayString = "${app.pick-faces.replenishment.interval-ms:30000}")
+    public void scheduledRun() {
+        if (!enabled || running.get()) {
+            return;
+        }
+        PickFaceReplenishmentResponse result = replenish();
+        if (result.getPlannedTransfers() > 0) {
+            logger.info("Replenished {} pick faces with {} transfers ({} units, {} failed)", result.getPendingFaces(),
+                    result.getCompletedTransfers(), result.getTransferredUnits(), result.getFailures().size());
+        }
+    }
+
+    /**
+     * One replenishment round. A failed transfer is reported by pick face id; the face
+     * stays flagged and is retried on the next round.
+     */
+    public PickFaceReplenishmentResponse replenish() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessRuleException("A pick face replenishment is already in progress");
+        }
+        try {
+            if (!initialized) {
+                pickFaceService.ensureState();
+                initialized = true;
+            }
+            int consumed = 0;
+            for (int i = 0; i < maxFeedBatchesPerRun; i++) {
+                int count = pickFaceService.consume(feedBatchSize);
+                consumed += count;
+                if (count < feedBatchSize) {
+                    break;
+                }
+            }
+
+            PickFaceService.PlannedTopUps planned = pickFaceService.planTopUps(maxFaces);
+            List<TopUp> topUps = planned.topUps();
+            int completed = 0;
+            long units = 0;
+            Map<Long, String> failures = new LinkedHashMap<>();
+            for (int from = 0; from < topUps.size(); from += transferBatchSize) {
+                List<TopUp> batch = topUps.subList(from, Math.min(from + transferBatchSize, topUps.size()));
+                List<RuntimeException> outcomes = stockService.transferStockBatch(batch.stream()
+                        .map(topUp -> StockTransferRequest.builder()
+                                .productId(topUp.productId())
+                                .fromLocationId(topUp.fromLocationId())
+                                .toLocationId(topUp.toLocationId())
+                                .quantity(topUp.quantity())
+                                .reason(REASON)
+                                .build())
+                        .toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    if (outcomes.get(i) == null) {
+                        completed++;
+                        units += batch.get(i).quantity();
+                    } else {
+                        failures.put(batch.get(i).faceId(), outcomes.get(i).getMessage());
+                    }
+                }
+            }
+            transferred.increment(completed);
+            failed.increment(topUps.size() - completed);
+
+            return PickFaceReplenishmentResponse.builder()
+                    .consumedChanges(consumed)
+                    .pendingFaces(planned.pendingFaces())
+                    .plannedTransfers(topUps.size())
+                    .completedTransfers(completed)
+                    .transferredUnits(units)
+                    .failures(failures)
+                    .build();
+        } finally {
+            running.set(false);
+        }
+    }
+}
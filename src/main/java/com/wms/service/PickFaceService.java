@@ -0,0 +1,204 @@
+package com.wms.service;
+
+import com.wms.concurrency.InventoryKey;
+import com.wms.dto.request.PickFaceRequest;
+import com.wms.dto.response.PickFaceResponse;
+import com.wms.entity.ChangeFeedState;
+import com.wms.entity.Inventory;
+import com.wms.entity.InventoryChangeEvent;
+import com.wms.entity.Location;
+import com.wms.entity.PickFace;
+import com.wms.exception.BusinessRuleException;
+import com.wms.exception.ResourceNotFoundException;
+import com.wms.picking.PickFaceLevel;
+import com.wms.picking.ReserveStock;
+import com.wms.picking.TopUp;
+import com.wms.picking.TopUpPlanner;
+import com.wms.repository.ChangeFeedStateRepository;
+import com.wms.repository.InventoryChangeEventRepository;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.PickFaceRepository;
+import com.wms.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pick faces and their levels. Levels follow the inventory change feed behind a
+ * watermark in the {@code change_feed_state} row of {@value #FEED}, so only rows that
+ * changed are looked at; the feed is ordered per inventory row, so the last event seen is
+ * the row's latest committed state. Top-ups are planned for the flagged faces only, from
+ * a fresh read of just their inventory rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class PickFaceService {
+
+    static final String FEED = "pick-faces";
+
+    private final PickFaceRepository pickFaceRepository;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryChangeEventRepository inventoryChangeEventRepository;
+    private final ChangeFeedStateRepository changeFeedStateRepository;
+    private final LocationRepository locationRepository;
+    private final ProductRepository productRepository;
+    private final TopUpPlanner topUpPlanner;
+
+    /**
+     * Creates or updates the pick face of a product in a location and takes over the
+     * current level of its inventory row.
+     */
+    @Transactional
+    public PickFaceResponse saveFace(Long locationId, PickFaceRequest request) {
+        if (request.getMinQuantity() > request.getMaxQuantity()) {
+            throw new BusinessRuleException("Minimum quantity cannot exceed maximum quantity");
+        }
+        Location location = locationRepository.findById(locationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Location not found"));
+        if (!productRepository.existsById(request.getProductId())) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+
+        PickFace face = pickFaceRepository.findByLocationIdAndProductId(locationId, request.getProductId())
+                .orElseGet(() -> PickFace.builder()
+                        .productId(request.getProductId())
+                        .locationId(locationId)
+                        .warehouseId(location.getWarehouse().getId())
+                        .build());
+        face.setMinQuantity(request.getMinQuantity());
+        face.setMaxQuantity(request.getMaxQuantity());
+        Inventory inventory = inventoryRepository.findByProductIdAndLocationId(request.getProductId(), locationId)
+                .orElse(null);
+        face.observe(inventory != null ? inventory.getQuantity() : 0,
+                inventory != null ? inventory.getReservedQuantity() : 0, LocalDateTime.now());
+        return toResponse(pickFaceRepository.save(face));
+    }
+
+    @Transactional
+    public void deleteFace(Long id) {
+        PickFace face = pickFaceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pick face not found"));
+        pickFaceRepository.delete(face);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PickFaceResponse> search(Long warehouseId, boolean pendingOnly, Pageable pageable) {
+        return pickFaceRepository.search(warehouseId, pendingOnly, pageable).map(this::toResponse);
+    }
+
+    /**
+     * Applies the next batch of inventory changes to the pick faces they touch and
+     * advances the watermark in the same transaction. Returns the number of changes read.
+     */
+    @Transactional
+    public int consume(int batchSize) {
+        if (changeFeedStateRepository.lock(FEED) == 0) {
+            throw new IllegalStateException("Change feed state row missing for feed " + FEED);
+        }
+        ChangeFeedState state = changeFeedStateRepository.findByFeed(FEED).orElseThrow();
+        List<InventoryChangeEvent> events = inventoryChangeEventRepository
+                .findPublishedAfter(state.getLastPosition(), PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> locationIds = events.stream().map(InventoryChangeEvent::getLocationId).collect(Collectors.toSet());
+        Map<InventoryKey, PickFace> faces = pickFaceRepository.findByLocationIdIn(locationIds).stream()
+                .collect(Collectors.toMap(face -> new InventoryKey(face.getProductId(), face.getLocationId()),
+                        Function.identity()));
+        if (!faces.isEmpty()) {
+            for (InventoryChangeEvent event : events) {
+                PickFace face = faces.get(new InventoryKey(event.getProductId(), event.getLocationId()));
+                if (face != null) {
+                    face.observe(event.getQuantity(), event.getReservedQuantity(), event.getCreatedAt());
+                }
+            }
+        }
+        state.setLastPosition(events.get(events.size() - 1).getPosition());
+        return events.size();
+    }
+
+    /**
+     * Plans top-ups for up to {@code maxFaces} flagged faces. Faces not yet tried come
+     * first, most urgent first; the rest follow by when they were last tried, so faces
+     * that cannot be filled (no reserve stock, failing transfers) rotate to the back
+     * instead of taking the same slots every round. Levels are re-read from inventory,
+     * so a face the feed has not caught up on yet is not filled twice.
+     */
+    @Transactional
+    public PlannedTopUps planTopUps(int maxFaces) {
+        List<PickFace> pending = pickFaceRepository.findPending(PageRequest.of(0, maxFaces));
+        if (pending.isEmpty()) {
+            return new PlannedTopUps(0, List.of());
+        }
+        pickFaceRepository.markAttempted(pending.stream().map(PickFace::getId).toList(), LocalDateTime.now());
+        Set<Long> productIds = pending.stream().map(PickFace::getProductId).collect(Collectors.toSet());
+        Set<Long> locationIds = pending.stream().map(PickFace::getLocationId).collect(Collectors.toSet());
+        Map<InventoryKey, Inventory> current = inventoryRepository.findByProductIdInAndLocationIdIn(productIds, locationIds)
+                .stream()
+                .collect(Collectors.toMap(
+                        inv -> new InventoryKey(inv.getProduct().getId(), inv.getLocation().getId()),
+                        Function.identity()));
+
+        List<PickFaceLevel> levels = pending.stream()
+                .map(face -> {
+                    Inventory inventory = current.get(new InventoryKey(face.getProductId(), face.getLocationId()));
+                    return new PickFaceLevel(face.getId(), face.getProductId(), face.getLocationId(),
+                            face.getWarehouseId(),
+                            inventory != null ? inventory.getQuantity() : 0,
+                            inventory != null ? inventory.getReservedQuantity() : 0,
+                            face.getMinQuantity(), face.getMaxQuantity());
+                })
+                .toList();
+        List<ReserveStock> reserves = inventoryRepository.findReserveStock(productIds);
+        return new PlannedTopUps(pending.size(), topUpPlanner.plan(levels, reserves));
+    }
+
+    /**
+     * Creates the feed's state row if the migration has not (Flyway-less test databases).
+     * Deliberately not transactional; see {@link InventoryChangeFeedService#ensureState}.
+     */
+    public void ensureState() {
+        if (changeFeedStateRepository.findByFeed(FEED).isPresent()) {
+            return;
+        }
+        try {
+            changeFeedStateRepository.saveAndFlush(ChangeFeedState.builder()
+                    .feed(FEED)
+                    .lastPosition(0L)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            // Başka bir node aynı anda oluşturdu
+        }
+    }
+
+    private PickFaceResponse toResponse(PickFace face) {
+        return PickFaceResponse.builder()
+                .id(face.getId())
+                .productId(face.getProductId())
+                .locationId(face.getLocationId())
+                .warehouseId(face.getWarehouseId())
+                .minQuantity(face.getMinQuantity())
+                .maxQuantity(face.getMaxQuantity())
+                .quantity(face.getQuantity())
+                .reservedQuantity(face.getReservedQuantity())
+                .needsReplenishment(face.getNeedsReplenishment())
+                .flaggedAt(face.getFlaggedAt())
+                .build();
+    }
+
+    public record PlannedTopUps(int pendingFaces, List<TopUp> topUps) {
+    }
+}
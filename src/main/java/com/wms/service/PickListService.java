@@ -0,0 +1,113 @@
+package com.wms.service;
+
+import com.wms.dto.response.PickLineResponse;
+import com.wms.dto.response.PickListResponse;
+import com.wms.dto.response.PickStopResponse;
+import com.wms.entity.Order;
+import com.wms.enums.OrderStatus;
+import com.wms.exception.BusinessRuleException;
+import com.wms.exception.ResourceNotFoundException;
+import com.wms.picking.PickLine;
+import com.wms.picking.PickPathPlanner;
+import com.wms.picking.PickRoute;
+import com.wms.picking.PickStop;
+import com.wms.picking.RoutingStrategy;
+import com.wms.repository.OrderItemRepository;
+import com.wms.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PickListService {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final PickPathPlanner pickPathPlanner;
+
+    @Value("${app.picking.max-orders:1000}")
+    private int maxOrders = 1000;
+
+    /**
+     * Builds one consolidated walk for a batch of reserved orders of the same warehouse.
+     * Lines sharing a location become a single stop.
+     */
+    @Transactional(readOnly = true)
+    public PickListResponse generatePickList(List<Long> orderIds, RoutingStrategy strategy) {
+        List<Long> distinctIds = orderIds.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            throw new BusinessRuleException("At least one order is required for a pick list");
+        }
+        if (distinctIds.size() > maxOrders) {
+            throw new BusinessRuleException("A pick list can cover at most " + maxOrders + " orders");
+        }
+
+        List<Order> orders = orderRepository.findAllById(distinctIds);
+        if (orders.size() != distinctIds.size()) {
+            Set<Long> found = orders.stream().map(Order::getId).collect(Collectors.toSet());
+            throw new ResourceNotFoundException("Orders not found: " + distinctIds.stream()
+                    .filter(id -> !found.contains(id))
+                    .toList());
+        }
+        List<Long> notReserved = orders.stream()
+                .filter(order -> order.getStatus() != OrderStatus.RESERVED)
+                .map(Order::getId)
+                .toList();
+        if (!notReserved.isEmpty()) {
+            throw new BusinessRuleException("Only reserved orders can be picked: " + notReserved);
+        }
+        Set<Long> warehouses = orders.stream()
+                .map(order -> order.getWarehouse().getId())
+                .collect(Collectors.toSet());
+        if (warehouses.size() > 1) {
+            throw new BusinessRuleException("Orders in one pick list must belong to the same warehouse");
+        }
+
+        List<PickLine> lines = orderItemRepository.findPickLinesByOrderIdIn(distinctIds);
+        PickRoute route = pickPathPlanner.plan(lines, strategy);
+
+        List<PickStopResponse> stops = new ArrayList<>(route.stops().size());
+        for (PickStop stop : route.stops()) {
+            stops.add(PickStopResponse.builder()
+                    .sequence(stops.size() + 1)
+                    .locationId(stop.locationId())
+                    .locationCode(stop.locationCode())
+                    .aisle(stop.aisle())
+                    .rack(stop.rack())
+                    .bin(stop.bin())
+                    .totalQuantity(stop.lines().stream().mapToInt(PickLine::quantity).sum())
+                    .picks(stop.lines().stream().map(this::mapLine).toList())
+                    .build());
+        }
+
+        return PickListResponse.builder()
+                .strategy(route.strategy())
+                .warehouseId(warehouses.iterator().next())
+                .orderCount(orders.size())
+                .lineCount(lines.size())
+                .stopCount(stops.size())
+                .totalUnits(lines.stream().mapToLong(PickLine::quantity).sum())
+                .estimatedDistance(route.distance())
+                .baselineDistance(route.baselineDistance())
+                .stops(stops)
+                .build();
+    }
+
+    private PickLineResponse mapLine(PickLine line) {
+        return PickLineResponse.builder()
+                .orderId(line.orderId())
+                .orderNumber(line.orderNumber())
+                .productId(line.productId())
+                .sku(line.sku())
+                .productName(line.productName())
+                .quantity(line.quantity())
+                .build();
+    }
+}
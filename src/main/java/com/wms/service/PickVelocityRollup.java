@@ -0,0 +1,50 @@
+package com.wms.service;
+
+import com.wms.sharding.PerShard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically folds newly published shipments into the daily pick velocity rows, so a
+ * slotting analysis only has to roll up what arrived since the last run.
+ */
+@Component
+@ConditionalOnProperty(name = "app.slotting.rollup.enabled", havingValue = "true", matchIfMissing = true)
+public class PickVelocityRollup {
+
+    private final PickVelocityService pickVelocityService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter consumed;
+    private volatile boolean initialized;
+
+    public PickVelocityRollup(PickVelocityService pickVelocityService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.slotting.rollup.batch-size:5000}") int batchSize,
+                              @Value("${app.slotting.rollup.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.pickVelocityService = pickVelocityService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.consumed = meterRegistry.counter("wms.slotting.rollup.shipments");
+    }
+
+    @PerShard
+    @Scheduled(fixedDelayString = "${app.slotting.rollup.interval-ms:60000}")
+    public void rollUp() {
+        if (!initialized) {
+            pickVelocityService.ensureState();
+            initialized = true;
+        }
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int count = pickVelocityService.rollUp(batchSize);
+            consumed.increment(count);
+            if (count < batchSize) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.wms.service;
+
+import com.wms.entity.ChangeFeedState;
+import com.wms.entity.PickVelocityDaily;
+import com.wms.enums.InventoryChangeType;
+import com.wms.repository.ChangeFeedStateRepository;
+import com.wms.repository.InventoryChangeEventRepository;
+import com.wms.repository.PickVelocityDailyRepository;
+import com.wms.slotting.SkuVelocity;
+import com.wms.slotting.VelocityDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link PickVelocityDaily} in step with shipments.
+ *
+ * <p>Shipments are consumed from the inventory change feed (see
+ * {@link InventoryChangeFeedService}) behind a cursor kept in the {@code change_feed_state}
+ * row of {@value #FEED}. Feed positions are assigned after commit, so unlike movement ids
+ * no shipment can turn up behind the cursor; each {@code SHIPPED} event is joined to the
+ * order's {@code OUT} movements for its location to get the picks and units.
+ */
+@Service
+@RequiredArgsConstructor
+public class PickVelocityService {
+
+    static final String FEED = "pick-velocity";
+
+    private final InventoryChangeEventRepository inventoryChangeEventRepository;
+    private final PickVelocityDailyRepository pickVelocityDailyRepository;
+    private final ChangeFeedStateRepository changeFeedStateRepository;
+    private final InventoryChangeFeedService inventoryChangeFeedService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.slotting.rollup.batch-size:5000}")
+    private int batchSize = 5000;
+
+    /**
+     * Folds the next batch of published shipments into the daily rows and advances the
+     * cursor in the same transaction. Concurrent callers queue up on the state row.
+     * Returns the number of shipment events consumed.
+     */
+    @Transactional
+    public int rollUp(int batchSize) {
+        if (changeFeedStateRepository.lock(FEED) == 0) {
+            throw new IllegalStateException("Change feed state row missing for feed " + FEED);
+        }
+        ChangeFeedState state = changeFeedStateRepository.findByFeed(FEED).orElseThrow();
+        long after = state.getLastPosition();
+        long head = inventoryChangeFeedService.currentPosition();
+        if (head <= after) {
+            return 0;
+        }
+
+        List<Long> positions = inventoryChangeEventRepository.findPositionsAfter(
+                InventoryChangeType.SHIPPED, after, head, PageRequest.of(0, batchSize));
+        // Parti dolmadıysa aradaki sevkiyat dışı olaylar da geçilir; imleç yayın başına kadar ilerler
+        long upTo = positions.size() < batchSize ? head : positions.get(positions.size() - 1);
+
+        if (!positions.isEmpty()) {
+            List<VelocityDelta> deltas = inventoryChangeEventRepository.sumShippedByDay(after, upTo);
+            if (!deltas.isEmpty()) {
+                merge(deltas);
+            }
+        }
+        state.setLastPosition(upTo);
+        return positions.size();
+    }
+
+    /**
+     * Publishes pending outbox rows and rolls up everything published, so an analysis
+     * sees shipments up to now. Each batch is its own transaction.
+     */
+    public void catchUp() {
+        ensureState();
+        inventoryChangeFeedService.ensureState();
+        while (inventoryChangeFeedService.publishPending(batchSize) == batchSize) {
+            // sonraki parti
+        }
+        while (transactionTemplate.execute(status -> rollUp(batchSize)) == batchSize) {
+            // sonraki parti
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<SkuVelocity> velocities(Long warehouseId, LocalDate since) {
+        return pickVelocityDailyRepository.sumByWarehouseSince(warehouseId, since);
+    }
+
+    /**
+     * Deliberately not transactional, like {@link InventoryChangeFeedService#ensureState}.
+     */
+    public void ensureState() {
+        if (changeFeedStateRepository.findByFeed(FEED).isPresent()) {
+            return;
+        }
+        try {
+            changeFeedStateRepository.saveAndFlush(ChangeFeedState.builder()
+                    .feed(FEED)
+                    .lastPosition(0L)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            // Başka bir node aynı anda oluşturdu
+        }
+    }
+
+    // Mevcut günlük satırlar tek sorguda okunur; değişenler dirty checking ile, yeniler saveAll ile yazılır
+    private void merge(List<VelocityDelta> deltas) {
+        Set<Long> locationIds = deltas.stream().map(VelocityDelta::locationId).collect(Collectors.toSet());
+        Set<LocalDate> days = deltas.stream().map(VelocityDelta::pickDate).collect(Collectors.toSet());
+        Map<DayKey, PickVelocityDaily> existing = new HashMap<>();
+        for (PickVelocityDaily row : pickVelocityDailyRepository.findByLocationIdInAndPickDateIn(locationIds, days)) {
+            existing.put(new DayKey(row.getProductId(), row.getLocationId(), row.getPickDate()), row);
+        }
+
+        List<PickVelocityDaily> created = new ArrayList<>();
+        for (VelocityDelta delta : deltas) {
+            PickVelocityDaily row = existing.get(new DayKey(delta.productId(), delta.locationId(), delta.pickDate()));
+            if (row == null) {
+                created.add(PickVelocityDaily.builder()
+                        .productId(delta.productId())
+                        .locationId(delta.locationId())
+                        .warehouseId(delta.warehouseId())
+                        .pickDate(delta.pickDate())
+                        .pickCount(delta.picks().intValue())
+                        .units(delta.units())
+                        .build());
+            } else {
+                row.setPickCount(row.getPickCount() + delta.picks().intValue());
+                row.setUnits(row.getUnits() + delta.units());
+            }
+        }
+        pickVelocityDailyRepository.saveAll(created);
+    }
+
+    private record DayKey(Long productId, Long locationId, LocalDate pickDate) {
+    }
+}
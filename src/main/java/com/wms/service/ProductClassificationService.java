@@ -0,0 +1,80 @@
+package com.wms.service;
+
+import com.wms.classification.ClassificationPolicy;
+import com.wms.classification.DailyDemand;
+import com.wms.classification.DemandAccumulator;
+import com.wms.classification.ProductClass;
+import com.wms.dto.response.ProductClassificationResponse;
+import com.wms.entity.ProductClassification;
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.PickVelocityDailyRepository;
+import com.wms.repository.ProductClassificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes the classification of one warehouse; {@link ClassificationJob} runs
+ * these per warehouse in parallel.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductClassificationService {
+
+    private final PickVelocityDailyRepository pickVelocityDailyRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ProductClassificationRepository productClassificationRepository;
+
+    /**
+     * One pass over the warehouse's daily demand in the window, folded into a weekly
+     * accumulator per product.
+     */
+    @Transactional(readOnly = true)
+    public WarehouseDemand readDemand(Long warehouseId, ClassificationPolicy policy) {
+        Map<Long, DemandAccumulator> demand;
+        try (Stream<DailyDemand> rows = pickVelocityDailyRepository.streamDemand(warehouseId, policy.windowStart())) {
+            demand = rows.collect(Collectors.groupingBy(DailyDemand::productId, DemandAccumulator.collector(policy)));
+        }
+        return new WarehouseDemand(demand, inventoryRepository.findProductIdsByWarehouseId(warehouseId));
+    }
+
+    // Depo sınıflandırması tek transaction'da değişir; okuyan taraf ya eskiyi ya yeniyi görür
+    @Transactional
+    public void replace(Long warehouseId, List<ProductClass> classes, LocalDateTime computedAt) {
+        productClassificationRepository.deleteByWarehouse(warehouseId);
+        productClassificationRepository.insertAll(warehouseId, classes, computedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductClassificationResponse> search(Long warehouseId, AbcClass abcClass, XyzClass xyzClass,
+                                                      Pageable pageable) {
+        return productClassificationRepository.search(warehouseId, abcClass, xyzClass, pageable)
+                .map(this::toResponse);
+    }
+
+    private ProductClassificationResponse toResponse(ProductClassification classification) {
+        return ProductClassificationResponse.builder()
+                .productId(classification.getProductId())
+                .warehouseId(classification.getWarehouseId())
+                .abcClass(classification.getAbcClass())
+                .xyzClass(classification.getXyzClass())
+                .units(classification.getUnits())
+                .consumptionValue(classification.getConsumptionValue())
+                .demandCv(classification.getDemandCv())
+                .computedAt(classification.getComputedAt())
+                .build();
+    }
+
+    public record WarehouseDemand(Map<Long, DemandAccumulator> demand, List<Long> stockedProductIds) {
+    }
+}
@@ -0,0 +1,207 @@
+package com.wms.service;
+
+import com.wms.catalog.CsvReader;
+import com.wms.catalog.ImportError;
+import com.wms.catalog.ProductCsvMapper;
+import com.wms.catalog.ProductImportRow;
+import com.wms.dto.response.ProductImportErrorResponse;
+import com.wms.dto.response.ProductImportResponse;
+import com.wms.exception.BusinessRuleException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming product catalog import. The file is read record by record and handled in
+ * chunks: each chunk is validated on a few threads and then written by
+ * {@link ProductService#upsertImportRows} in its own transaction, while the next chunk
+ * is already being read. Memory therefore depends on the chunk size, not the file.
+ *
+ * <p>Chunks written before a failure (an unreadable file, a database error) stay written;
+ * importing the same file again is safe because rows are upserted by SKU.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    private final ProductService productService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.product-import.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    @Value("${app.product-import.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${app.product-import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    public ProductImportResponse importCsv(InputStream input) {
+        long started = System.nanoTime();
+        Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        CsvReader csv = new CsvReader(reader, ',');
+        ProductCsvMapper mapper = mapperFor(csv);
+
+        Progress progress = new Progress();
+        try (ExecutorService validators = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                Thread.ofPlatform().name("product-import-", 0).factory());
+             ExecutorService writer = Executors.newSingleThreadExecutor(
+                     Thread.ofPlatform().name("product-import-writer").factory())) {
+            CompletableFuture<Void> writing = CompletableFuture.completedFuture(null);
+            List<Record> chunk;
+            while (!(chunk = readChunk(csv)).isEmpty()) {
+                Validated validated = validate(mapper, chunk, validators);
+                // Yazma sırası dosya sırasıdır; bir parça yazılırken sonraki okunup doğrulanır
+                await(writing);
+                progress.rows += chunk.size();
+                writing = CompletableFuture.runAsync(() -> write(validated, progress), writer);
+            }
+            await(writing);
+        }
+
+        long elapsed = System.nanoTime() - started;
+        meterRegistry.timer("wms.product-import.run").record(elapsed, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("wms.product-import.rows", "outcome", "inserted").increment(progress.inserted);
+        meterRegistry.counter("wms.product-import.rows", "outcome", "updated").increment(progress.updated);
+        meterRegistry.counter("wms.product-import.rows", "outcome", "failed").increment(progress.failed);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        logger.info("Imported {} product rows in {} ms: {} inserted, {} updated, {} failed", progress.rows,
+                elapsedMillis, progress.inserted, progress.updated, progress.failed);
+        return ProductImportResponse.builder()
+                .rows(progress.rows)
+                .inserted(progress.inserted)
+                .updated(progress.updated)
+                .failed(progress.failed)
+                .errors(progress.errors)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(elapsed > 0 ? progress.rows * TimeUnit.SECONDS.toNanos(1) / elapsed : 0)
+                .build();
+    }
+
+    private ProductCsvMapper mapperFor(CsvReader csv) {
+        List<String> header = read(csv);
+        if (header == null) {
+            throw new BusinessRuleException("Import file is empty");
+        }
+        try {
+            return ProductCsvMapper.forHeader(header);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessRuleException("Invalid import header: " + ex.getMessage());
+        }
+    }
+
+    private List<Record> readChunk(CsvReader csv) {
+        List<Record> chunk = new ArrayList<>(chunkSize);
+        List<String> fields;
+        while (chunk.size() < chunkSize && (fields = read(csv)) != null) {
+            chunk.add(new Record(csv.recordLine(), fields));
+        }
+        return chunk;
+    }
+
+    private List<String> read(CsvReader csv) {
+        try {
+            return csv.next();
+        } catch (IOException ex) {
+            throw new BusinessRuleException("Could not read import file: " + ex.getMessage());
+        }
+    }
+
+    // Parça iş parçacığı sayısı kadar dilime bölünür; her dilim kendi listelerine yazar
+    private Validated validate(ProductCsvMapper mapper, List<Record> chunk, ExecutorService validators) {
+        int slices = Math.max(1, Math.min(parallelism, chunk.size() / 500));
+        int sliceSize = (chunk.size() + slices - 1) / slices;
+        List<CompletableFuture<Validated>> tasks = new ArrayList<>(slices);
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<Record> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                Validated validated = new Validated(new ArrayList<>(slice.size()), new ArrayList<>());
+                for (Record record : slice) {
+                    ProductImportRow row = mapper.map(record.line(), record.fields(), validated.errors());
+                    if (row != null) {
+                        validated.rows().add(row);
+                    }
+                }
+                return validated;
+            }, validators));
+        }
+        Validated result = new Validated(new ArrayList<>(chunk.size()), new ArrayList<>());
+        for (CompletableFuture<Validated> task : tasks) {
+            Validated slice = await(task);
+            result.rows().addAll(slice.rows());
+            result.errors().addAll(slice.errors());
+        }
+        return result;
+    }
+
+    private void write(Validated validated, Progress progress) {
+        ProductService.ImportChunkResult result = validated.rows().isEmpty()
+                ? new ProductService.ImportChunkResult(0, 0, List.of())
+                : productService.upsertImportRows(validated.rows());
+        progress.inserted += result.inserted();
+        progress.updated += result.updated();
+        report(progress, validated.errors());
+        report(progress, result.errors());
+        logger.debug("Product import progress: {} rows read, {} inserted, {} updated, {} failed", progress.rows,
+                progress.inserted, progress.updated, progress.failed);
+    }
+
+    private void report(Progress progress, List<ImportError> errors) {
+        progress.failed += errors.size();
+        for (ImportError error : errors) {
+            if (progress.errors.size() == maxReportedErrors) {
+                return;
+            }
+            progress.errors.add(ProductImportErrorResponse.builder()
+                    .line(error.line())
+                    .sku(error.sku())
+                    .message(error.message())
+                    .build());
+        }
+    }
+
+    // Görev hatası sarmalanmadan, iş kuralı hatası olarak kalsın diye
+    private static <T> T await(CompletableFuture<T> task) {
+        try {
+            return task.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record Record(long line, List<String> fields) {
+    }
+
+    private record Validated(List<ProductImportRow> rows, List<ImportError> errors) {
+    }
+
+    // Yazan iş parçacıkları join ile sıralanır; alanlar aynı anda tek iş parçacığından değişir
+    private static final class Progress {
+        private long rows;
+        private long inserted;
+        private long updated;
+        private long failed;
+        private final List<ProductImportErrorResponse> errors = new ArrayList<>();
+    }
+}
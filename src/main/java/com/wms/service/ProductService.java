@@ -1,22 +1,41 @@
 package com.wms.service;
 
+import com.wms.catalog.ImportError;
+import com.wms.catalog.ProductImportRow;
+import com.wms.catalog.ProductKey;
 import com.wms.dto.request.ProductRequest;
 import com.wms.dto.response.ProductResponse;
 import com.wms.entity.Product;
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
 import com.wms.exception.BusinessRuleException;
 import com.wms.exception.ResourceNotFoundException;
 import com.wms.repository.ProductRepository;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public ProductResponse createProduct(ProductRequest request) {
@@ -52,6 +71,16 @@ public class ProductService {
                 .map(this::mapToResponse);
     }
 
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> searchProducts(String search, Long warehouseId, AbcClass abcClass,
+                                                XyzClass xyzClass, Pageable pageable) {
+        if (abcClass == null && xyzClass == null) {
+            return searchProducts(search, pageable);
+        }
+        return productRepository.searchProductsByClassification(search, warehouseId, abcClass, xyzClass, pageable)
+                .map(this::mapToResponse);
+    }
+
     @Transactional
     public ProductResponse updateProduct(Long id, ProductRequest request) {
         Product product = productRepository.findById(id)
@@ -68,15 +97,104 @@ public class ProductService {
         return mapToResponse(product);
     }
 
-    @Transactional
+    /**
+     * Hard delete. In sharded mode the delete also reaches every shard through catalog
+     * replication, where orders, movements and cost layers may still reference the product;
+     * the subscription would stop on that foreign key and retry the same change forever,
+     * holding up all catalog changes to the shard. So the delete is first tried on each
+     * shard and rolled back, and a product still referenced anywhere is rejected. Not
+     * transactional itself: the checks run on other databases than the catalog.
+     *
+     * <p>This narrows the risk but is no guarantee: the check and the delete are separate
+     * transactions on separate databases, so a shard row written in between (an order line
+     * for the product, say) still stalls replication to that shard. Recovery is by hand, as
+     * described in {@link com.wms.config.ShardingConfig}.
+     */
     public void deleteProduct(Long id) {
         // ✅ Hard delete: DB'den tamamen sil
         if (!productRepository.existsById(id)) {
             throw new ResourceNotFoundException("Product not found with id: " + id);
         }
+        for (String shard : shardRouter.shards()) {
+            if (referencedOn(shard, id)) {
+                throw new BusinessRuleException("Product " + id + " is still referenced on shard " + shard
+                        + " and cannot be deleted");
+            }
+        }
         productRepository.deleteById(id);
     }
 
+    // Silme shard'da denenip geri alınır; shard tablolarındaki her foreign key, sonradan eklenenler de, kontrol edilir
+    private boolean referencedOn(String shard, Long id) {
+        try {
+            ShardContext.runOn(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                productRepository.deleteById(id);
+                productRepository.flush();
+            }));
+            return false;
+        } catch (DataIntegrityViolationException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Writes one chunk of an import in one transaction. A SKU repeated within the chunk
+     * keeps its last line, as it would across chunks; a barcode already used by another
+     * SKU, in the chunk or in the database, rejects the line.
+     */
+    @Transactional
+    public ImportChunkResult upsertImportRows(List<ProductImportRow> rows) {
+        Map<String, ProductImportRow> bySku = new LinkedHashMap<>();
+        for (ProductImportRow row : rows) {
+            bySku.put(row.sku(), row);
+        }
+
+        List<ImportError> errors = new ArrayList<>();
+        Map<String, String> barcodeOwners = new HashMap<>();
+        List<ProductImportRow> accepted = new ArrayList<>(bySku.size());
+        for (ProductImportRow row : bySku.values()) {
+            if (row.barcode() != null) {
+                String owner = barcodeOwners.putIfAbsent(row.barcode(), row.sku());
+                if (owner != null) {
+                    errors.add(new ImportError(row.line(), row.sku(), "Barcode " + row.barcode()
+                            + " is already used by SKU " + owner + " in this file"));
+                    continue;
+                }
+            }
+            accepted.add(row);
+        }
+
+        Set<String> existing = new HashSet<>();
+        Map<String, String> ownersInDb = new HashMap<>();
+        for (ProductKey key : productRepository.findKeys(accepted.stream().map(ProductImportRow::sku).toList(),
+                List.copyOf(barcodeOwners.keySet()))) {
+            existing.add(key.sku());
+            if (key.barcode() != null) {
+                ownersInDb.put(key.barcode(), key.sku());
+            }
+        }
+        List<ProductImportRow> writable = new ArrayList<>(accepted.size());
+        for (ProductImportRow row : accepted) {
+            String owner = row.barcode() != null ? ownersInDb.get(row.barcode()) : null;
+            if (owner != null && !owner.equals(row.sku())) {
+                errors.add(new ImportError(row.line(), row.sku(), "Barcode " + row.barcode()
+                        + " is already used by SKU " + owner));
+            } else {
+                writable.add(row);
+            }
+        }
+        int updated = (int) writable.stream().filter(row -> existing.contains(row.sku())).count();
+
+        productRepository.upsertAll(writable);
+        // Parça içinde tekrarlanan SKU'nun önceki satırları, parçalar arasındaki gibi güncelleme sayılır
+        int repeated = rows.size() - bySku.size();
+        return new ImportChunkResult(writable.size() - updated, updated + repeated, errors);
+    }
+
+    public record ImportChunkResult(int inserted, int updated, List<ImportError> errors) {
+    }
+
     private ProductResponse mapToResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
@@ -1,9 +1,12 @@
 package com.wms.service;
 
+import com.wms.concurrency.InventoryLocked;
+import com.wms.concurrency.RetryOnConflict;
 import com.wms.dto.request.PurchaseOrderItemRequest;
 import com.wms.dto.request.PurchaseOrderRequest;
 import com.wms.dto.response.PurchaseOrderResponse;
 import com.wms.entity.*;
+import com.wms.enums.InventoryChangeType;
 import com.wms.enums.PurchaseOrderStatus;
 import com.wms.enums.StockMovementType;
 import com.wms.exception.BusinessRuleException;
@@ -13,10 +16,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +37,9 @@ public class PurchaseOrderService {
     private final PurchaseOrderItemRepository purchaseOrderItemRepository;
     private final InventoryRepository inventoryRepository;
     private final StockMovementRepository stockMovementRepository;
+    private final DocumentNumberGenerator documentNumberGenerator;
+    private final InventoryChangeRecorder inventoryChangeRecorder;
+    private final StockValuationService stockValuationService;
 
     @Transactional
     public PurchaseOrderResponse createPurchaseOrder(PurchaseOrderRequest request) {
@@ -41,7 +50,8 @@ public class PurchaseOrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found"));
 
         PurchaseOrder purchaseOrder = PurchaseOrder.builder()
-                .orderNumber("PO-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                .orderNumber(documentNumberGenerator.next(
+                        DocumentNumberGenerator.DocumentType.PURCHASE_ORDER, warehouse.getCode()))
                 .supplier(supplier)
                 .warehouse(warehouse)
                 .status(PurchaseOrderStatus.DRAFT)
@@ -53,6 +63,52 @@ public class PurchaseOrderService {
         return mapToResponse(purchaseOrder);
     }
 
+    /**
+     * Creates one draft purchase order per supplier from replenishment proposals, all in a
+     * single transaction. Expected delivery is today plus the longest lead time among the
+     * supplier's lines.
+     */
+    @Transactional
+    public List<PurchaseOrderResponse> createDraftPurchaseOrders(Long warehouseId, List<DraftLine> lines) {
+        Warehouse warehouse = warehouseRepository.findById(warehouseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found"));
+
+        Map<Long, List<DraftLine>> bySupplier = lines.stream()
+                .collect(Collectors.groupingBy(DraftLine::supplierId, LinkedHashMap::new, Collectors.toList()));
+        LocalDate today = LocalDate.now();
+        List<PurchaseOrder> purchaseOrders = new ArrayList<>(bySupplier.size());
+        for (Map.Entry<Long, List<DraftLine>> supplierLines : bySupplier.entrySet()) {
+            Supplier supplier = supplierRepository.findById(supplierLines.getKey())
+                    .orElseThrow(() -> new ResourceNotFoundException("Supplier not found"));
+            int leadTime = supplierLines.getValue().stream().mapToInt(DraftLine::leadTimeDays).max().orElse(0);
+            PurchaseOrder purchaseOrder = PurchaseOrder.builder()
+                    .orderNumber(documentNumberGenerator.next(
+                            DocumentNumberGenerator.DocumentType.PURCHASE_ORDER, warehouse.getCode()))
+                    .supplier(supplier)
+                    .warehouse(warehouse)
+                    .status(PurchaseOrderStatus.DRAFT)
+                    .orderDate(today)
+                    .expectedDeliveryDate(today.plusDays(leadTime))
+                    .build();
+            // Ürün ve lokasyon yalnızca FK için gerekli; proxy yeterli
+            for (DraftLine line : supplierLines.getValue()) {
+                purchaseOrder.getItems().add(PurchaseOrderItem.builder()
+                        .purchaseOrder(purchaseOrder)
+                        .product(productRepository.getReferenceById(line.productId()))
+                        .location(locationRepository.getReferenceById(line.locationId()))
+                        .orderedQuantity(line.quantity())
+                        .receivedQuantity(0)
+                        .unitPrice(line.unitPrice())
+                        .build());
+            }
+            purchaseOrders.add(purchaseOrder);
+        }
+
+        return purchaseOrderRepository.saveAll(purchaseOrders).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     public void addItem(Long purchaseOrderId, PurchaseOrderItemRequest request) {
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(purchaseOrderId)
@@ -105,6 +161,8 @@ public class PurchaseOrderService {
         purchaseOrderRepository.save(purchaseOrder);
     }
 
+    @RetryOnConflict
+    @InventoryLocked(InventoryLocked.KeySource.PURCHASE_ORDER_ID)
     @Transactional
     public void receivePurchaseOrder(Long purchaseOrderId) {
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(purchaseOrderId)
@@ -115,6 +173,7 @@ public class PurchaseOrderService {
         }
 
         // Process each item
+        List<Inventory> received = new ArrayList<>();
         for (PurchaseOrderItem item : purchaseOrder.getItems()) {
             int quantityToReceive = item.getOrderedQuantity() - item.getReceivedQuantity();
 
@@ -131,6 +190,7 @@ public class PurchaseOrderService {
 
                 inventory.setQuantity(inventory.getQuantity() + quantityToReceive);
                 inventoryRepository.save(inventory);
+                received.add(inventory);
 
                 // Update received quantity
                 item.setReceivedQuantity(item.getOrderedQuantity());
@@ -147,9 +207,16 @@ public class PurchaseOrderService {
                         .movementDate(LocalDateTime.now())
                         .build();
                 stockMovementRepository.save(movement);
+
+                // Kabul edilen miktar sipariş satırının birim fiyatıyla maliyet katmanı olur
+                stockValuationService.recordReceipt(item.getProduct().getId(),
+                        item.getLocation().getWarehouse().getId(), quantityToReceive, item.getUnitPrice(),
+                        purchaseOrder.getOrderNumber());
             }
         }
 
+        inventoryChangeRecorder.record(InventoryChangeType.RECEIVED, purchaseOrder.getOrderNumber(), received);
+
         purchaseOrder.setStatus(PurchaseOrderStatus.RECEIVED);
         purchaseOrder.setReceivedDate(LocalDate.now());
         purchaseOrderRepository.save(purchaseOrder);
@@ -176,4 +243,8 @@ public class PurchaseOrderService {
                 .receivedDate(po.getReceivedDate())
                 .build();
     }
-}
\ No newline at end of file
+
+    public record DraftLine(Long supplierId, Long productId, Long locationId, int quantity, BigDecimal unitPrice,
+                            int leadTimeDays) {
+    }
+}
@@ -0,0 +1,235 @@
+package com.wms.service;
+
+import com.wms.dto.response.PurchaseOrderResponse;
+import com.wms.dto.response.ReplenishmentRunResponse;
+import com.wms.entity.Warehouse;
+import com.wms.exception.BusinessRuleException;
+import com.wms.forecasting.ForecastPolicy;
+import com.wms.forecasting.ReorderPlan;
+import com.wms.forecasting.ReplenishmentPlanner;
+import com.wms.repository.WarehouseRepository;
+import com.wms.sharding.PerShard;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly demand forecast and replenishment. The stocked products of every warehouse are
+ * cut into fixed-size partitions; each partition reads its own demand history, fits and
+ * plans its products and writes its plans, with all partitions of all warehouses sharing
+ * one pool. Once every partition of a warehouse has succeeded, the reorder lines that
+ * have a preferred supplier become draft purchase orders, one per supplier.
+ *
+ * <p>Scheduled runs are claimed through {@link ScheduledRunClaims}, so when every node's
+ * schedule fires only one of them forecasts and drafts orders; a second run within
+ * {@code app.forecasting.min-run-interval} is skipped. Runs started through the API are
+ * not claimed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplenishmentJob {
+
+    static final String RUN_CLAIM = "replenishment-run";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplenishmentJob.class);
+
+    private final WarehouseRepository warehouseRepository;
+    private final ShardRouter shardRouter;
+    private final PickVelocityService pickVelocityService;
+    private final ReplenishmentService replenishmentService;
+    private final PurchaseOrderService purchaseOrderService;
+    private final ReplenishmentPlanner planner;
+    private final ScheduledRunClaims scheduledRunClaims;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.forecasting.history-days:182}")
+    private int historyDays = 182;
+
+    @Value("${app.forecasting.season-length:7}")
+    private int seasonLength = 7;
+
+    @Value("${app.forecasting.alpha:0.3}")
+    private double alpha = 0.3;
+
+    @Value("${app.forecasting.beta:0.05}")
+    private double beta = 0.05;
+
+    @Value("${app.forecasting.gamma:0.2}")
+    private double gamma = 0.2;
+
+    @Value("${app.forecasting.phi:0.98}")
+    private double phi = 0.98;
+
+    @Value("${app.forecasting.safety-factor:1.65}")
+    private double safetyFactor = 1.65;
+
+    @Value("${app.forecasting.review-days:7}")
+    private int reviewDays = 7;
+
+    @Value("${app.forecasting.default-lead-time-days:7}")
+    private int defaultLeadTimeDays = 7;
+
+    @Value("${app.forecasting.partition-size:2000}")
+    private int partitionSize = 2000;
+
+    @Value("${app.forecasting.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${app.forecasting.create-drafts:true}")
+    private boolean createDrafts = true;
+
+    @Value("${app.forecasting.min-run-interval:PT12H}")
+    private Duration minRunInterval = Duration.ofHours(12);
+
+    @PerShard
+    @Scheduled(cron = "${app.forecasting.cron:0 30 1 * * *}")
+    public void scheduledRun() {
+        if (running.get()) {
+            logger.info("Skipping scheduled replenishment: a run is already in progress");
+            return;
+        }
+        scheduledRunClaims.ensureState(RUN_CLAIM);
+        if (!scheduledRunClaims.claim(RUN_CLAIM, minRunInterval)) {
+            logger.info("Skipping scheduled replenishment: another node has run it within {}", minRunInterval);
+            return;
+        }
+        ReplenishmentRunResponse result = run();
+        logger.info("Forecast {} series in {} partitions in {} ms: {} reorder lines, {} draft purchase orders, "
+                        + "{} unsourced ({} warehouses failed)", result.getForecastedSeries(), result.getPartitions(),
+                result.getElapsedMillis(), result.getReorderLines(), result.getDraftPurchaseOrders().size(),
+                result.getUnsourcedLines(), result.getFailures().size());
+    }
+
+    /**
+     * Forecasts every warehouse over the history ending yesterday. A warehouse with a
+     * failed partition gets no draft orders in this run; its other partitions keep the
+     * plans they wrote.
+     */
+    public ReplenishmentRunResponse run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessRuleException("A replenishment run is already in progress");
+        }
+        try {
+            long started = System.nanoTime();
+            pickVelocityService.catchUp();
+
+            LocalDate lastDay = LocalDate.now().minusDays(1);
+            ForecastPolicy policy = ForecastPolicy.endingOn(lastDay, historyDays, seasonLength, alpha, beta, gamma,
+                    phi, safetyFactor, reviewDays);
+            // Kolon mikro saniye tutar; eski plan temizliği bu değerle karşılaştırır
+            LocalDateTime computedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            List<Long> warehouseIds = warehouseRepository.findAll().stream().map(Warehouse::getId)
+                    .filter(shardRouter::isOnCurrentShard).toList();
+
+            Map<Long, List<CompletableFuture<PartitionResult>>> tasks = new LinkedHashMap<>();
+            int partitions = 0;
+            try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                    Thread.ofPlatform().name("replenishment-", 0).factory())) {
+                for (Long warehouseId : warehouseIds) {
+                    List<Long> productIds = replenishmentService.stockedProductIds(warehouseId);
+                    List<CompletableFuture<PartitionResult>> warehouseTasks = new ArrayList<>();
+                    for (int from = 0; from < productIds.size(); from += partitionSize) {
+                        List<Long> partition = productIds.subList(from,
+                                Math.min(from + partitionSize, productIds.size()));
+                        warehouseTasks.add(CompletableFuture.supplyAsync(ShardContext.propagate(
+                                () -> planPartition(warehouseId, partition, policy, computedAt)), executor));
+                    }
+                    partitions += warehouseTasks.size();
+                    tasks.put(warehouseId, warehouseTasks);
+                }
+            }
+
+            long series = 0;
+            long reorderLines = 0;
+            long unsourced = 0;
+            List<String> drafts = new ArrayList<>();
+            Map<Long, String> failures = new LinkedHashMap<>();
+            for (Map.Entry<Long, List<CompletableFuture<PartitionResult>>> warehouse : tasks.entrySet()) {
+                Long warehouseId = warehouse.getKey();
+                try {
+                    List<ReorderPlan> orderable = new ArrayList<>();
+                    for (CompletableFuture<PartitionResult> task : warehouse.getValue()) {
+                        PartitionResult result = task.join();
+                        series += result.series();
+                        reorderLines += result.reorderLines();
+                        unsourced += result.reorderLines() - result.orderable().size();
+                        orderable.addAll(result.orderable());
+                    }
+                    replenishmentService.removeStalePlans(warehouseId, computedAt);
+                    if (createDrafts && !orderable.isEmpty()) {
+                        purchaseOrderService.createDraftPurchaseOrders(warehouseId, draftLines(orderable)).stream()
+                                .map(PurchaseOrderResponse::getOrderNumber)
+                                .forEach(drafts::add);
+                    }
+                } catch (RuntimeException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    logger.warn("Replenishment of warehouse {} failed", warehouseId, cause);
+                    failures.put(warehouseId, cause.getMessage());
+                }
+            }
+
+            long elapsed = System.nanoTime() - started;
+            meterRegistry.timer("wms.replenishment.run").record(elapsed, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("wms.replenishment.series").increment(series);
+            meterRegistry.counter("wms.replenishment.draft-orders").increment(drafts.size());
+            return ReplenishmentRunResponse.builder()
+                    .windowStart(policy.windowStart())
+                    .windowEnd(lastDay)
+                    .warehouses(warehouseIds.size())
+                    .partitions(partitions)
+                    .forecastedSeries(series)
+                    .reorderLines(reorderLines)
+                    .unsourcedLines(unsourced)
+                    .draftPurchaseOrders(drafts)
+                    .failures(failures)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .build();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private PartitionResult planPartition(Long warehouseId, List<Long> productIds, ForecastPolicy policy,
+                                          LocalDateTime computedAt) {
+        ReplenishmentService.PartitionInput input = replenishmentService.readPartition(warehouseId, productIds, policy);
+        List<ReorderPlan> plans = planner.plan(input.demand(), input.positions(), input.terms(), policy,
+                defaultLeadTimeDays);
+        replenishmentService.replacePlans(warehouseId, productIds, plans, computedAt);
+        // Yalnızca sipariş satırları bellekte tutulur; planların tamamı tabloda
+        long reorderLines = plans.stream().filter(plan -> plan.orderQuantity() > 0).count();
+        return new PartitionResult(plans.size(), reorderLines,
+                plans.stream().filter(ReorderPlan::orderable).toList());
+    }
+
+    private static List<PurchaseOrderService.DraftLine> draftLines(List<ReorderPlan> plans) {
+        return plans.stream()
+                .map(plan -> new PurchaseOrderService.DraftLine(plan.supplierId(), plan.productId(),
+                        plan.locationId(), Math.toIntExact(plan.orderQuantity()), plan.unitCost(),
+                        plan.leadTimeDays()))
+                .toList();
+    }
+
+    private record PartitionResult(long series, long reorderLines, List<ReorderPlan> orderable) {
+    }
+}
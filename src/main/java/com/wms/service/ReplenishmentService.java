@@ -0,0 +1,114 @@
+package com.wms.service;
+
+import com.wms.classification.DailyDemand;
+import com.wms.dto.response.ReplenishmentPlanResponse;
+import com.wms.entity.ReplenishmentPlan;
+import com.wms.enums.PurchaseOrderStatus;
+import com.wms.forecasting.DemandSeries;
+import com.wms.forecasting.ForecastPolicy;
+import com.wms.forecasting.ReorderPlan;
+import com.wms.forecasting.StockPosition;
+import com.wms.forecasting.SupplyOnOrder;
+import com.wms.forecasting.SupplyTerms;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.PickVelocityDailyRepository;
+import com.wms.repository.ProductSupplierRepository;
+import com.wms.repository.PurchaseOrderItemRepository;
+import com.wms.repository.ReplenishmentPlanRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes one partition of a warehouse's products for {@link ReplenishmentJob};
+ * partitions are independent and run in parallel.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReplenishmentService {
+
+    // Taslak siparişler de yoldaki stoğa sayılır; tekrar çalıştırma aynı ihtiyacı ikinci kez sipariş etmez
+    private static final List<PurchaseOrderStatus> OPEN_STATUSES =
+            List.of(PurchaseOrderStatus.DRAFT, PurchaseOrderStatus.APPROVED);
+
+    private final PickVelocityDailyRepository pickVelocityDailyRepository;
+    private final InventoryRepository inventoryRepository;
+    private final PurchaseOrderItemRepository purchaseOrderItemRepository;
+    private final ProductSupplierRepository productSupplierRepository;
+    private final ReplenishmentPlanRepository replenishmentPlanRepository;
+
+    @Transactional(readOnly = true)
+    public List<Long> stockedProductIds(Long warehouseId) {
+        return inventoryRepository.findProductIdsByWarehouseId(warehouseId).stream().sorted().toList();
+    }
+
+    /**
+     * Daily demand, stock positions including open purchase orders, and preferred
+     * supplier terms of the given products in one warehouse.
+     */
+    @Transactional(readOnly = true)
+    public PartitionInput readPartition(Long warehouseId, List<Long> productIds, ForecastPolicy policy) {
+        Map<Long, DemandSeries> demand;
+        try (Stream<DailyDemand> rows = pickVelocityDailyRepository.streamDemandForProducts(warehouseId,
+                policy.windowStart(), productIds)) {
+            demand = rows.collect(Collectors.groupingBy(DailyDemand::productId, DemandSeries.collector(policy)));
+        }
+        Map<Long, Long> onOrder = purchaseOrderItemRepository.sumOnOrder(warehouseId, OPEN_STATUSES, productIds)
+                .stream()
+                .collect(Collectors.toMap(SupplyOnOrder::productId, SupplyOnOrder::quantity));
+        Map<Long, StockPosition> positions = inventoryRepository.findStockPositions(warehouseId, productIds).stream()
+                .map(position -> position.withOnOrder(onOrder.getOrDefault(position.productId(), 0L)))
+                .collect(Collectors.toMap(StockPosition::productId, Function.identity()));
+        Map<Long, SupplyTerms> terms = productSupplierRepository.findPreferredTerms(productIds).stream()
+                .collect(Collectors.toMap(SupplyTerms::productId, Function.identity()));
+        return new PartitionInput(demand, positions, terms);
+    }
+
+    @Transactional
+    public void replacePlans(Long warehouseId, List<Long> productIds, List<ReorderPlan> plans,
+                             LocalDateTime computedAt) {
+        replenishmentPlanRepository.deleteByWarehouseAndProducts(warehouseId, productIds);
+        replenishmentPlanRepository.insertAll(warehouseId, plans, computedAt);
+    }
+
+    @Transactional
+    public int removeStalePlans(Long warehouseId, LocalDateTime computedAt) {
+        return replenishmentPlanRepository.deleteOlderThan(warehouseId, computedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ReplenishmentPlanResponse> search(Long warehouseId, boolean reorderOnly, Pageable pageable) {
+        return replenishmentPlanRepository.search(warehouseId, reorderOnly, pageable).map(this::toResponse);
+    }
+
+    private ReplenishmentPlanResponse toResponse(ReplenishmentPlan plan) {
+        return ReplenishmentPlanResponse.builder()
+                .productId(plan.getProductId())
+                .warehouseId(plan.getWarehouseId())
+                .locationId(plan.getLocationId())
+                .supplierId(plan.getSupplierId())
+                .dailyDemand(plan.getDailyDemand())
+                .demandSd(plan.getDemandSd())
+                .leadTimeDays(plan.getLeadTimeDays())
+                .safetyStock(plan.getSafetyStock())
+                .reorderPoint(plan.getReorderPoint())
+                .inventoryPosition(plan.getInventoryPosition())
+                .orderQuantity(plan.getOrderQuantity())
+                .computedAt(plan.getComputedAt())
+                .build();
+    }
+
+    public record PartitionInput(Map<Long, DemandSeries> demand,
+                                 Map<Long, StockPosition> positions,
+                                 Map<Long, SupplyTerms> terms) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.wms.service;
+
+import com.wms.concurrency.InventoryKey;
+import com.wms.concurrency.StripedLockManager;
+import com.wms.repository.OrderItemRepository;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRouter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Write-combining front end for {@link OrderService#reserveStock}. Reservation requests are
+ * queued per lane (chosen by the lock stripe of the order's first inventory row, so hot
+ * rows keep landing on the same queue), collected for a short window and handed to
+ * {@link OrderService#reserveStockBatch} as one transaction. Each caller still gets its
+ * own success or failure.
+ *
+ * <p>In sharded mode every database shard has its own lanes: a reservation is queued on
+ * the caller's {@link ShardContext} shard and its batch runs there, so one transaction
+ * never mixes orders from different shards.
+ */
+@Service
+public class ReservationCombiner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationCombiner.class);
+
+    private final OrderService orderService;
+    private final OrderItemRepository orderItemRepository;
+    private final StripedLockManager lockManager;
+    private final DistributionSummary batchSizes;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutMs;
+    private final int lanesPerShard;
+    // Shard adı -> lane kuyrukları; sharding kapalıyken yalnızca katalog
+    private final Map<String, List<BlockingQueue<PendingReservation>>> queues = new LinkedHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public ReservationCombiner(OrderService orderService,
+                               OrderItemRepository orderItemRepository,
+                               StripedLockManager lockManager,
+                               ShardRouter shardRouter,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.reservations.combining.enabled:false}") boolean enabled,
+                               @Value("${app.reservations.combining.window-ms:5}") long windowMs,
+                               @Value("${app.reservations.combining.max-batch-size:256}") int maxBatchSize,
+                               @Value("${app.reservations.combining.shards:4}") int shards,
+                               @Value("${app.reservations.combining.timeout-ms:10000}") long timeoutMs) {
+        this.orderService = orderService;
+        this.orderItemRepository = orderItemRepository;
+        this.lockManager = lockManager;
+        this.batchSizes = DistributionSummary.builder("wms.reservations.batch.size")
+                .description("Orders reserved per combined transaction")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMs = timeoutMs;
+        this.lanesPerShard = Math.max(1, shards);
+        List<String> shardNames = new ArrayList<>();
+        shardNames.add(ShardRouter.CATALOG);
+        shardNames.addAll(shardRouter.shards());
+        for (String shard : shardNames) {
+            List<BlockingQueue<PendingReservation>> lanes = new ArrayList<>(lanesPerShard);
+            for (int i = 0; i < lanesPerShard; i++) {
+                lanes.add(new LinkedBlockingQueue<>());
+            }
+            queues.put(shard, lanes);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        queues.forEach((shard, lanes) -> {
+            String target = ShardRouter.CATALOG.equals(shard) ? null : shard;
+            for (int i = 0; i < lanes.size(); i++) {
+                BlockingQueue<PendingReservation> queue = lanes.get(i);
+                workers.add(Thread.ofPlatform()
+                        .daemon()
+                        .name("reservation-combiner-" + shard + "-" + i)
+                        .start(() -> drain(target, queue)));
+            }
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        queues.values().forEach(lanes -> lanes.forEach(queue -> queue.forEach(pending ->
+                pending.result().completeExceptionally(new IllegalStateException("Reservation combiner stopped")))));
+    }
+
+    public void reserve(Long orderId) {
+        if (!enabled) {
+            orderService.reserveStock(orderId);
+            return;
+        }
+
+        String shard = ShardContext.current();
+        List<BlockingQueue<PendingReservation>> lanes = queues.get(shard != null ? shard : ShardRouter.CATALOG);
+        if (lanes == null) {
+            throw new IllegalStateException("Unknown shard " + shard);
+        }
+        List<InventoryKey> keys = orderItemRepository.findInventoryKeysByOrderId(orderId);
+        int lane = keys.isEmpty() ? 0 : Math.floorMod(lockManager.stripeOf(keys.get(0)), lanesPerShard);
+        BlockingQueue<PendingReservation> queue = lanes.get(lane);
+        PendingReservation pending = new PendingReservation(orderId, keys, new CompletableFuture<>());
+        queue.add(pending);
+
+        try {
+            pending.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex.getCause());
+        } catch (TimeoutException ex) {
+            withdrawOrAwait(queue, pending);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            withdrawOrAwait(queue, pending);
+        }
+    }
+
+    /**
+     * A reservation still in the queue is withdrawn and reported as a conflict, so the
+     * caller can retry and the idempotency key is released. Once a batch has taken it,
+     * its transaction decides: answering before the outcome would let a retry reserve
+     * the same order twice.
+     */
+    private void withdrawOrAwait(BlockingQueue<PendingReservation> queue, PendingReservation pending) {
+        if (queue.remove(pending)) {
+            throw new CannotAcquireLockException("Reservation for order " + pending.orderId()
+                    + " was not started within " + timeoutMs + " ms, retry later");
+        }
+        try {
+            pending.result().join();
+        } catch (CompletionException ex) {
+            throw unwrap(ex.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Reservation failed", cause);
+    }
+
+    /**
+     * Worker loop of one lane. {@code shard} is the database shard the lane belongs to
+     * ({@code null} for the catalog); the worker threads carry no shard of their own.
+     */
+    private void drain(String shard, BlockingQueue<PendingReservation> queue) {
+        while (running) {
+            try {
+                PendingReservation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingReservation> batch = new ArrayList<>();
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingReservation next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                ShardContext.runOn(shard, () -> process(batch));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void process(List<PendingReservation> batch) {
+        batchSizes.record(batch.size());
+        Set<InventoryKey> keys = new LinkedHashSet<>();
+        List<Long> orderIds = new ArrayList<>(batch.size());
+        batch.forEach(pending -> {
+            keys.addAll(pending.keys());
+            orderIds.add(pending.orderId());
+        });
+
+        try {
+            List<RuntimeException> outcomes = lockManager.withLocks(keys, () -> orderService.reserveStockBatch(orderIds));
+            for (int i = 0; i < batch.size(); i++) {
+                RuntimeException failure = outcomes.get(i);
+                if (failure == null) {
+                    batch.get(i).result().complete(null);
+                } else {
+                    batch.get(i).result().completeExceptionally(failure);
+                }
+            }
+        } catch (RuntimeException | Error ex) {
+            // Bekleyen çağıranlar süresiz bekleyebilir; her sonuç mutlaka tamamlanır
+            logger.error("Combined reservation of {} orders failed", batch.size(), ex);
+            batch.forEach(pending -> pending.result().completeExceptionally(ex));
+            if (ex instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private record PendingReservation(Long orderId, List<InventoryKey> keys, CompletableFuture<Void> result) {
+    }
+}
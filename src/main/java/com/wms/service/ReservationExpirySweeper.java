@@ -0,0 +1,79 @@
+package com.wms.service;
+
+import com.wms.repository.StockReservationRepository;
+import com.wms.sharding.PerShard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically releases reservations whose TTL has passed. Each batch runs in its own
+ * transaction and claims whole orders with SKIP LOCKED, so several nodes can sweep side by side.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reservations.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExpirySweeper.class);
+
+    private final OrderService orderService;
+    private final StockReservationRepository stockReservationRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Counter released;
+    private final Timer sweepTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public ReservationExpirySweeper(OrderService orderService,
+                                    StockReservationRepository stockReservationRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.reservations.sweeper.batch-size:500}") int batchSize,
+                                    @Value("${app.reservations.sweeper.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.orderService = orderService;
+        this.stockReservationRepository = stockReservationRepository;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.released = meterRegistry.counter("wms.reservations.expired.released");
+        this.sweepTimer = meterRegistry.timer("wms.reservations.sweep");
+        Gauge.builder("wms.reservations.sweep.lag", lagSeconds, AtomicLong::get)
+                .baseUnit("seconds")
+                .description("Age of the oldest expired reservation still holding stock")
+                .register(meterRegistry);
+    }
+
+    @PerShard
+    @Scheduled(fixedDelayString = "${app.reservations.sweeper.interval-ms:30000}")
+    public void sweep() {
+        sweepTimer.record(() -> {
+            int total = 0;
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                int count = orderService.releaseExpiredReservations(LocalDateTime.now(), batchSize);
+                total += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+            released.increment(total);
+            if (total > 0) {
+                logger.info("Released {} expired stock reservations", total);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            lagSeconds.set(stockReservationRepository.findOldestExpiry(now)
+                    .map(oldest -> Duration.between(oldest, now).toSeconds())
+                    .orElse(0L));
+        });
+    }
+}
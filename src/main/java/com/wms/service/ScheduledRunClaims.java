@@ -0,0 +1,47 @@
+package com.wms.service;
+
+import com.wms.entity.ChangeFeedState;
+import com.wms.repository.ChangeFeedStateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Lets one node out of many take a scheduled run. Each job has a {@code change_feed_state}
+ * row whose position holds the epoch second of the last claimed run; a claim is a single
+ * conditional update, so of the nodes whose schedules fire together exactly one wins and
+ * the others skip until {@code minInterval} has passed.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduledRunClaims {
+
+    private final ChangeFeedStateRepository changeFeedStateRepository;
+
+    @Transactional
+    public boolean claim(String job, Duration minInterval) {
+        long now = Instant.now().getEpochSecond();
+        return changeFeedStateRepository.claim(job, now, now - minInterval.toSeconds()) == 1;
+    }
+
+    /**
+     * Deliberately not transactional; see {@link InventoryChangeFeedService#ensureState}.
+     */
+    public void ensureState(String job) {
+        if (changeFeedStateRepository.findByFeed(job).isPresent()) {
+            return;
+        }
+        try {
+            changeFeedStateRepository.saveAndFlush(ChangeFeedState.builder()
+                    .feed(job)
+                    .lastPosition(0L)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            // Başka bir node aynı anda oluşturdu
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.wms.service;
+
+import com.wms.dto.request.StockTransferRequest;
+import com.wms.dto.response.SlottingMoveResponse;
+import com.wms.dto.response.SlottingResponse;
+import com.wms.exception.BusinessRuleException;
+import com.wms.exception.ResourceNotFoundException;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.slotting.SkuPlacement;
+import com.wms.slotting.SkuVelocity;
+import com.wms.slotting.SlotLocation;
+import com.wms.slotting.SlottingMove;
+import com.wms.slotting.SlottingPlanner;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Velocity-based slotting. Pick counts come from the daily roll-up of shipments, which
+ * is brought up to date first; the recommended moves are plain stock
+ * transfers meant for {@link StockService#transferStockBatch}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlottingService {
+
+    static final int MAX_WINDOW_DAYS = 366;
+
+    private final WarehouseRepository warehouseRepository;
+    private final LocationRepository locationRepository;
+    private final InventoryRepository inventoryRepository;
+    private final PickVelocityService pickVelocityService;
+    private final SlottingPlanner slottingPlanner;
+    private final MeterRegistry meterRegistry;
+
+    public SlottingResponse recommend(Long warehouseId, int windowDays, int maxMoves) {
+        if (windowDays < 1 || windowDays > MAX_WINDOW_DAYS) {
+            throw new BusinessRuleException("Window must be between 1 and " + MAX_WINDOW_DAYS + " days");
+        }
+        if (!warehouseRepository.existsById(warehouseId)) {
+            throw new ResourceNotFoundException("Warehouse not found");
+        }
+        long started = System.nanoTime();
+
+        // Zamanlanmış roll-up'tan sonra gelen sevkiyatlar; genelde tek küçük parti
+        pickVelocityService.catchUp();
+
+        LocalDate since = LocalDate.now().minusDays(windowDays - 1L);
+        List<SlotLocation> locations = locationRepository.findSlotLocations(warehouseId);
+        List<SkuPlacement> placements = inventoryRepository.findSlotPlacements(warehouseId);
+        List<SkuVelocity> velocities = pickVelocityService.velocities(warehouseId, since);
+        List<SlottingMove> moves = slottingPlanner.plan(locations, placements, velocities, maxMoves);
+
+        List<SlottingMoveResponse> responses = new ArrayList<>(moves.size());
+        for (SlottingMove move : moves) {
+            responses.add(SlottingMoveResponse.builder()
+                    .rank(responses.size() + 1)
+                    .productId(move.productId())
+                    .sku(move.sku())
+                    .fromLocationCode(move.fromLocationCode())
+                    .toLocationCode(move.toLocationCode())
+                    .picks(move.picks())
+                    .units(move.units())
+                    .fromDistance(move.fromDistance())
+                    .toDistance(move.toDistance())
+                    .travelSaved(move.travelSaved())
+                    .transfer(StockTransferRequest.builder()
+                            .productId(move.productId())
+                            .fromLocationId(move.fromLocationId())
+                            .toLocationId(move.toLocationId())
+                            .quantity(move.quantity())
+                            .reason("Slotting: " + move.picks() + " picks in " + windowDays + " days")
+                            .build())
+                    .build());
+        }
+
+        long elapsed = System.nanoTime() - started;
+        meterRegistry.timer("wms.slotting.analysis").record(elapsed, TimeUnit.NANOSECONDS);
+        return SlottingResponse.builder()
+                .warehouseId(warehouseId)
+                .windowDays(windowDays)
+                .since(since)
+                .pickedPlacements(velocities.size())
+                .analysisMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .estimatedTravelSaved(moves.stream().mapToDouble(SlottingMove::travelSaved).sum())
+                .moves(responses)
+                .build();
+    }
+}
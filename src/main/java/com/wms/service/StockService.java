@@ -1,9 +1,13 @@
 package com.wms.service;
 
+import com.wms.concurrency.InventoryKey;
+import com.wms.concurrency.InventoryLocked;
+import com.wms.concurrency.RetryOnConflict;
 import com.wms.dto.request.StockAdjustmentRequest;
 import com.wms.dto.request.StockTransferRequest;
 import com.wms.dto.response.InventoryResponse;
 import com.wms.entity.*;
+import com.wms.enums.InventoryChangeType;
 import com.wms.enums.StockMovementType;
 import com.wms.exception.BusinessRuleException;
 import com.wms.exception.InsufficientStockException;
@@ -14,18 +18,32 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class StockService {
 
+    // Maliyet katmanlarında referans; bu hareketlerin belge numarası yok
+    static final String TRANSFER_REFERENCE = "TRANSFER";
+    static final String ADJUSTMENT_REFERENCE = "ADJUSTMENT";
+
     private final InventoryRepository inventoryRepository;
     private final ProductRepository productRepository;
     private final LocationRepository locationRepository;
     private final StockMovementRepository stockMovementRepository;
+    private final InventoryChangeRecorder inventoryChangeRecorder;
+    private final StockValuationService stockValuationService;
 
+    @RetryOnConflict
+    @InventoryLocked(InventoryLocked.KeySource.STOCK_TRANSFER_REQUEST)
     @Transactional
     public void transferStock(StockTransferRequest request) {
         Product product = productRepository.findById(request.getProductId())
@@ -64,6 +82,7 @@ public class StockService {
 
         toInventory.setQuantity(toInventory.getQuantity() + request.getQuantity());
         inventoryRepository.save(toInventory);
+        inventoryChangeRecorder.record(InventoryChangeType.TRANSFERRED, null, fromInventory, toInventory);
 
         // Record movement
         StockMovement movement = StockMovement.builder()
@@ -76,8 +95,100 @@ public class StockService {
                 .movementDate(LocalDateTime.now())
                 .build();
         stockMovementRepository.save(movement);
+        stockValuationService.recordTransfer(product.getId(), fromLocation.getWarehouse().getId(),
+                toLocation.getWarehouse().getId(), request.getQuantity(), TRANSFER_REFERENCE);
+    }
+
+    /**
+     * Applies a list of transfers in one transaction, in the given order, each seeing the
+     * stock left by the ones before it. Products, locations and inventory rows are loaded
+     * once for the whole batch. One transfer failing does not affect the others: the
+     * returned list holds, per position, the failure or {@code null}.
+     */
+    @RetryOnConflict
+    @InventoryLocked(InventoryLocked.KeySource.STOCK_TRANSFER_REQUESTS)
+    @Transactional
+    public List<RuntimeException> transferStockBatch(List<StockTransferRequest> requests) {
+        Set<Long> productIds = requests.stream().map(StockTransferRequest::getProductId).collect(Collectors.toSet());
+        Set<Long> locationIds = requests.stream()
+                .flatMap(request -> Stream.of(request.getFromLocationId(), request.getToLocationId()))
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Location> locations = locationRepository.findAllById(locationIds).stream()
+                .collect(Collectors.toMap(Location::getId, Function.identity()));
+        Map<InventoryKey, Inventory> inventories = inventoryRepository.findByProductIdInAndLocationIdIn(productIds, locationIds)
+                .stream()
+                .collect(Collectors.toMap(
+                        inv -> new InventoryKey(inv.getProduct().getId(), inv.getLocation().getId()),
+                        Function.identity()));
+
+        List<RuntimeException> outcomes = new ArrayList<>(requests.size());
+        Set<Inventory> changed = new LinkedHashSet<>();
+        List<StockMovement> movements = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (StockTransferRequest request : requests) {
+            try {
+                Product product = products.get(request.getProductId());
+                if (product == null) {
+                    throw new ResourceNotFoundException("Product not found");
+                }
+                Location fromLocation = locations.get(request.getFromLocationId());
+                if (fromLocation == null) {
+                    throw new ResourceNotFoundException("Source location not found");
+                }
+                Location toLocation = locations.get(request.getToLocationId());
+                if (toLocation == null) {
+                    throw new ResourceNotFoundException("Destination location not found");
+                }
+                Inventory fromInventory = inventories.get(new InventoryKey(product.getId(), fromLocation.getId()));
+                if (fromInventory == null) {
+                    throw new BusinessRuleException("No stock in source location");
+                }
+                if (fromInventory.getAvailableQuantity() < request.getQuantity()) {
+                    throw new InsufficientStockException("Insufficient stock in source location. Available: "
+                            + fromInventory.getAvailableQuantity());
+                }
+
+                fromInventory.setQuantity(fromInventory.getQuantity() - request.getQuantity());
+                Inventory toInventory = inventories.computeIfAbsent(new InventoryKey(product.getId(), toLocation.getId()),
+                        key -> Inventory.builder()
+                                .product(product)
+                                .location(toLocation)
+                                .quantity(0)
+                                .reservedQuantity(0)
+                                .build());
+                toInventory.setQuantity(toInventory.getQuantity() + request.getQuantity());
+                changed.add(fromInventory);
+                changed.add(toInventory);
+
+                movements.add(StockMovement.builder()
+                        .type(StockMovementType.TRANSFER)
+                        .product(product)
+                        .fromLocation(fromLocation)
+                        .toLocation(toLocation)
+                        .quantity(request.getQuantity())
+                        .reason(request.getReason())
+                        .movementDate(now)
+                        .build());
+                stockValuationService.recordTransfer(product.getId(), fromLocation.getWarehouse().getId(),
+                        toLocation.getWarehouse().getId(), request.getQuantity(), TRANSFER_REFERENCE);
+                outcomes.add(null);
+            } catch (ResourceNotFoundException | BusinessRuleException | InsufficientStockException ex) {
+                outcomes.add(ex);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            inventoryRepository.saveAll(changed);
+            inventoryChangeRecorder.record(InventoryChangeType.TRANSFERRED, null, changed);
+            stockMovementRepository.saveAll(movements);
+        }
+        return outcomes;
     }
 
+    @RetryOnConflict
+    @InventoryLocked(InventoryLocked.KeySource.STOCK_ADJUSTMENT_REQUEST)
     @Transactional
     public void adjustStock(StockAdjustmentRequest request) {
         Product product = productRepository.findById(request.getProductId())
@@ -104,17 +215,22 @@ public class StockService {
 
         inventory.setQuantity(newQuantity);
         inventoryRepository.save(inventory);
+        inventoryChangeRecorder.record(InventoryChangeType.ADJUSTED, null, inventory);
 
-        // Record movement
-        StockMovement movement = StockMovement.builder()
-                .type(StockMovementType.ADJUSTMENT)
-                .product(product)
-                .toLocation(location)
-                .quantity(Math.abs(newQuantity - oldQuantity))
-                .reason(request.getReason())
-                .movementDate(LocalDateTime.now())
-                .build();
-        stockMovementRepository.save(movement);
+        // Record movement; artış lokasyona giriş, azalış çıkış olarak yazılır
+        if (newQuantity != oldQuantity) {
+            StockMovement.StockMovementBuilder movement = StockMovement.builder()
+                    .type(StockMovementType.ADJUSTMENT)
+                    .product(product)
+                    .quantity(Math.abs(newQuantity - oldQuantity))
+                    .reason(request.getReason())
+                    .movementDate(LocalDateTime.now());
+            stockMovementRepository.save(newQuantity > oldQuantity
+                    ? movement.toLocation(location).build()
+                    : movement.fromLocation(location).build());
+            stockValuationService.recordChange(product.getId(), location.getWarehouse().getId(),
+                    newQuantity - oldQuantity, ADJUSTMENT_REFERENCE);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,179 @@
+package com.wms.service;
+
+import com.wms.dto.response.StockValuationResponse;
+import com.wms.entity.CostLayer;
+import com.wms.entity.Product;
+import com.wms.entity.StockValuation;
+import com.wms.enums.CostingMethod;
+import com.wms.repository.CostLayerRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockValuationRepository;
+import com.wms.valuation.CostCalculator;
+import com.wms.valuation.CostIssue;
+import com.wms.valuation.LayerBalance;
+import com.wms.valuation.StockDelta;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cost layers and per-product, per-warehouse valuation. Purchase order receipts open a
+ * layer at the purchase order line's unit price; shipments draw the layers down oldest
+ * first and take their cost off the valuation according to {@code app.valuation.method}.
+ * All run inside the caller's transaction, next to the inventory change.
+ *
+ * <p>Stock changes without a purchase cost of their own (adjustments, count variances,
+ * inventory loads and edits) go through {@link #recordChange}: a gain opens a layer at the
+ * last known cost of the product in the warehouse, or its list price if it never had one,
+ * and a loss draws the layers down like a shipment. A transfer between warehouses moves
+ * the issued cost to the destination.
+ *
+ * <p>Concurrent changes of the same product in the same warehouse conflict on the
+ * valuation row's version, and the caller's {@code @RetryOnConflict} reruns them; only an
+ * inventory load, which cannot replay its input, fails instead (see
+ * {@link InventoryLoadService}). The row
+ * itself is created with an insert that ignores conflicts, so two first receipts do not
+ * fail on the unique key.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockValuationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockValuationService.class);
+
+    private final CostLayerRepository costLayerRepository;
+    private final StockValuationRepository stockValuationRepository;
+    private final ProductRepository productRepository;
+
+    @Value("${app.valuation.method:FIFO}")
+    private CostingMethod method = CostingMethod.FIFO;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReceipt(Long productId, Long warehouseId, int quantity, BigDecimal unitCost,
+                              String reference) {
+        BigDecimal cost = unitCost.setScale(CostCalculator.SCALE, RoundingMode.HALF_UP);
+        costLayerRepository.save(CostLayer.builder()
+                .productId(productId)
+                .warehouseId(warehouseId)
+                .receivedQuantity(quantity)
+                .remainingQuantity(quantity)
+                .unitCost(cost)
+                .referenceNumber(reference)
+                .receivedAt(LocalDateTime.now())
+                .build());
+        StockValuation valuation = stockValuationRepository.findByProductIdAndWarehouseId(productId, warehouseId)
+                .orElseGet(() -> {
+                    stockValuationRepository.insertIfAbsent(productId, warehouseId);
+                    return stockValuationRepository.findByProductIdAndWarehouseId(productId, warehouseId)
+                            .orElseThrow();
+                });
+        valuation.setQuantity(valuation.getQuantity() + quantity);
+        valuation.setTotalCost(valuation.getTotalCost().add(cost.multiply(BigDecimal.valueOf(quantity))));
+        stockValuationRepository.save(valuation);
+    }
+
+    /**
+     * Takes {@code quantity} units out of the valuation and returns their cost. Units beyond
+     * the valued quantity (stock that never had a cost layer) are issued at no cost.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal recordIssue(Long productId, Long warehouseId, int quantity, String reference) {
+        StockValuation valuation = stockValuationRepository.findByProductIdAndWarehouseId(productId, warehouseId)
+                .orElse(null);
+        if (valuation == null || valuation.getQuantity() == 0) {
+            logger.warn("No cost layers for product {} in warehouse {}; {} units of {} issued at no cost",
+                    productId, warehouseId, quantity, reference);
+            return BigDecimal.ZERO;
+        }
+        List<CostLayer> layers = costLayerRepository.findOpenLayers(productId, warehouseId);
+        CostIssue issue = CostCalculator.issue(method,
+                layers.stream().map(l -> new LayerBalance(l.getRemainingQuantity(), l.getUnitCost())).toList(),
+                valuation.getTotalCost(), quantity);
+        for (int i = 0; i < layers.size() && issue.drawn().get(i) > 0; i++) {
+            CostLayer layer = layers.get(i);
+            layer.setRemainingQuantity(layer.getRemainingQuantity() - issue.drawn().get(i));
+        }
+        if (issue.quantity() < quantity) {
+            logger.warn("Only {} of {} units of product {} in warehouse {} have cost layers ({})",
+                    issue.quantity(), quantity, productId, warehouseId, reference);
+        }
+        valuation.setQuantity(valuation.getQuantity() - issue.quantity());
+        valuation.setTotalCost(valuation.getTotalCost().subtract(issue.cost()));
+        // Sürüm artışı eşzamanlı girişi/çıkışı çakıştırır; katmanlar da aynı işlemde
+        stockValuationRepository.save(valuation);
+        return issue.cost();
+    }
+
+    /**
+     * Books a change of {@code delta} units that has no cost of its own: a gain is valued at
+     * the last known cost, a loss is issued from the layers.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Long productId, Long warehouseId, int delta, String reference) {
+        if (delta > 0) {
+            recordReceipt(productId, warehouseId, delta, lastKnownCost(productId, warehouseId), reference);
+        } else if (delta < 0) {
+            recordIssue(productId, warehouseId, -delta, reference);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(List<StockDelta> deltas, String reference) {
+        for (StockDelta delta : deltas) {
+            recordChange(delta.productId(), delta.warehouseId(), delta.quantity(), reference);
+        }
+    }
+
+    /**
+     * Moves {@code quantity} units between warehouses at the cost they are issued with at
+     * the source. Units the source had no layers for arrive at the destination's last
+     * known cost.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransfer(Long productId, Long fromWarehouseId, Long toWarehouseId, int quantity,
+                               String reference) {
+        if (fromWarehouseId.equals(toWarehouseId)) {
+            return;
+        }
+        BigDecimal issued = recordIssue(productId, fromWarehouseId, quantity, reference);
+        BigDecimal unitCost = issued.signum() > 0
+                ? issued.divide(BigDecimal.valueOf(quantity), CostCalculator.SCALE, RoundingMode.HALF_UP)
+                : lastKnownCost(productId, toWarehouseId);
+        recordReceipt(productId, toWarehouseId, quantity, unitCost, reference);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<StockValuationResponse> search(Long warehouseId, Long productId, Pageable pageable) {
+        return stockValuationRepository.search(warehouseId, productId, pageable).map(this::toResponse);
+    }
+
+    private BigDecimal lastKnownCost(Long productId, Long warehouseId) {
+        return costLayerRepository.findFirstByProductIdAndWarehouseIdOrderByIdDesc(productId, warehouseId)
+                .map(CostLayer::getUnitCost)
+                .orElseGet(() -> productRepository.findById(productId)
+                        .map(Product::getUnitPrice)
+                        .orElse(BigDecimal.ZERO));
+    }
+
+    private StockValuationResponse toResponse(StockValuation valuation) {
+        return StockValuationResponse.builder()
+                .warehouseId(valuation.getWarehouseId())
+                .productId(valuation.getProductId())
+                .quantity(valuation.getQuantity())
+                .totalCost(valuation.getTotalCost())
+                .averageUnitCost(CostCalculator.averageCost(valuation.getTotalCost(), valuation.getQuantity()))
+                .costingMethod(method)
+                .build();
+    }
+}
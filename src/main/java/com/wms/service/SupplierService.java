@@ -1,10 +1,15 @@
 package com.wms.service;
 
+import com.wms.dto.request.ProductSupplierRequest;
 import com.wms.dto.request.SupplierRequest;
+import com.wms.dto.response.ProductSupplierResponse;
 import com.wms.dto.response.SupplierResponse;
+import com.wms.entity.ProductSupplier;
 import com.wms.entity.Supplier;
 import com.wms.exception.BusinessRuleException;
 import com.wms.exception.ResourceNotFoundException;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.ProductSupplierRepository;
 import com.wms.repository.SupplierRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -20,6 +25,8 @@ import java.util.stream.Collectors;
 public class SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final ProductRepository productRepository;
+    private final ProductSupplierRepository productSupplierRepository;
 
     @Transactional
     public SupplierResponse createSupplier(SupplierRequest request) {
@@ -112,6 +119,60 @@ public class SupplierService {
         supplierRepository.save(supplier);
     }
 
+    /**
+     * Creates or updates the terms under which the supplier delivers a product. Marking
+     * it preferred takes the preference away from the product's other suppliers.
+     */
+    @Transactional
+    public ProductSupplierResponse saveProductTerms(Long supplierId, ProductSupplierRequest request) {
+        if (!supplierRepository.existsById(supplierId)) {
+            throw new ResourceNotFoundException("Supplier not found");
+        }
+        if (!productRepository.existsById(request.getProductId())) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+
+        ProductSupplier terms = productSupplierRepository
+                .findByProductIdAndSupplierId(request.getProductId(), supplierId)
+                .orElseGet(() -> ProductSupplier.builder()
+                        .productId(request.getProductId())
+                        .supplierId(supplierId)
+                        .build());
+        terms.setLeadTimeDays(request.getLeadTimeDays());
+        terms.setMinOrderQuantity(request.getMinOrderQuantity() != null ? request.getMinOrderQuantity() : 1);
+        terms.setPackSize(request.getPackSize() != null ? request.getPackSize() : 1);
+        terms.setUnitCost(request.getUnitCost());
+        terms.setPreferred(request.isPreferred());
+
+        if (request.isPreferred()) {
+            productSupplierRepository.clearPreferred(request.getProductId(), supplierId);
+        }
+        return mapToResponse(productSupplierRepository.save(terms));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSupplierResponse> getProductTerms(Long supplierId) {
+        if (!supplierRepository.existsById(supplierId)) {
+            throw new ResourceNotFoundException("Supplier not found");
+        }
+        return productSupplierRepository.findBySupplierIdOrderByProductId(supplierId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    private ProductSupplierResponse mapToResponse(ProductSupplier terms) {
+        return ProductSupplierResponse.builder()
+                .id(terms.getId())
+                .productId(terms.getProductId())
+                .supplierId(terms.getSupplierId())
+                .leadTimeDays(terms.getLeadTimeDays())
+                .minOrderQuantity(terms.getMinOrderQuantity())
+                .packSize(terms.getPackSize())
+                .unitCost(terms.getUnitCost())
+                .preferred(terms.getPreferred())
+                .build();
+    }
+
     private SupplierResponse mapToResponse(Supplier supplier) {
         return SupplierResponse.builder()
                 .id(supplier.getId())
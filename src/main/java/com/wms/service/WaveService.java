@@ -0,0 +1,190 @@
+package com.wms.service;
+
+import com.wms.concurrency.InventoryKey;
+import com.wms.concurrency.StripedLockManager;
+import com.wms.dto.request.WavePlanRequest;
+import com.wms.dto.response.PickListResponse;
+import com.wms.dto.response.WavePlanResponse;
+import com.wms.dto.response.WaveResponse;
+import com.wms.entity.Warehouse;
+import com.wms.enums.OrderStatus;
+import com.wms.exception.ResourceNotFoundException;
+import com.wms.picking.PlannedWave;
+import com.wms.picking.RoutingStrategy;
+import com.wms.picking.WaveCandidate;
+import com.wms.picking.WaveConstraints;
+import com.wms.picking.WaveLine;
+import com.wms.picking.WavePlanner;
+import com.wms.repository.OrderItemRepository;
+import com.wms.repository.OrderRepository;
+import com.wms.repository.WarehouseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans and releases waves of pending orders. Planning reads candidates with two
+ * projection queries and groups them in memory; releasing reserves each wave as one
+ * batch under the inventory stripe locks and returns a routed pick list per wave.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaveService.class);
+    private static final int LINE_QUERY_CHUNK = 1000;
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final OrderService orderService;
+    private final PickListService pickListService;
+    private final WavePlanner wavePlanner;
+    private final StripedLockManager lockManager;
+    private final DocumentNumberGenerator documentNumberGenerator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.waves.max-candidates:50000}")
+    private int maxCandidates = 50_000;
+
+    @Value("${app.waves.open-waves:8}")
+    private int openWaves = 8;
+
+    // Yan etkisiz önizleme: dalgalar planlanır ama rezervasyon yapılmaz
+    public WavePlanResponse plan(WavePlanRequest request) {
+        requireWarehouse(request.getWarehouseId());
+        Planning planning = planWaves(request);
+        return WavePlanResponse.builder()
+                .warehouseId(request.getWarehouseId())
+                .candidateOrders(planning.candidates())
+                .plannedWaves(planning.waves().size())
+                .planningMillis(planning.millis())
+                .waves(planning.waves().stream().map(this::preview).toList())
+                .build();
+    }
+
+    /**
+     * Plans waves and releases up to {@code maxWaves} of them, earliest cutoff first. Each
+     * wave is its own transaction, so a failing wave does not undo the ones before it.
+     */
+    public WavePlanResponse release(WavePlanRequest request) {
+        Warehouse warehouse = requireWarehouse(request.getWarehouseId());
+        Planning planning = planWaves(request);
+
+        List<WaveResponse> released = new ArrayList<>();
+        for (PlannedWave wave : planning.waves().subList(0, Math.min(request.getMaxWaves(), planning.waves().size()))) {
+            released.add(releaseWave(warehouse, wave, planning.inventoryKeys()));
+        }
+
+        return WavePlanResponse.builder()
+                .warehouseId(warehouse.getId())
+                .candidateOrders(planning.candidates())
+                .plannedWaves(planning.waves().size())
+                .planningMillis(planning.millis())
+                .waves(released)
+                .build();
+    }
+
+    private WaveResponse releaseWave(Warehouse warehouse, PlannedWave wave, Map<Long, List<InventoryKey>> inventoryKeys) {
+        String waveNumber = documentNumberGenerator.next(DocumentNumberGenerator.DocumentType.WAVE, warehouse.getCode());
+        Set<InventoryKey> keys = new HashSet<>();
+        wave.orders().forEach(order -> keys.addAll(inventoryKeys.getOrDefault(order.orderId(), List.of())));
+
+        List<RuntimeException> outcomes = lockManager.withLocks(keys,
+                () -> orderService.releaseWave(waveNumber, warehouse.getId(), wave.orders()));
+
+        List<Long> reserved = new ArrayList<>();
+        Map<Long, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < wave.orders().size(); i++) {
+            Long orderId = wave.orders().get(i).orderId();
+            if (outcomes.get(i) == null) {
+                reserved.add(orderId);
+            } else {
+                failures.put(orderId, outcomes.get(i).getMessage());
+            }
+        }
+        meterRegistry.counter("wms.waves.orders", "outcome", "reserved").increment(reserved.size());
+        meterRegistry.counter("wms.waves.orders", "outcome", "failed").increment(failures.size());
+        if (reserved.isEmpty()) {
+            logger.info("Wave {} not released: none of its {} orders could be reserved", waveNumber, failures.size());
+            return toResponse(null, wave, reserved, failures, null);
+        }
+
+        meterRegistry.counter("wms.waves.released").increment();
+        return toResponse(waveNumber, wave, reserved, failures,
+                pickListService.generatePickList(reserved, RoutingStrategy.AUTO));
+    }
+
+    private Planning planWaves(WavePlanRequest request) {
+        long started = System.nanoTime();
+        List<Long> orderIds = orderRepository.findWaveCandidateIds(request.getWarehouseId(), OrderStatus.PENDING,
+                request.getCarrier(), PageRequest.of(0, maxCandidates));
+
+        List<WaveLine> lines = new ArrayList<>();
+        for (int from = 0; from < orderIds.size(); from += LINE_QUERY_CHUNK) {
+            lines.addAll(orderItemRepository.findWaveLinesByOrderIdIn(
+                    orderIds.subList(from, Math.min(from + LINE_QUERY_CHUNK, orderIds.size()))));
+        }
+        Map<Long, List<InventoryKey>> inventoryKeys = new HashMap<>();
+        lines.forEach(line -> inventoryKeys.computeIfAbsent(line.orderId(), id -> new ArrayList<>())
+                .add(new InventoryKey(line.productId(), line.locationId())));
+
+        List<WaveCandidate> candidates = wavePlanner.toCandidates(lines);
+        List<PlannedWave> waves = wavePlanner.plan(candidates, new WaveConstraints(
+                request.getMaxOrders(),
+                request.getMaxLines(),
+                request.getMaxUnits(),
+                request.getMaxZones(),
+                Duration.ofMinutes(request.getCutoffWindowMinutes()),
+                openWaves));
+
+        long elapsed = System.nanoTime() - started;
+        meterRegistry.timer("wms.waves.planning").record(elapsed, TimeUnit.NANOSECONDS);
+        return new Planning(candidates.size(), waves, inventoryKeys, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private Warehouse requireWarehouse(Long warehouseId) {
+        return warehouseRepository.findById(warehouseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found"));
+    }
+
+    private WaveResponse preview(PlannedWave wave) {
+        return toResponse(null, wave, wave.orderIds(), Map.of(), null);
+    }
+
+    private WaveResponse toResponse(String waveNumber, PlannedWave wave, List<Long> orderIds,
+                                    Map<Long, String> failures, PickListResponse pickList) {
+        return WaveResponse.builder()
+                .waveNumber(waveNumber)
+                .carrier(wave.carrier())
+                .cutoffAt(wave.cutoffAt())
+                .orderIds(orderIds)
+                .orderCount(orderIds.size())
+                .lineCount(pickList != null ? pickList.getLineCount() : wave.lineCount())
+                .totalUnits(pickList != null ? pickList.getTotalUnits() : wave.units())
+                .zones(wave.zones())
+                .failures(failures)
+                .pickList(pickList)
+                .build();
+    }
+
+    private record Planning(int candidates,
+                            List<PlannedWave> waves,
+                            Map<Long, List<InventoryKey>> inventoryKeys,
+                            long millis) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.wms.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method (a scheduled task) once on every shard in turn when sharding is
+ * on; a failure on one shard is logged and does not stop the others. Called with a shard
+ * already set, or with sharding off, the method simply runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PerShard {
+}
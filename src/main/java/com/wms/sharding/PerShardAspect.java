@@ -0,0 +1,41 @@
+package com.wms.sharding;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outermost aspect: the shard is chosen before retries, locks and the transaction take a
+ * connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class PerShardAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerShardAspect.class);
+
+    private final ShardRouter shardRouter;
+
+    @Around("@annotation(com.wms.sharding.PerShard)")
+    public Object onEachShard(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!shardRouter.isEnabled() || ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        for (String shard : shardRouter.shards()) {
+            try (ShardContext.Scope ignored = ShardContext.enter(shard)) {
+                joinPoint.proceed();
+            } catch (RuntimeException ex) {
+                logger.warn("{} failed on shard {}", joinPoint.getSignature().toShortString(), shard, ex);
+            }
+        }
+        return null;
+    }
+}
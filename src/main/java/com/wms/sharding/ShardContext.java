@@ -0,0 +1,76 @@
+package com.wms.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread works on; {@code null} means the catalog database (and, when
+ * sharding is off, the only database). Read by {@link ShardRoutingDataSource} when a
+ * connection is taken, so it must be set before the transaction starts.
+ *
+ * <p>Switching to another shard inside an open transaction fails: work that spans shards has
+ * to be split into one transaction per shard by the caller.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Switches the thread to {@code shard} until the returned scope is closed, which restores
+     * the previous shard.
+     */
+    public static Scope enter(String shard) {
+        String previous = CURRENT.get();
+        if (!Objects.equals(previous, shard) && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch from shard " + describe(previous) + " to "
+                    + describe(shard) + " inside a transaction");
+        }
+        CURRENT.set(shard);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public static <T> T callOn(String shard, Supplier<T> work) {
+        try (Scope ignored = enter(shard)) {
+            return work.get();
+        }
+    }
+
+    public static void runOn(String shard, Runnable work) {
+        try (Scope ignored = enter(shard)) {
+            work.run();
+        }
+    }
+
+    /**
+     * Binds {@code work} to the caller's shard, for handing it to another thread (worker
+     * pools do not inherit the thread-local).
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        String shard = CURRENT.get();
+        return () -> callOn(shard, work);
+    }
+
+    private static String describe(String shard) {
+        return shard != null ? shard : "catalog";
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
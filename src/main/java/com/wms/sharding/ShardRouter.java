@@ -0,0 +1,75 @@
+package com.wms.sharding;
+
+import com.wms.exception.BusinessRuleException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maps warehouses to shards from {@link ShardingProperties}. When sharding is off every
+ * warehouse maps to {@code null}, the single database, so callers do not need to check.
+ */
+public class ShardRouter {
+
+    public static final String CATALOG = "catalog";
+
+    private final boolean enabled;
+    private final List<String> shards;
+    private final Map<Long, String> shardByWarehouse = new HashMap<>();
+
+    public ShardRouter(ShardingProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.shards = enabled ? List.copyOf(properties.getShards().keySet()) : List.of();
+        if (!enabled) {
+            return;
+        }
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("app.sharding.enabled is set but no shards are configured");
+        }
+        properties.getShards().forEach((name, shard) -> {
+            if (CATALOG.equals(name)) {
+                throw new IllegalStateException("'" + CATALOG + "' is reserved and cannot name a shard");
+            }
+            for (Long warehouseId : shard.getWarehouses()) {
+                String other = shardByWarehouse.putIfAbsent(warehouseId, name);
+                if (other != null) {
+                    throw new IllegalStateException("Warehouse " + warehouseId + " is assigned to shards "
+                            + other + " and " + name);
+                }
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Configured shard names, in configuration order; empty when sharding is off.
+     */
+    public List<String> shards() {
+        return shards;
+    }
+
+    /**
+     * Whether the warehouse's data lives on the thread's shard. Warehouses are replicated to
+     * every shard, so per-shard jobs use this to skip the ones that belong elsewhere; a
+     * warehouse not assigned to any shard is on none. Always true when sharding is off.
+     */
+    public boolean isOnCurrentShard(Long warehouseId) {
+        return !enabled || Objects.equals(shardByWarehouse.get(warehouseId), ShardContext.current());
+    }
+
+    public String shardForWarehouse(Long warehouseId) {
+        if (!enabled) {
+            return null;
+        }
+        String shard = shardByWarehouse.get(warehouseId);
+        if (shard == null) {
+            throw new BusinessRuleException("Warehouse " + warehouseId + " is not assigned to a shard");
+        }
+        return shard;
+    }
+}
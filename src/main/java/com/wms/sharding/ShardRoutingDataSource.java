@@ -0,0 +1,71 @@
+package com.wms.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Picks the pool of the thread's {@link ShardContext} when a connection is taken; no shard
+ * means the catalog. An unknown shard name fails instead of silently falling back to the
+ * catalog.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<String, DataSource> physical;
+    private Map<String, DataSource> pools;
+
+    public ShardRoutingDataSource(DataSource catalog, Map<String, DataSource> shards) {
+        Map<String, DataSource> all = new LinkedHashMap<>();
+        all.put(ShardRouter.CATALOG, catalog);
+        all.putAll(shards);
+        this.physical = Collections.unmodifiableMap(all);
+        route(physical);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Puts a wrapper in front of every pool, each on its own, so that one shard's load does
+     * not hold up the others. Must run before {@link #afterPropertiesSet()}, which resolves
+     * the targets.
+     */
+    public void wrapPools(BiFunction<String, DataSource, DataSource> wrapper) {
+        Map<String, DataSource> wrapped = new LinkedHashMap<>();
+        physical.forEach((name, pool) -> wrapped.put(name, wrapper.apply(name, pool)));
+        route(Collections.unmodifiableMap(wrapped));
+    }
+
+    /**
+     * Every pool by name, the catalog first; for work that has to touch each database
+     * (migrations).
+     */
+    public Map<String, DataSource> pools() {
+        return pools;
+    }
+
+    private void route(Map<String, DataSource> all) {
+        this.pools = all;
+        Map<Object, Object> shards = new HashMap<>(all);
+        shards.remove(ShardRouter.CATALOG);
+        setTargetDataSources(shards);
+        setDefaultTargetDataSource(all.get(ShardRouter.CATALOG));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource pool : physical.values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.wms.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code app.sharding}: the catalog database and the shards with the warehouses each one
+ * holds. Ignored unless {@code enabled} is set; the application then uses
+ * {@code spring.datasource} as a single database.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private Catalog catalog = new Catalog();
+
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Catalog extends Pool {
+        // Shard sunucusunun katalog veritabanına bağlanacağı adres (libpq biçimi); boşsa çoğaltma kurulmaz
+        private String replicationConnection;
+    }
+
+    @Getter
+    @Setter
+    public static class Shard extends Pool {
+        private List<Long> warehouses = new ArrayList<>();
+    }
+}
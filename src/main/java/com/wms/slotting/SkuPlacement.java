@@ -0,0 +1,11 @@
+package com.wms.slotting;
+
+/**
+ * Stock of one product in one location, as it sits today.
+ */
+public record SkuPlacement(Long productId,
+                           String sku,
+                           Long locationId,
+                           Integer quantity,
+                           Integer reservedQuantity) {
+}
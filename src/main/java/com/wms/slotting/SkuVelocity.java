@@ -0,0 +1,11 @@
+package com.wms.slotting;
+
+/**
+ * Picks of one product from one location over the analysis window: {@code picks} is the
+ * number of shipped lines, {@code units} the quantity they carried.
+ */
+public record SkuVelocity(Long productId,
+                          Long locationId,
+                          Long picks,
+                          Long units) {
+}
@@ -0,0 +1,12 @@
+package com.wms.slotting;
+
+/**
+ * A storage location of the warehouse being slotted, with the labels that place it on the
+ * aisle/rack/bin grid.
+ */
+public record SlotLocation(Long locationId,
+                           String code,
+                           String aisle,
+                           String rack,
+                           String bin) {
+}
@@ -0,0 +1,23 @@
+package com.wms.slotting;
+
+/**
+ * One recommended relocation: all stock of a product moves from its current location to a
+ * free one closer to the dock. Distances are the one-way walk from the dock in rack
+ * positions, so {@link #travelSaved()} is what the window's picks would have saved.
+ */
+public record SlottingMove(Long productId,
+                           String sku,
+                           Long fromLocationId,
+                           String fromLocationCode,
+                           Long toLocationId,
+                           String toLocationCode,
+                           int quantity,
+                           long picks,
+                           long units,
+                           double fromDistance,
+                           double toDistance) {
+
+    public double travelSaved() {
+        return picks * (fromDistance - toDistance);
+    }
+}
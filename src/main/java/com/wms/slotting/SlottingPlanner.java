@@ -0,0 +1,152 @@
+package com.wms.slotting;
+
+import com.wms.concurrency.InventoryKey;
+import com.wms.picking.PickPathPlanner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Recommends moving fast movers into free locations near the dock. Locations are scored by
+ * their walk from the dock on the same grid as {@link PickPathPlanner}: aisle position
+ * times the aisle spacing plus the rack position, with a small weight per bin level.
+ *
+ * <p>Stocked placements are visited fastest first; each takes the best free location if
+ * that saves at least {@code minDistanceGain} per pick, and the location it leaves becomes
+ * free for slower products. Moves come out in that order, which is also the order they
+ * can be applied in. Placements with reserved stock stay put, since only free stock can
+ * be transferred and a split product would be picked from two places.
+ *
+ * <p>Cost is two sorts and a pass with an ordered set of free locations, so warehouses
+ * with tens of thousands of locations plan in milliseconds.
+ */
+@Component
+public class SlottingPlanner {
+
+    private static final Comparator<Slot> NEAREST_FIRST = Comparator
+            .comparingDouble(Slot::distance)
+            .thenComparing(slot -> slot.location().code(), PickPathPlanner.NATURAL_ORDER)
+            .thenComparing(slot -> slot.location().locationId());
+
+    private final double aisleSpacing;
+    private final double binWeight;
+    private final double minDistanceGain;
+
+    public SlottingPlanner(@Value("${app.picking.aisle-spacing:3}") double aisleSpacing,
+                           @Value("${app.slotting.bin-weight:0.5}") double binWeight,
+                           @Value("${app.slotting.min-distance-gain:1}") double minDistanceGain) {
+        this.aisleSpacing = aisleSpacing;
+        this.binWeight = binWeight;
+        this.minDistanceGain = minDistanceGain;
+    }
+
+    public List<SlottingMove> plan(Collection<SlotLocation> locations,
+                                   Collection<SkuPlacement> placements,
+                                   Collection<SkuVelocity> velocities,
+                                   int maxMoves) {
+        Map<Long, Slot> slots = score(locations);
+
+        Map<Long, Integer> occupants = new HashMap<>();
+        List<SkuPlacement> stocked = new ArrayList<>();
+        for (SkuPlacement placement : placements) {
+            if (placement.quantity() > 0 && slots.containsKey(placement.locationId())) {
+                occupants.merge(placement.locationId(), 1, Integer::sum);
+                stocked.add(placement);
+            }
+        }
+        TreeSet<Slot> free = new TreeSet<>(NEAREST_FIRST);
+        slots.values().stream()
+                .filter(slot -> !occupants.containsKey(slot.location().locationId()))
+                .forEach(free::add);
+
+        Map<InventoryKey, SkuVelocity> velocityByKey = new HashMap<>();
+        velocities.forEach(velocity -> velocityByKey.put(
+                new InventoryKey(velocity.productId(), velocity.locationId()), velocity));
+
+        List<Ranked> ranked = new ArrayList<>();
+        for (SkuPlacement placement : stocked) {
+            SkuVelocity velocity = velocityByKey.get(new InventoryKey(placement.productId(), placement.locationId()));
+            if (velocity != null && velocity.picks() > 0) {
+                ranked.add(new Ranked(placement, velocity));
+            }
+        }
+        ranked.sort(Comparator
+                .comparingLong((Ranked entry) -> entry.velocity().picks()).reversed()
+                .thenComparing(entry -> entry.velocity().units(), Comparator.reverseOrder())
+                .thenComparing(entry -> slots.get(entry.placement().locationId()).distance(), Comparator.reverseOrder())
+                .thenComparing(entry -> entry.placement().productId()));
+
+        List<SlottingMove> moves = new ArrayList<>();
+        for (Ranked entry : ranked) {
+            if (moves.size() >= maxMoves || free.isEmpty()) {
+                break;
+            }
+            SkuPlacement placement = entry.placement();
+            Slot current = slots.get(placement.locationId());
+            Slot target = free.first();
+            // Ayrılmış stok taşınamaz; ürünün bir kısmı eski yerde kalırdı
+            if (placement.reservedQuantity() > 0 || current.distance() - target.distance() < minDistanceGain) {
+                continue;
+            }
+
+            free.pollFirst();
+            if (occupants.merge(current.location().locationId(), -1, Integer::sum) == 0) {
+                free.add(current);
+            }
+            moves.add(new SlottingMove(placement.productId(), placement.sku(),
+                    current.location().locationId(), current.location().code(),
+                    target.location().locationId(), target.location().code(),
+                    placement.quantity(), entry.velocity().picks(), entry.velocity().units(),
+                    current.distance(), target.distance()));
+        }
+        return moves;
+    }
+
+    /**
+     * Walking distance from the dock for every location that has an aisle and a rack.
+     * Labels are ranked in natural order across the given locations; the first aisle and
+     * the lowest bin cost nothing, the first rack costs one step.
+     */
+    public Map<Long, Slot> score(Collection<SlotLocation> locations) {
+        TreeSet<String> aisles = new TreeSet<>(PickPathPlanner.NATURAL_ORDER);
+        TreeSet<String> racks = new TreeSet<>(PickPathPlanner.NATURAL_ORDER);
+        TreeSet<String> bins = new TreeSet<>(PickPathPlanner.NATURAL_ORDER);
+        for (SlotLocation location : locations) {
+            if (location.aisle() != null && location.rack() != null) {
+                aisles.add(location.aisle());
+                racks.add(location.rack());
+                if (location.bin() != null) {
+                    bins.add(location.bin());
+                }
+            }
+        }
+        Map<String, Integer> aisleIndex = PickPathPlanner.rank(aisles, 0);
+        Map<String, Integer> rackIndex = PickPathPlanner.rank(racks, 1);
+        Map<String, Integer> binIndex = PickPathPlanner.rank(bins, 0);
+
+        Map<Long, Slot> slots = new HashMap<>();
+        for (SlotLocation location : locations) {
+            if (location.aisle() == null || location.rack() == null) {
+                continue;
+            }
+            double distance = aisleIndex.get(location.aisle()) * aisleSpacing
+                    + rackIndex.get(location.rack())
+                    + (location.bin() != null ? binIndex.get(location.bin()) * binWeight : 0);
+            slots.put(location.locationId(), new Slot(location, distance));
+        }
+        return slots;
+    }
+
+    public record Slot(SlotLocation location, double distance) {
+    }
+
+    private record Ranked(SkuPlacement placement, SkuVelocity velocity) {
+    }
+}
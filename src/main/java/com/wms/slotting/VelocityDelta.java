@@ -0,0 +1,15 @@
+package com.wms.slotting;
+
+import java.time.LocalDate;
+
+/**
+ * Picks of one product from one location on one day, summed over a range of shipments
+ * on the change feed. Added onto the daily velocity rows by the roll-up.
+ */
+public record VelocityDelta(Long productId,
+                            Long locationId,
+                            Long warehouseId,
+                            LocalDate pickDate,
+                            Long picks,
+                            Long units) {
+}
@@ -0,0 +1,83 @@
+package com.wms.stockload;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps the records of an inventory load file ({@code sku}, {@code warehouse},
+ * {@code location}, {@code quantity}, by header name) to staged lines. A line that cannot
+ * be read is still staged, with its reason, so it appears in the rejection file.
+ */
+public class StockLoadCsvMapper {
+
+    private static final Set<String> COLUMNS = Set.of("sku", "warehouse", "location", "quantity");
+
+    private final int sku;
+    private final int warehouse;
+    private final int location;
+    private final int quantity;
+
+    private StockLoadCsvMapper(Map<String, Integer> columns) {
+        this.sku = columns.get("sku");
+        this.warehouse = columns.get("warehouse");
+        this.location = columns.get("location");
+        this.quantity = columns.get("quantity");
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown, duplicate or missing columns
+     */
+    public static StockLoadCsvMapper forHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).strip().toLowerCase(Locale.ROOT);
+            if (!COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown column: " + column);
+            }
+            if (columns.put(column, i) != null) {
+                throw new IllegalArgumentException("Duplicate column: " + column);
+            }
+        }
+        for (String column : COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("Missing column: " + column);
+            }
+        }
+        return new StockLoadCsvMapper(columns);
+    }
+
+    public StockLoadLine map(long line, List<String> fields) {
+        String skuValue = value(fields, sku, 100);
+        String warehouseValue = value(fields, warehouse, 100);
+        String locationValue = value(fields, location, 50);
+        String quantityValue = value(fields, quantity, 11);
+        Integer parsed = null;
+        String reason = null;
+        if (skuValue == null || warehouseValue == null || locationValue == null || quantityValue == null) {
+            reason = "sku, warehouse, location and quantity are required (at most 100, 100, 50 and 11 characters)";
+        } else {
+            try {
+                parsed = Integer.parseInt(quantityValue);
+                if (parsed < 0) {
+                    reason = "quantity must not be negative";
+                    parsed = null;
+                }
+            } catch (NumberFormatException ex) {
+                reason = "quantity is not a whole number";
+            }
+        }
+        return new StockLoadLine(line, skuValue, warehouseValue, locationValue, parsed, reason);
+    }
+
+    // Boş ya da sütuna sığmayan alan okunamamış sayılır
+    private static String value(List<String> fields, int index, int maxLength) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).strip();
+        return value.isEmpty() || value.length() > maxLength ? null : value;
+    }
+}
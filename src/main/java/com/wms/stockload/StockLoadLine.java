@@ -0,0 +1,9 @@
+package com.wms.stockload;
+
+/**
+ * A record of an inventory load file as staged: fields that could not be read are
+ * {@code null} and {@code rejectReason} says why.
+ */
+public record StockLoadLine(long line, String sku, String warehouseCode, String locationCode, Integer quantity,
+                            String rejectReason) {
+}
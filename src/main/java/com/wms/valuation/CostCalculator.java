@@ -0,0 +1,66 @@
+package com.wms.valuation;
+
+import com.wms.enums.CostingMethod;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cost of an issue from a product's open cost layers. Units always leave the layers oldest
+ * first; the costing method only decides what they cost:
+ * <ul>
+ *   <li>{@code FIFO}: the unit cost of the layers they are drawn from</li>
+ *   <li>{@code WEIGHTED_AVERAGE}: the current average cost, {@code totalCost / quantity}</li>
+ * </ul>
+ * An issue larger than the valued quantity is cut to it; the rest has no cost.
+ */
+public final class CostCalculator {
+
+    public static final int SCALE = 4;
+
+    private CostCalculator() {
+    }
+
+    /**
+     * @param layers    open layers, oldest first
+     * @param totalCost current total cost of the layers' remaining units
+     */
+    public static CostIssue issue(CostingMethod method, List<LayerBalance> layers, BigDecimal totalCost,
+                                  int quantity) {
+        long valued = 0;
+        for (LayerBalance layer : layers) {
+            valued += layer.remaining();
+        }
+        List<Integer> drawn = new ArrayList<>(layers.size());
+        BigDecimal layerCost = BigDecimal.ZERO;
+        int left = quantity;
+        for (LayerBalance layer : layers) {
+            int take = Math.min(left, layer.remaining());
+            drawn.add(take);
+            layerCost = layerCost.add(layer.unitCost().multiply(BigDecimal.valueOf(take)));
+            left -= take;
+        }
+        int issued = quantity - left;
+        if (method == CostingMethod.FIFO || issued == 0) {
+            return new CostIssue(drawn, issued, layerCost.setScale(SCALE, RoundingMode.HALF_UP));
+        }
+        // Son birimler kalan maliyetin tamamını taşır; yuvarlama artığı kalmaz
+        BigDecimal cost = issued == valued
+                ? totalCost
+                : totalCost.multiply(BigDecimal.valueOf(issued))
+                        .divide(BigDecimal.valueOf(valued), SCALE, RoundingMode.HALF_UP);
+        return new CostIssue(drawn, issued, cost);
+    }
+
+    /**
+     * Average unit cost of a valuation, or zero when nothing is valued.
+     */
+    public static BigDecimal averageCost(BigDecimal totalCost, long quantity) {
+        if (quantity == 0) {
+            return BigDecimal.ZERO.setScale(SCALE);
+        }
+        return totalCost.divide(BigDecimal.valueOf(quantity), SCALE, RoundingMode.HALF_UP);
+    }
+}
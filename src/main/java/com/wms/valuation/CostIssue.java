@@ -0,0 +1,11 @@
+package com.wms.valuation;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Result of issuing units from cost layers: units drawn from each layer (in the order the
+ * layers were given), the number of valued units issued and their cost.
+ */
+public record CostIssue(List<Integer> drawn, int quantity, BigDecimal cost) {
+}
@@ -0,0 +1,9 @@
+package com.wms.valuation;
+
+import java.math.BigDecimal;
+
+/**
+ * Remaining units of one open cost layer and their unit cost.
+ */
+public record LayerBalance(int remaining, BigDecimal unitCost) {
+}
@@ -0,0 +1,7 @@
+package com.wms.valuation;
+
+/**
+ * Net change of one product's on-hand quantity in one warehouse; positive for a gain.
+ */
+public record StockDelta(Long productId, Long warehouseId, int quantity) {
+}
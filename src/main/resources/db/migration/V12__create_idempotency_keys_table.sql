@@ -0,0 +1,18 @@
+CREATE TABLE idempotency_keys (
+                                  id BIGSERIAL PRIMARY KEY,
+                                  idempotency_key VARCHAR(100) NOT NULL,
+                                  request_method VARCHAR(10) NOT NULL,
+                                  request_path VARCHAR(255) NOT NULL,
+                                  response_status INTEGER,
+                                  response_content_type VARCHAR(100),
+                                  response_body TEXT,
+                                  expires_at TIMESTAMP NOT NULL,
+                                  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                  updated_at TIMESTAMP,
+                                  created_by VARCHAR(255),
+                                  last_modified_by VARCHAR(255),
+                                  deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                  CONSTRAINT uk_idempotency_keys_key UNIQUE (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys(expires_at);
@@ -0,0 +1,6 @@
+ALTER TABLE stock_reservations ADD COLUMN expires_at TIMESTAMP;
+
+-- Mevcut açık rezervasyonlara varsayılan TTL (24 saat) uygula
+UPDATE stock_reservations SET expires_at = reserved_at + INTERVAL '24 hours' WHERE released = FALSE;
+
+CREATE INDEX idx_stock_reservations_expiry ON stock_reservations(expires_at) WHERE released = FALSE;
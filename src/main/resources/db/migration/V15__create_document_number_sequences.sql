@@ -0,0 +1,4 @@
+-- Sipariş ve satın alma numaraları için blok tahsisli sequence'ler.
+-- INCREMENT BY, DocumentNumberGenerator.BLOCK_SIZE ile aynı olmalı: her nextval bir node'a 1000'lik blok verir
+CREATE SEQUENCE order_number_seq START WITH 1 INCREMENT BY 1000;
+CREATE SEQUENCE purchase_order_number_seq START WITH 1 INCREMENT BY 1000;
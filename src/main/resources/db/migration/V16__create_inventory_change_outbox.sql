@@ -0,0 +1,39 @@
+-- Envanter değişiklikleri için transactional outbox.
+-- position, relay tarafından commit sonrası sırayla atanır; değişiklik akışının cursor'ıdır
+CREATE TABLE inventory_change_events (
+                                         id BIGSERIAL PRIMARY KEY,
+                                         inventory_id BIGINT NOT NULL,
+                                         product_id BIGINT NOT NULL,
+                                         location_id BIGINT NOT NULL,
+                                         warehouse_id BIGINT NOT NULL,
+                                         quantity INTEGER NOT NULL,
+                                         reserved_quantity INTEGER NOT NULL,
+                                         change_type VARCHAR(30) NOT NULL,
+                                         reference VARCHAR(100),
+                                         position BIGINT,
+                                         published_at TIMESTAMP,
+                                         created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                         updated_at TIMESTAMP,
+                                         created_by VARCHAR(255),
+                                         last_modified_by VARCHAR(255),
+                                         deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                         CONSTRAINT uk_inventory_change_events_position UNIQUE (position)
+);
+
+-- Relay yalnızca yayımlanmamış satırları tarar
+CREATE INDEX idx_inventory_change_events_pending ON inventory_change_events(id) WHERE position IS NULL;
+
+-- Relay'leri tek sıraya sokan durum satırı (feed başına bir satır)
+CREATE TABLE change_feed_state (
+                                   id BIGSERIAL PRIMARY KEY,
+                                   feed VARCHAR(50) NOT NULL,
+                                   last_position BIGINT NOT NULL DEFAULT 0,
+                                   created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                   updated_at TIMESTAMP,
+                                   created_by VARCHAR(255),
+                                   last_modified_by VARCHAR(255),
+                                   deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                   CONSTRAINT uk_change_feed_state_feed UNIQUE (feed)
+);
+
+INSERT INTO change_feed_state (feed, last_position) VALUES ('inventory', 0);
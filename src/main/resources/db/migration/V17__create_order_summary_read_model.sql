@@ -0,0 +1,46 @@
+-- Sipariş listesi için denormalize okuma modeli; OrderService yazma yolunda güncel tutar
+CREATE TABLE order_summary (
+                               id BIGSERIAL PRIMARY KEY,
+                               order_id BIGINT NOT NULL,
+                               order_number VARCHAR(50) NOT NULL,
+                               customer_name VARCHAR(200) NOT NULL,
+                               warehouse_id BIGINT NOT NULL,
+                               warehouse_name VARCHAR(200) NOT NULL,
+                               status VARCHAR(20) NOT NULL,
+                               line_count INTEGER NOT NULL DEFAULT 0,
+                               total_units BIGINT NOT NULL DEFAULT 0,
+                               total_value DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                               order_date DATE NOT NULL,
+                               shipped_date DATE,
+                               created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                               updated_at TIMESTAMP,
+                               created_by VARCHAR(255),
+                               last_modified_by VARCHAR(255),
+                               deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                               CONSTRAINT uk_order_summary_order UNIQUE (order_id),
+                               CONSTRAINT fk_order_summary_order FOREIGN KEY (order_id) REFERENCES orders(id)
+);
+
+-- Filtre + sıralama anahtarları indekste; liste sorgusunun seçtiği sütunlar INCLUDE ile
+-- indekste durduğu için sayfa okuması index-only scan ile yapılabilir
+CREATE INDEX idx_order_summary_date ON order_summary(order_date DESC, id DESC)
+    INCLUDE (order_id, order_number, customer_name, warehouse_id, warehouse_name, status,
+             line_count, total_units, total_value, shipped_date, updated_at);
+CREATE INDEX idx_order_summary_status_date ON order_summary(status, order_date DESC, id DESC)
+    INCLUDE (order_id, order_number, customer_name, warehouse_id, warehouse_name,
+             line_count, total_units, total_value, shipped_date, updated_at);
+CREATE INDEX idx_order_summary_warehouse_status_date ON order_summary(warehouse_id, status, order_date DESC, id DESC)
+    INCLUDE (order_id, order_number, customer_name, warehouse_name,
+             line_count, total_units, total_value, shipped_date, updated_at);
+
+-- Mevcut siparişler için geriye dönük doldurma
+INSERT INTO order_summary (order_id, order_number, customer_name, warehouse_id, warehouse_name, status,
+                           line_count, total_units, total_value, order_date, shipped_date)
+SELECT o.id, o.order_number, o.customer_name, o.warehouse_id, w.name, o.status,
+       COUNT(oi.id), COALESCE(SUM(oi.quantity), 0), COALESCE(SUM(oi.quantity * p.unit_price), 0),
+       o.order_date, o.shipped_date
+FROM orders o
+         JOIN warehouses w ON w.id = o.warehouse_id
+         LEFT JOIN order_items oi ON oi.order_id = o.id
+         LEFT JOIN products p ON p.id = oi.product_id
+GROUP BY o.id, o.order_number, o.customer_name, o.warehouse_id, w.name, o.status, o.order_date, o.shipped_date;
@@ -0,0 +1,33 @@
+-- Dalga planlaması: taşıyıcı ve kesim saati siparişte, serbest bırakılan dalga ayrı tabloda
+ALTER TABLE orders ADD COLUMN carrier VARCHAR(50);
+ALTER TABLE orders ADD COLUMN cutoff_at TIMESTAMP;
+
+CREATE TABLE waves (
+                       id BIGSERIAL PRIMARY KEY,
+                       wave_number VARCHAR(50) NOT NULL,
+                       warehouse_id BIGINT NOT NULL,
+                       carrier VARCHAR(50),
+                       cutoff_at TIMESTAMP,
+                       order_count INTEGER NOT NULL,
+                       line_count INTEGER NOT NULL,
+                       total_units BIGINT NOT NULL,
+                       zone_count INTEGER NOT NULL,
+                       released_at TIMESTAMP NOT NULL,
+                       created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                       updated_at TIMESTAMP,
+                       created_by VARCHAR(255),
+                       last_modified_by VARCHAR(255),
+                       deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                       CONSTRAINT uk_waves_number UNIQUE (wave_number),
+                       CONSTRAINT fk_waves_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id)
+);
+
+ALTER TABLE orders ADD COLUMN wave_id BIGINT;
+ALTER TABLE orders ADD CONSTRAINT fk_orders_wave FOREIGN KEY (wave_id) REFERENCES waves(id);
+CREATE INDEX idx_orders_wave ON orders(wave_id);
+
+-- Planlayıcı bir deponun bekleyen siparişlerini tarar
+CREATE INDEX idx_orders_warehouse_status ON orders(warehouse_id, status);
+
+-- INCREMENT BY, DocumentNumberGenerator.BLOCK_SIZE ile aynı olmalı
+CREATE SEQUENCE wave_number_seq START WITH 1 INCREMENT BY 1000;
@@ -0,0 +1,26 @@
+-- Slotting için günlük toplama hızı: ürün + kaynak lokasyon + gün başına bir satır.
+-- stock_movements'taki OUT hareketlerinden artımlı doldurulur; izlenen son hareket id'si
+-- change_feed_state'te 'pick-velocity' satırında tutulur
+CREATE TABLE pick_velocity_daily (
+                                     id BIGSERIAL PRIMARY KEY,
+                                     product_id BIGINT NOT NULL,
+                                     location_id BIGINT NOT NULL,
+                                     warehouse_id BIGINT NOT NULL,
+                                     pick_date DATE NOT NULL,
+                                     pick_count INTEGER NOT NULL DEFAULT 0,
+                                     units BIGINT NOT NULL DEFAULT 0,
+                                     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                     updated_at TIMESTAMP,
+                                     created_by VARCHAR(255),
+                                     last_modified_by VARCHAR(255),
+                                     deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                     CONSTRAINT uk_pick_velocity_daily UNIQUE (location_id, product_id, pick_date),
+                                     CONSTRAINT fk_pick_velocity_daily_product FOREIGN KEY (product_id) REFERENCES products(id),
+                                     CONSTRAINT fk_pick_velocity_daily_location FOREIGN KEY (location_id) REFERENCES locations(id)
+);
+
+-- Pencere sorgusu: depo + tarih aralığı, toplanan sütunlar INCLUDE ile indekste
+CREATE INDEX idx_pick_velocity_daily_warehouse_date ON pick_velocity_daily(warehouse_id, pick_date)
+    INCLUDE (product_id, location_id, pick_count, units);
+
+INSERT INTO change_feed_state (feed, last_position) VALUES ('pick-velocity', 0);
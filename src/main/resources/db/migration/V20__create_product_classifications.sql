@@ -0,0 +1,24 @@
+-- Haftalık ABC/XYZ sınıflandırması; depo başına her çalıştırmada yeniden yazılır
+CREATE TABLE product_classifications (
+                                         id BIGSERIAL PRIMARY KEY,
+                                         product_id BIGINT NOT NULL,
+                                         warehouse_id BIGINT NOT NULL,
+                                         abc_class VARCHAR(1) NOT NULL,
+                                         xyz_class VARCHAR(1) NOT NULL,
+                                         units BIGINT NOT NULL DEFAULT 0,
+                                         consumption_value DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         demand_cv DOUBLE PRECISION,
+                                         computed_at TIMESTAMP NOT NULL,
+                                         created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                         updated_at TIMESTAMP,
+                                         created_by VARCHAR(255),
+                                         last_modified_by VARCHAR(255),
+                                         deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                         CONSTRAINT uk_product_classifications UNIQUE (warehouse_id, product_id),
+                                         CONSTRAINT fk_product_classifications_product FOREIGN KEY (product_id) REFERENCES products(id),
+                                         CONSTRAINT fk_product_classifications_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id)
+);
+
+-- Ürün/stok listelerindeki sınıf filtreleri ürün id'si üzerinden EXISTS ile bakar
+CREATE INDEX idx_product_classifications_product ON product_classifications(product_id, abc_class, xyz_class);
+CREATE INDEX idx_product_classifications_classes ON product_classifications(warehouse_id, abc_class, xyz_class);
@@ -0,0 +1,52 @@
+-- Ürün başına tedarikçi koşulları; otomatik siparişler tercih edilen tedarikçiye gider
+CREATE TABLE product_suppliers (
+                                   id BIGSERIAL PRIMARY KEY,
+                                   product_id BIGINT NOT NULL,
+                                   supplier_id BIGINT NOT NULL,
+                                   lead_time_days INTEGER NOT NULL,
+                                   min_order_quantity INTEGER NOT NULL DEFAULT 1,
+                                   pack_size INTEGER NOT NULL DEFAULT 1,
+                                   unit_cost DECIMAL(10, 2),
+                                   preferred BOOLEAN NOT NULL DEFAULT FALSE,
+                                   created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                   updated_at TIMESTAMP,
+                                   created_by VARCHAR(255),
+                                   last_modified_by VARCHAR(255),
+                                   deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                   CONSTRAINT uk_product_suppliers UNIQUE (product_id, supplier_id),
+                                   CONSTRAINT fk_product_suppliers_product FOREIGN KEY (product_id) REFERENCES products(id),
+                                   CONSTRAINT fk_product_suppliers_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers(id)
+);
+
+CREATE UNIQUE INDEX uk_product_suppliers_preferred ON product_suppliers(product_id) WHERE preferred;
+CREATE INDEX idx_product_suppliers_supplier ON product_suppliers(supplier_id);
+
+-- Gece tahmin çalışmasının sonucu; depo başına yeniden yazılır
+CREATE TABLE replenishment_plans (
+                                     id BIGSERIAL PRIMARY KEY,
+                                     product_id BIGINT NOT NULL,
+                                     warehouse_id BIGINT NOT NULL,
+                                     location_id BIGINT NOT NULL,
+                                     supplier_id BIGINT,
+                                     daily_demand DOUBLE PRECISION NOT NULL,
+                                     demand_sd DOUBLE PRECISION NOT NULL,
+                                     lead_time_days INTEGER NOT NULL,
+                                     safety_stock BIGINT NOT NULL,
+                                     reorder_point BIGINT NOT NULL,
+                                     inventory_position BIGINT NOT NULL,
+                                     order_quantity BIGINT NOT NULL,
+                                     computed_at TIMESTAMP NOT NULL,
+                                     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                     updated_at TIMESTAMP,
+                                     created_by VARCHAR(255),
+                                     last_modified_by VARCHAR(255),
+                                     deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                     CONSTRAINT uk_replenishment_plans UNIQUE (warehouse_id, product_id),
+                                     CONSTRAINT fk_replenishment_plans_product FOREIGN KEY (product_id) REFERENCES products(id),
+                                     CONSTRAINT fk_replenishment_plans_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id)
+);
+
+CREATE INDEX idx_replenishment_plans_orders ON replenishment_plans(warehouse_id, order_quantity);
+
+-- Yoldaki miktar ürün + depo + durum ile toplanır
+CREATE INDEX idx_po_items_product ON purchase_order_items(product_id, purchase_order_id);
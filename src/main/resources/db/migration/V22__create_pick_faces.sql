@@ -0,0 +1,30 @@
+-- Toplama gözleri: ürün başına min/max; seviyeler envanter değişiklik akışından güncellenir
+CREATE TABLE pick_faces (
+                            id BIGSERIAL PRIMARY KEY,
+                            product_id BIGINT NOT NULL,
+                            location_id BIGINT NOT NULL,
+                            warehouse_id BIGINT NOT NULL,
+                            min_quantity INTEGER NOT NULL,
+                            max_quantity INTEGER NOT NULL,
+                            quantity INTEGER NOT NULL DEFAULT 0,
+                            reserved_quantity INTEGER NOT NULL DEFAULT 0,
+                            needs_replenishment BOOLEAN NOT NULL DEFAULT FALSE,
+                            flagged_at TIMESTAMP,
+                            created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                            updated_at TIMESTAMP,
+                            created_by VARCHAR(255),
+                            last_modified_by VARCHAR(255),
+                            deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                            CONSTRAINT uk_pick_faces UNIQUE (location_id, product_id),
+                            CONSTRAINT fk_pick_faces_product FOREIGN KEY (product_id) REFERENCES products(id),
+                            CONSTRAINT fk_pick_faces_location FOREIGN KEY (location_id) REFERENCES locations(id),
+                            CONSTRAINT fk_pick_faces_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id),
+                            CONSTRAINT chk_pick_faces_levels CHECK (min_quantity >= 0 AND max_quantity > 0 AND min_quantity <= max_quantity)
+);
+
+-- Yalnızca dolum bekleyen gözler; rezervasyonu olanlar önce
+CREATE INDEX idx_pick_faces_pending ON pick_faces(reserved_quantity DESC, flagged_at)
+    WHERE needs_replenishment;
+CREATE INDEX idx_pick_faces_warehouse ON pick_faces(warehouse_id);
+
+INSERT INTO change_feed_state (feed, last_position) VALUES ('pick-faces', 0);
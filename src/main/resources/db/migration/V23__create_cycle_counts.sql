@@ -0,0 +1,59 @@
+-- Sayım görevleri: lokasyon aralığı için beklenen miktarlar görev açılırken anlık alınır
+CREATE TABLE cycle_counts (
+                              id BIGSERIAL PRIMARY KEY,
+                              count_number VARCHAR(50) NOT NULL,
+                              warehouse_id BIGINT NOT NULL,
+                              from_location_code VARCHAR(50) NOT NULL,
+                              to_location_code VARCHAR(50) NOT NULL,
+                              status VARCHAR(20) NOT NULL,
+                              movement_watermark BIGINT NOT NULL,
+                              snapshot_at TIMESTAMP NOT NULL,
+                              line_count INTEGER NOT NULL DEFAULT 0,
+                              adjusted_lines INTEGER,
+                              posted_at TIMESTAMP,
+                              version BIGINT,
+                              created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                              updated_at TIMESTAMP,
+                              created_by VARCHAR(255),
+                              last_modified_by VARCHAR(255),
+                              deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                              CONSTRAINT uk_cycle_counts_number UNIQUE (count_number),
+                              CONSTRAINT fk_cycle_counts_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id)
+);
+
+CREATE INDEX idx_cycle_counts_warehouse_status ON cycle_counts(warehouse_id, status);
+
+CREATE TABLE cycle_count_lines (
+                                   id BIGSERIAL PRIMARY KEY,
+                                   cycle_count_id BIGINT NOT NULL,
+                                   inventory_id BIGINT,
+                                   location_id BIGINT NOT NULL,
+                                   location_code VARCHAR(50) NOT NULL,
+                                   product_id BIGINT NOT NULL,
+                                   expected_quantity INTEGER NOT NULL,
+                                   snapshot_balance BIGINT NOT NULL,
+                                   counted_quantity INTEGER,
+                                   counted_at TIMESTAMP,
+                                   variance INTEGER,
+                                   adjusted BOOLEAN NOT NULL DEFAULT FALSE,
+                                   note VARCHAR(255),
+                                   created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                   updated_at TIMESTAMP,
+                                   created_by VARCHAR(255),
+                                   last_modified_by VARCHAR(255),
+                                   deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                   CONSTRAINT uk_cycle_count_lines UNIQUE (cycle_count_id, location_id, product_id),
+                                   CONSTRAINT fk_cycle_count_lines_count FOREIGN KEY (cycle_count_id) REFERENCES cycle_counts(id),
+                                   CONSTRAINT fk_cycle_count_lines_location FOREIGN KEY (location_id) REFERENCES locations(id),
+                                   CONSTRAINT fk_cycle_count_lines_product FOREIGN KEY (product_id) REFERENCES products(id),
+                                   CONSTRAINT chk_cycle_count_lines_counted CHECK (counted_quantity IS NULL OR counted_quantity >= 0)
+);
+
+-- Sayım föyü lokasyon koduna göre sıralı okunur
+CREATE INDEX idx_cycle_count_lines_sheet ON cycle_count_lines(cycle_count_id, location_code);
+
+-- Anlık görüntüden sonraki hareketler ürün + id aralığıyla bulunur
+CREATE INDEX idx_stock_movements_product_id ON stock_movements(product_id, id);
+
+-- INCREMENT BY, DocumentNumberGenerator.BLOCK_SIZE ile aynı olmalı
+CREATE SEQUENCE cycle_count_number_seq START WITH 1 INCREMENT BY 1000;
@@ -0,0 +1,39 @@
+-- Geçmiş stok sorguları için periyodik anlık görüntüler; aradaki fark stock_movements'tan eklenir
+CREATE TABLE inventory_snapshots (
+                                     id BIGSERIAL PRIMARY KEY,
+                                     warehouse_id BIGINT NOT NULL,
+                                     taken_at TIMESTAMP NOT NULL,
+                                     settled_before TIMESTAMP NOT NULL,
+                                     movement_watermark BIGINT NOT NULL,
+                                     line_count INTEGER NOT NULL DEFAULT 0,
+                                     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                     updated_at TIMESTAMP,
+                                     created_by VARCHAR(255),
+                                     last_modified_by VARCHAR(255),
+                                     deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                     CONSTRAINT fk_inventory_snapshots_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id)
+);
+
+CREATE INDEX idx_inventory_snapshots_warehouse_taken ON inventory_snapshots(warehouse_id, taken_at);
+
+-- Yalnızca sıfır olmayan satırlar tutulur
+CREATE TABLE inventory_snapshot_lines (
+                                          id BIGSERIAL PRIMARY KEY,
+                                          snapshot_id BIGINT NOT NULL,
+                                          product_id BIGINT NOT NULL,
+                                          location_id BIGINT NOT NULL,
+                                          quantity INTEGER NOT NULL,
+                                          movement_balance BIGINT NOT NULL,
+                                          created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                          updated_at TIMESTAMP,
+                                          created_by VARCHAR(255),
+                                          last_modified_by VARCHAR(255),
+                                          deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                          CONSTRAINT fk_inventory_snapshot_lines_snapshot FOREIGN KEY (snapshot_id)
+                                              REFERENCES inventory_snapshots(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_inventory_snapshot_lines_snapshot ON inventory_snapshot_lines(snapshot_id, location_id, product_id);
+
+-- Geçmiş sorgusu yalnızca anlık görüntü ile istenen an arasındaki hareketleri tarar
+CREATE INDEX idx_stock_movements_created_at ON stock_movements(created_at);
@@ -0,0 +1,19 @@
+-- Defter doğrulaması: hareketlerden hesaplanan miktar ile envanterin ayrıştığı satırlar
+CREATE TABLE inventory_discrepancies (
+                                         id BIGSERIAL PRIMARY KEY,
+                                         warehouse_id BIGINT NOT NULL,
+                                         product_id BIGINT NOT NULL,
+                                         location_id BIGINT NOT NULL,
+                                         inventory_quantity BIGINT NOT NULL,
+                                         ledger_quantity BIGINT NOT NULL,
+                                         movement_watermark BIGINT NOT NULL,
+                                         detected_at TIMESTAMP NOT NULL,
+                                         created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                         updated_at TIMESTAMP,
+                                         created_by VARCHAR(255),
+                                         last_modified_by VARCHAR(255),
+                                         deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                         CONSTRAINT fk_inventory_discrepancies_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id)
+);
+
+CREATE INDEX idx_inventory_discrepancies_warehouse ON inventory_discrepancies(warehouse_id, detected_at);
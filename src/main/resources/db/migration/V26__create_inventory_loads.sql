@@ -0,0 +1,38 @@
+-- Toplu stok yükleme: dosya COPY ile ara tabloya alınır, kümeler halinde çözülüp envantere işlenir
+CREATE TABLE inventory_loads (
+                                 id BIGSERIAL PRIMARY KEY,
+                                 total_lines INTEGER NOT NULL DEFAULT 0,
+                                 changed_lines INTEGER NOT NULL DEFAULT 0,
+                                 unchanged_lines INTEGER NOT NULL DEFAULT 0,
+                                 rejected_lines INTEGER NOT NULL DEFAULT 0,
+                                 completed_at TIMESTAMP,
+                                 created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                 updated_at TIMESTAMP,
+                                 created_by VARCHAR(255),
+                                 last_modified_by VARCHAR(255),
+                                 deleted BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- Yüklemeden sonra yalnızca reddedilen satırlar kalır
+CREATE TABLE inventory_load_lines (
+                                      id BIGSERIAL PRIMARY KEY,
+                                      load_id BIGINT NOT NULL,
+                                      line_number BIGINT NOT NULL,
+                                      sku VARCHAR(100),
+                                      warehouse_code VARCHAR(100),
+                                      location_code VARCHAR(50),
+                                      quantity INTEGER,
+                                      product_id BIGINT,
+                                      location_id BIGINT,
+                                      previous_quantity INTEGER,
+                                      reject_reason VARCHAR(200),
+                                      created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                      updated_at TIMESTAMP,
+                                      created_by VARCHAR(255),
+                                      last_modified_by VARCHAR(255),
+                                      deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                      CONSTRAINT fk_inventory_load_lines_load FOREIGN KEY (load_id) REFERENCES inventory_loads(id)
+);
+
+CREATE INDEX idx_inventory_load_lines_load ON inventory_load_lines(load_id, line_number);
+CREATE INDEX idx_inventory_load_lines_key ON inventory_load_lines(load_id, product_id, location_id);
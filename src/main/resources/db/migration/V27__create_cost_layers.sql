@@ -0,0 +1,58 @@
+-- Maliyet katmanları: her mal kabul satırı kendi birim maliyetiyle bir katman açar
+CREATE TABLE cost_layers (
+                             id BIGSERIAL PRIMARY KEY,
+                             product_id BIGINT NOT NULL,
+                             warehouse_id BIGINT NOT NULL,
+                             received_quantity INTEGER NOT NULL,
+                             remaining_quantity INTEGER NOT NULL,
+                             unit_cost NUMERIC(19, 4) NOT NULL,
+                             reference_number VARCHAR(100),
+                             received_at TIMESTAMP NOT NULL,
+                             version BIGINT,
+                             created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                             updated_at TIMESTAMP,
+                             created_by VARCHAR(255),
+                             last_modified_by VARCHAR(255),
+                             deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                             CONSTRAINT fk_cost_layers_product FOREIGN KEY (product_id) REFERENCES products(id),
+                             CONSTRAINT fk_cost_layers_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id),
+                             CONSTRAINT chk_cost_layers_remaining CHECK (remaining_quantity >= 0 AND remaining_quantity <= received_quantity)
+);
+
+-- FIFO tüketimi yalnızca açık katmanları sırayla okur
+CREATE INDEX idx_cost_layers_open ON cost_layers(product_id, warehouse_id, id) WHERE remaining_quantity > 0;
+
+-- SKU ve depo başına değerleme; her giriş ve çıkışta artımlı güncellenir
+CREATE TABLE stock_valuations (
+                                  id BIGSERIAL PRIMARY KEY,
+                                  product_id BIGINT NOT NULL,
+                                  warehouse_id BIGINT NOT NULL,
+                                  quantity BIGINT NOT NULL,
+                                  total_cost NUMERIC(19, 4) NOT NULL,
+                                  version BIGINT,
+                                  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                  updated_at TIMESTAMP,
+                                  created_by VARCHAR(255),
+                                  last_modified_by VARCHAR(255),
+                                  deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                                  CONSTRAINT fk_stock_valuations_product FOREIGN KEY (product_id) REFERENCES products(id),
+                                  CONSTRAINT fk_stock_valuations_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id),
+                                  CONSTRAINT uk_stock_valuations UNIQUE (product_id, warehouse_id)
+);
+
+CREATE INDEX idx_stock_valuations_warehouse ON stock_valuations(warehouse_id, product_id);
+
+-- Açılış bakiyesi: mevcut stok, gerçek maliyeti bilinmediğinden liste fiyatıyla tek katman olarak
+INSERT INTO cost_layers (product_id, warehouse_id, received_quantity, remaining_quantity, unit_cost,
+                         reference_number, received_at, version)
+SELECT i.product_id, l.warehouse_id, SUM(i.quantity), SUM(i.quantity), p.unit_price, 'OPENING', CURRENT_TIMESTAMP, 0
+FROM inventory i
+         JOIN locations l ON l.id = i.location_id
+         JOIN products p ON p.id = i.product_id
+GROUP BY i.product_id, l.warehouse_id, p.unit_price
+HAVING SUM(i.quantity) > 0;
+
+INSERT INTO stock_valuations (product_id, warehouse_id, quantity, total_cost, version)
+SELECT product_id, warehouse_id, remaining_quantity, remaining_quantity * unit_cost, 0
+FROM cost_layers
+WHERE reference_number = 'OPENING';
@@ -0,0 +1,11 @@
+-- Anahtarlar kullanıcıya göre ayrılır; aynı anahtarla farklı bir istek parmak iziyle reddedilir
+ALTER TABLE idempotency_keys ADD COLUMN principal VARCHAR(255);
+ALTER TABLE idempotency_keys ADD COLUMN request_fingerprint VARCHAR(64);
+
+-- Eski kayıtların sahibi ve gövdesi bilinmiyor; en fazla TTL kadar yaşarlar, silinirler
+DELETE FROM idempotency_keys;
+
+ALTER TABLE idempotency_keys ALTER COLUMN principal SET NOT NULL;
+ALTER TABLE idempotency_keys ALTER COLUMN request_fingerprint SET NOT NULL;
+ALTER TABLE idempotency_keys DROP CONSTRAINT uk_idempotency_keys_key;
+ALTER TABLE idempotency_keys ADD CONSTRAINT uk_idempotency_keys_principal_key UNIQUE (principal, idempotency_key);
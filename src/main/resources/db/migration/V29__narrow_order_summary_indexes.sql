@@ -0,0 +1,12 @@
+-- Geniş INCLUDE indeksleri status'u anahtarda tuttuğu için her durum geçişi üçünü de yeniden
+-- yazıyordu. Liste bir sayfa satır okur; satırlar heap'ten alınır, indeksler dar tutulur.
+DROP INDEX IF EXISTS idx_order_summary_date;
+DROP INDEX IF EXISTS idx_order_summary_status_date;
+DROP INDEX IF EXISTS idx_order_summary_warehouse_status_date;
+
+-- Filtresiz ve tarih aralıklı liste: indeks sırasıyla okunur, LIMIT'te durur
+CREATE INDEX idx_order_summary_date ON order_summary(order_date DESC, id DESC);
+
+-- Depo filtreli liste; status bu aralıkta satır filtresi olarak uygulanır.
+-- Durum, adet ve tutar hiçbir indekste olmadığından bu güncellemeler HOT update olabilir
+CREATE INDEX idx_order_summary_warehouse_date ON order_summary(warehouse_id, order_date DESC, id DESC);
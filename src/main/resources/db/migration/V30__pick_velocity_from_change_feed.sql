@@ -0,0 +1,27 @@
+-- Pick velocity artık OUT hareket id'leri yerine değişiklik akışındaki SHIPPED olaylarından
+-- toplanır; 'pick-velocity' satırı hareket id'si yerine akış position'ı tutar.
+-- Olay, sipariş numarası + ürün + lokasyon ile OUT hareketlerine bağlanır
+CREATE INDEX idx_stock_movements_out_reference ON stock_movements(reference_number, product_id, from_location_id)
+    WHERE type = 'OUT';
+
+CREATE INDEX idx_inventory_change_events_shipped ON inventory_change_events(position)
+    WHERE change_type = 'SHIPPED';
+
+-- İmleç dönüşümü yaklaşıktır: eski filigranın ötesinde OUT hareketi olan ilk yayımlanmış
+-- sevkiyatın hemen önüne konur. Bundan sonraki ama hareketleri filigranın gerisinde kalmış
+-- (geç commit edilmiş) sevkiyatlar ikinci kez sayılabilir; böyle bir sevkiyat yoksa imleç
+-- akışın başına alınır
+UPDATE change_feed_state
+SET last_position = COALESCE(
+        (SELECT MIN(e.position) - 1
+         FROM inventory_change_events e
+                  JOIN stock_movements sm
+                       ON sm.reference_number = e.reference
+                           AND sm.product_id = e.product_id
+                           AND sm.from_location_id = e.location_id
+                           AND sm.type = 'OUT'
+         WHERE e.change_type = 'SHIPPED'
+           AND e.position IS NOT NULL
+           AND sm.id > (SELECT last_position FROM change_feed_state WHERE feed = 'pick-velocity')),
+        (SELECT last_position FROM change_feed_state WHERE feed = 'inventory'))
+WHERE feed = 'pick-velocity';
@@ -0,0 +1,3 @@
+-- Zamanlanmış yenileme çalıştırmasını tek node alır: position son alınan çalıştırmanın
+-- epoch saniyesidir, koşullu UPDATE ile yalnızca bir node ilerletebilir
+INSERT INTO change_feed_state (feed, last_position) VALUES ('replenishment-run', 0);
@@ -0,0 +1,7 @@
+-- Doldurulamayan gözler her turda aynı ilk N yeri tutmasın: son deneme zamanı tutulur,
+-- hiç denenmemiş gözler önce, sonra en uzun süredir denenmemiş olanlar gelir
+ALTER TABLE pick_faces ADD COLUMN last_attempt_at TIMESTAMP;
+
+DROP INDEX IF EXISTS idx_pick_faces_pending;
+CREATE INDEX idx_pick_faces_pending ON pick_faces(last_attempt_at NULLS FIRST, reserved_quantity DESC, flagged_at, id)
+    WHERE needs_replenishment;
@@ -0,0 +1,78 @@
+// /api/live/stream istemcisi.
+// EventSource Authorization header gönderemediği için fetch + ReadableStream ile SSE okunur.
+// Sunucu olayları: ready (bağlantı kuruldu), inventory, order, resync (geride kalındı, tam yükle)
+function connectLiveUpdates({ token, warehouseId, onEvent, onStatus }) {
+    const state = { connected: false, stopped: false, controller: null };
+    let retryDelay = 1000;
+
+    function setConnected(connected) {
+        state.connected = connected;
+        if (onStatus) onStatus(connected);
+    }
+
+    function dispatch(block) {
+        let name = 'message';
+        const data = [];
+        block.split('\n').forEach(line => {
+            if (line.startsWith(':')) return; // heartbeat
+            if (line.startsWith('event:')) name = line.substring(6).trim();
+            else if (line.startsWith('data:')) data.push(line.substring(5).trim());
+        });
+        if (data.length === 0) return;
+        try {
+            onEvent(name, JSON.parse(data.join('\n')));
+        } catch (e) {
+            console.error('Live update could not be applied:', e);
+        }
+    }
+
+    async function run() {
+        const query = warehouseId ? `?warehouseId=${warehouseId}` : '';
+        state.controller = new AbortController();
+        try {
+            const response = await fetch('/api/live/stream' + query, {
+                headers: { 'Authorization': 'Bearer ' + token, 'Accept': 'text/event-stream' },
+                signal: state.controller.signal
+            });
+            if (response.status === 401) {
+                window.location.href = '/login';
+                return;
+            }
+            if (!response.ok || !response.body) throw new Error('Live stream HTTP ' + response.status);
+
+            setConnected(true);
+            retryDelay = 1000;
+            const reader = response.body.getReader();
+            const decoder = new TextDecoder();
+            let buffer = '';
+            while (true) {
+                const { value, done } = await reader.read();
+                if (done) break;
+                buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, '\n');
+                let index;
+                while ((index = buffer.indexOf('\n\n')) >= 0) {
+                    dispatch(buffer.substring(0, index));
+                    buffer = buffer.substring(index + 2);
+                }
+            }
+        } catch (e) {
+            if (state.stopped) return;
+            console.warn('Live stream disconnected:', e.message);
+        }
+        setConnected(false);
+        if (!state.stopped) {
+            // Yeniden bağlanınca 'ready' gelir, sayfa tam yükleme yapar
+            setTimeout(run, retryDelay);
+            retryDelay = Math.min(retryDelay * 2, 30000);
+        }
+    }
+
+    run();
+    return {
+        isConnected: () => state.connected,
+        stop: () => {
+            state.stopped = true;
+            if (state.controller) state.controller.abort();
+        }
+    };
+}
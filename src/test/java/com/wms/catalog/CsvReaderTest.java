@@ -0,0 +1,40 @@
+package com.wms.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void next_ReadsQuotedFieldsAcrossLinesAndTracksRecordLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "sku,name\r\n" +
+                        "A-1,\"Bolt, \"\"hex\"\"\"\r\n" +
+                        "\n" +
+                        "A-2,\"Two\nlines\"\n" +
+                        "A-3,\n" +
+                        "A-4,last"), ',');
+
+        assertEquals(List.of("sku", "name"), reader.next());
+        assertEquals(List.of("A-1", "Bolt, \"hex\""), reader.next());
+        assertEquals(2, reader.recordLine());
+        // Boş satır atlanır
+        assertEquals(List.of("A-2", "Two\nlines"), reader.next());
+        assertEquals(4, reader.recordLine());
+        assertEquals(List.of("A-3", ""), reader.next());
+        assertEquals(6, reader.recordLine());
+        assertEquals(List.of("A-4", "last"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_RejectsUnterminatedQuote() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("A-1,\"open\n"), ',');
+        assertThrows(IOException.class, reader::next);
+    }
+}
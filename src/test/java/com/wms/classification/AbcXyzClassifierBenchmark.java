@@ -0,0 +1,45 @@
+package com.wms.classification;
+
+import com.wms.enums.AbcClass;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 20k products x 52 weeks, ~2M daily rows: one pass plus classification, in memory only.
+ * Only runs with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class AbcXyzClassifierBenchmark {
+
+    private final AbcXyzClassifier classifier = new AbcXyzClassifier();
+
+    @Test
+    void classify_TwoMillionDailyRows_UnderTwoSeconds() {
+        ClassificationPolicy yearly = AbcXyzClassifierTest.yearly();
+        List<DailyDemand> rows = AbcXyzClassifierTest.syntheticRows(yearly, 20_000);
+
+        // Ölçümden önce bir tur ısınma
+        classifier.classify(rows.stream()
+                .collect(Collectors.groupingBy(DailyDemand::productId, DemandAccumulator.collector(yearly))),
+                List.of(), yearly);
+        long started = System.nanoTime();
+        Map<Long, DemandAccumulator> demand = rows.stream()
+                .collect(Collectors.groupingBy(DailyDemand::productId, DemandAccumulator.collector(yearly)));
+        List<ProductClass> classes = classifier.classify(demand, List.of(), yearly);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        Map<AbcClass, Long> counts = classes.stream()
+                .collect(Collectors.groupingBy(ProductClass::abcClass, Collectors.counting()));
+        System.out.printf("Classification benchmark: %d daily rows, %d products in %d ms, A/B/C = %d/%d/%d%n",
+                rows.size(), classes.size(), elapsedMs,
+                counts.getOrDefault(AbcClass.A, 0L), counts.getOrDefault(AbcClass.B, 0L),
+                counts.getOrDefault(AbcClass.C, 0L));
+        assertTrue(elapsedMs < 2_000, "classification took " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,109 @@
+package com.wms.classification;
+
+import com.wms.enums.AbcClass;
+import com.wms.enums.XyzClass;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbcXyzClassifierTest {
+
+    private static final LocalDate LAST_DAY = LocalDate.of(2026, 6, 30);
+
+    private final ClassificationPolicy policy = ClassificationPolicy.endingOn(LAST_DAY, 4, 0.8, 0.95, 0.5, 1.0);
+    private final AbcXyzClassifier classifier = new AbcXyzClassifier();
+
+    @Test
+    void accumulator_BucketsByWeekAndMergesPartials() {
+        DemandAccumulator first = new DemandAccumulator(policy.windowStart(), policy.weeks());
+        DemandAccumulator second = new DemandAccumulator(policy.windowStart(), policy.weeks());
+        first.add(demand(1, "2.50", policy.windowStart(), 10));
+        first.add(demand(1, "2.50", policy.windowStart().minusDays(1), 99));
+        second.add(demand(1, "2.50", LAST_DAY, 30));
+        second.add(demand(1, "2.50", LAST_DAY.plusDays(1), 99));
+
+        DemandAccumulator merged = first.merge(second);
+
+        assertEquals(40, merged.units());
+        assertEquals(new BigDecimal("100.00"), merged.consumptionValue());
+        // Haftalar: 10, 0, 0, 30 -> ortalama 10, std sapma ~12.25
+        assertEquals(Math.sqrt(150) / 10, merged.coefficientOfVariation(), 1e-9);
+    }
+
+    @Test
+    void classify_SplitsByCumulativeValueAndVariability() {
+        Map<Long, DemandAccumulator> demand = accumulate(List.of(
+                // 1: 4 hafta düzenli, değer 800
+                demand(1, "10", LAST_DAY.minusDays(0), 20), demand(1, "10", LAST_DAY.minusDays(7), 20),
+                demand(1, "10", LAST_DAY.minusDays(14), 20), demand(1, "10", LAST_DAY.minusDays(21), 20),
+                // 2: üç hafta, değer 150
+                demand(2, "5", LAST_DAY, 10), demand(2, "5", LAST_DAY.minusDays(7), 10),
+                demand(2, "5", LAST_DAY.minusDays(14), 10),
+                // 3: tek hafta, değer 50
+                demand(3, "1", LAST_DAY, 50)));
+
+        Map<Long, ProductClass> classes = classifier.classify(demand, Set.of(1L, 2L, 3L, 4L), policy).stream()
+                .collect(Collectors.toMap(ProductClass::productId, Function.identity()));
+
+        assertEquals(AbcClass.A, classes.get(1L).abcClass());
+        assertEquals(XyzClass.X, classes.get(1L).xyzClass());
+        assertEquals(0.0, classes.get(1L).demandCv());
+        assertEquals(AbcClass.B, classes.get(2L).abcClass());
+        assertEquals(XyzClass.Y, classes.get(2L).xyzClass());
+        assertEquals(AbcClass.C, classes.get(3L).abcClass());
+        assertEquals(XyzClass.Z, classes.get(3L).xyzClass());
+        // Stokta var ama hiç çıkış yok
+        assertEquals(AbcClass.C, classes.get(4L).abcClass());
+        assertEquals(XyzClass.Z, classes.get(4L).xyzClass());
+        assertNull(classes.get(4L).demandCv());
+    }
+
+    @Test
+    void classify_YearOfDailyRows_KeepsEveryProductAndUnit() {
+        ClassificationPolicy yearly = yearly();
+        List<DailyDemand> rows = syntheticRows(yearly, 2_000);
+
+        List<ProductClass> classes = classifier.classify(rows.stream()
+                .collect(Collectors.groupingBy(DailyDemand::productId, DemandAccumulator.collector(yearly))),
+                List.of(), yearly);
+
+        assertEquals(2_000, classes.size());
+        assertEquals(rows.stream().mapToLong(DailyDemand::units).sum(),
+                classes.stream().mapToLong(ProductClass::units).sum());
+    }
+
+    static ClassificationPolicy yearly() {
+        return ClassificationPolicy.endingOn(LAST_DAY, 52, 0.8, 0.95, 0.5, 1.0);
+    }
+
+    // Ürün başına haftada ~2 günlük satır; 20k ürün ~2M satır eder
+    static List<DailyDemand> syntheticRows(ClassificationPolicy yearly, int products) {
+        Random random = new Random(11);
+        List<DailyDemand> rows = new ArrayList<>();
+        for (long product = 1; product <= products; product++) {
+            BigDecimal price = BigDecimal.valueOf(1 + random.nextInt(500));
+            for (int day = 0; day < 364; day += 1 + random.nextInt(6)) {
+                rows.add(new DailyDemand(product, price, yearly.windowStart().plusDays(day), 1L + random.nextInt(20)));
+            }
+        }
+        return rows;
+    }
+
+    private Map<Long, DemandAccumulator> accumulate(List<DailyDemand> rows) {
+        return rows.stream().collect(Collectors.groupingBy(DailyDemand::productId, DemandAccumulator.collector(policy)));
+    }
+
+    private static DailyDemand demand(long productId, String price, LocalDate day, long units) {
+        return new DailyDemand(productId, new BigDecimal(price), day, units);
+    }
+}
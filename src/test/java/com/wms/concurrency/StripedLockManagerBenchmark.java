@@ -0,0 +1,83 @@
+package com.wms.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput under Zipf-skewed product popularity (s = 1.1), striped against a single
+ * global lock. Each critical section parks for a few microseconds, standing in for the
+ * inventory row update it guards. Only runs with {@code mvn test -Pbenchmark}; each
+ * configuration is measured after a warm-up.
+ */
+@Tag("benchmark")
+class StripedLockManagerBenchmark {
+
+    private static final int PRODUCTS = 2_000;
+    private static final int LOCATIONS = 4;
+    private static final int THREADS = 32;
+    private static final int OPS_PER_THREAD = 500;
+    private static final long HOLD_NANOS = 20_000;
+
+    private final StripedLockManagerTest.ZipfSampler zipf = new StripedLockManagerTest.ZipfSampler(PRODUCTS, 1.1);
+
+    @Test
+    void withLocks_ZipfianWorkload_StripesOutperformOneGlobalLock() throws Exception {
+        long global = measure(1);
+        long striped = measure(1024);
+
+        System.out.printf("Zipf lock benchmark: %d threads, global lock %d ops/s, 1024 stripes %d ops/s (%.1fx)%n",
+                THREADS, global, striped, (double) striped / global);
+        assertTrue(striped > global, "striped " + striped + " ops/s vs global " + global + " ops/s");
+    }
+
+    private long measure(int stripes) throws Exception {
+        run(new StripedLockManager(stripes, 60_000, new SimpleMeterRegistry()));
+
+        StripedLockManager manager = new StripedLockManager(stripes, 60_000, new SimpleMeterRegistry());
+        long started = System.nanoTime();
+        run(manager);
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        long total = (long) THREADS * OPS_PER_THREAD;
+
+        Map<String, Object> snapshot = manager.snapshot(5);
+        assertEquals(total, snapshot.get("acquisitions"));
+        System.out.printf("Zipf lock benchmark: %d stripes, %d ops in %d ms, contended=%s, hottest=%s%n",
+                stripes, total, elapsedMs, snapshot.get("contended"), snapshot.get("hottest"));
+        return total * 1000 / elapsedMs;
+    }
+
+    private void run(StripedLockManager manager) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    long product = zipf.sample(random.nextDouble());
+                    long location = random.nextInt(LOCATIONS);
+                    manager.withLocks(List.of(new InventoryKey(product, location)), () -> {
+                        LockSupport.parkNanos(HOLD_NANOS);
+                        return null;
+                    });
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(120, TimeUnit.SECONDS));
+    }
+}
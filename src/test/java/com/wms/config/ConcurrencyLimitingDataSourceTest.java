@@ -0,0 +1,75 @@
+package com.wms.config;
+
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    @Test
+    void getConnection_BlocksBeyondLimit_UntilClosed() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(inv -> mock(Connection.class));
+
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(target, 1, 50);
+
+        Connection first = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close(); // ikinci close permit'i iki kez geri vermemeli
+        assertEquals(1, dataSource.getAvailablePermits());
+
+        Connection second = dataSource.getConnection();
+        assertNotNull(second);
+        assertEquals(0, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dbConcurrencyLimiter_LimitsEachShardPoolOnItsOwn() throws Exception {
+        DataSource catalog = mock(DataSource.class);
+        DataSource north = mock(DataSource.class);
+        DataSource south = mock(DataSource.class);
+        for (DataSource pool : new DataSource[]{catalog, north, south}) {
+            when(pool.getConnection()).thenAnswer(inv -> mock(Connection.class));
+        }
+        BeanPostProcessor limiter = VirtualThreadConfig.dbConcurrencyLimiter(
+                new MockEnvironment().withProperty("app.db.max-concurrency", "1")
+                        .withProperty("app.db.acquire-timeout-ms", "50"),
+                mock(ObjectProvider.class));
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(catalog, Map.of("north", north, "south", south));
+
+        Object bean = limiter.postProcessBeforeInitialization(routing, "dataSource");
+        routing.afterPropertiesSet();
+        // Yönlendirici sarılmaz; ShardRoutingDataSource tipiyle enjekte edilebilir kalır
+        assertSame(routing, limiter.postProcessAfterInitialization(bean, "dataSource"));
+        routing.pools().values().forEach(pool -> assertInstanceOf(ConcurrencyLimitingDataSource.class, pool));
+
+        // Dolu bir shard diğerlerini bekletmez
+        Connection busy = connect(routing, "north");
+        assertThrows(SQLTransientConnectionException.class, () -> connect(routing, "north"));
+        assertNotNull(connect(routing, "south"));
+        assertNotNull(connect(routing, null));
+        busy.close();
+        assertNotNull(connect(routing, "north"));
+    }
+
+    private Connection connect(DataSource dataSource, String shard) throws Exception {
+        try (ShardContext.Scope ignored = ShardContext.enter(shard)) {
+            return dataSource.getConnection();
+        }
+    }
+}
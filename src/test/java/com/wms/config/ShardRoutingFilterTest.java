@@ -0,0 +1,100 @@
+package com.wms.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.exception.BusinessRuleException;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRouter;
+import com.wms.sharding.ShardingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRoutingFilterTest {
+
+    private final ShardRouter router = new ShardRouter(properties());
+    private final ShardRoutingFilter filter = new ShardRoutingFilter(router, new ObjectMapper());
+
+    @Test
+    void router_MapsWarehousesAndRejectsOverlaps() {
+        assertEquals(List.of("north", "south"), router.shards());
+        assertEquals("south", router.shardForWarehouse(3L));
+        assertThrows(BusinessRuleException.class, () -> router.shardForWarehouse(9L));
+
+        // Depolar her shard'a çoğaltılır; shard başına işler yalnızca kendi depolarını görür
+        assertTrue(ShardContext.callOn("south", () -> router.isOnCurrentShard(3L)));
+        assertFalse(ShardContext.callOn("north", () -> router.isOnCurrentShard(3L)));
+        assertFalse(ShardContext.callOn("north", () -> router.isOnCurrentShard(9L)));
+        assertFalse(router.isOnCurrentShard(1L));
+
+        ShardingProperties overlapping = properties();
+        overlapping.getShards().get("south").getWarehouses().add(1L);
+        assertThrows(IllegalStateException.class, () -> new ShardRouter(overlapping));
+
+        // Kapalıyken her depo tek veritabanına gider
+        assertNull(new ShardRouter(new ShardingProperties()).shardForWarehouse(9L));
+        assertTrue(new ShardRouter(new ShardingProperties()).isOnCurrentShard(9L));
+    }
+
+    @Test
+    void filter_RoutesByWarehouseAndKeepsCatalogApisOnTheCatalog() throws Exception {
+        assertEquals("south", shardSeenBy(request("/api/orders", "3", null)));
+        assertEquals("north", shardSeenBy(request("/api/inventory/loads", null, "2")));
+        assertNull(shardSeenBy(request("/api/products/42", "3", null)));
+        assertNull(shardSeenBy(request("/api/products", null, "3")));
+        // Sınıf filtresi shard verisi okur
+        MockHttpServletRequest classified = request("/api/products", null, "3");
+        classified.setParameter("abcClass", "A");
+        assertEquals("south", shardSeenBy(classified));
+        assertNull(shardSeenBy(request("/login", null, null)));
+        assertNull(ShardContext.current());
+
+        MockHttpServletRequest unscoped = request("/api/products", null, null);
+        unscoped.setParameter("xyzClass", "X");
+        for (MockHttpServletRequest rejected : List.of(request("/api/orders", null, null),
+                request("/api/orders", "x", null), request("/api/orders", "9", null), unscoped)) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(rejected, response, chain);
+            assertEquals(400, response.getStatus());
+            assertNull(chain.getRequest());
+        }
+    }
+
+    private String shardSeenBy(MockHttpServletRequest request) throws Exception {
+        List<String> seen = new ArrayList<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> seen.add(ShardContext.current()));
+        assertEquals(200, response.getStatus());
+        assertEquals(1, seen.size());
+        return seen.get(0);
+    }
+
+    private MockHttpServletRequest request(String path, String header, String parameter) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (header != null) {
+            request.addHeader("X-Warehouse-Id", header);
+        }
+        if (parameter != null) {
+            request.setParameter("warehouseId", parameter);
+        }
+        return request;
+    }
+
+    private static ShardingProperties properties() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        ShardingProperties.Shard north = new ShardingProperties.Shard();
+        north.getWarehouses().addAll(List.of(1L, 2L));
+        ShardingProperties.Shard south = new ShardingProperties.Shard();
+        south.getWarehouses().add(3L);
+        properties.getShards().put("north", north);
+        properties.getShards().put("south", south);
+        return properties;
+    }
+}
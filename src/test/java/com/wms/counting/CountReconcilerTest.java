@@ -0,0 +1,28 @@
+package com.wms.counting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountReconcilerTest {
+
+    private final CountReconciler reconciler = new CountReconciler();
+
+    @Test
+    void reconcile_NetsOutMovementsBetweenSnapshotAndCount() {
+        List<CountVariance> variances = reconciler.reconcile(List.of(
+                // Anlık görüntü 50 (içinde +4 bakiye), sayıma kadar net -6 daha: beklenen 40, sayılan 38
+                new CountedLine(1L, 10L, 100L, 200L, 50, 4, 38, -6),
+                // Hareket yok, sayım tutuyor
+                new CountedLine(2L, 11L, 100L, 201L, 20, 0, 20, 0),
+                // Beklenmeyen stok
+                new CountedLine(3L, null, 101L, 202L, 0, 0, 5, 0)));
+
+        assertEquals(-2, variances.get(0).variance());
+        assertEquals(0, variances.get(1).variance());
+        assertEquals(5, variances.get(2).variance());
+        assertNull(variances.get(2).inventoryId());
+    }
+}
@@ -0,0 +1,56 @@
+package com.wms.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.enums.ExportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final InventoryExportRow plain = new InventoryExportRow(7L, "WH1", "A-01", "SKU-1", "Bolt", "pcs",
+            3, 1, new BigDecimal("2.50"));
+    private final InventoryExportRow quoted = new InventoryExportRow(9L, "WH1", "A-02", "SKU-2",
+            "Nut, \"large\"", "pcs", 0, 0, new BigDecimal("1.00"));
+
+    @Test
+    void csv_WritesHeaderAndQuotesOnlyWhenNeeded() throws IOException {
+        StringWriter out = new StringWriter();
+        InventoryExportWriter writer = new InventoryExportWriter(ExportFormat.CSV, out, objectMapper);
+        writer.writeHeader();
+        writer.write(plain);
+        writer.write(quoted);
+        writer.flush();
+
+        assertEquals(List.of(
+                InventoryExportWriter.CSV_HEADER,
+                "7,WH1,A-01,SKU-1,Bolt,pcs,3,1,2.50,7.50",
+                "9,WH1,A-02,SKU-2,\"Nut, \"\"large\"\"\",pcs,0,0,1.00,0.00"), out.toString().lines().toList());
+    }
+
+    @Test
+    void ndjson_WritesOneObjectPerLine() throws IOException {
+        StringWriter out = new StringWriter();
+        InventoryExportWriter writer = new InventoryExportWriter(ExportFormat.NDJSON, out, objectMapper);
+        writer.writeHeader();
+        writer.write(plain);
+        writer.write(quoted);
+        writer.flush();
+
+        List<String> lines = out.toString().lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(out.toString().endsWith("\n"));
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(7, first.get("inventoryId").asLong());
+        assertTrue(lines.get(0).contains("\"stockValue\":7.50"));
+        assertEquals("Nut, \"large\"", objectMapper.readTree(lines.get(1)).get("productName").asText());
+    }
+}
@@ -0,0 +1,29 @@
+package com.wms.forecasting;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 500k product x warehouse series with 182 days of history, in partitions of 2000.
+ * Database reads and writes are not included. Only runs with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ReplenishmentPlannerBenchmark {
+
+    private final ReplenishmentPlanner planner = new ReplenishmentPlanner();
+
+    @Test
+    void plan_FiveHundredThousandSeries_UnderThirtySeconds() throws Exception {
+        ForecastPolicy halfYear = ReplenishmentPlannerTest.halfYear();
+
+        long started = System.nanoTime();
+        long[] result = ReplenishmentPlannerTest.planPartitioned(planner, halfYear, 500_000, 2_000);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.printf("Forecast benchmark: %d series x %d days in %d partitions, %d reorders in %d ms%n",
+                result[0], halfYear.days(), result[2], result[1], elapsedMs);
+        assertTrue(elapsedMs < 30_000, "forecasting took " + elapsedMs + " ms");
+    }
+}
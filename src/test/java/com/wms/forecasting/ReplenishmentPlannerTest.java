@@ -0,0 +1,153 @@
+package com.wms.forecasting;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplenishmentPlannerTest {
+
+    private static final LocalDate LAST_DAY = LocalDate.of(2026, 6, 30);
+
+    private final ForecastPolicy policy = ForecastPolicy.endingOn(LAST_DAY, 56, 7, 0.3, 0.05, 0.2, 0.98, 1.65, 7);
+    private final ReplenishmentPlanner planner = new ReplenishmentPlanner();
+
+    @Test
+    void fit_RepeatsAWeeklyPatternExactly() {
+        // Hafta içi 10, hafta sonu 30; 8 hafta
+        DemandSeries series = new DemandSeries(policy.windowStart(), policy.days());
+        for (int day = 0; day < policy.days(); day++) {
+            series.add(day, day % 7 >= 5 ? 30 : 10);
+        }
+
+        DemandForecast forecast = HoltWinters.fit(series, policy);
+
+        assertEquals(0.0, forecast.sigma(), 1e-9);
+        assertEquals(10.0, forecast.demandOver(1), 1e-9);
+        assertEquals(110.0, forecast.demandOver(7), 1e-9);
+        assertEquals(110.0 / 7, forecast.dailyDemand(), 1e-9);
+    }
+
+    @Test
+    void plan_OrdersUpToLeadTimePlusReviewRoundedToPackSize() {
+        DemandForecast steady = HoltWinters.fit(constant(10), policy);
+        SupplyTerms terms = new SupplyTerms(1L, 7L, 5, 20, 12, new BigDecimal("2.50"));
+
+        // Konum 40 - 5 + 10 = 45 <= yeniden sipariş noktası 50; hedef 50 + 70 = 120
+        ReorderPlan plan = planner.plan(steady, new StockPosition(1L, 3L, 40, 5, 10), terms, policy, 14);
+
+        assertEquals(0, plan.safetyStock());
+        assertEquals(50, plan.reorderPoint());
+        assertEquals(45, plan.inventoryPosition());
+        assertEquals(84, plan.orderQuantity());
+        assertEquals(7L, plan.supplierId());
+        assertTrue(plan.orderable());
+
+        ReorderPlan aboveReorderPoint = planner.plan(steady, new StockPosition(1L, 3L, 51, 0, 0), terms, policy, 14);
+        assertEquals(0, aboveReorderPoint.orderQuantity());
+        assertFalse(aboveReorderPoint.orderable());
+    }
+
+    @Test
+    void plan_UsesDefaultLeadTimeWithoutSupplierAndSkipsSeriesWithoutDemand() {
+        DemandSeries noisy = new DemandSeries(policy.windowStart(), policy.days());
+        for (int day = 0; day < policy.days(); day++) {
+            noisy.add(day, day % 2 == 0 ? 4 : 16);
+        }
+        Map<Long, DemandSeries> demand = Map.of(1L, noisy, 2L, new DemandSeries(policy.windowStart(), policy.days()));
+        Map<Long, StockPosition> positions = Map.of(
+                1L, new StockPosition(1L, 3L, 0, 0, 0),
+                2L, new StockPosition(2L, 3L, 0, 0, 0),
+                3L, new StockPosition(3L, 3L, 0, 0, 0));
+
+        List<ReorderPlan> plans = planner.plan(demand, positions, Map.of(), policy, 14);
+
+        assertEquals(1, plans.size());
+        ReorderPlan plan = plans.get(0);
+        assertEquals(14, plan.leadTimeDays());
+        assertNull(plan.supplierId());
+        assertTrue(plan.safetyStock() > 0);
+        assertTrue(plan.orderQuantity() > plan.reorderPoint());
+        assertFalse(plan.orderable());
+    }
+
+    @Test
+    void plan_PartitionedSeries_PlansEverySeriesOnce() throws Exception {
+        ForecastPolicy halfYear = halfYear();
+
+        long[] result = planPartitioned(planner, halfYear, 20_000, 2_000);
+
+        assertEquals(20_000, result[0]);
+        assertTrue(result[1] > 0 && result[1] < 20_000);
+        assertEquals(10, result[2]);
+    }
+
+    static ForecastPolicy halfYear() {
+        return ForecastPolicy.endingOn(LAST_DAY, 182, 7, 0.3, 0.05, 0.2, 0.98, 1.65, 7);
+    }
+
+    /**
+     * Ürün x depo serileri bölümler halinde paralel planlanır. Her bölüm kendi serilerini
+     * üretir; bellekte aynı anda yalnızca işlenen bölümler bulunur. Planlanan seri, sipariş
+     * önerisi ve bölüm sayısını döner.
+     */
+    static long[] planPartitioned(ReplenishmentPlanner planner, ForecastPolicy policy, int seriesCount,
+                                  int partitionSize) throws Exception {
+        List<CompletableFuture<long[]>> tasks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+            for (int from = 0; from < seriesCount; from += partitionSize) {
+                int first = from;
+                tasks.add(CompletableFuture.supplyAsync(
+                        () -> planPartition(planner, policy, first, partitionSize), executor));
+            }
+        }
+        long planned = 0;
+        long reorders = 0;
+        for (CompletableFuture<long[]> task : tasks) {
+            long[] result = task.get();
+            planned += result[0];
+            reorders += result[1];
+        }
+        return new long[]{planned, reorders, tasks.size()};
+    }
+
+    private static long[] planPartition(ReplenishmentPlanner planner, ForecastPolicy policy, int first, int size) {
+        SplittableRandom random = new SplittableRandom(first);
+        Map<Long, DemandSeries> demand = new HashMap<>();
+        Map<Long, StockPosition> positions = new HashMap<>();
+        Map<Long, SupplyTerms> terms = new HashMap<>();
+        for (long product = first; product < first + size; product++) {
+            DemandSeries series = new DemandSeries(policy.windowStart(), policy.days());
+            int base = 1 + random.nextInt(40);
+            for (int day = 0; day < policy.days(); day++) {
+                int weekend = day % 7 >= 5 ? 2 : 1;
+                series.add(day, random.nextInt(base * weekend * 2 + 1));
+            }
+            series.add(0, 1);
+            demand.put(product, series);
+            positions.put(product, new StockPosition(product, 1L, random.nextInt(base * 30), 0, 0));
+            terms.put(product, new SupplyTerms(product, 1 + product % 50, 3 + random.nextInt(10), 1, 6,
+                    BigDecimal.ONE));
+        }
+        List<ReorderPlan> plans = planner.plan(demand, positions, terms, policy, 7);
+        return new long[]{plans.size(), plans.stream().filter(ReorderPlan::orderable).count()};
+    }
+
+    private DemandSeries constant(long units) {
+        DemandSeries series = new DemandSeries(policy.windowStart(), policy.days());
+        for (int day = 0; day < policy.days(); day++) {
+            series.add(day, units);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,173 @@
+package com.wms.integration;
+
+import com.wms.dto.response.ClassificationRunResponse;
+import com.wms.dto.response.InventoryResponse;
+import com.wms.dto.response.ProductClassificationResponse;
+import com.wms.dto.response.ProductResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.InventoryChangeEvent;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.StockMovement;
+import com.wms.entity.Warehouse;
+import com.wms.enums.AbcClass;
+import com.wms.enums.InventoryChangeType;
+import com.wms.enums.StockMovementType;
+import com.wms.enums.XyzClass;
+import com.wms.repository.InventoryChangeEventRepository;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockMovementRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.ClassificationJob;
+import com.wms.service.InventoryService;
+import com.wms.service.ProductClassificationService;
+import com.wms.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClassificationIntegrationTest {
+
+    @Autowired
+    private ClassificationJob classificationJob;
+    @Autowired
+    private ProductClassificationService productClassificationService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+    @Autowired
+    private InventoryChangeEventRepository inventoryChangeEventRepository;
+
+    @Test
+    void run_ClassifiesWarehouseAndFiltersProductsAndInventory() {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-ABC-" + UUID.randomUUID().toString().substring(0, 8))
+                .name("Classification Warehouse")
+                .build());
+        Location location = locationRepository.save(Location.builder()
+                .code("ABC-01")
+                .aisle("A")
+                .rack("01")
+                .warehouse(warehouse)
+                .build());
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        Product steady = product("STEADY-" + tag, "100.00", location, 50);
+        Product lumpy = product("LUMPY-" + tag, "1.00", location, 50);
+        Product idle = product("IDLE-" + tag, "5.00", location, 50);
+
+        // Her hafta 10 adet; diğeri tek seferde 30 adet
+        List<StockMovement> movements = new ArrayList<>();
+        for (int week = 0; week < 52; week++) {
+            movements.add(out(steady, location, 10, LocalDateTime.now().minusDays(1 + week * 7L)));
+        }
+        movements.add(out(lumpy, location, 30, LocalDateTime.now().minusDays(3)));
+        ship(movements);
+
+        ClassificationRunResponse run = classificationJob.run();
+
+        assertTrue(run.getFailures().isEmpty());
+        Map<Long, ProductClassificationResponse> classes = productClassificationService
+                .search(warehouse.getId(), null, null, PageRequest.of(0, 10))
+                .stream()
+                .collect(Collectors.toMap(ProductClassificationResponse::getProductId, Function.identity()));
+        assertEquals(3, classes.size());
+        assertEquals(AbcClass.A, classes.get(steady.getId()).getAbcClass());
+        assertEquals(XyzClass.X, classes.get(steady.getId()).getXyzClass());
+        assertEquals(520L, classes.get(steady.getId()).getUnits());
+        assertEquals(new BigDecimal("52000.00"), classes.get(steady.getId()).getConsumptionValue());
+        assertEquals(XyzClass.Z, classes.get(lumpy.getId()).getXyzClass());
+        assertEquals(AbcClass.C, classes.get(idle.getId()).getAbcClass());
+        assertNull(classes.get(idle.getId()).getDemandCv());
+
+        List<Long> aProducts = productService.searchProducts(tag, warehouse.getId(), AbcClass.A, null,
+                        PageRequest.of(0, 10))
+                .map(ProductResponse::getId)
+                .getContent();
+        assertEquals(List.of(steady.getId()), aProducts);
+
+        List<Long> zInventory = inventoryService.getAllInventory(warehouse.getId(), null, XyzClass.Z).stream()
+                .map(InventoryResponse::getProductId)
+                .sorted()
+                .toList();
+        assertEquals(List.of(lumpy.getId(), idle.getId()).stream().sorted().toList(), zInventory);
+
+        // Yeniden çalıştırma depo satırlarını değiştirir, çoğaltmaz
+        classificationJob.run();
+        assertEquals(3, productClassificationService
+                .search(warehouse.getId(), null, null, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private Product product(String name, String price, Location location, int quantity) {
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-" + name)
+                .name("Classification " + name)
+                .unit("pcs")
+                .unitPrice(new BigDecimal(price))
+                .minStockLevel(0)
+                .build());
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .reservedQuantity(0)
+                .build());
+        return product;
+    }
+
+    private StockMovement out(Product product, Location location, int quantity, LocalDateTime at) {
+        return StockMovement.builder()
+                .type(StockMovementType.OUT)
+                .product(product)
+                .fromLocation(location)
+                .quantity(quantity)
+                .reason("Order Shipped")
+                .referenceNumber("SO-" + UUID.randomUUID())
+                .movementDate(at)
+                .build();
+    }
+
+    // Roll-up sevkiyatları değişiklik akışından okur; her hareket ayrı bir sevkiyat
+    private void ship(List<StockMovement> movements) {
+        stockMovementRepository.saveAll(movements);
+        inventoryChangeEventRepository.saveAll(movements.stream()
+                .map(movement -> InventoryChangeEvent.builder()
+                        .inventoryId(0L)
+                        .productId(movement.getProduct().getId())
+                        .locationId(movement.getFromLocation().getId())
+                        .warehouseId(movement.getFromLocation().getWarehouse().getId())
+                        .quantity(0)
+                        .reservedQuantity(0)
+                        .changeType(InventoryChangeType.SHIPPED)
+                        .reference(movement.getReferenceNumber())
+                        .build())
+                .toList());
+    }
+}
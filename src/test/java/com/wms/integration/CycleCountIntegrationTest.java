@@ -0,0 +1,196 @@
+package com.wms.integration;
+
+import com.wms.dto.request.CountEntryRequest;
+import com.wms.dto.request.CycleCountEntriesRequest;
+import com.wms.dto.request.CycleCountRequest;
+import com.wms.dto.request.StockTransferRequest;
+import com.wms.dto.response.CycleCountLineResponse;
+import com.wms.dto.response.CycleCountPostResponse;
+import com.wms.dto.response.CycleCountResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.StockMovement;
+import com.wms.entity.Warehouse;
+import com.wms.enums.CycleCountStatus;
+import com.wms.enums.StockMovementType;
+import com.wms.exception.BusinessRuleException;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockMovementRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.CycleCountService;
+import com.wms.service.StockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CycleCountIntegrationTest {
+
+    @Autowired
+    private CycleCountService cycleCountService;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Test
+    void post_NetsOutMovementsSinceSnapshotWithoutBlockingTheBins() throws InterruptedException {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-CC-" + UUID.randomUUID().toString().substring(0, 8))
+                .name("Cycle Count Warehouse")
+                .build());
+        Location bin1 = location(warehouse, "CC-01");
+        Location bin2 = location(warehouse, "CC-02");
+        Location bin3 = location(warehouse, "CC-03");
+        Location outside = location(warehouse, "CC-09");
+        Product screws = product("SCREWS");
+        Product bolts = product("BOLTS");
+        stock(screws, bin1, 50, 0);
+        stock(bolts, bin2, 20, 15);
+        stock(screws, outside, 10, 0);
+
+        CycleCountResponse count = cycleCountService.createCount(range(warehouse, "CC-01", "CC-03"));
+        assertEquals(2, count.getLineCount());
+        assertThrows(BusinessRuleException.class,
+                () -> cycleCountService.createCount(range(warehouse, "CC-03", "CC-05")));
+
+        // Sayım sürerken göz kilitlenmez: anlık görüntüden sonra 10 adet çıkar
+        stockService.transferStock(transfer(screws, bin1, outside, 10));
+
+        // Sayılan 38, sayım anında beklenen 40; CC-03'te beklenmeyen 5 adet; CC-02 rezervin altında
+        cycleCountService.recordCounts(count.getId(), CycleCountEntriesRequest.builder()
+                .entries(List.of(
+                        entry(bin1, screws, 38),
+                        entry(bin2, bolts, 10),
+                        entry(bin3, bolts, 5)))
+                .build());
+
+        // Sayımdan sonraki hareket mahsup edilmez, güncel miktarda kalır
+        Thread.sleep(5);
+        stockService.transferStock(transfer(screws, bin1, outside, 5));
+
+        List<String> sheet = cycleCountService.getSheet(count.getId(), false, PageRequest.of(0, 10))
+                .map(CycleCountLineResponse::getLocationCode)
+                .getContent();
+        assertEquals(List.of("CC-01", "CC-02", "CC-03"), sheet);
+
+        CycleCountPostResponse posted = cycleCountService.postCount(count.getId());
+
+        assertEquals(3, posted.getCountedLines());
+        assertEquals(2, posted.getAdjustedLines());
+        assertEquals(5, posted.getUnitsAdded());
+        assertEquals(2, posted.getUnitsRemoved());
+        assertEquals(1, posted.getSkipped().size());
+        assertEquals(33, quantity(screws, bin1));
+        assertEquals(20, quantity(bolts, bin2));
+        assertEquals(5, quantity(bolts, bin3));
+        assertEquals(25, quantity(screws, outside));
+
+        List<StockMovement> adjustments = stockMovementRepository.findByType(StockMovementType.ADJUSTMENT).stream()
+                .filter(m -> posted.getCountNumber().equals(m.getReferenceNumber()))
+                .toList();
+        assertEquals(2, adjustments.size());
+
+        assertEquals(CycleCountStatus.POSTED, cycleCountService.getCount(count.getId()).getStatus());
+        assertThrows(BusinessRuleException.class, () -> cycleCountService.postCount(count.getId()));
+    }
+
+    @Test
+    void createCount_ComparesLocationCodesInNaturalOrder() {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-CCN-" + UUID.randomUUID().toString().substring(0, 8))
+                .name("Natural Order Warehouse")
+                .build());
+        Product screws = product("SCREWS");
+        for (String code : List.of("CC-2", "CC-9", "CC-10", "CC-11")) {
+            stock(screws, location(warehouse, code), 10, 0);
+        }
+
+        // Metin sırasında "CC-2" > "CC-10" olurdu
+        CycleCountResponse count = cycleCountService.createCount(range(warehouse, "CC-2", "CC-10"));
+        assertEquals(3, count.getLineCount());
+        assertThrows(BusinessRuleException.class,
+                () -> cycleCountService.createCount(range(warehouse, "CC-10", "CC-12")));
+        assertThrows(BusinessRuleException.class,
+                () -> cycleCountService.createCount(range(warehouse, "CC-11", "CC-3")));
+        assertEquals(1, cycleCountService.createCount(range(warehouse, "CC-11", "CC-20")).getLineCount());
+    }
+
+    private CycleCountRequest range(Warehouse warehouse, String from, String to) {
+        CycleCountRequest request = new CycleCountRequest();
+        request.setWarehouseId(warehouse.getId());
+        request.setFromLocationCode(from);
+        request.setToLocationCode(to);
+        return request;
+    }
+
+    private CountEntryRequest entry(Location location, Product product, int counted) {
+        return CountEntryRequest.builder()
+                .locationId(location.getId())
+                .productId(product.getId())
+                .countedQuantity(counted)
+                .build();
+    }
+
+    private StockTransferRequest transfer(Product product, Location from, Location to, int quantity) {
+        return StockTransferRequest.builder()
+                .productId(product.getId())
+                .fromLocationId(from.getId())
+                .toLocationId(to.getId())
+                .quantity(quantity)
+                .build();
+    }
+
+    private int quantity(Product product, Location location) {
+        return inventoryRepository.findByProductIdAndLocationId(product.getId(), location.getId())
+                .orElseThrow().getQuantity();
+    }
+
+    private Product product(String name) {
+        return productRepository.save(Product.builder()
+                .sku("SKU-CC-" + name + "-" + UUID.randomUUID())
+                .name("Cycle Count " + name)
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+    }
+
+    private Location location(Warehouse warehouse, String code) {
+        return locationRepository.save(Location.builder()
+                .code(code)
+                .aisle("CC")
+                .rack(code.substring(3))
+                .warehouse(warehouse)
+                .build());
+    }
+
+    private void stock(Product product, Location location, int quantity, int reserved) {
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .reservedQuantity(reserved)
+                .build());
+    }
+}
@@ -0,0 +1,167 @@
+package com.wms.integration;
+
+import com.wms.config.IdempotencyFilter;
+import com.wms.dto.request.StockAdjustmentRequest;
+import com.wms.dto.response.ApiResponse;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.User;
+import com.wms.entity.Warehouse;
+import com.wms.enums.Role;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockMovementRepository;
+import com.wms.repository.UserRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class IdempotencyIntegrationTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+    private String token;
+    private Long productId;
+    private Long locationId;
+
+    @BeforeEach
+    void setUp() {
+        token = token();
+
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-IDEM-" + UUID.randomUUID())
+                .name("Idempotency Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-IDEM-" + UUID.randomUUID())
+                .name("Idempotency Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("10.00"))
+                .minStockLevel(0)
+                .build());
+        Location location = locationRepository.save(Location.builder()
+                .code("LOC-IDEM-" + UUID.randomUUID().toString().substring(0, 8))
+                .warehouse(warehouse)
+                .build());
+        productId = product.getId();
+        locationId = location.getId();
+    }
+
+    @Test
+    void adjustStock_SameIdempotencyKey_ExecutesOnce() {
+        StockAdjustmentRequest request = new StockAdjustmentRequest();
+        request.setProductId(productId);
+        request.setLocationId(locationId);
+        request.setNewQuantity(40);
+        request.setReason("Scanner retry");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+        HttpEntity<StockAdjustmentRequest> entity = new HttpEntity<>(request, headers);
+
+        ResponseEntity<ApiResponse<Void>> first = restTemplate.exchange(
+                "/api/stock/adjust", HttpMethod.POST, entity, new ParameterizedTypeReference<>() {});
+        ResponseEntity<ApiResponse<Void>> second = restTemplate.exchange(
+                "/api/stock/adjust", HttpMethod.POST, entity, new ParameterizedTypeReference<>() {});
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertNotNull(second.getBody());
+        assertTrue(second.getBody().isSuccess());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, stockMovementRepository.findByProductId(productId).size());
+    }
+
+    @Test
+    void adjustStock_SameKeyDifferentBody_Rejected() {
+        String key = UUID.randomUUID().toString();
+
+        ResponseEntity<ApiResponse<Void>> first = adjust(token, key, 40);
+        ResponseEntity<ApiResponse<Void>> changed = adjust(token, key, 41);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, changed.getStatusCode());
+        assertEquals(1, stockMovementRepository.findByProductId(productId).size());
+    }
+
+    @Test
+    void adjustStock_SameKeyDifferentUser_ExecutesForEach() {
+        String key = UUID.randomUUID().toString();
+
+        ResponseEntity<ApiResponse<Void>> first = adjust(token, key, 40);
+        ResponseEntity<ApiResponse<Void>> other = adjust(token(), key, 40);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, other.getStatusCode());
+        assertNull(other.getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    private ResponseEntity<ApiResponse<Void>> adjust(String bearer, String key, int quantity) {
+        StockAdjustmentRequest request = new StockAdjustmentRequest();
+        request.setProductId(productId);
+        request.setLocationId(locationId);
+        request.setNewQuantity(quantity);
+        request.setReason("Scanner retry");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(bearer);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        return restTemplate.exchange("/api/stock/adjust", HttpMethod.POST, new HttpEntity<>(request, headers),
+                new ParameterizedTypeReference<>() {});
+    }
+
+    private String token() {
+        User user = User.builder()
+                .fullName("Idempotency User")
+                .email("idempotency+" + UUID.randomUUID() + "@test.com")
+                .password(passwordEncoder.encode("password"))
+                .role(Role.ROLE_ADMIN)
+                .active(true)
+                .build();
+        userRepository.save(user);
+        UserDetails userDetails = org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail())
+                .password(user.getPassword())
+                .authorities(List.of(new SimpleGrantedAuthority(user.getRole().name())))
+                .build();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        return jwtTokenProvider.generateToken(authentication);
+    }
+}
@@ -0,0 +1,165 @@
+package com.wms.integration;
+
+import com.wms.dto.request.StockAdjustmentRequest;
+import com.wms.dto.response.ApiResponse;
+import com.wms.dto.response.InventoryChangeFeedResponse;
+import com.wms.dto.response.InventoryChangeResponse;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.User;
+import com.wms.entity.Warehouse;
+import com.wms.enums.Role;
+import com.wms.repository.ChangeFeedStateRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.UserRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class InventoryChangeFeedIntegrationTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ChangeFeedStateRepository changeFeedStateRepository;
+    private String token;
+    private Long productId;
+    private Long locationId;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .fullName("Feed User")
+                .email("feed+" + UUID.randomUUID() + "@test.com")
+                .password(passwordEncoder.encode("password"))
+                .role(Role.ROLE_ADMIN)
+                .active(true)
+                .build();
+        userRepository.save(user);
+        UserDetails userDetails = org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail())
+                .password(user.getPassword())
+                .authorities(List.of(new SimpleGrantedAuthority(user.getRole().name())))
+                .build();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        token = jwtTokenProvider.generateToken(authentication);
+
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-FEED-" + UUID.randomUUID())
+                .name("Feed Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-FEED-" + UUID.randomUUID())
+                .name("Feed Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("10.00"))
+                .minStockLevel(0)
+                .build());
+        Location location = locationRepository.save(Location.builder()
+                .code("LOC-FEED-" + UUID.randomUUID().toString().substring(0, 8))
+                .warehouse(warehouse)
+                .build());
+        productId = product.getId();
+        locationId = location.getId();
+    }
+
+    @Test
+    void changes_LongPollWakesUpOnCommittedAdjustments() throws Exception {
+        long cursor = changeFeedStateRepository.findByFeed("inventory")
+                .map(state -> state.getLastPosition())
+                .orElse(0L);
+
+        // Değişiklik gelmeden önce başlayan long-poll
+        CompletableFuture<InventoryChangeFeedResponse> firstPoll = CompletableFuture.supplyAsync(() -> poll(cursor, 10));
+        Thread.sleep(300);
+        adjust(25);
+        adjust(40);
+
+        List<InventoryChangeResponse> ours = new ArrayList<>();
+        InventoryChangeFeedResponse page = firstPoll.get(15, TimeUnit.SECONDS);
+        long next = collect(page, ours);
+        while (ours.size() < 2) {
+            next = collect(poll(next, 5), ours);
+        }
+
+        assertEquals(2, ours.size());
+        assertEquals(25, ours.get(0).getQuantity());
+        assertEquals(40, ours.get(1).getQuantity());
+        assertEquals("ADJUSTED", ours.get(1).getChangeType());
+        assertTrue(ours.get(0).getPosition() < ours.get(1).getPosition());
+
+        // Cursor'dan devam eden okuma aynı olayları tekrar döndürmez
+        InventoryChangeFeedResponse resumed = poll(next, 0);
+        assertTrue(resumed.getChanges().stream().noneMatch(change -> productId.equals(change.getProductId())));
+    }
+
+    private long collect(InventoryChangeFeedResponse page, List<InventoryChangeResponse> ours) {
+        page.getChanges().stream()
+                .filter(change -> productId.equals(change.getProductId()))
+                .forEach(ours::add);
+        return page.getNextCursor();
+    }
+
+    private InventoryChangeFeedResponse poll(long since, int waitSeconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<ApiResponse<InventoryChangeFeedResponse>> response = restTemplate.exchange(
+                "/api/inventory/changes?since=" + since + "&waitSeconds=" + waitSeconds,
+                HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {});
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        return response.getBody().getData();
+    }
+
+    private void adjust(int newQuantity) {
+        StockAdjustmentRequest request = new StockAdjustmentRequest();
+        request.setProductId(productId);
+        request.setLocationId(locationId);
+        request.setNewQuantity(newQuantity);
+        request.setReason("Feed test");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<ApiResponse<Void>> response = restTemplate.exchange(
+                "/api/stock/adjust", HttpMethod.POST, new HttpEntity<>(request, headers),
+                new ParameterizedTypeReference<>() {});
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+}
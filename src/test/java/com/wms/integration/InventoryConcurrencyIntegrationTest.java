@@ -0,0 +1,89 @@
+package com.wms.integration;
+
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.InventoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.retry.max-attempts=100")
+@ActiveProfiles("test")
+class InventoryConcurrencyIntegrationTest {
+
+    private static final int WRITERS = 64;
+
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Test
+    void adjustInventory_ParallelWritersOnOneBin_NoLostUpdates() throws Exception {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-CONC-" + UUID.randomUUID())
+                .name("Concurrency Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-CONC-" + UUID.randomUUID())
+                .name("Concurrency Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+        Location location = locationRepository.save(Location.builder()
+                .code("LOC-CONC-1")
+                .warehouse(warehouse)
+                .build());
+        Inventory inventory = inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(0)
+                .reservedQuantity(0)
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return inventoryService.adjustInventory(inventory.getId(), 1);
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Inventory result = inventoryRepository.findById(inventory.getId()).orElseThrow();
+        assertEquals(WRITERS, result.getQuantity());
+        assertEquals(WRITERS, result.getVersion());
+    }
+}
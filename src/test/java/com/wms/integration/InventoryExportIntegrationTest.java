@@ -0,0 +1,110 @@
+package com.wms.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
+import com.wms.enums.ExportFormat;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.InventoryExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryExportIntegrationTest {
+
+    @Autowired
+    private InventoryExportService inventoryExportService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportInventory_StreamsGzipRowsInIdOrderAndResumesAfterAKey() throws IOException {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-EX-" + run)
+                .name("Export Warehouse")
+                .build());
+        Location bin = locationRepository.save(Location.builder()
+                .code("EX-01")
+                .aisle("EX")
+                .rack("01")
+                .warehouse(warehouse)
+                .build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .sku("SKU-EX-" + i + "-" + run)
+                    .name("Export " + i)
+                    .unit("pcs")
+                    .unitPrice(new BigDecimal("2.00"))
+                    .minStockLevel(0)
+                    .build());
+            ids.add(inventoryRepository.save(Inventory.builder()
+                    .product(product)
+                    .location(bin)
+                    .quantity(10 + i)
+                    .reservedQuantity(0)
+                    .build()).getId());
+        }
+
+        List<String> csv = export(ExportFormat.CSV, 0);
+        assertEquals("inventory_id,warehouse,location,sku,product_name,unit,quantity,reserved_quantity," +
+                "unit_price,stock_value", csv.get(0));
+        List<String> ours = csv.stream().filter(line -> line.contains(run)).toList();
+        assertEquals(List.of(
+                ids.get(0) + "," + warehouse.getCode() + ",EX-01,SKU-EX-0-" + run + ",Export 0,pcs,10,0,2.00,20.00",
+                ids.get(1) + "," + warehouse.getCode() + ",EX-01,SKU-EX-1-" + run + ",Export 1,pcs,11,0,2.00,22.00",
+                ids.get(2) + "," + warehouse.getCode() + ",EX-01,SKU-EX-2-" + run + ",Export 2,pcs,12,0,2.00,24.00"),
+                ours);
+
+        // Kopan aktarım ilk satırdan sonra devam eder
+        List<String> resumed = export(ExportFormat.NDJSON, ids.get(0));
+        List<Long> resumedIds = new ArrayList<>();
+        for (String line : resumed) {
+            JsonNode row = objectMapper.readTree(line);
+            assertTrue(row.get("inventoryId").asLong() > ids.get(0));
+            if (row.get("sku").asText().endsWith(run)) {
+                resumedIds.add(row.get("inventoryId").asLong());
+            }
+        }
+        assertEquals(ids.subList(1, 3), resumedIds);
+    }
+
+    private List<String> export(ExportFormat format, long after) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        inventoryExportService.exportInventory(format, after, out);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+}
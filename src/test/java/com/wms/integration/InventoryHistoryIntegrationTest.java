@@ -0,0 +1,176 @@
+package com.wms.integration;
+
+import com.wms.dto.request.StockTransferRequest;
+import com.wms.dto.response.InventoryAsOfLineResponse;
+import com.wms.dto.response.InventoryAsOfResponse;
+import com.wms.dto.response.InventorySnapshotRunResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.InventorySnapshot;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.InventorySnapshotRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.InventoryHistoryService;
+import com.wms.service.InventorySnapshotJob;
+import com.wms.service.StockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryHistoryIntegrationTest {
+
+    @Autowired
+    private InventoryHistoryService inventoryHistoryService;
+    @Autowired
+    private InventorySnapshotJob inventorySnapshotJob;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private InventorySnapshotRepository inventorySnapshotRepository;
+
+    @Test
+    void asOf_ReplaysMovementsForwardAndBackwardFromNearestSnapshot() throws InterruptedException {
+        Warehouse warehouse = warehouse();
+        Location a1 = location(warehouse, "H-01");
+        Location a2 = location(warehouse, "H-02");
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-HIST-" + UUID.randomUUID())
+                .name("History Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+        // Hareketsiz başlangıç stoğu yalnızca anlık görüntüde görünür
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(a1)
+                .quantity(100)
+                .reservedQuantity(0)
+                .build());
+
+        InventorySnapshotRunResponse run = inventorySnapshotJob.run();
+        assertTrue(run.getFailures().isEmpty());
+        LocalDateTime afterFirstSnapshot = tick();
+
+        Thread.sleep(300);
+        LocalDateTime beforeTransfer = tick();
+        stockService.transferStock(transfer(product, a1, a2, 30));
+        LocalDateTime afterTransfer = tick();
+        inventoryHistoryService.takeSnapshot(warehouse.getId());
+        tick();
+        stockService.transferStock(transfer(product, a2, a1, 20));
+        LocalDateTime afterReturn = tick();
+
+        // İlk görüntüye yakın: ileri sarma
+        assertEquals(Map.of("H-01", 100L), quantities(warehouse, afterFirstSnapshot));
+        // İkinci görüntüye daha yakın: transfer geri sarılır
+        InventoryAsOfResponse rewound = inventoryHistoryService.getInventoryAsOf(warehouse.getId(), beforeTransfer,
+                null, null);
+        assertTrue(rewound.getSnapshotTakenAt().isAfter(afterTransfer));
+        assertEquals(Map.of("H-01", 100L), byLocation(rewound));
+        assertEquals(Map.of("H-01", 70L, "H-02", 30L), quantities(warehouse, afterTransfer));
+        assertEquals(Map.of("H-01", 90L, "H-02", 10L), quantities(warehouse, afterReturn));
+
+        InventoryAsOfResponse oneBin = inventoryHistoryService.getInventoryAsOf(warehouse.getId(), afterTransfer,
+                product.getId(), a2.getId());
+        assertEquals(Map.of("H-02", 30L), byLocation(oneBin));
+    }
+
+    @Test
+    void prune_KeepsOneSnapshotPerWeekAfterDailyRetention() {
+        Warehouse warehouse = warehouse();
+        LocalDateTime now = LocalDateTime.of(2026, 6, 30, 12, 0);
+        // 60 gün önce aynı haftada üç görüntü; biri saklama süresinin dışında
+        LocalDateTime monday = LocalDateTime.of(2026, 4, 27, 0, 10);
+        snapshot(warehouse, monday);
+        snapshot(warehouse, monday.plusDays(1));
+        snapshot(warehouse, monday.plusDays(2));
+        snapshot(warehouse, now.minusDays(500));
+        snapshot(warehouse, now.minusDays(1));
+
+        inventoryHistoryService.prune(now, 35, 400);
+
+        assertEquals(2, inventorySnapshotRepository.findAll().stream()
+                .filter(s -> s.getWarehouseId().equals(warehouse.getId()))
+                .filter(s -> s.getTakenAt().equals(monday) || s.getTakenAt().equals(now.minusDays(1)))
+                .count());
+        assertEquals(2, inventorySnapshotRepository.findAll().stream()
+                .filter(s -> s.getWarehouseId().equals(warehouse.getId()))
+                .count());
+    }
+
+    private Map<String, Long> quantities(Warehouse warehouse, LocalDateTime at) {
+        return byLocation(inventoryHistoryService.getInventoryAsOf(warehouse.getId(), at, null, null));
+    }
+
+    private Map<String, Long> byLocation(InventoryAsOfResponse response) {
+        return response.getLines().stream()
+                .collect(Collectors.toMap(InventoryAsOfLineResponse::getLocationCode,
+                        InventoryAsOfLineResponse::getQuantity));
+    }
+
+    // Zaman damgaları mikro saniyeye yuvarlanır; ardışık adımlar birbirinden ayrılsın
+    private LocalDateTime tick() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(5);
+        return now;
+    }
+
+    private void snapshot(Warehouse warehouse, LocalDateTime takenAt) {
+        inventorySnapshotRepository.save(InventorySnapshot.builder()
+                .warehouseId(warehouse.getId())
+                .takenAt(takenAt)
+                .settledBefore(takenAt)
+                .movementWatermark(0L)
+                .build());
+    }
+
+    private Warehouse warehouse() {
+        return warehouseRepository.save(Warehouse.builder()
+                .code("WH-HIST-" + UUID.randomUUID().toString().substring(0, 8))
+                .name("History Warehouse")
+                .build());
+    }
+
+    private Location location(Warehouse warehouse, String code) {
+        return locationRepository.save(Location.builder()
+                .code(code)
+                .aisle("H")
+                .rack(code.substring(2))
+                .warehouse(warehouse)
+                .build());
+    }
+
+    private StockTransferRequest transfer(Product product, Location from, Location to, int quantity) {
+        return StockTransferRequest.builder()
+                .productId(product.getId())
+                .fromLocationId(from.getId())
+                .toLocationId(to.getId())
+                .quantity(quantity)
+                .build();
+    }
+}
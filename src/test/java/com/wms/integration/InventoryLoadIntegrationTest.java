@@ -0,0 +1,143 @@
+package com.wms.integration;
+
+import com.wms.dto.response.InventoryLoadResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.StockMovement;
+import com.wms.entity.Warehouse;
+import com.wms.enums.StockMovementType;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockMovementRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.InventoryLoadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryLoadIntegrationTest {
+
+    @Autowired
+    private InventoryLoadService inventoryLoadService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Test
+    void load_SetsQuantitiesWithAdjustmentsAndKeepsRejectedLines() throws IOException {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-IL-" + run)
+                .name("Load Warehouse")
+                .build());
+        Location bin1 = location(warehouse, "IL-01");
+        Location bin2 = location(warehouse, "IL-02");
+        Product bolts = product(run, "BOLTS");
+        Product nuts = product(run, "NUTS");
+        Product washers = product(run, "WASHERS");
+        stock(bolts, bin1, 10, 4);
+        stock(washers, bin1, 20, 0);
+        stock(washers, bin2, 10, 6);
+
+        String wh = warehouse.getCode();
+        String csv = "sku,warehouse,location,quantity\n" +
+                bolts.getSku() + "," + wh + ",IL-01,25\n" +
+                nuts.getSku() + "," + wh + ",IL-02,7\n" +
+                washers.getSku() + "," + wh + ",IL-01,12\n" +
+                bolts.getSku() + "," + wh + ",IL-01,30\n" +
+                "NO-SUCH-SKU-" + run + "," + wh + ",IL-01,5\n" +
+                nuts.getSku() + "," + wh + ",IL-99,5\n" +
+                bolts.getSku() + "," + wh + ",IL-02,abc\n" +
+                washers.getSku() + "," + wh + ",IL-02,5\n" +
+                nuts.getSku() + "," + wh + ",IL-01,0\n";
+
+        InventoryLoadResponse load = inventoryLoadService.load(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(9, load.getTotalLines());
+        assertEquals(3, load.getChangedLines());
+        assertEquals(5, load.getRejectedLines());
+        assertEquals(1, load.getUnchangedLines());
+        assertEquals(25, quantity(bolts, bin1));
+        assertEquals(7, quantity(nuts, bin2));
+        assertEquals(12, quantity(washers, bin1));
+        assertEquals(10, quantity(washers, bin2));
+        // Sıfır miktarlı yeni satır oluşturulmaz
+        assertTrue(inventoryRepository.findByProductIdAndLocationId(nuts.getId(), bin1.getId()).isEmpty());
+
+        List<StockMovement> movements = stockMovementRepository.findByType(StockMovementType.ADJUSTMENT).stream()
+                .filter(m -> load.getReference().equals(m.getReferenceNumber()))
+                .toList();
+        assertEquals(3, movements.size());
+        StockMovement decrease = movements.stream()
+                .filter(m -> m.getProduct().getId().equals(washers.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(8, decrease.getQuantity());
+        assertEquals(bin1.getId(), decrease.getFromLocation().getId());
+        assertNull(decrease.getToLocation());
+
+        StringWriter rejections = new StringWriter();
+        inventoryLoadService.writeRejections(load.getId(), rejections);
+        List<String> lines = rejections.toString().lines().toList();
+        assertEquals(6, lines.size());
+        assertEquals(List.of("5", "6", "7", "8", "9"), lines.stream().skip(1)
+                .map(line -> line.substring(0, line.indexOf(','))).toList());
+        assertTrue(lines.get(2).contains("Unknown SKU"));
+        assertTrue(lines.get(5).contains("reserved"));
+    }
+
+    private int quantity(Product product, Location location) {
+        return inventoryRepository.findByProductIdAndLocationId(product.getId(), location.getId())
+                .orElseThrow().getQuantity();
+    }
+
+    private Product product(String run, String name) {
+        return productRepository.save(Product.builder()
+                .sku("SKU-IL-" + name + "-" + run)
+                .name("Load " + name)
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+    }
+
+    private Location location(Warehouse warehouse, String code) {
+        return locationRepository.save(Location.builder()
+                .code(code)
+                .aisle("IL")
+                .rack(code.substring(3))
+                .warehouse(warehouse)
+                .build());
+    }
+
+    private void stock(Product product, Location location, int quantity, int reserved) {
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .reservedQuantity(reserved)
+                .build());
+    }
+}
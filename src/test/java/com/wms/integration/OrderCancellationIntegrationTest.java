@@ -0,0 +1,215 @@
+package com.wms.integration;
+
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Order;
+import com.wms.entity.OrderItem;
+import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
+import com.wms.enums.OrderStatus;
+import com.wms.exception.BusinessRuleException;
+import com.wms.exception.ResourceNotFoundException;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.OrderItemRepository;
+import com.wms.repository.OrderRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockReservationRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.retry.max-attempts=100")
+@ActiveProfiles("test")
+class OrderCancellationIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Test
+    void cancelOrders_MixedBatch_ReleasesReservationsAndReportsFailures() {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-CNL-" + UUID.randomUUID())
+                .name("Cancellation Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-CNL-" + UUID.randomUUID())
+                .name("Cancellation Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("5.00"))
+                .minStockLevel(0)
+                .build());
+        Location location = locationRepository.save(Location.builder()
+                .code("LOC-CNL-1")
+                .warehouse(warehouse)
+                .build());
+        Inventory inventory = inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(50)
+                .reservedQuantity(0)
+                .build());
+
+        Long reservedA = createOrder(warehouse, product, location, 5);
+        Long reservedB = createOrder(warehouse, product, location, 7);
+        Long pending = createOrder(warehouse, product, location, 2);
+        Long shipped = createOrder(warehouse, product, location, 1);
+        orderService.reserveStock(reservedA);
+        orderService.reserveStock(reservedB);
+        orderService.reserveStock(shipped);
+        orderService.shipOrder(shipped);
+        assertEquals(12, inventoryRepository.findById(inventory.getId()).orElseThrow().getReservedQuantity());
+
+        List<RuntimeException> outcomes = orderService.cancelOrders(
+                List.of(reservedA, reservedB, pending, shipped, Long.MAX_VALUE));
+
+        assertNull(outcomes.get(0));
+        assertNull(outcomes.get(1));
+        assertNull(outcomes.get(2));
+        assertInstanceOf(BusinessRuleException.class, outcomes.get(3));
+        assertInstanceOf(ResourceNotFoundException.class, outcomes.get(4));
+
+        Inventory after = inventoryRepository.findById(inventory.getId()).orElseThrow();
+        assertEquals(0, after.getReservedQuantity());
+        assertEquals(49, after.getQuantity());
+        for (Long orderId : List.of(reservedA, reservedB, pending)) {
+            assertEquals(OrderStatus.CANCELLED, orderRepository.findById(orderId).orElseThrow().getStatus());
+            assertTrue(stockReservationRepository.findByOrderIdAndReleasedFalse(orderId).isEmpty());
+        }
+        assertEquals(OrderStatus.SHIPPED, orderRepository.findById(shipped).orElseThrow().getStatus());
+    }
+
+    @Test
+    void cancelOrders_RacingShipOrder_ReleasesEveryReservation() throws Exception {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-CNL-" + UUID.randomUUID())
+                .name("Cancellation Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-CNL-" + UUID.randomUUID())
+                .name("Cancellation Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("5.00"))
+                .minStockLevel(0)
+                .build());
+        Location location = locationRepository.save(Location.builder()
+                .code("LOC-CNL-2")
+                .warehouse(warehouse)
+                .build());
+        Inventory inventory = inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(100)
+                .reservedQuantity(0)
+                .build());
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Long orderId = createOrder(warehouse, product, location, 2);
+            orderService.reserveStock(orderId);
+            orderIds.add(orderId);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (Long orderId : orderIds) {
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> ship = executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.shipOrder(orderId);
+                    } catch (BusinessRuleException ignored) {
+                        // İptal önce davrandı
+                    }
+                    return null;
+                });
+                Future<List<RuntimeException>> cancel = executor.submit(() -> {
+                    start.await();
+                    return orderService.cancelOrders(List.of(orderId));
+                });
+                start.countDown();
+                ship.get();
+                cancel.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Her sipariş ya sevk ya iptal edildi; hiçbir rezervasyon açıkta kalmadı
+        int shipped = 0;
+        for (Long orderId : orderIds) {
+            OrderStatus status = orderRepository.findById(orderId).orElseThrow().getStatus();
+            assertTrue(status == OrderStatus.SHIPPED || status == OrderStatus.CANCELLED, status::toString);
+            assertTrue(stockReservationRepository.findByOrderIdAndReleasedFalse(orderId).isEmpty());
+            shipped += status == OrderStatus.SHIPPED ? 1 : 0;
+        }
+        Inventory after = inventoryRepository.findById(inventory.getId()).orElseThrow();
+        assertEquals(0, after.getReservedQuantity());
+        assertEquals(100 - 2 * shipped, after.getQuantity());
+    }
+
+    @Test
+    void cancelOrder_AlreadyCancelled_Throws() {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-CNL-" + UUID.randomUUID())
+                .name("Cancellation Warehouse")
+                .build());
+        Long orderId = orderRepository.save(Order.builder()
+                .orderNumber("ORD-CNL-" + UUID.randomUUID())
+                .customerName("Cancellation Customer")
+                .warehouse(warehouse)
+                .status(OrderStatus.PENDING)
+                .orderDate(LocalDate.now())
+                .build()).getId();
+
+        orderService.cancelOrder(orderId);
+
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertThrows(BusinessRuleException.class, () -> orderService.cancelOrder(orderId));
+    }
+
+    private Long createOrder(Warehouse warehouse, Product product, Location location, int quantity) {
+        Order order = orderRepository.save(Order.builder()
+                .orderNumber("ORD-CNL-" + UUID.randomUUID())
+                .customerName("Cancellation Customer")
+                .warehouse(warehouse)
+                .status(OrderStatus.PENDING)
+                .orderDate(LocalDate.now())
+                .build());
+        orderItemRepository.save(OrderItem.builder()
+                .order(order)
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .build());
+        return order.getId();
+    }
+}
@@ -0,0 +1,190 @@
+package com.wms.integration;
+
+import com.wms.dto.request.OrderItemRequest;
+import com.wms.dto.request.OrderRequest;
+import com.wms.dto.response.ApiResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.OrderSummary;
+import com.wms.entity.Product;
+import com.wms.entity.User;
+import com.wms.entity.Warehouse;
+import com.wms.enums.OrderStatus;
+import com.wms.enums.Role;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.OrderSummaryRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.UserRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.security.JwtTokenProvider;
+import com.wms.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class OrderSummaryIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+    private String token;
+    private Warehouse warehouse;
+    private Product product;
+    private Location location;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .fullName("Summary User")
+                .email("summary+" + UUID.randomUUID() + "@test.com")
+                .password(passwordEncoder.encode("password"))
+                .role(Role.ROLE_ADMIN)
+                .active(true)
+                .build());
+        UserDetails userDetails = org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail())
+                .password(user.getPassword())
+                .authorities(List.of(new SimpleGrantedAuthority(user.getRole().name())))
+                .build();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        token = jwtTokenProvider.generateToken(authentication);
+
+        warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-SUM-" + UUID.randomUUID().toString().substring(0, 8))
+                .name("Summary Warehouse")
+                .build());
+        product = productRepository.save(Product.builder()
+                .sku("SKU-SUM-" + UUID.randomUUID())
+                .name("Summary Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("2.50"))
+                .minStockLevel(0)
+                .build());
+        location = locationRepository.save(Location.builder()
+                .code("LOC-SUM-1")
+                .warehouse(warehouse)
+                .build());
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(100)
+                .reservedQuantity(0)
+                .build());
+    }
+
+    @Test
+    void orderMutations_KeepSummaryInSync() {
+        Long orderId = createOrder("Summary Customer");
+        addItem(orderId, 4);
+        addItem(orderId, 6);
+
+        OrderSummary summary = orderSummaryRepository.findByOrderId(orderId).orElseThrow();
+        assertEquals("Summary Warehouse", summary.getWarehouseName());
+        assertEquals(OrderStatus.PENDING, summary.getStatus());
+        assertEquals(2, summary.getLineCount());
+        assertEquals(10L, summary.getTotalUnits());
+        assertEquals(0, new BigDecimal("25.00").compareTo(summary.getTotalValue()));
+
+        orderService.reserveStock(orderId);
+        assertEquals(OrderStatus.RESERVED, orderSummaryRepository.findByOrderId(orderId).orElseThrow().getStatus());
+
+        orderService.shipOrder(orderId);
+        OrderSummary shipped = orderSummaryRepository.findByOrderId(orderId).orElseThrow();
+        assertEquals(OrderStatus.SHIPPED, shipped.getStatus());
+        assertEquals(LocalDate.now(), shipped.getShippedDate());
+
+        Long cancelled = createOrder("Cancelled Customer");
+        orderService.cancelOrders(List.of(cancelled));
+        assertEquals(OrderStatus.CANCELLED, orderSummaryRepository.findByOrderId(cancelled).orElseThrow().getStatus());
+    }
+
+    @Test
+    void getOrderSummaries_FiltersByWarehouseAndStatusAndPaginates() {
+        Long reserved = createOrder("Reserved Customer");
+        addItem(reserved, 3);
+        orderService.reserveStock(reserved);
+        createOrder("Pending Customer 1");
+        createOrder("Pending Customer 2");
+
+        Map<String, Object> pending = fetch("?warehouseId=" + warehouse.getId() + "&status=PENDING&size=1");
+        assertEquals(2, ((Number) pending.get("totalElements")).intValue());
+        assertEquals(1, ((List<?>) pending.get("content")).size());
+
+        Map<String, Object> reservedPage = fetch("?warehouseId=" + warehouse.getId() + "&status=RESERVED");
+        List<?> content = (List<?>) reservedPage.get("content");
+        assertEquals(1, content.size());
+        Map<?, ?> row = (Map<?, ?>) content.get(0);
+        assertEquals(reserved.intValue(), ((Number) row.get("id")).intValue());
+        assertEquals(1, ((Number) row.get("lineCount")).intValue());
+        assertEquals(3, ((Number) row.get("totalUnits")).intValue());
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Map<String, Object> future = fetch("?warehouseId=" + warehouse.getId() + "&from=" + tomorrow);
+        assertEquals(0, ((Number) future.get("totalElements")).intValue());
+    }
+
+    private Map<String, Object> fetch(String query) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<ApiResponse<Map<String, Object>>> response = restTemplate.exchange(
+                "/api/orders/summaries" + query, HttpMethod.GET, new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {});
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        return response.getBody().getData();
+    }
+
+    private Long createOrder(String customer) {
+        return orderService.createOrder(OrderRequest.builder()
+                .customerName(customer)
+                .warehouseId(warehouse.getId())
+                .build()).getId();
+    }
+
+    private void addItem(Long orderId, int quantity) {
+        OrderItemRequest request = new OrderItemRequest();
+        request.setProductId(product.getId());
+        request.setLocationId(location.getId());
+        request.setQuantity(quantity);
+        orderService.addItem(orderId, request);
+    }
+}
@@ -0,0 +1,182 @@
+package com.wms.integration;
+
+import com.wms.dto.request.PickFaceRequest;
+import com.wms.dto.request.StockAdjustmentRequest;
+import com.wms.dto.response.PickFaceReplenishmentResponse;
+import com.wms.dto.response.PickFaceResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.PickFace;
+import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.PickFaceRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.InventoryChangeFeedService;
+import com.wms.service.PickFaceReplenisher;
+import com.wms.service.PickFaceService;
+import com.wms.service.StockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PickFaceReplenishmentIntegrationTest {
+
+    @Autowired
+    private PickFaceService pickFaceService;
+    @Autowired
+    private PickFaceReplenisher pickFaceReplenisher;
+    @Autowired
+    private InventoryChangeFeedService inventoryChangeFeedService;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private PickFaceRepository pickFaceRepository;
+
+    @Test
+    void replenish_TopsUpFromReserveAndFollowsInventoryChanges() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-PF-" + tag)
+                .name("Pick Face Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-PF-" + tag)
+                .name("Pick Face Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+        Location pick = location(warehouse, "PICK-01");
+        Location reserveSmall = location(warehouse, "RES-01");
+        Location reserveLarge = location(warehouse, "RES-02");
+        stock(product, pick, 2);
+        stock(product, reserveSmall, 30);
+        stock(product, reserveLarge, 50);
+
+        PickFaceRequest request = new PickFaceRequest();
+        request.setProductId(product.getId());
+        request.setMinQuantity(5);
+        request.setMaxQuantity(40);
+        PickFaceResponse face = pickFaceService.saveFace(pick.getId(), request);
+        assertTrue(face.getNeedsReplenishment());
+
+        PickFaceReplenishmentResponse first = pickFaceReplenisher.replenish();
+
+        assertEquals(1, first.getCompletedTransfers());
+        assertEquals(38L, first.getTransferredUnits());
+        assertEquals(40, quantity(product, pick));
+        assertEquals(12, quantity(product, reserveLarge));
+
+        // Akış henüz yakalamadıysa göz işaretli kalır ama güncel stok okunduğu için ikinci kez dolmaz
+        pickFaceReplenisher.replenish();
+        assertEquals(40, quantity(product, pick));
+
+        publishFeed();
+        pickFaceReplenisher.replenish();
+        PickFace caughtUp = pickFaceRepository.findById(face.getId()).orElseThrow();
+        assertFalse(caughtUp.getNeedsReplenishment());
+        assertEquals(40, caughtUp.getQuantity());
+
+        // Sayım düzeltmesi gözü minimumun altına indirir: akıştan görülür ve iki rezervden doldurulur
+        StockAdjustmentRequest adjustment = new StockAdjustmentRequest();
+        adjustment.setProductId(product.getId());
+        adjustment.setLocationId(pick.getId());
+        adjustment.setNewQuantity(3);
+        stockService.adjustStock(adjustment);
+        publishFeed();
+
+        PickFaceReplenishmentResponse second = pickFaceReplenisher.replenish();
+
+        assertTrue(second.getConsumedChanges() > 0);
+        assertEquals(2, second.getCompletedTransfers());
+        assertEquals(40, quantity(product, pick));
+        assertEquals(0, quantity(product, reserveSmall));
+        assertEquals(5, quantity(product, reserveLarge));
+    }
+
+    @Test
+    void planTopUps_RotatesFacesThatCannotBeFilled() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-PFR-" + tag)
+                .name("Pick Face Rotation Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-PFR-" + tag)
+                .name("Unstocked Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+        PickFaceRequest request = new PickFaceRequest();
+        request.setProductId(product.getId());
+        request.setMinQuantity(5);
+        request.setMaxQuantity(40);
+        Long stuck = pickFaceService.saveFace(location(warehouse, "PICK-01").getId(), request).getId();
+        Long waiting = pickFaceService.saveFace(location(warehouse, "PICK-02").getId(), request).getId();
+
+        // Rezerv stok yok: planlama bir şey üretmez ama denenen göz sıranın sonuna geçer
+        pickFaceService.planTopUps(Integer.MAX_VALUE);
+        assertNotNull(pickFaceRepository.findById(stuck).orElseThrow().getLastAttemptAt());
+        PickFace earlier = pickFaceRepository.findById(waiting).orElseThrow();
+        earlier.setLastAttemptAt(LocalDateTime.now().minusMinutes(5));
+        pickFaceRepository.save(earlier);
+
+        List<Long> order = pickFaceRepository.findPending(PageRequest.of(0, Integer.MAX_VALUE)).stream()
+                .map(PickFace::getId)
+                .toList();
+        assertTrue(order.indexOf(waiting) < order.indexOf(stuck));
+    }
+
+    private void publishFeed() {
+        inventoryChangeFeedService.ensureState();
+        while (inventoryChangeFeedService.publishPending(500) > 0) {
+            // sonraki parti
+        }
+    }
+
+    private Location location(Warehouse warehouse, String code) {
+        return locationRepository.save(Location.builder()
+                .code(code)
+                .aisle("A")
+                .rack(code.substring(code.length() - 2))
+                .warehouse(warehouse)
+                .build());
+    }
+
+    private void stock(Product product, Location location, int quantity) {
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .reservedQuantity(0)
+                .build());
+    }
+
+    private int quantity(Product product, Location location) {
+        return inventoryRepository.findByProductIdAndLocationId(product.getId(), location.getId())
+                .orElseThrow().getQuantity();
+    }
+}
@@ -0,0 +1,141 @@
+package com.wms.integration;
+
+import com.wms.dto.response.PickListResponse;
+import com.wms.dto.response.PickStopResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Order;
+import com.wms.entity.OrderItem;
+import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
+import com.wms.enums.OrderStatus;
+import com.wms.exception.BusinessRuleException;
+import com.wms.picking.RoutingStrategy;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.OrderItemRepository;
+import com.wms.repository.OrderRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.OrderService;
+import com.wms.service.PickListService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PickListIntegrationTest {
+
+    @Autowired
+    private PickListService pickListService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Test
+    void generatePickList_ReservedOrders_ConsolidatesAndRoutesByAisle() {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-PICK-" + UUID.randomUUID())
+                .name("Pick Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-PICK-" + UUID.randomUUID())
+                .name("Pick Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+        Location b2 = location(warehouse, product, "B", "02");
+        Location a1 = location(warehouse, product, "A", "01");
+        Location a3 = location(warehouse, product, "A", "03");
+
+        Order first = order(warehouse, product, List.of(b2, a3), 2);
+        Order second = order(warehouse, product, List.of(a1, b2), 3);
+        orderService.reserveStock(first.getId());
+        orderService.reserveStock(second.getId());
+
+        PickListResponse pickList = pickListService.generatePickList(
+                List.of(first.getId(), second.getId()), RoutingStrategy.SERPENTINE);
+
+        assertEquals(2, pickList.getOrderCount());
+        assertEquals(4, pickList.getLineCount());
+        assertEquals(10L, pickList.getTotalUnits());
+        assertEquals(List.of(a1.getId(), a3.getId(), b2.getId()),
+                pickList.getStops().stream().map(PickStopResponse::getLocationId).toList());
+        PickStopResponse shared = pickList.getStops().get(2);
+        assertEquals(2, shared.getPicks().size());
+        assertEquals(5, shared.getTotalQuantity());
+    }
+
+    @Test
+    void generatePickList_PendingOrder_Throws() {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-PICK-" + UUID.randomUUID())
+                .name("Pick Warehouse")
+                .build());
+        Order pending = orderRepository.save(Order.builder()
+                .orderNumber("ORD-PICK-" + UUID.randomUUID())
+                .customerName("Pick Customer")
+                .warehouse(warehouse)
+                .status(OrderStatus.PENDING)
+                .orderDate(LocalDate.now())
+                .build());
+
+        assertThrows(BusinessRuleException.class,
+                () -> pickListService.generatePickList(List.of(pending.getId()), RoutingStrategy.LARGEST_GAP));
+    }
+
+    private Location location(Warehouse warehouse, Product product, String aisle, String rack) {
+        Location location = locationRepository.save(Location.builder()
+                .code(aisle + "-" + rack + "-01")
+                .aisle(aisle)
+                .rack(rack)
+                .bin("01")
+                .warehouse(warehouse)
+                .build());
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(100)
+                .reservedQuantity(0)
+                .build());
+        return location;
+    }
+
+    private Order order(Warehouse warehouse, Product product, List<Location> locations, int quantity) {
+        Order order = orderRepository.save(Order.builder()
+                .orderNumber("ORD-PICK-" + UUID.randomUUID())
+                .customerName("Pick Customer")
+                .warehouse(warehouse)
+                .status(OrderStatus.PENDING)
+                .orderDate(LocalDate.now())
+                .build());
+        locations.forEach(location -> orderItemRepository.save(OrderItem.builder()
+                .order(order)
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .build()));
+        return order;
+    }
+}
@@ -0,0 +1,86 @@
+package com.wms.integration;
+
+import com.wms.dto.response.ProductImportResponse;
+import com.wms.service.ProductImportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Import throughput against PostgreSQL 15, the version of the compose file, through the
+ * {@code COPY} staging path. Only runs with {@code mvn test -Pbenchmark} and skips itself
+ * without Docker. The first file warms up; the second, all new SKUs, is measured.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductImportBenchmark {
+
+    private static final int ROWS = 200_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Test
+    void importCsv_TwoHundredThousandRows_AtLeastFiftyThousandPerSecond() {
+        importCsv(csv(ROWS / 4));
+
+        byte[] file = csv(ROWS);
+        long started = System.nanoTime();
+        ProductImportResponse response = importCsv(file);
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+
+        long rowsPerSecond = ROWS * 1000L / elapsedMs;
+        System.out.printf("Product import benchmark: %d rows in %d ms (%d rows/s) on PostgreSQL 15%n",
+                ROWS, elapsedMs, rowsPerSecond);
+        assertEquals(ROWS, response.getInserted());
+        assertEquals(0, response.getFailed());
+        assertTrue(rowsPerSecond >= 50_000, rowsPerSecond + " rows/s");
+    }
+
+    private ProductImportResponse importCsv(byte[] file) {
+        return productImportService.importCsv(new ByteArrayInputStream(file));
+    }
+
+    private static byte[] csv(int rows) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        StringBuilder csv = new StringBuilder("sku,barcode,name,description,unit,unit_price,min_stock_level,category\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("BM-").append(run).append('-').append(i).append(',')
+                    .append("BC-").append(run).append('-').append(i).append(',')
+                    .append("\"Product ").append(i).append(", bulk\"").append(',')
+                    .append("Imported for the benchmark,pcs,")
+                    .append(1 + i % 500).append(".25,").append(i % 50).append(",Category ").append(i % 40)
+                    .append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+package com.wms.integration;
+
+import com.wms.dto.response.ProductImportErrorResponse;
+import com.wms.dto.response.ProductImportResponse;
+import com.wms.entity.Product;
+import com.wms.exception.BusinessRuleException;
+import com.wms.repository.ProductRepository;
+import com.wms.service.ProductImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductImportIntegrationTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void importCsv_UpsertsBySkuAndReportsBadLines() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        productRepository.save(Product.builder()
+                .sku("IMP-" + run + "-OLD")
+                .barcode("BC-" + run + "-OLD")
+                .name("Old Name")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+
+        String csv = "sku,barcode,name,unit,unit_price,min_stock_level,category\n" +
+                "IMP-" + run + "-1,BC-" + run + "-1,Hex Bolt,pcs,0.25,100,Fasteners\n" +
+                "IMP-" + run + "-OLD,BC-" + run + "-OLD,\"Renamed, again\",box,12.50,,\n" +
+                "IMP-" + run + "-2,,Washer,pcs,abc,0,\n" +
+                "IMP-" + run + "-3,BC-" + run + "-OLD,Clash,pcs,1.00,0,\n" +
+                ",,No Sku,pcs,1.00,0,\n" +
+                "IMP-" + run + "-1,BC-" + run + "-1,Hex Bolt M8,pcs,0.30,100,Fasteners\n";
+
+        // Parça sınırlarını da denesin diye küçük parçalar
+        ReflectionTestUtils.setField(productImportService, "chunkSize", 2);
+        ProductImportResponse response;
+        try {
+            response = productImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        } finally {
+            ReflectionTestUtils.setField(productImportService, "chunkSize", 5000);
+        }
+
+        assertEquals(6, response.getRows());
+        assertEquals(1, response.getInserted());
+        assertEquals(2, response.getUpdated());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(4L, 5L, 6L), response.getErrors().stream()
+                .map(ProductImportErrorResponse::getLine).sorted().toList());
+
+        Product renamed = productRepository.findBySku("IMP-" + run + "-OLD").orElseThrow();
+        assertEquals("Renamed, again", renamed.getName());
+        assertEquals("box", renamed.getUnit());
+        assertEquals(0, new BigDecimal("12.50").compareTo(renamed.getUnitPrice()));
+        Product bolt = productRepository.findBySku("IMP-" + run + "-1").orElseThrow();
+        assertEquals("Hex Bolt M8", bolt.getName());
+        assertEquals(100, bolt.getMinStockLevel());
+        assertTrue(productRepository.findBySku("IMP-" + run + "-3").isEmpty());
+    }
+
+    @Test
+    void importCsv_RejectsUnknownColumns() {
+        String csv = "sku,name,unit,unit_price,colour\nX,Y,pcs,1.00,red\n";
+        assertThrows(BusinessRuleException.class, () -> productImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+}
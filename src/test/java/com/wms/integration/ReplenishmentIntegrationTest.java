@@ -0,0 +1,212 @@
+package com.wms.integration;
+
+import com.wms.dto.request.ProductSupplierRequest;
+import com.wms.dto.response.ReplenishmentPlanResponse;
+import com.wms.dto.response.ReplenishmentRunResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.InventoryChangeEvent;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.PurchaseOrder;
+import com.wms.entity.PurchaseOrderItem;
+import com.wms.entity.StockMovement;
+import com.wms.entity.Supplier;
+import com.wms.entity.Warehouse;
+import com.wms.enums.InventoryChangeType;
+import com.wms.enums.PurchaseOrderStatus;
+import com.wms.enums.StockMovementType;
+import com.wms.repository.InventoryChangeEventRepository;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.PurchaseOrderItemRepository;
+import com.wms.repository.PurchaseOrderRepository;
+import com.wms.repository.StockMovementRepository;
+import com.wms.repository.SupplierRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.ReplenishmentJob;
+import com.wms.service.ReplenishmentService;
+import com.wms.service.ScheduledRunClaims;
+import com.wms.service.SupplierService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReplenishmentIntegrationTest {
+
+    @Autowired
+    private ReplenishmentJob replenishmentJob;
+    @Autowired
+    private ReplenishmentService replenishmentService;
+    @Autowired
+    private ScheduledRunClaims scheduledRunClaims;
+    @Autowired
+    private SupplierService supplierService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+    @Autowired
+    private InventoryChangeEventRepository inventoryChangeEventRepository;
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired
+    private PurchaseOrderItemRepository purchaseOrderItemRepository;
+
+    @Test
+    void run_ForecastsDemandAndDraftsOnePurchaseOrderPerSupplier() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-RPL-" + tag)
+                .name("Replenishment Warehouse")
+                .build());
+        Location location = locationRepository.save(Location.builder()
+                .code("RPL-01")
+                .aisle("A")
+                .rack("01")
+                .warehouse(warehouse)
+                .build());
+        Supplier supplier = supplierRepository.save(Supplier.builder()
+                .code("SUP-RPL-" + tag)
+                .name("Replenishment Supplier")
+                .active(true)
+                .build());
+        Product sourced = product("SOURCED-" + tag, location, 20);
+        Product unsourced = product("UNSOURCED-" + tag, location, 20);
+        Product overstocked = product("OVERSTOCKED-" + tag, location, 5_000);
+        terms(supplier, sourced, true);
+        terms(supplier, overstocked, true);
+
+        // Son 4 hafta her gün 10 adet çıkış
+        List<StockMovement> movements = new ArrayList<>();
+        for (int day = 1; day <= 28; day++) {
+            for (Product product : List.of(sourced, unsourced, overstocked)) {
+                movements.add(StockMovement.builder()
+                        .type(StockMovementType.OUT)
+                        .product(product)
+                        .fromLocation(location)
+                        .quantity(10)
+                        .reason("Order Shipped")
+                        .referenceNumber("SO-" + UUID.randomUUID())
+                        .movementDate(LocalDateTime.now().minusDays(day))
+                        .build());
+            }
+        }
+        ship(movements);
+
+        ReplenishmentRunResponse run = replenishmentJob.run();
+
+        assertTrue(run.getFailures().isEmpty());
+        Map<Long, ReplenishmentPlanResponse> plans = replenishmentService
+                .search(warehouse.getId(), false, PageRequest.of(0, 10))
+                .stream()
+                .collect(Collectors.toMap(ReplenishmentPlanResponse::getProductId, Function.identity()));
+        assertEquals(3, plans.size());
+        assertEquals(supplier.getId(), plans.get(sourced.getId()).getSupplierId());
+        assertEquals(3, plans.get(sourced.getId()).getLeadTimeDays());
+        assertTrue(plans.get(sourced.getId()).getDailyDemand() > 0);
+        assertTrue(plans.get(sourced.getId()).getOrderQuantity() > 0);
+        assertEquals(0, plans.get(sourced.getId()).getOrderQuantity() % 10);
+        assertNull(plans.get(unsourced.getId()).getSupplierId());
+        assertTrue(plans.get(unsourced.getId()).getOrderQuantity() > 0);
+        assertEquals(0L, plans.get(overstocked.getId()).getOrderQuantity());
+
+        List<PurchaseOrder> drafts = purchaseOrderRepository.findByWarehouseId(warehouse.getId());
+        assertEquals(1, drafts.size());
+        PurchaseOrder draft = drafts.get(0);
+        assertEquals(PurchaseOrderStatus.DRAFT, draft.getStatus());
+        assertTrue(run.getDraftPurchaseOrders().contains(draft.getOrderNumber()));
+        assertEquals(LocalDate.now().plusDays(3), draft.getExpectedDeliveryDate());
+        List<PurchaseOrderItem> items = purchaseOrderItemRepository.findByPurchaseOrderId(draft.getId());
+        assertEquals(1, items.size());
+        assertEquals(plans.get(sourced.getId()).getOrderQuantity(), items.get(0).getOrderedQuantity().longValue());
+        assertEquals(location.getId(), items.get(0).getLocation().getId());
+        assertEquals(new BigDecimal("4.00"), items.get(0).getUnitPrice());
+
+        // Taslak sipariş yoldaki stok sayılır; ikinci çalıştırma aynı ihtiyacı tekrar sipariş etmez
+        replenishmentJob.run();
+        assertEquals(1, purchaseOrderRepository.findByWarehouseId(warehouse.getId()).size());
+        assertEquals(0L, replenishmentService.search(warehouse.getId(), false, PageRequest.of(0, 10)).stream()
+                .filter(plan -> plan.getProductId().equals(sourced.getId()))
+                .findFirst().orElseThrow().getOrderQuantity());
+    }
+
+    @Test
+    void scheduledRun_IsClaimedByOneNodePerInterval() {
+        scheduledRunClaims.ensureState("replenishment-run-test");
+
+        assertTrue(scheduledRunClaims.claim("replenishment-run-test", Duration.ofHours(12)));
+        // Aynı anda tetiklenen ikinci node
+        assertFalse(scheduledRunClaims.claim("replenishment-run-test", Duration.ofHours(12)));
+        assertTrue(scheduledRunClaims.claim("replenishment-run-test", Duration.ZERO));
+    }
+
+    private Product product(String name, Location location, int quantity) {
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-" + name)
+                .name("Replenishment " + name)
+                .unit("pcs")
+                .unitPrice(new BigDecimal("9.99"))
+                .minStockLevel(0)
+                .build());
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .reservedQuantity(0)
+                .build());
+        return product;
+    }
+
+    private void terms(Supplier supplier, Product product, boolean preferred) {
+        ProductSupplierRequest request = new ProductSupplierRequest();
+        request.setProductId(product.getId());
+        request.setLeadTimeDays(3);
+        request.setPackSize(10);
+        request.setUnitCost(new BigDecimal("4.00"));
+        request.setPreferred(preferred);
+        supplierService.saveProductTerms(supplier.getId(), request);
+    }
+
+    // Roll-up sevkiyatları değişiklik akışından okur; her hareket ayrı bir sevkiyat
+    private void ship(List<StockMovement> movements) {
+        stockMovementRepository.saveAll(movements);
+        inventoryChangeEventRepository.saveAll(movements.stream()
+                .map(movement -> InventoryChangeEvent.builder()
+                        .inventoryId(0L)
+                        .productId(movement.getProduct().getId())
+                        .locationId(movement.getFromLocation().getId())
+                        .warehouseId(movement.getFromLocation().getWarehouse().getId())
+                        .quantity(0)
+                        .reservedQuantity(0)
+                        .changeType(InventoryChangeType.SHIPPED)
+                        .reference(movement.getReferenceNumber())
+                        .build())
+                .toList());
+    }
+}
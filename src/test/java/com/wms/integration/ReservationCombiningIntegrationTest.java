@@ -0,0 +1,136 @@
+package com.wms.integration;
+
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Order;
+import com.wms.entity.OrderItem;
+import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
+import com.wms.enums.OrderStatus;
+import com.wms.exception.InsufficientStockException;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.OrderItemRepository;
+import com.wms.repository.OrderRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockReservationRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.ReservationCombiner;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.reservations.combining.enabled=true",
+        "app.reservations.combining.window-ms=20"
+})
+@ActiveProfiles("test")
+class ReservationCombiningIntegrationTest {
+
+    private static final int STOCK = 10;
+    private static final int ORDERS = 25;
+
+    @Autowired
+    private ReservationCombiner reservationCombiner;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Test
+    void reserve_ConcurrentOrdersOnHotRow_CombinedWithoutOverselling() throws Exception {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-COMB-" + UUID.randomUUID())
+                .name("Flash Sale Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-COMB-" + UUID.randomUUID())
+                .name("Flash Sale Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("5.00"))
+                .minStockLevel(0)
+                .build());
+        Location location = locationRepository.save(Location.builder()
+                .code("LOC-COMB-1")
+                .warehouse(warehouse)
+                .build());
+        Inventory inventory = inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(STOCK)
+                .reservedQuantity(0)
+                .build());
+
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = orderRepository.save(Order.builder()
+                    .orderNumber("ORD-COMB-" + UUID.randomUUID())
+                    .customerName("Customer " + i)
+                    .warehouse(warehouse)
+                    .status(OrderStatus.PENDING)
+                    .orderDate(LocalDate.now())
+                    .build());
+            orderItemRepository.save(OrderItem.builder()
+                    .order(order)
+                    .product(product)
+                    .location(location)
+                    .quantity(1)
+                    .build());
+            orderIds.add(order.getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(ORDERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    reservationCombiner.reserve(orderId);
+                    return true;
+                } catch (InsufficientStockException ex) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int reserved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                reserved++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(STOCK, reserved);
+        assertEquals(STOCK, inventoryRepository.findById(inventory.getId()).orElseThrow().getReservedQuantity());
+        assertEquals(STOCK, stockReservationRepository.findByInventoryIdAndReleasedFalse(inventory.getId()).size());
+        assertEquals(STOCK, orderIds.stream()
+                .filter(id -> orderRepository.findById(id).orElseThrow().getStatus() == OrderStatus.RESERVED)
+                .count());
+    }
+}
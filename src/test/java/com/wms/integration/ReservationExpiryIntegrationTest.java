@@ -0,0 +1,139 @@
+package com.wms.integration;
+
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Order;
+import com.wms.entity.OrderItem;
+import com.wms.entity.Product;
+import com.wms.entity.StockReservation;
+import com.wms.entity.Warehouse;
+import com.wms.enums.OrderStatus;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.OrderItemRepository;
+import com.wms.repository.OrderRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockReservationRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.OrderService;
+import com.wms.service.ReservationExpirySweeper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.reservations.sweeper.interval-ms=3600000")
+@ActiveProfiles("test")
+class ReservationExpiryIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ReservationExpirySweeper reservationExpirySweeper;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Test
+    void sweep_ExpiredReservation_ReturnsStockAndReopensOrder() {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-EXP-" + UUID.randomUUID())
+                .name("Expiry Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-EXP-" + UUID.randomUUID())
+                .name("Expiry Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("5.00"))
+                .minStockLevel(0)
+                .build());
+        Location location = locationRepository.save(Location.builder()
+                .code("LOC-EXP-1")
+                .warehouse(warehouse)
+                .build());
+        Inventory inventory = inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(20)
+                .reservedQuantity(0)
+                .build());
+
+        Location second = locationRepository.save(Location.builder()
+                .code("LOC-EXP-2")
+                .warehouse(warehouse)
+                .build());
+        Inventory secondInventory = inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(second)
+                .quantity(10)
+                .reservedQuantity(0)
+                .build());
+
+        Long expiredOrderId = createOrder(warehouse, product, location, 4);
+        orderItemRepository.save(OrderItem.builder()
+                .order(orderRepository.findById(expiredOrderId).orElseThrow())
+                .product(product)
+                .location(second)
+                .quantity(2)
+                .build());
+        Long activeOrderId = createOrder(warehouse, product, location, 3);
+        orderService.reserveStock(expiredOrderId);
+        orderService.reserveStock(activeOrderId);
+
+        // Siparişin yalnızca bir rezervasyonu dolmuş olsa da sipariş bütün olarak bırakılır
+        StockReservation reservation = stockReservationRepository.findByOrderIdAndReleasedFalse(expiredOrderId).stream()
+                .filter(r -> r.getInventory().getId().equals(inventory.getId()))
+                .findFirst()
+                .orElseThrow();
+        reservation.setExpiresAt(LocalDateTime.now().minusMinutes(5));
+        stockReservationRepository.save(reservation);
+
+        reservationExpirySweeper.sweep();
+
+        assertEquals(3, inventoryRepository.findById(inventory.getId()).orElseThrow().getReservedQuantity());
+        assertEquals(0, inventoryRepository.findById(secondInventory.getId()).orElseThrow().getReservedQuantity());
+        assertEquals(OrderStatus.PENDING, orderRepository.findById(expiredOrderId).orElseThrow().getStatus());
+        assertEquals(OrderStatus.RESERVED, orderRepository.findById(activeOrderId).orElseThrow().getStatus());
+        assertTrue(stockReservationRepository.findByOrderIdAndReleasedFalse(expiredOrderId).isEmpty());
+        assertEquals(1, stockReservationRepository.findByOrderIdAndReleasedFalse(activeOrderId).size());
+
+        // Süresi dolan sipariş tekrar rezerve edilebilmeli
+        orderService.reserveStock(expiredOrderId);
+        assertEquals(7, inventoryRepository.findById(inventory.getId()).orElseThrow().getReservedQuantity());
+    }
+
+    private Long createOrder(Warehouse warehouse, Product product, Location location, int quantity) {
+        Order order = orderRepository.save(Order.builder()
+                .orderNumber("ORD-EXP-" + UUID.randomUUID())
+                .customerName("Expiry Customer")
+                .warehouse(warehouse)
+                .status(OrderStatus.PENDING)
+                .orderDate(LocalDate.now())
+                .build());
+        orderItemRepository.save(OrderItem.builder()
+                .order(order)
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .build());
+        return order.getId();
+    }
+}
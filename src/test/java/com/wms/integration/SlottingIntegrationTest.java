@@ -0,0 +1,183 @@
+package com.wms.integration;
+
+import com.wms.dto.request.StockTransferRequest;
+import com.wms.dto.response.SlottingMoveResponse;
+import com.wms.dto.response.SlottingResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.InventoryChangeEvent;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.StockMovement;
+import com.wms.entity.Warehouse;
+import com.wms.enums.InventoryChangeType;
+import com.wms.enums.StockMovementType;
+import com.wms.exception.InsufficientStockException;
+import com.wms.repository.InventoryChangeEventRepository;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.StockMovementRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.PickVelocityService;
+import com.wms.service.SlottingService;
+import com.wms.service.StockService;
+import com.wms.slotting.SkuVelocity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SlottingIntegrationTest {
+
+    @Autowired
+    private SlottingService slottingService;
+    @Autowired
+    private PickVelocityService pickVelocityService;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+    @Autowired
+    private InventoryChangeEventRepository inventoryChangeEventRepository;
+
+    @Test
+    void recommend_MovesFastMoverToDockAndAppliesThroughBatchTransfer() {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-SLOT-" + UUID.randomUUID().toString().substring(0, 8))
+                .name("Slotting Warehouse")
+                .build());
+        Product fast = product("FAST");
+        Product slow = product("SLOW");
+        Location nearDock = location(warehouse, "A", "01");
+        Location a2 = location(warehouse, "A", "02");
+        Location far = location(warehouse, "C", "09");
+        stock(fast, far, 40);
+        stock(slow, a2, 10);
+
+        // 90 günlük pencere: eski hareketler sayılmaz
+        movements(fast, far, 30, LocalDateTime.now().minusDays(10));
+        movements(fast, far, 50, LocalDateTime.now().minusDays(200));
+        movements(slow, a2, 3, LocalDateTime.now().minusDays(5));
+
+        SlottingResponse response = slottingService.recommend(warehouse.getId(), 90, 10);
+
+        assertEquals(1, response.getMoves().size());
+        SlottingMoveResponse move = response.getMoves().get(0);
+        assertEquals(fast.getId(), move.getProductId());
+        assertEquals("C-09", move.getFromLocationCode());
+        assertEquals("A-01", move.getToLocationCode());
+        assertEquals(30, move.getPicks());
+        assertEquals(40, move.getTransfer().getQuantity());
+        assertTrue(move.getTravelSaved() > 0);
+
+        List<StockTransferRequest> transfers = new ArrayList<>();
+        transfers.add(move.getTransfer());
+        transfers.add(StockTransferRequest.builder()
+                .productId(slow.getId())
+                .fromLocationId(a2.getId())
+                .toLocationId(far.getId())
+                .quantity(11)
+                .build());
+        List<RuntimeException> outcomes = stockService.transferStockBatch(transfers);
+
+        assertNull(outcomes.get(0));
+        assertInstanceOf(InsufficientStockException.class, outcomes.get(1));
+        assertEquals(40, inventoryRepository.findByProductIdAndLocationId(fast.getId(), nearDock.getId())
+                .orElseThrow().getQuantity());
+        assertEquals(0, inventoryRepository.findByProductIdAndLocationId(fast.getId(), far.getId())
+                .orElseThrow().getQuantity());
+        assertEquals(10, inventoryRepository.findByProductIdAndLocationId(slow.getId(), a2.getId())
+                .orElseThrow().getQuantity());
+
+        // Artımlı: yeni hareketler mevcut günlük satırlara eklenir, eskiler tekrar sayılmaz
+        movements(fast, nearDock, 7, LocalDateTime.now());
+        slottingService.recommend(warehouse.getId(), 90, 10);
+        List<SkuVelocity> velocities = pickVelocityService.velocities(warehouse.getId(), LocalDate.now().minusDays(89));
+        assertEquals(30L, picks(velocities, fast, far));
+        assertEquals(7L, picks(velocities, fast, nearDock));
+        assertEquals(3L, picks(velocities, slow, a2));
+    }
+
+    private long picks(List<SkuVelocity> velocities, Product product, Location location) {
+        return velocities.stream()
+                .filter(v -> v.productId().equals(product.getId()) && v.locationId().equals(location.getId()))
+                .mapToLong(SkuVelocity::picks)
+                .sum();
+    }
+
+    private Product product(String name) {
+        return productRepository.save(Product.builder()
+                .sku("SKU-SLOT-" + name + "-" + UUID.randomUUID())
+                .name("Slotting " + name)
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+    }
+
+    private Location location(Warehouse warehouse, String aisle, String rack) {
+        return locationRepository.save(Location.builder()
+                .code(aisle + "-" + rack)
+                .aisle(aisle)
+                .rack(rack)
+                .warehouse(warehouse)
+                .build());
+    }
+
+    private void stock(Product product, Location location, int quantity) {
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .reservedQuantity(0)
+                .build());
+    }
+
+    private void movements(Product product, Location location, int count, LocalDateTime at) {
+        List<StockMovement> movements = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            movements.add(StockMovement.builder()
+                    .type(StockMovementType.OUT)
+                    .product(product)
+                    .fromLocation(location)
+                    .quantity(2)
+                    .reason("Order Shipped")
+                    .referenceNumber("SO-" + UUID.randomUUID())
+                    .movementDate(at.minusMinutes(i))
+                    .build());
+        }
+        stockMovementRepository.saveAll(movements);
+        // Roll-up sevkiyatları değişiklik akışından okur
+        inventoryChangeEventRepository.saveAll(movements.stream()
+                .map(movement -> InventoryChangeEvent.builder()
+                        .inventoryId(0L)
+                        .productId(product.getId())
+                        .locationId(location.getId())
+                        .warehouseId(location.getWarehouse().getId())
+                        .quantity(0)
+                        .reservedQuantity(0)
+                        .changeType(InventoryChangeType.SHIPPED)
+                        .reference(movement.getReferenceNumber())
+                        .build())
+                .toList());
+    }
+}
@@ -0,0 +1,193 @@
+package com.wms.integration;
+
+import com.wms.dto.request.OrderItemRequest;
+import com.wms.dto.request.OrderRequest;
+import com.wms.dto.request.PurchaseOrderItemRequest;
+import com.wms.dto.request.PurchaseOrderRequest;
+import com.wms.dto.request.StockAdjustmentRequest;
+import com.wms.dto.response.StockValuationResponse;
+import com.wms.entity.CostLayer;
+import com.wms.entity.Location;
+import com.wms.entity.Product;
+import com.wms.entity.Supplier;
+import com.wms.entity.Warehouse;
+import com.wms.enums.CostingMethod;
+import com.wms.repository.CostLayerRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.SupplierRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.service.OrderService;
+import com.wms.service.PurchaseOrderService;
+import com.wms.service.StockService;
+import com.wms.service.StockValuationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockValuationIntegrationTest {
+
+    @Autowired
+    private StockValuationService stockValuationService;
+    @Autowired
+    private PurchaseOrderService purchaseOrderService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private CostLayerRepository costLayerRepository;
+
+    @Test
+    void shipOrder_ConsumesReceiptLayersOldestFirst() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-VAL-" + run)
+                .name("Valuation Warehouse")
+                .build());
+        Location bin = locationRepository.save(Location.builder()
+                .code("VAL-01")
+                .aisle("VAL")
+                .rack("01")
+                .warehouse(warehouse)
+                .build());
+        Supplier supplier = supplierRepository.save(Supplier.builder()
+                .code("SUP-VAL-" + run)
+                .name("Valuation Supplier")
+                .active(true)
+                .build());
+        // Liste fiyatı maliyet değildir
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-VAL-" + run)
+                .name("Valuation Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("9.99"))
+                .minStockLevel(0)
+                .build());
+
+        receive(supplier, warehouse, product, bin, 10, "1.00");
+        receive(supplier, warehouse, product, bin, 10, "2.00");
+        assertEquals(new BigDecimal("30.0000"), valuation(warehouse, product).getTotalCost());
+
+        OrderRequest order = new OrderRequest();
+        order.setCustomerName("Valuation Customer");
+        order.setWarehouseId(warehouse.getId());
+        Long orderId = orderService.createOrder(order).getId();
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(product.getId());
+        item.setLocationId(bin.getId());
+        item.setQuantity(12);
+        orderService.addItem(orderId, item);
+        orderService.reserveStock(orderId);
+        orderService.shipOrder(orderId);
+
+        // 10 x 1,00 + 2 x 2,00 çıktı; kalan 8 x 2,00
+        StockValuationResponse valuation = valuation(warehouse, product);
+        assertEquals(8L, valuation.getQuantity());
+        assertEquals(new BigDecimal("16.0000"), valuation.getTotalCost());
+        assertEquals(new BigDecimal("2.0000"), valuation.getAverageUnitCost());
+        assertEquals(CostingMethod.FIFO, valuation.getCostingMethod());
+
+        List<CostLayer> open = costLayerRepository.findOpenLayers(product.getId(), warehouse.getId());
+        assertEquals(1, open.size());
+        assertEquals(8, open.get(0).getRemainingQuantity());
+        assertEquals(new BigDecimal("2.0000"), open.get(0).getUnitCost());
+    }
+
+    @Test
+    void adjustStock_GainAtLastKnownCostAndLossDrawsLayersDown() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-ADJ-" + run)
+                .name("Adjustment Warehouse")
+                .build());
+        Location bin = locationRepository.save(Location.builder()
+                .code("ADJ-01")
+                .aisle("ADJ")
+                .rack("01")
+                .warehouse(warehouse)
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-ADJ-" + run)
+                .name("Adjustment Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("5.00"))
+                .minStockLevel(0)
+                .build());
+
+        // Hiç katman yokken artış liste fiyatından açılır
+        adjust(product, bin, 4);
+        assertEquals(new BigDecimal("20.0000"), valuation(warehouse, product).getTotalCost());
+
+        Supplier supplier = supplierRepository.save(Supplier.builder()
+                .code("SUP-ADJ-" + run)
+                .name("Adjustment Supplier")
+                .active(true)
+                .build());
+        receive(supplier, warehouse, product, bin, 10, "2.00");
+
+        // Sonraki artış son bilinen maliyetten açılır
+        adjust(product, bin, 16);
+        StockValuationResponse gained = valuation(warehouse, product);
+        assertEquals(16L, gained.getQuantity());
+        assertEquals(new BigDecimal("44.0000"), gained.getTotalCost());
+
+        // Azalış en eski katmandan düşer: 4 x 5,00 + 2 x 2,00
+        adjust(product, bin, 10);
+        StockValuationResponse lost = valuation(warehouse, product);
+        assertEquals(10L, lost.getQuantity());
+        assertEquals(new BigDecimal("20.0000"), lost.getTotalCost());
+        assertEquals(10, costLayerRepository.findOpenLayers(product.getId(), warehouse.getId()).stream()
+                .mapToInt(CostLayer::getRemainingQuantity).sum());
+    }
+
+    private void adjust(Product product, Location bin, int newQuantity) {
+        StockAdjustmentRequest request = new StockAdjustmentRequest();
+        request.setProductId(product.getId());
+        request.setLocationId(bin.getId());
+        request.setNewQuantity(newQuantity);
+        request.setReason("Valuation test");
+        stockService.adjustStock(request);
+    }
+
+    private StockValuationResponse valuation(Warehouse warehouse, Product product) {
+        List<StockValuationResponse> rows = stockValuationService
+                .search(warehouse.getId(), product.getId(), PageRequest.of(0, 10)).getContent();
+        assertEquals(1, rows.size());
+        return rows.get(0);
+    }
+
+    private void receive(Supplier supplier, Warehouse warehouse, Product product, Location bin, int quantity,
+                         String unitPrice) {
+        PurchaseOrderRequest request = new PurchaseOrderRequest();
+        request.setSupplierId(supplier.getId());
+        request.setWarehouseId(warehouse.getId());
+        Long purchaseOrderId = purchaseOrderService.createPurchaseOrder(request).getId();
+        PurchaseOrderItemRequest item = new PurchaseOrderItemRequest();
+        item.setProductId(product.getId());
+        item.setLocationId(bin.getId());
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        purchaseOrderService.addItem(purchaseOrderId, item);
+        purchaseOrderService.approvePurchaseOrder(purchaseOrderId);
+        purchaseOrderService.receivePurchaseOrder(purchaseOrderId);
+    }
+}
@@ -0,0 +1,149 @@
+package com.wms.integration;
+
+import com.wms.dto.request.WavePlanRequest;
+import com.wms.dto.response.WavePlanResponse;
+import com.wms.dto.response.WaveResponse;
+import com.wms.entity.Inventory;
+import com.wms.entity.Location;
+import com.wms.entity.Order;
+import com.wms.entity.OrderItem;
+import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
+import com.wms.entity.Wave;
+import com.wms.enums.OrderStatus;
+import com.wms.repository.InventoryRepository;
+import com.wms.repository.LocationRepository;
+import com.wms.repository.OrderItemRepository;
+import com.wms.repository.OrderRepository;
+import com.wms.repository.ProductRepository;
+import com.wms.repository.WarehouseRepository;
+import com.wms.repository.WaveRepository;
+import com.wms.service.WaveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WaveReleaseIntegrationTest {
+
+    @Autowired
+    private WaveService waveService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private WaveRepository waveRepository;
+
+    @Test
+    void release_GroupsByCarrierReservesAndReportsShortages() {
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .code("WH-WAVE-" + UUID.randomUUID().toString().substring(0, 8))
+                .name("Wave Warehouse")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .sku("SKU-WAVE-" + UUID.randomUUID())
+                .name("Wave Product")
+                .unit("pcs")
+                .unitPrice(new BigDecimal("1.00"))
+                .minStockLevel(0)
+                .build());
+        Location a1 = location(warehouse, product, "A", "01", 100);
+        Location b1 = location(warehouse, product, "B", "01", 5);
+
+        LocalDateTime cutoff = LocalDateTime.now().plusHours(2);
+        Long ups1 = order(warehouse, product, a1, "UPS", cutoff, 10);
+        Long ups2 = order(warehouse, product, a1, "UPS", cutoff.plusMinutes(5), 20);
+        Long dhl = order(warehouse, product, b1, "DHL", cutoff, 3);
+        Long dhlShort = order(warehouse, product, b1, "DHL", cutoff, 4);
+
+        WavePlanRequest request = WavePlanRequest.builder()
+                .warehouseId(warehouse.getId())
+                .cutoffWindowMinutes(24 * 60)
+                .build();
+
+        WavePlanResponse preview = waveService.plan(request);
+        assertEquals(4, preview.getCandidateOrders());
+        assertEquals(2, preview.getPlannedWaves());
+        assertEquals(OrderStatus.PENDING, orderRepository.findById(ups1).orElseThrow().getStatus());
+
+        WavePlanResponse released = waveService.release(request);
+
+        assertEquals(2, released.getWaves().size());
+        WaveResponse upsWave = released.getWaves().stream()
+                .filter(wave -> "UPS".equals(wave.getCarrier())).findFirst().orElseThrow();
+        assertEquals(List.of(ups1, ups2), upsWave.getOrderIds());
+        assertNotNull(upsWave.getWaveNumber());
+        assertEquals(30L, upsWave.getPickList().getTotalUnits());
+        assertEquals(1, upsWave.getPickList().getStopCount());
+
+        WaveResponse dhlWave = released.getWaves().stream()
+                .filter(wave -> "DHL".equals(wave.getCarrier())).findFirst().orElseThrow();
+        assertEquals(List.of(dhl), dhlWave.getOrderIds());
+        assertTrue(dhlWave.getFailures().containsKey(dhlShort));
+
+        Wave wave = waveRepository.findByWaveNumber(upsWave.getWaveNumber()).orElseThrow();
+        assertEquals(2, wave.getOrderCount());
+        assertEquals(30L, wave.getTotalUnits());
+        Order reserved = orderRepository.findById(ups2).orElseThrow();
+        assertEquals(OrderStatus.RESERVED, reserved.getStatus());
+        assertEquals(wave.getId(), reserved.getWave().getId());
+        assertEquals(OrderStatus.PENDING, orderRepository.findById(dhlShort).orElseThrow().getStatus());
+        assertEquals(30, inventoryRepository.findByProductIdAndLocationId(product.getId(), a1.getId())
+                .orElseThrow().getReservedQuantity());
+    }
+
+    private Location location(Warehouse warehouse, Product product, String aisle, String rack, int quantity) {
+        Location location = locationRepository.save(Location.builder()
+                .code(aisle + "-" + rack)
+                .aisle(aisle)
+                .rack(rack)
+                .warehouse(warehouse)
+                .build());
+        inventoryRepository.save(Inventory.builder()
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .reservedQuantity(0)
+                .build());
+        return location;
+    }
+
+    private Long order(Warehouse warehouse, Product product, Location location, String carrier,
+                       LocalDateTime cutoffAt, int quantity) {
+        Order order = orderRepository.save(Order.builder()
+                .orderNumber("ORD-WAVE-" + UUID.randomUUID())
+                .customerName("Wave Customer")
+                .warehouse(warehouse)
+                .status(OrderStatus.PENDING)
+                .orderDate(LocalDate.now())
+                .carrier(carrier)
+                .cutoffAt(cutoffAt)
+                .build());
+        orderItemRepository.save(OrderItem.builder()
+                .order(order)
+                .product(product)
+                .location(location)
+                .quantity(quantity)
+                .build());
+        return order.getId();
+    }
+}
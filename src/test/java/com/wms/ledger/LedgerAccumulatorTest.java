@@ -0,0 +1,45 @@
+package com.wms.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerAccumulatorTest {
+
+    @Test
+    void take_SumsSignedQuantitiesAndLeavesUnmatchedPairs() {
+        LedgerAccumulator accumulator = new LedgerAccumulator(4);
+        assertTrue(accumulator.add(1, 10, 50));
+        assertTrue(accumulator.add(1, 10, -20));
+        assertTrue(accumulator.add(2, 10, 5));
+        // Aynı ürün başka gözde ayrı çift
+        assertTrue(accumulator.add(1, 11, 7));
+        assertTrue(accumulator.add(3, 12, 4));
+        assertTrue(accumulator.add(3, 12, -4));
+
+        assertEquals(30, accumulator.take(1, 10));
+        assertEquals(5, accumulator.take(2, 10));
+        assertEquals(0, accumulator.take(9, 99));
+
+        // Sıfıra inen çift tutarsızlık sayılmaz
+        assertEquals(List.of(new LedgerDiscrepancy(1, 11, 0, 7)), accumulator.unmatched());
+    }
+
+    @Test
+    void add_RefusesNewPairsWhenFullUntilCleared() {
+        LedgerAccumulator accumulator = new LedgerAccumulator(2);
+        assertTrue(accumulator.add(1, 1, 1));
+        assertTrue(accumulator.add(2, 2, 1));
+        assertFalse(accumulator.add(3, 3, 1));
+        // Var olan çift dolu iken de güncellenir
+        assertTrue(accumulator.add(1, 1, 1));
+        assertEquals(2, accumulator.size());
+
+        accumulator.clear();
+        assertEquals(0, accumulator.size());
+        assertEquals(0, accumulator.take(1, 1));
+        assertTrue(accumulator.add(3, 3, 1));
+    }
+}
@@ -0,0 +1,43 @@
+package com.wms.picking;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Planning time for 10k lines on three synthetic layouts. Only runs with
+ * {@code mvn test -Pbenchmark}; each strategy is measured after a warm-up.
+ */
+@Tag("benchmark")
+class PickPathPlannerBenchmark {
+
+    private final PickPathPlanner planner = new PickPathPlanner(3);
+
+    @Test
+    void plan_TenThousandLines_UnderOneSecond() {
+        int[][] layouts = {{10, 40, 4}, {30, 60, 5}, {80, 100, 6}};
+        for (int[] layout : layouts) {
+            List<PickLine> lines = PickPathPlannerTest.syntheticBatch(layout[0], layout[1], layout[2], new Random(42));
+            for (RoutingStrategy strategy : List.of(RoutingStrategy.SERPENTINE, RoutingStrategy.LARGEST_GAP)) {
+                for (int i = 0; i < 5; i++) {
+                    planner.plan(lines, strategy);
+                }
+
+                long started = System.nanoTime();
+                PickRoute route = planner.plan(lines, strategy);
+                long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+                System.out.printf("Pick path benchmark: %dx%dx%d layout, %s, %d lines / %d stops in %d ms, "
+                                + "distance %.0f vs %.0f in order sequence (%.1f%% shorter)%n",
+                        layout[0], layout[1], layout[2], strategy, lines.size(), route.stops().size(), elapsedMs,
+                        route.distance(), route.baselineDistance(),
+                        100 * (1 - route.distance() / route.baselineDistance()));
+                assertTrue(elapsedMs < 1_000, strategy + " took " + elapsedMs + " ms");
+            }
+        }
+    }
+}
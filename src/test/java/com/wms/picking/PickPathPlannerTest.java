@@ -0,0 +1,124 @@
+package com.wms.picking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PickPathPlannerTest {
+
+    private static final int ORDERS = 500;
+    private static final int LINES_PER_ORDER = 20;
+
+    private final PickPathPlanner planner = new PickPathPlanner(3);
+
+    @Test
+    void plan_Serpentine_AlternatesDirectionPerAisle() {
+        List<PickLine> lines = List.of(
+                line(1, 5, "C", "3"),
+                line(2, 2, "B", "2"),
+                line(3, 1, "A", "4"),
+                line(4, 3, "B", "5"),
+                line(5, 4, "A", "1"));
+
+        PickRoute route = planner.plan(lines, RoutingStrategy.SERPENTINE);
+
+        assertEquals(List.of("A-1", "A-4", "B-5", "B-2", "C-3"), codes(route));
+        assertTrue(route.distance() <= route.baselineDistance());
+    }
+
+    @Test
+    void plan_LargestGap_SkipsLargestGapInMiddleAisles() {
+        // Kullanılan raflar 1,2,5,9,10 -> sıra 1..5, arka çapraz koridor 6
+        List<PickLine> lines = List.of(
+                line(1, 1, "D", "5"),
+                line(2, 2, "B", "1"),
+                line(3, 3, "C", "9"),
+                line(4, 4, "A", "9"),
+                line(5, 5, "B", "10"),
+                line(6, 6, "A", "2"));
+
+        PickRoute route = planner.plan(lines, RoutingStrategy.LARGEST_GAP);
+
+        // B: en büyük boşluk ortada -> B10 arkadan, B1 önden; C: boşluk önde -> arkadan
+        assertEquals(List.of("A-2", "A-9", "B-10", "C-9", "D-5", "B-1"), codes(route));
+    }
+
+    @Test
+    void plan_Auto_PicksShorterHeuristic() {
+        // Seyrek toplama: S-şekli her koridoru baştan sona yürür, en büyük boşluk yürümez
+        List<PickLine> lines = List.of(
+                line(1, 1, "A", "1"),
+                line(2, 2, "B", "2"),
+                line(3, 3, "C", "1"),
+                line(4, 4, "D", "20"),
+                line(5, 5, "E", "2"));
+
+        PickRoute auto = planner.plan(lines, RoutingStrategy.AUTO);
+        PickRoute serpentine = planner.plan(lines, RoutingStrategy.SERPENTINE);
+        PickRoute largestGap = planner.plan(lines, RoutingStrategy.LARGEST_GAP);
+
+        assertEquals(Math.min(serpentine.distance(), largestGap.distance()), auto.distance());
+        assertNotEquals(RoutingStrategy.AUTO, auto.strategy());
+    }
+
+    @Test
+    void plan_SameLocationAcrossOrders_ConsolidatesIntoOneStop() {
+        List<PickLine> lines = List.of(
+                line(1, 7, "A", "2"),
+                line(2, 7, "A", "2"),
+                new PickLine(3L, "ORD-3", 3L, "SKU-3", "Product 3", 1, 99L, "DOCK", null, null, null),
+                line(4, 8, "A10", "1"),
+                line(5, 9, "A2", "01"));
+
+        PickRoute route = planner.plan(lines, RoutingStrategy.SERPENTINE);
+
+        assertEquals(List.of("A-2", "A2-01", "A10-1", "DOCK"), codes(route));
+        assertEquals(2, route.stops().get(0).lines().size());
+        assertEquals(-1, route.stops().get(3).aisleIndex());
+    }
+
+    @Test
+    void plan_TenThousandLinesOnSyntheticLayouts_CoversEveryLineAndBeatsOrderSequence() {
+        int[][] layouts = {{10, 40, 4}, {30, 60, 5}, {80, 100, 6}};
+        for (int[] layout : layouts) {
+            List<PickLine> lines = syntheticBatch(layout[0], layout[1], layout[2], new Random(42));
+            for (RoutingStrategy strategy : List.of(RoutingStrategy.SERPENTINE, RoutingStrategy.LARGEST_GAP)) {
+                PickRoute route = planner.plan(lines, strategy);
+
+                assertEquals(lines.size(), route.stops().stream().mapToInt(stop -> stop.lines().size()).sum());
+                assertTrue(route.distance() < route.baselineDistance());
+            }
+        }
+    }
+
+    // 500 sipariş x 20 kalem = 10k satır; PickPathPlannerBenchmark da kullanır
+    static List<PickLine> syntheticBatch(int aisles, int racks, int bins, Random random) {
+        List<PickLine> lines = new ArrayList<>(ORDERS * LINES_PER_ORDER);
+        for (int order = 1; order <= ORDERS; order++) {
+            for (int i = 0; i < LINES_PER_ORDER; i++) {
+                int aisle = random.nextInt(aisles);
+                int rack = random.nextInt(racks) + 1;
+                int bin = random.nextInt(bins) + 1;
+                long locationId = ((long) aisle * racks + rack) * bins + bin;
+                String aisleLabel = "A" + aisle;
+                lines.add(new PickLine((long) order, "ORD-" + order, locationId, "SKU-" + locationId, "Product",
+                        1 + random.nextInt(5), locationId, aisleLabel + "-" + rack + "-" + bin,
+                        aisleLabel, String.format("%02d", rack), String.valueOf(bin)));
+            }
+        }
+        return lines;
+    }
+
+    private static PickLine line(long orderId, long locationId, String aisle, String rack) {
+        return new PickLine(orderId, "ORD-" + orderId, orderId, "SKU-" + orderId, "Product " + orderId, 1,
+                locationId, aisle + "-" + rack, aisle, rack, "1");
+    }
+
+    private static List<String> codes(PickRoute route) {
+        return route.stops().stream().map(PickStop::locationCode).toList();
+    }
+}
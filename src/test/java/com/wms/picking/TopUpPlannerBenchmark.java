@@ -0,0 +1,37 @@
+package com.wms.picking;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Planning time for 10k faces with three reserve locations each. Only runs with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TopUpPlannerBenchmark {
+
+    private final TopUpPlanner planner = new TopUpPlanner();
+
+    @Test
+    void plan_TenThousandFaces_UnderOneSecond() {
+        List<PickFaceLevel> faces = new ArrayList<>();
+        List<ReserveStock> reserves = new ArrayList<>();
+        TopUpPlannerTest.syntheticLevels(faces, reserves);
+
+        for (int i = 0; i < 5; i++) {
+            planner.plan(faces, reserves);
+        }
+        long started = System.nanoTime();
+        List<TopUp> topUps = planner.plan(faces, reserves);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.printf("Top-up benchmark: %d faces, %d reserve rows, %d transfers in %d ms%n",
+                faces.size(), reserves.size(), topUps.size(), elapsedMs);
+        assertTrue(elapsedMs < 1_000, "planning took " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,106 @@
+package com.wms.picking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopUpPlannerTest {
+
+    private final TopUpPlanner planner = new TopUpPlanner();
+
+    @Test
+    void plan_FillsToMaxFromFullestReserveFirst() {
+        List<TopUp> topUps = planner.plan(
+                List.of(face(1, 10, 100, 2, 0, 5, 40)),
+                List.of(reserve(10, 200, 15), reserve(10, 201, 30), reserve(10, 202, 50)));
+
+        // İhtiyaç 38: önce 50'lik rezervden tek transfer
+        assertEquals(1, topUps.size());
+        assertEquals(202L, topUps.get(0).fromLocationId());
+        assertEquals(100L, topUps.get(0).toLocationId());
+        assertEquals(38, topUps.get(0).quantity());
+    }
+
+    @Test
+    void plan_SplitsAcrossReservesAndSkipsFacesAtOrAboveMin() {
+        List<TopUp> topUps = planner.plan(
+                List.of(face(1, 10, 100, 0, 0, 5, 40), face(2, 20, 101, 5, 0, 5, 40)),
+                List.of(reserve(10, 200, 25), reserve(10, 201, 30), reserve(20, 200, 100)));
+
+        assertEquals(2, topUps.size());
+        assertEquals(201L, topUps.get(0).fromLocationId());
+        assertEquals(30, topUps.get(0).quantity());
+        assertEquals(200L, topUps.get(1).fromLocationId());
+        assertEquals(10, topUps.get(1).quantity());
+    }
+
+    @Test
+    void plan_ServesFacesWithReservationsFirstWhenReserveIsShort() {
+        List<TopUp> topUps = planner.plan(
+                List.of(face(1, 10, 100, 0, 0, 5, 20), face(2, 10, 101, 6, 3, 5, 20)),
+                List.of(reserve(10, 200, 20)));
+
+        // 2 numaralı gözde bekleyen rezervasyon var; ihtiyacı 17, kalan 3 diğerine
+        assertEquals(2, topUps.size());
+        assertEquals(2L, topUps.get(0).faceId());
+        assertEquals(17, topUps.get(0).quantity());
+        assertEquals(1L, topUps.get(1).faceId());
+        assertEquals(3, topUps.get(1).quantity());
+    }
+
+    @Test
+    void plan_IgnoresReserveInOtherWarehouses() {
+        List<TopUp> topUps = planner.plan(
+                List.of(face(1, 10, 100, 0, 0, 5, 20)),
+                List.of(new ReserveStock(10L, 300L, 2L, 50)));
+
+        assertTrue(topUps.isEmpty());
+    }
+
+    @Test
+    void plan_TenThousandFaces_OnlyTopsUpFacesBelowMinAndNeverAboveMax() {
+        List<PickFaceLevel> faces = new ArrayList<>();
+        List<ReserveStock> reserves = new ArrayList<>();
+        syntheticLevels(faces, reserves);
+
+        List<TopUp> topUps = planner.plan(faces, reserves);
+
+        assertFalse(topUps.isEmpty());
+        Map<Long, Integer> added = topUps.stream()
+                .collect(Collectors.groupingBy(TopUp::faceId, Collectors.summingInt(TopUp::quantity)));
+        for (PickFaceLevel face : faces) {
+            int quantity = added.getOrDefault(face.faceId(), 0);
+            if (face.available() >= face.minQuantity()) {
+                assertEquals(0, quantity);
+            }
+            assertTrue(Math.max(face.available(), 0) + quantity <= face.maxQuantity());
+        }
+    }
+
+    // 10k gözden 5k'sı minimumun altında, ürün başına 3 rezerv lokasyonu
+    static void syntheticLevels(List<PickFaceLevel> faces, List<ReserveStock> reserves) {
+        Random random = new Random(5);
+        for (long id = 1; id <= 10_000; id++) {
+            int available = id % 2 == 0 ? random.nextInt(5) : 10 + random.nextInt(20);
+            faces.add(new PickFaceLevel(id, id, id, 1L, available + 2, random.nextInt(3), 5, 50));
+            for (long r = 0; r < 3; r++) {
+                reserves.add(new ReserveStock(id, 100_000 + id * 3 + r, 1L, random.nextInt(40)));
+            }
+        }
+    }
+
+    private static PickFaceLevel face(long id, long productId, long locationId, int quantity, int reserved,
+                                      int min, int max) {
+        return new PickFaceLevel(id, productId, locationId, 1L, quantity, reserved, min, max);
+    }
+
+    private static ReserveStock reserve(long productId, long locationId, int available) {
+        return new ReserveStock(productId, locationId, 1L, available);
+    }
+}
@@ -0,0 +1,40 @@
+package com.wms.picking;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Planning time against order count. Only runs with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class WavePlannerBenchmark {
+
+    private final WavePlanner planner = new WavePlanner();
+
+    @Test
+    void plan_UpToFiftyThousandOrders_UnderTwoSeconds() {
+        WaveConstraints constraints = WavePlannerTest.constraints(100, 400, 4000, 6);
+        for (int orders : new int[]{1_000, 10_000, 50_000}) {
+            List<WaveCandidate> candidates = WavePlannerTest.syntheticCandidates(orders, new Random(7));
+            for (int i = 0; i < 3; i++) {
+                planner.plan(candidates, constraints);
+            }
+
+            long started = System.nanoTime();
+            List<PlannedWave> waves = planner.plan(candidates, constraints);
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            double avgZones = waves.stream().mapToInt(wave -> wave.zones().size()).average().orElse(0);
+            double avgOrders = waves.stream().mapToInt(wave -> wave.orders().size()).average().orElse(0);
+            System.out.printf("Wave planning benchmark: %d orders -> %d waves in %d ms "
+                            + "(%.1f orders/wave, %.1f zones/wave)%n",
+                    orders, waves.size(), elapsedMs, avgOrders, avgZones);
+            assertTrue(elapsedMs < 2_000, orders + " orders took " + elapsedMs + " ms");
+        }
+    }
+}
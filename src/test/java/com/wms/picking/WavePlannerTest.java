@@ -0,0 +1,118 @@
+package com.wms.picking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WavePlannerTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 1, 5, 12, 0);
+
+    private final WavePlanner planner = new WavePlanner();
+
+    @Test
+    void plan_SeparatesCarriersAndCutoffWindows() {
+        List<WaveCandidate> candidates = List.of(
+                candidate(1, "UPS", NOON, 2, 5, "A"),
+                candidate(2, "DHL", NOON, 2, 5, "A"),
+                candidate(3, "UPS", NOON.plusMinutes(20), 2, 5, "A"),
+                candidate(4, "UPS", NOON.plusHours(3), 2, 5, "A"));
+
+        List<PlannedWave> waves = planner.plan(candidates, constraints(10, 100, 1000, 4));
+
+        assertEquals(3, waves.size());
+        Set<List<Long>> groups = new HashSet<>();
+        waves.forEach(wave -> groups.add(wave.orderIds()));
+        assertTrue(groups.contains(List.of(1L, 3L)));
+        assertTrue(groups.contains(List.of(2L)));
+        assertTrue(groups.contains(List.of(4L)));
+        assertEquals(NOON.plusHours(3), waves.get(waves.size() - 1).cutoffAt());
+    }
+
+    @Test
+    void plan_PrefersWaveWithZoneOverlap() {
+        List<WaveCandidate> candidates = List.of(
+                candidate(1, "UPS", NOON, 1, 1, "A", "B"),
+                candidate(2, "UPS", NOON, 1, 1, "C", "D"),
+                candidate(3, "UPS", NOON, 1, 1, "B"),
+                candidate(4, "UPS", NOON, 1, 1, "D"));
+
+        List<PlannedWave> waves = planner.plan(candidates, constraints(10, 100, 1000, 2));
+
+        assertEquals(2, waves.size());
+        assertEquals(List.of(1L, 3L), waves.get(0).orderIds());
+        assertEquals(List.of("A", "B"), waves.get(0).zones());
+        assertEquals(List.of(2L, 4L), waves.get(1).orderIds());
+    }
+
+    @Test
+    void plan_RespectsLineUnitAndOrderLimits() {
+        List<WaveCandidate> candidates = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            candidates.add(candidate(i, "UPS", NOON, 3, 10, "A"));
+        }
+        candidates.add(candidate(11, "UPS", NOON, 50, 10, "A"));
+
+        List<PlannedWave> waves = planner.plan(candidates, constraints(4, 9, 25, 4));
+
+        assertEquals(11, waves.stream().mapToInt(wave -> wave.orders().size()).sum());
+        for (PlannedWave wave : waves) {
+            if (wave.orders().size() > 1) {
+                assertTrue(wave.orders().size() <= 4);
+                assertTrue(wave.lineCount() <= 9);
+                assertTrue(wave.units() <= 25);
+            }
+        }
+        // Tek başına sınırı aşan sipariş kendi dalgasında
+        assertTrue(waves.stream().anyMatch(wave -> wave.orderIds().equals(List.of(11L))));
+    }
+
+    @Test
+    void plan_TenThousandSyntheticOrders_PlansEveryOrderOnceWithinLimits() {
+        WaveConstraints constraints = constraints(100, 400, 4000, 6);
+        List<WaveCandidate> candidates = syntheticCandidates(10_000, new Random(7));
+
+        List<PlannedWave> waves = planner.plan(candidates, constraints);
+
+        assertEquals(candidates.size(), waves.stream().flatMap(wave -> wave.orderIds().stream()).distinct().count());
+        assertEquals(candidates.size(), waves.stream().mapToInt(wave -> wave.orders().size()).sum());
+        assertTrue(waves.stream().allMatch(wave -> wave.orders().size() <= 100));
+    }
+
+    // 40 koridor, 6 taşıyıcı, 8 saatlik kesim yayılımı, sipariş başına 1-12 kalem
+    static List<WaveCandidate> syntheticCandidates(int orders, Random random) {
+        String[] carriers = {"UPS", "DHL", "FEDEX", "ARAS", "YURTICI", "MNG"};
+        List<WaveCandidate> candidates = new ArrayList<>(orders);
+        for (int i = 1; i <= orders; i++) {
+            int lines = 1 + random.nextInt(12);
+            TreeSet<String> zones = new TreeSet<>(PickPathPlanner.NATURAL_ORDER);
+            // Siparişler çoğunlukla komşu koridorlara düşer
+            int home = random.nextInt(40);
+            for (int l = 0; l < lines; l++) {
+                zones.add("Z" + Math.min(39, Math.max(0, home + random.nextInt(5) - 2)));
+            }
+            candidates.add(new WaveCandidate((long) i, carriers[random.nextInt(carriers.length)],
+                    NOON.plusMinutes(random.nextInt(8 * 60)), lines, lines * (1L + random.nextInt(10)),
+                    List.copyOf(zones)));
+        }
+        return candidates;
+    }
+
+    static WaveConstraints constraints(int maxOrders, int maxLines, long maxUnits, int maxZones) {
+        return new WaveConstraints(maxOrders, maxLines, maxUnits, maxZones, Duration.ofHours(1), 4);
+    }
+
+    private static WaveCandidate candidate(long orderId, String carrier, LocalDateTime cutoffAt,
+                                           int lines, long units, String... zones) {
+        return new WaveCandidate(orderId, carrier, cutoffAt, lines, units, List.of(zones));
+    }
+}
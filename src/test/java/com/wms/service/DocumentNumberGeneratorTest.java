@@ -0,0 +1,120 @@
+package com.wms.service;
+
+import com.wms.service.DocumentNumberGenerator.DocumentType;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRoutingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentNumberGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 250_000;
+
+    @Test
+    void nextValue_ConcurrentCallers_MillionsWithoutDuplicates() throws Exception {
+        // Postgres sequence davranışı: her nextval bir blok ilerler
+        AtomicLong sequence = new AtomicLong(1 - DocumentNumberGenerator.BLOCK_SIZE);
+        AtomicInteger roundTrips = new AtomicInteger();
+        DocumentNumberGenerator generator = new DocumentNumberGenerator(type -> {
+            roundTrips.incrementAndGet();
+            return sequence.addAndGet(DocumentNumberGenerator.BLOCK_SIZE);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                long[] values = new long[PER_THREAD];
+                for (int i = 0; i < PER_THREAD; i++) {
+                    values[i] = generator.nextValue(DocumentType.ORDER);
+                }
+                return values;
+            }));
+        }
+        start.countDown();
+
+        int total = THREADS * PER_THREAD;
+        BitSet seen = new BitSet(total + 1);
+        for (Future<long[]> result : results) {
+            long[] values = result.get(60, TimeUnit.SECONDS);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    assertTrue(values[i] > values[i - 1], "Numbers must be monotonic per caller");
+                }
+                assertFalse(seen.get((int) values[i]), "Duplicate number " + values[i]);
+                seen.set((int) values[i]);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(total, seen.cardinality());
+        assertEquals(total / DocumentNumberGenerator.BLOCK_SIZE, roundTrips.get());
+    }
+
+    @Test
+    void next_FormatsWarehousePrefixedNumber() {
+        DocumentNumberGenerator generator = new DocumentNumberGenerator(type -> 4001);
+
+        assertEquals("ORD-WH01-0000004001", generator.next(DocumentType.ORDER, "wh-01"));
+        assertEquals("PO-WH01-0000004001", generator.next(DocumentType.PURCHASE_ORDER, "WH-01"));
+        assertEquals("ORD-WH01-0000004002", generator.next(DocumentType.ORDER, "WH-01"));
+    }
+
+    @Test
+    void format_LongWarehouseCode_IsTruncated() {
+        String number = DocumentNumberGenerator.format(DocumentType.ORDER, "WH-" + "X".repeat(90), 7);
+
+        assertEquals("ORD-WHXXXXXXXXXXXXXXXXXX-0000000007", number);
+        assertTrue(number.length() <= 50);
+    }
+
+    @Test
+    void nextValue_Sharded_DrawsEveryShardsBlocksFromTheCatalog() {
+        DataSource catalog = database();
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(catalog,
+                Map.of("north", database(), "south", database()));
+        routing.afterPropertiesSet();
+        DocumentNumberGenerator generator = new DocumentNumberGenerator(routing);
+
+        // Her shard'ın kendi sequence'i de 1'den başlar; numaralar yine de çakışmamalı
+        long north = ShardContext.callOn("north", () -> generator.nextValue(DocumentType.ORDER));
+        for (int i = 1; i < DocumentNumberGenerator.BLOCK_SIZE; i++) {
+            generator.nextValue(DocumentType.ORDER);
+        }
+        long south = ShardContext.callOn("south", () -> generator.nextValue(DocumentType.ORDER));
+
+        assertEquals(1, north);
+        assertEquals(1 + DocumentNumberGenerator.BLOCK_SIZE, south);
+        assertEquals(2001L, new JdbcTemplate(catalog).queryForObject("SELECT nextval('order_number_seq')", Long.class));
+        assertEquals(1L, ShardContext.callOn("south", () -> new JdbcTemplate(routing)
+                .queryForObject("SELECT nextval('order_number_seq')", Long.class)));
+    }
+
+    private static DataSource database() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:numbers-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("CREATE SEQUENCE order_number_seq START WITH 1 INCREMENT BY "
+                + DocumentNumberGenerator.BLOCK_SIZE);
+        return dataSource;
+    }
+}
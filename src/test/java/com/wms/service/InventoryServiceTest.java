@@ -5,6 +5,7 @@ import com.wms.dto.response.InventoryResponse;
 import com.wms.entity.Inventory;
 import com.wms.entity.Location;
 import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
 import com.wms.exception.ResourceNotFoundException;
 import com.wms.repository.InventoryRepository;
 import com.wms.repository.LocationRepository;
@@ -33,6 +34,12 @@ class InventoryServiceTest {
     @Mock
     private LocationRepository locationRepository;
 
+    @Mock
+    private InventoryChangeRecorder inventoryChangeRecorder;
+
+    @Mock
+    private StockValuationService stockValuationService;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -44,7 +51,9 @@ class InventoryServiceTest {
     void setUp() {
         product = Product.builder().sku("P-1").name("Prod").minStockLevel(5).build();
         product.setId(1L);
-        location = Location.builder().code("L-1").description("loc").build();
+        Warehouse warehouse = Warehouse.builder().code("WH-1").name("Main").build();
+        warehouse.setId(1L);
+        location = Location.builder().code("L-1").description("loc").warehouse(warehouse).build();
         location.setId(1L);
 
         inventory = Inventory.builder()
@@ -75,6 +84,7 @@ class InventoryServiceTest {
         assertNotNull(resp);
         assertEquals(10, resp.getQuantity());
         verify(inventoryRepository, times(1)).save(any(Inventory.class));
+        verify(stockValuationService).recordChange(1L, 1L, 10, "INVENTORY-EDIT");
     }
 
     @Test
@@ -0,0 +1,129 @@
+package com.wms.service;
+
+import com.wms.event.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LiveUpdateHubTest {
+
+    private static final int BUFFER_SIZE = 16;
+
+    private LiveUpdateHub hub;
+
+    @BeforeEach
+    void setUp() {
+        InventoryChangeFeedService feedService = mock(InventoryChangeFeedService.class);
+        when(feedService.currentPosition()).thenReturn(0L);
+        hub = new LiveUpdateHub(feedService, new SimpleMeterRegistry(), BUFFER_SIZE, 10, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void orderEvents_OnlyReachSubscribersOfThatWarehouse() throws Exception {
+        RecordingEmitter warehouseOne = new RecordingEmitter(null);
+        RecordingEmitter warehouseTwo = new RecordingEmitter(null);
+        RecordingEmitter all = new RecordingEmitter(null);
+        hub.subscribe(1L, warehouseOne);
+        hub.subscribe(2L, warehouseTwo);
+        hub.subscribe(null, all);
+
+        hub.onOrderStatusChanged(new OrderStatusChangedEvent(10L, "ORD-WH1-0000000010", 1L, "RESERVED"));
+
+        warehouseOne.awaitEvents(2);
+        all.awaitEvents(2);
+        Thread.sleep(100);
+        assertEquals(List.of("ready", "order"), warehouseOne.names());
+        assertEquals(List.of("ready", "order"), all.names());
+        assertEquals(List.of("ready"), warehouseTwo.names());
+    }
+
+    @Test
+    void slowSubscriber_BufferDroppedAndResyncSent_OthersUnaffected() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(unblock);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        hub.subscribe(null, slow);
+        hub.subscribe(null, fast);
+
+        // Hızlı istemci her turu yetiştirir, bekleyen istemcinin tamponu ise taşar
+        int published = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++, published++) {
+                hub.onOrderStatusChanged(new OrderStatusChangedEvent((long) published, "ORD-" + published, 1L, "PENDING"));
+            }
+            fast.awaitEvents(published + 1);
+        }
+        unblock.countDown();
+        slow.awaitEvent("resync");
+        Thread.sleep(100);
+
+        assertEquals(published, fast.names().stream().filter("order"::equals).count());
+        assertFalse(fast.names().contains("resync"));
+        assertTrue(slow.names().stream().filter("order"::equals).count() <= BUFFER_SIZE);
+    }
+
+    // send() çağrılarını kaydeder; latch verilirse ilk gönderimde bekler (yavaş istemci)
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch unblock;
+        private final List<String> names = new CopyOnWriteArrayList<>();
+
+        private RecordingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (unblock != null && names.isEmpty()) {
+                try {
+                    unblock.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String raw = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            if (raw.startsWith("event:")) {
+                names.add(raw.substring("event:".length(), raw.indexOf('\n')));
+            }
+        }
+
+        List<String> names() {
+            return names;
+        }
+
+        void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (names.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(names.size() >= count, "Expected " + count + " events but got " + names);
+        }
+
+        void awaitEvent(String name) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!names.contains(name) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(names.contains(name), "Expected " + name + " event but got " + names);
+        }
+    }
+}
@@ -6,15 +6,22 @@ import com.wms.entity.Product;
 import com.wms.exception.BusinessRuleException;
 import com.wms.exception.ResourceNotFoundException;
 import com.wms.repository.ProductRepository;
+import com.wms.sharding.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,6 +33,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private ProductService productService;
 
@@ -106,4 +119,25 @@ class ProductServiceTest {
         verify(productRepository, times(1)).deleteById(1L);
         verify(productRepository, never()).save(any(Product.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteProduct_ReferencedOnAShard_Throws() {
+        when(productRepository.existsById(1L)).thenReturn(true);
+        when(shardRouter.shards()).thenReturn(List.of("north", "south"));
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(status);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        // north temiz, south'ta ürüne bağlı sipariş kalemi var
+        doNothing().doThrow(new DataIntegrityViolationException("fk_order_items_product"))
+                .when(productRepository).flush();
+
+        BusinessRuleException ex = assertThrows(BusinessRuleException.class, () -> productService.deleteProduct(1L));
+
+        assertTrue(ex.getMessage().contains("south"));
+        assertTrue(status.isRollbackOnly());
+        // Yalnızca geri alınan denemeler; katalogda silme yapılmadı
+        verify(productRepository, times(2)).deleteById(1L);
+    }
+}
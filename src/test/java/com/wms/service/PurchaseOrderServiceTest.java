@@ -36,6 +36,12 @@ class PurchaseOrderServiceTest {
     @Mock
     private WarehouseRepository warehouseRepository;
 
+    @Mock
+    private DocumentNumberGenerator documentNumberGenerator;
+
+    @Mock
+    private InventoryChangeRecorder inventoryChangeRecorder;
+
     @InjectMocks
     private PurchaseOrderService purchaseOrderService;
 
@@ -63,6 +69,8 @@ class PurchaseOrderServiceTest {
 
         when(supplierRepository.findById(1L)).thenReturn(Optional.of(supplier));
         when(warehouseRepository.findById(1L)).thenReturn(Optional.of(warehouse));
+        when(documentNumberGenerator.next(DocumentNumberGenerator.DocumentType.PURCHASE_ORDER, "W-1"))
+                .thenReturn("PO-W1-0000000001");
         when(purchaseOrderRepository.save(any(PurchaseOrder.class))).thenReturn(po);
 
         PurchaseOrderResponse resp = purchaseOrderService.createPurchaseOrder(req);
@@ -0,0 +1,119 @@
+package com.wms.service;
+
+import com.wms.concurrency.InventoryKey;
+import com.wms.concurrency.StripedLockManager;
+import com.wms.repository.OrderItemRepository;
+import com.wms.sharding.ShardContext;
+import com.wms.sharding.ShardRouter;
+import com.wms.sharding.ShardingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationCombinerTest {
+
+    private static final int ORDERS_PER_SHARD = 20;
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+    private ReservationCombiner combiner;
+
+    @AfterEach
+    void tearDown() {
+        if (combiner != null) {
+            combiner.stop();
+        }
+    }
+
+    @Test
+    void reserve_Sharded_BatchesRunOnTheSubmittingShardOnly() throws Exception {
+        // Tüm siparişler aynı sıcak satıra düşer; shard'lar yine de ayrı batch'lerde kalmalı
+        when(orderItemRepository.findInventoryKeysByOrderId(anyLong()))
+                .thenReturn(List.of(new InventoryKey(1L, 1L)));
+        Map<Long, String> shardByOrder = new ConcurrentHashMap<>();
+        List<String> batchShards = Collections.synchronizedList(new ArrayList<>());
+        when(orderService.reserveStockBatch(anyList())).thenAnswer(invocation -> {
+            List<Long> orderIds = invocation.getArgument(0);
+            String shard = ShardContext.current();
+            batchShards.add(shard);
+            orderIds.forEach(id -> shardByOrder.put(id, String.valueOf(shard)));
+            return Collections.nCopies(orderIds.size(), null);
+        });
+
+        combiner = new ReservationCombiner(orderService, orderItemRepository,
+                new StripedLockManager(1024, 5000, null), new ShardRouter(properties()),
+                new SimpleMeterRegistry(), true, 50, 256, 2, 10000);
+        combiner.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2 * ORDERS_PER_SHARD);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (long orderId = 1; orderId <= 2 * ORDERS_PER_SHARD; orderId++) {
+            long id = orderId;
+            String shard = id <= ORDERS_PER_SHARD ? "north" : "south";
+            results.add(executor.submit(() -> {
+                start.await();
+                ShardContext.runOn(shard, () -> combiner.reserve(id));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(2 * ORDERS_PER_SHARD, shardByOrder.size());
+        shardByOrder.forEach((orderId, shard) ->
+                assertEquals(orderId <= ORDERS_PER_SHARD ? "north" : "south", shard, "order " + orderId));
+        assertFalse(batchShards.contains(null));
+    }
+
+    @Test
+    void reserve_Unsharded_BatchesRunOnTheSingleDatabase() {
+        when(orderItemRepository.findInventoryKeysByOrderId(anyLong())).thenReturn(List.of());
+        List<String> batchShards = Collections.synchronizedList(new ArrayList<>());
+        when(orderService.reserveStockBatch(anyList())).thenAnswer(invocation -> {
+            batchShards.add(ShardContext.current());
+            return Collections.nCopies(invocation.<List<Long>>getArgument(0).size(), null);
+        });
+
+        combiner = new ReservationCombiner(orderService, orderItemRepository,
+                new StripedLockManager(1024, 5000, null), new ShardRouter(new ShardingProperties()),
+                new SimpleMeterRegistry(), true, 5, 256, 2, 10000);
+        combiner.start();
+        combiner.reserve(7L);
+
+        assertEquals(Collections.singletonList(null), batchShards);
+        assertThrows(IllegalStateException.class, () -> ShardContext.runOn("north", () -> combiner.reserve(8L)));
+    }
+
+    private static ShardingProperties properties() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        ShardingProperties.Shard north = new ShardingProperties.Shard();
+        north.getWarehouses().add(1L);
+        ShardingProperties.Shard south = new ShardingProperties.Shard();
+        south.getWarehouses().add(2L);
+        properties.getShards().put("north", north);
+        properties.getShards().put("south", south);
+        return properties;
+    }
+}
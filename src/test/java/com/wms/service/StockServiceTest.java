@@ -4,6 +4,7 @@ import com.wms.dto.request.StockTransferRequest;
 import com.wms.entity.Inventory;
 import com.wms.entity.Location;
 import com.wms.entity.Product;
+import com.wms.entity.Warehouse;
 import com.wms.exception.InsufficientStockException;
 import com.wms.repository.InventoryRepository;
 import com.wms.repository.LocationRepository;
@@ -37,6 +38,12 @@ class StockServiceTest {
     @Mock
     private StockMovementRepository stockMovementRepository;
 
+    @Mock
+    private InventoryChangeRecorder inventoryChangeRecorder;
+
+    @Mock
+    private StockValuationService stockValuationService;
+
     @InjectMocks
     private StockService stockService;
 
@@ -50,9 +57,11 @@ class StockServiceTest {
     void setUp() {
         product = Product.builder().sku("PROD-001").name("Product 1").build();
         product.setId(1L);
-        fromLocation = Location.builder().code("A-01-01").build();
+        Warehouse warehouse = Warehouse.builder().code("WH-1").name("Main").build();
+        warehouse.setId(1L);
+        fromLocation = Location.builder().code("A-01-01").warehouse(warehouse).build();
         fromLocation.setId(1L);
-        toLocation = Location.builder().code("A-01-02").build();
+        toLocation = Location.builder().code("A-01-02").warehouse(warehouse).build();
         toLocation.setId(2L);
 
         fromInventory = Inventory.builder()
@@ -94,6 +103,7 @@ class StockServiceTest {
         assertEquals(70, toInventory.getQuantity());
         verify(inventoryRepository, times(2)).save(any(Inventory.class));
         verify(stockMovementRepository, times(1)).save(any());
+        verify(stockValuationService).recordTransfer(1L, 1L, 1L, 20, "TRANSFER");
     }
 
     @Test
@@ -0,0 +1,85 @@
+package com.wms.sharding;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRoutingDataSourceTest {
+
+    private ShardRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ShardRoutingDataSource(database("catalog"),
+                Map.of("north", database("north"), "south", database("south")));
+        routing.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(routing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void connections_FollowTheThreadsShard() {
+        assertEquals("catalog", name());
+        assertEquals("north", ShardContext.callOn("north", this::name));
+        assertEquals("south", ShardContext.callOn("north", () -> ShardContext.callOn("south", this::name)));
+        assertEquals("catalog", name());
+        assertEquals(3, routing.pools().size());
+
+        // Unknown shard fails instead of landing in the catalog
+        Exception unknown = assertThrows(CannotGetJdbcConnectionException.class,
+                () -> ShardContext.callOn("west", this::name));
+        assertInstanceOf(IllegalStateException.class, unknown.getCause());
+    }
+
+    @Test
+    void propagate_CarriesTheShardToWorkerThreads() {
+        Supplier<String> task = ShardContext.callOn("south", () -> ShardContext.propagate(this::name));
+
+        assertEquals("south", CompletableFuture.supplyAsync(task).join());
+        assertEquals("catalog", CompletableFuture.supplyAsync(this::name).join());
+    }
+
+    @Test
+    void enter_RefusesToSwitchShardsInsideATransaction() {
+        ShardContext.runOn("north", () -> {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                assertEquals("north", ShardContext.callOn("north", this::name));
+                assertThrows(IllegalStateException.class, () -> ShardContext.callOn("south", this::name));
+                assertThrows(IllegalStateException.class, () -> ShardContext.callOn(null, this::name));
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+        });
+    }
+
+    private String name() {
+        return jdbcTemplate.queryForObject("SELECT name FROM shard_name", String.class);
+    }
+
+    private DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:shard-" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE shard_name (name VARCHAR(20))");
+        jdbc.update("INSERT INTO shard_name VALUES (?)", name);
+        return dataSource;
+    }
+}
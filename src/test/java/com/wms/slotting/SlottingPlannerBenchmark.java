@@ -0,0 +1,36 @@
+package com.wms.slotting;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Planning time on 20k locations; only the planning itself is measured. Only runs with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SlottingPlannerBenchmark {
+
+    private final SlottingPlanner planner = new SlottingPlanner(3, 0.5, 1);
+
+    @Test
+    void plan_TwentyThousandLocations_UnderOneSecond() {
+        SlottingPlannerTest.Workload workload = SlottingPlannerTest.syntheticWorkload();
+        for (int i = 0; i < 5; i++) {
+            planner.plan(workload.locations(), workload.placements(), workload.velocities(), 500);
+        }
+
+        long started = System.nanoTime();
+        List<SlottingMove> moves = planner.plan(workload.locations(), workload.placements(), workload.velocities(), 500);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.printf("Slotting benchmark: %d locations, %d placements, %d moves in %d ms, "
+                        + "%.0f rack steps saved over the window%n",
+                workload.locations().size(), workload.placements().size(), moves.size(), elapsedMs,
+                moves.stream().mapToDouble(SlottingMove::travelSaved).sum());
+        assertTrue(elapsedMs < 1_000, "planning took " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,138 @@
+package com.wms.slotting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlottingPlannerTest {
+
+    private final SlottingPlanner planner = new SlottingPlanner(3, 0.5, 1);
+
+    @Test
+    void score_RanksLabelsNaturallyFromTheDock() {
+        var slots = planner.score(List.of(
+                new SlotLocation(1L, "A-1-1", "A", "1", "1"),
+                new SlotLocation(2L, "A-10-1", "A", "10", "1"),
+                new SlotLocation(3L, "B-2-2", "B", "2", "2"),
+                new SlotLocation(4L, "DOCK", null, null, null)));
+
+        // Raflar 1,2,10 -> 1..3; B koridoru 3 birim uzakta; ikinci kat 0.5
+        assertEquals(1.0, slots.get(1L).distance());
+        assertEquals(3.0, slots.get(2L).distance());
+        assertEquals(5.5, slots.get(3L).distance());
+        assertFalse(slots.containsKey(4L));
+    }
+
+    @Test
+    void plan_FastestMoverTakesNearestFreeSlotAndFreesItsOwn() {
+        List<SlotLocation> locations = List.of(
+                location(1, "A", "1"),
+                location(2, "A", "2"),
+                location(3, "C", "9"),
+                location(4, "D", "9"));
+        List<SkuPlacement> placements = List.of(
+                placement(10, 4, 50, 0),
+                placement(20, 3, 30, 0),
+                placement(30, 2, 5, 0));
+        List<SkuVelocity> velocities = List.of(
+                velocity(10, 4, 100),
+                velocity(20, 3, 400),
+                velocity(30, 2, 1));
+
+        List<SlottingMove> moves = planner.plan(locations, placements, velocities, 10);
+
+        // Uzaklıklar: A-1=1, A-2=2, C-9=6, D-9=9
+        assertEquals(2, moves.size());
+        assertEquals(20L, moves.get(0).productId());
+        assertEquals(1L, moves.get(0).toLocationId());
+        assertEquals(30, moves.get(0).quantity());
+        assertEquals(2000.0, moves.get(0).travelSaved());
+        // 10, 20'nin boşalttığı C-9'a geçer; 30 için kalan D-9 daha uzak
+        assertEquals(10L, moves.get(1).productId());
+        assertEquals(4L, moves.get(1).fromLocationId());
+        assertEquals(3L, moves.get(1).toLocationId());
+    }
+
+    @Test
+    void plan_SkipsReservedStockAndNegligibleGains() {
+        List<SlotLocation> locations = List.of(
+                location(1, "A", "1"),
+                location(2, "A", "2"),
+                location(3, "B", "5"));
+        List<SkuPlacement> placements = List.of(
+                placement(10, 3, 50, 5),
+                placement(20, 2, 40, 0));
+        List<SkuVelocity> velocities = List.of(
+                velocity(10, 3, 500),
+                velocity(20, 2, 100));
+
+        List<SlottingMove> moves = planner.plan(locations, placements, velocities, 10);
+
+        // 10 ayrılmış stok yüzünden kalır; 20 için A-2 -> A-1 yalnızca 1 birim, eşik 1
+        assertEquals(1, moves.size());
+        assertEquals(20L, moves.get(0).productId());
+        assertEquals(100.0, moves.get(0).travelSaved());
+        assertTrue(new SlottingPlanner(3, 0.5, 2).plan(locations, placements, velocities, 10).isEmpty());
+    }
+
+    @Test
+    void plan_TwentyThousandLocations_OnlyMovesTowardsTheDock() {
+        Workload workload = syntheticWorkload();
+
+        List<SlottingMove> moves = planner.plan(workload.locations(), workload.placements(), workload.velocities(), 500);
+
+        assertEquals(500, moves.size());
+        assertTrue(moves.stream().allMatch(move -> move.toDistance() < move.fromDistance()));
+    }
+
+    /**
+     * 40 koridor x 100 raf x 5 göz = 20k lokasyon, 12k stoklu yerleşim, Zipf dağılımlı hız.
+     * Bir yıllık hareketin günlük özetlerden toplanmış hali.
+     */
+    static Workload syntheticWorkload() {
+        Random random = new Random(7);
+        List<SlotLocation> locations = new ArrayList<>();
+        for (int aisle = 0; aisle < 40; aisle++) {
+            for (int rack = 1; rack <= 100; rack++) {
+                for (int bin = 1; bin <= 5; bin++) {
+                    long id = locations.size() + 1L;
+                    locations.add(new SlotLocation(id, "A" + aisle + "-" + rack + "-" + bin,
+                            "A" + aisle, String.format("%03d", rack), String.valueOf(bin)));
+                }
+            }
+        }
+        List<SkuPlacement> placements = new ArrayList<>();
+        List<SkuVelocity> velocities = new ArrayList<>();
+        Set<Long> used = new HashSet<>();
+        for (long product = 1; product <= 12_000; product++) {
+            long locationId;
+            do {
+                locationId = 1 + random.nextInt(locations.size());
+            } while (!used.add(locationId));
+            placements.add(new SkuPlacement(product, "SKU-" + product, locationId, 1 + random.nextInt(100), 0));
+            velocities.add(new SkuVelocity(product, locationId, 100_000 / product, 300_000 / product));
+        }
+        return new Workload(locations, placements, velocities);
+    }
+
+    record Workload(List<SlotLocation> locations, List<SkuPlacement> placements, List<SkuVelocity> velocities) {
+    }
+
+    private static SlotLocation location(long id, String aisle, String rack) {
+        return new SlotLocation(id, aisle + "-" + rack, aisle, rack, "1");
+    }
+
+    private static SkuPlacement placement(long productId, long locationId, int quantity, int reserved) {
+        return new SkuPlacement(productId, "SKU-" + productId, locationId, quantity, reserved);
+    }
+
+    private static SkuVelocity velocity(long productId, long locationId, long picks) {
+        return new SkuVelocity(productId, locationId, picks, picks * 2);
+    }
+}
@@ -0,0 +1,37 @@
+package com.wms.stockload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockLoadCsvMapperTest {
+
+    private final StockLoadCsvMapper mapper =
+            StockLoadCsvMapper.forHeader(List.of("Quantity", "SKU", "warehouse", "location"));
+
+    @Test
+    void map_ReadsColumnsByNameAndKeepsUnreadableLinesWithAReason() {
+        assertEquals(new StockLoadLine(2, "A-1", "WH1", "A-01-01", 25, null),
+                mapper.map(2, List.of(" 25 ", "A-1", "WH1", "A-01-01")));
+
+        StockLoadLine notANumber = mapper.map(3, List.of("ten", "A-1", "WH1", "A-01-01"));
+        assertNull(notANumber.quantity());
+        assertEquals("A-1", notANumber.sku());
+        assertNotNull(notANumber.rejectReason());
+
+        assertNotNull(mapper.map(4, List.of("-1", "A-1", "WH1", "A-01-01")).rejectReason());
+        // Eksik sütun ve sütuna sığmayan kod
+        assertNotNull(mapper.map(5, List.of("1", "A-1", "WH1")).rejectReason());
+        assertNotNull(mapper.map(6, List.of("1", "A-1", "WH1", "L".repeat(51))).rejectReason());
+    }
+
+    @Test
+    void forHeader_RejectsUnknownAndMissingColumns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> StockLoadCsvMapper.forHeader(List.of("sku", "warehouse", "location", "qty")));
+        assertThrows(IllegalArgumentException.class,
+                () -> StockLoadCsvMapper.forHeader(List.of("sku", "warehouse", "location")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.wms.valuation;
+
+import com.wms.enums.CostingMethod;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CostCalculatorTest {
+
+    // 10 x 1,00 + 10 x 2,00 = 30,00
+    private final List<LayerBalance> layers = List.of(
+            new LayerBalance(10, new BigDecimal("1.0000")),
+            new LayerBalance(10, new BigDecimal("2.0000")));
+    private final BigDecimal totalCost = new BigDecimal("30.0000");
+
+    @Test
+    void fifo_CostsUnitsAtTheOldestLayers() {
+        CostIssue issue = CostCalculator.issue(CostingMethod.FIFO, layers, totalCost, 12);
+
+        assertEquals(List.of(10, 2), issue.drawn());
+        assertEquals(12, issue.quantity());
+        assertEquals(new BigDecimal("14.0000"), issue.cost());
+    }
+
+    @Test
+    void weightedAverage_CostsUnitsAtTheAverageAndLeavesNoResidue() {
+        List<LayerBalance> thirds = List.of(
+                new LayerBalance(1, new BigDecimal("1.0000")),
+                new LayerBalance(2, new BigDecimal("1.0050")));
+        BigDecimal total = new BigDecimal("3.0100");
+
+        CostIssue first = CostCalculator.issue(CostingMethod.WEIGHTED_AVERAGE, thirds, total, 1);
+        assertEquals(List.of(1, 0), first.drawn());
+        assertEquals(new BigDecimal("1.0033"), first.cost());
+
+        // Kalan iki birim kalan maliyetin tamamını alır
+        List<LayerBalance> rest = List.of(new LayerBalance(0, new BigDecimal("1.0000")),
+                new LayerBalance(2, new BigDecimal("1.0050")));
+        BigDecimal left = total.subtract(first.cost());
+        assertEquals(left, CostCalculator.issue(CostingMethod.WEIGHTED_AVERAGE, rest, left, 2).cost());
+    }
+
+    @Test
+    void issue_CutsQuantityToTheValuedUnits() {
+        CostIssue issue = CostCalculator.issue(CostingMethod.WEIGHTED_AVERAGE, layers, totalCost, 25);
+
+        assertEquals(List.of(10, 10), issue.drawn());
+        assertEquals(20, issue.quantity());
+        assertEquals(totalCost, issue.cost());
+        assertEquals(new BigDecimal("1.5000"), CostCalculator.averageCost(totalCost, 20));
+        assertEquals(0, CostCalculator.averageCost(BigDecimal.ZERO, 0).signum());
+    }
+}